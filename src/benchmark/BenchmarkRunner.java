@@ -0,0 +1,37 @@
+package benchmark;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+
+// Runs the repository benchmarks single-threaded and with one thread per core, reporting throughput,
+// average time, the sampled latency distribution (p99 and friends) and allocation rate.
+// Usage: BenchmarkRunner [include-regex] [backend], e.g. BenchmarkRunner "Read.*getAllTasks" jdbc
+public class BenchmarkRunner {
+    public static void main(String[] args) throws RunnerException {
+        String include = args.length > 0 ? args[0] : "benchmark\\..*Benchmark";
+        String backend = args.length > 1 ? args[1] : "memory";
+        int[] threadCounts = {1, Runtime.getRuntime().availableProcessors()};
+
+        for (int threads : threadCounts) {
+            ChainedOptionsBuilder options = new OptionsBuilder()
+                    .include(include)
+                    .param("backend", backend)
+                    .mode(Mode.Throughput)
+                    .mode(Mode.AverageTime)
+                    .mode(Mode.SampleTime)
+                    .threads(threads)
+                    .forks(1)
+                    .warmupIterations(3)
+                    .warmupTime(TimeValue.seconds(1))
+                    .measurementIterations(5)
+                    .measurementTime(TimeValue.seconds(1))
+                    .addProfiler(GCProfiler.class);
+            new Runner(options.build()).run();
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package benchmark;
+
+import dao.IProjectRepository;
+import dao.InMemoryProjectRepository;
+import dao.ProjectRepositoryImpl;
+import entity.Employee;
+import entity.Project;
+import entity.Task;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+// Builds and seeds the repository under test. "memory" runs fully offline against InMemoryProjectRepository;
+// "jdbc" uses ProjectRepositoryImpl and the database configured in db.properties.
+final class RepositoryFixture {
+    static final String[] STATUSES = {"Assigned", "Started", "Completed"};
+
+    final IProjectRepository repository;
+    final int projectCount;
+    final int employeeCount;
+    final int taskCount;
+
+    private RepositoryFixture(IProjectRepository repository, int projectCount, int employeeCount, int taskCount) {
+        this.repository = repository;
+        this.projectCount = projectCount;
+        this.employeeCount = employeeCount;
+        this.taskCount = taskCount;
+    }
+
+    static RepositoryFixture create(String backend, int taskCount) {
+        IProjectRepository repository = "jdbc".equals(backend) ? new ProjectRepositoryImpl() : new InMemoryProjectRepository();
+        int projectCount = Math.max(10, taskCount / 1_000);
+        int employeeCount = Math.max(10, taskCount / 100);
+
+        for (int p = 0; p < projectCount; p++) {
+            repository.createProject(new Project(0, "Project " + p, "Benchmark project " + p, LocalDate.of(2024, 1, 1), "development"));
+        }
+        List<Employee> employees = new ArrayList<>(employeeCount);
+        for (int e = 0; e < employeeCount; e++) {
+            employees.add(new Employee(0, "Employee " + e, "Developer", "Other", 5000, 1 + e % projectCount));
+        }
+        repository.createEmployees(employees);
+
+        List<Task> chunk = new ArrayList<>(10_000);
+        for (int t = 0; t < taskCount; t++) {
+            int employeeId = 1 + t % employeeCount;
+            chunk.add(new Task(0, "Task " + t, 1 + (employeeId - 1) % projectCount, employeeId, STATUSES[t % STATUSES.length]));
+            if (chunk.size() == 10_000) {
+                repository.createTasks(chunk);
+                chunk.clear();
+            }
+        }
+        repository.createTasks(chunk);
+        return new RepositoryFixture(repository, projectCount, employeeCount, taskCount);
+    }
+
+    // Employees are spread round-robin over projects, so this is the project whose tasks the employee owns
+    int projectOf(int employeeId) {
+        return 1 + (employeeId - 1) % projectCount;
+    }
+}
@@ -0,0 +1,112 @@
+package benchmark;
+
+import dao.GroupCounts;
+import dao.Page;
+import dao.TaskColumns;
+import dao.TaskFilter;
+import entity.Employee;
+import entity.Project;
+import entity.Task;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.stream.Stream;
+
+@State(Scope.Benchmark)
+public class RepositoryReadBenchmark {
+
+    @Param({"1000", "100000", "1000000"})
+    public int taskCount;
+
+    @Param({"memory"})
+    public String backend;
+
+    private RepositoryFixture fixture;
+    private TaskColumns columns;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        fixture = RepositoryFixture.create(backend, taskCount);
+        columns = TaskColumns.load(fixture.repository);
+    }
+
+    private int randomEmployee() {
+        return 1 + ThreadLocalRandom.current().nextInt(fixture.employeeCount);
+    }
+
+    @Benchmark
+    public List<Task> getAllTasks() {
+        int employeeId = randomEmployee();
+        return fixture.repository.getAllTasks(employeeId, fixture.projectOf(employeeId));
+    }
+
+    @Benchmark
+    public Optional<Employee> findEmployee() {
+        return fixture.repository.findEmployee(randomEmployee());
+    }
+
+    @Benchmark
+    public Page<Task> findTasksFirstPage() {
+        return fixture.repository.findTasks(TaskFilter.all(), null, 50);
+    }
+
+    @Benchmark
+    public Page<Task> findTasksDeepPage() {
+        int afterId = ThreadLocalRandom.current().nextInt(Math.max(1, fixture.taskCount - 50));
+        return fixture.repository.findTasks(TaskFilter.all(), Page.encodeToken(afterId), 50);
+    }
+
+    @Benchmark
+    public Page<Task> findTasksByProject() {
+        int projectId = 1 + ThreadLocalRandom.current().nextInt(fixture.projectCount);
+        return fixture.repository.findTasks(new TaskFilter(projectId, null, null), null, 50);
+    }
+
+    @Benchmark
+    public List<Employee> getAllEmployees() {
+        return fixture.repository.getAllEmployees();
+    }
+
+    @Benchmark
+    public List<Project> getAllProjects() {
+        return fixture.repository.getAllProjects();
+    }
+
+    @Benchmark
+    public List<Task> getTaskTable() {
+        return fixture.repository.getTaskTable();
+    }
+
+    @Benchmark
+    public long streamTaskTable() {
+        try (Stream<Task> tasks = fixture.repository.streamTaskTable()) {
+            return tasks.count();
+        }
+    }
+
+    @Benchmark
+    public int[] countByProjectFromTaskTable() {
+        int[] counts = new int[fixture.projectCount + 1];
+        for (Task task : fixture.repository.getTaskTable()) {
+            counts[task.getProjectId()]++;
+        }
+        return counts;
+    }
+
+    @Benchmark
+    public GroupCounts countByProjectColumnar() {
+        return columns.countByProject(TaskFilter.all());
+    }
+
+    @Benchmark
+    public GroupCounts countCompletedByEmployeeColumnar() {
+        return columns.countByEmployee(new TaskFilter(null, null, "Completed"));
+    }
+}
@@ -0,0 +1,97 @@
+package benchmark;
+
+import dao.BatchResult;
+import entity.Employee;
+import entity.Project;
+import entity.Task;
+import exception.EmployeeNotFoundException;
+import exception.ProjectNotFoundException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+// Writes grow the dataset as the benchmark runs; the seeded size only sets the starting point.
+@State(Scope.Benchmark)
+public class RepositoryWriteBenchmark {
+
+    @Param({"1000", "100000", "1000000"})
+    public int taskCount;
+
+    @Param({"memory"})
+    public String backend;
+
+    private RepositoryFixture fixture;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        fixture = RepositoryFixture.create(backend, taskCount);
+    }
+
+    private int randomEmployee() {
+        return 1 + ThreadLocalRandom.current().nextInt(fixture.employeeCount);
+    }
+
+    @Benchmark
+    public boolean createProject() {
+        return fixture.repository.createProject(new Project(0, "Bench project", "Created by benchmark", LocalDate.of(2024, 6, 1), "started"));
+    }
+
+    @Benchmark
+    public boolean createEmployee() throws ProjectNotFoundException {
+        int projectId = 1 + ThreadLocalRandom.current().nextInt(fixture.projectCount);
+        return fixture.repository.createEmployee(new Employee(0, "Bench employee", "Developer", "Other", 4200, projectId));
+    }
+
+    @Benchmark
+    public boolean createTask() throws EmployeeNotFoundException, ProjectNotFoundException {
+        int employeeId = randomEmployee();
+        return fixture.repository.createTask(new Task(0, "Bench task", fixture.projectOf(employeeId), employeeId, "Assigned"));
+    }
+
+    @Benchmark
+    public BatchResult createTasksBatchOf100() {
+        List<Task> batch = new ArrayList<>(100);
+        for (int i = 0; i < 100; i++) {
+            int employeeId = randomEmployee();
+            batch.add(new Task(0, "Bench task", fixture.projectOf(employeeId), employeeId, "Assigned"));
+        }
+        return fixture.repository.createTasks(batch);
+    }
+
+    @Benchmark
+    public boolean assignTaskToEmployee() throws EmployeeNotFoundException, ProjectNotFoundException {
+        // Seeded task t belongs to employee 1 + t % employeeCount; hand it to another employee of the same project
+        int taskId = 1 + ThreadLocalRandom.current().nextInt(fixture.taskCount);
+        int owner = 1 + (taskId - 1) % fixture.employeeCount;
+        int newOwner = 1 + (owner - 1 + fixture.projectCount) % fixture.employeeCount;
+        return fixture.repository.assignTaskToEmployee(taskId, fixture.projectOf(owner), newOwner);
+    }
+
+    @Benchmark
+    public boolean assignProjectToEmployee() throws EmployeeNotFoundException, ProjectNotFoundException {
+        int projectId = 1 + ThreadLocalRandom.current().nextInt(fixture.projectCount);
+        return fixture.repository.assignProjectToEmployee(projectId, randomEmployee());
+    }
+
+    @Benchmark
+    public boolean createAndDeleteEmployee() throws ProjectNotFoundException, EmployeeNotFoundException {
+        Employee employee = new Employee(0, "Short-lived", "Intern", "Other", 1000, 1);
+        fixture.repository.createEmployee(employee);
+        return fixture.repository.deleteEmployee(employee.getId());
+    }
+
+    @Benchmark
+    public boolean createAndDeleteProject() throws ProjectNotFoundException {
+        Project project = new Project(0, "Short-lived", "Created and dropped", LocalDate.of(2024, 6, 1), "started");
+        fixture.repository.createProject(project);
+        return fixture.repository.deleteProject(project.getId());
+    }
+}
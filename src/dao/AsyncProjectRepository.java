@@ -0,0 +1,164 @@
+package dao;
+
+import entity.Employee;
+import entity.Project;
+import entity.Task;
+import util.DBConnUtil;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Non-blocking front for an IProjectRepository. Every call runs on its own virtual thread, and a semaphore
+// keeps the number of calls inside the repository at the connection pool size, so thousands of callers can
+// queue cheaply instead of timing out on the pool. Checked exceptions such as EmployeeNotFoundException
+// complete the future exceptionally. Cancelling a future, or letting it time out, interrupts its thread.
+// With read replicas, a call reads everything written by the submitting thread and by any call of this
+// repository that finished before it, although each runs on a thread of its own (see DBConnUtil.getReadAfter).
+public class AsyncProjectRepository implements AutoCloseable {
+    private final IProjectRepository delegate;
+    private final ExecutorService executor;
+    private final Semaphore permits;
+    private final long timeoutMillis;
+    private final AtomicLong readAfter; // latest consistency token of a finished call, shared with timeout views
+
+    public AsyncProjectRepository(IProjectRepository delegate, int maxConcurrency, Duration timeout) {
+        this(delegate, Executors.newVirtualThreadPerTaskExecutor(), new Semaphore(maxConcurrency), timeout.toMillis(), new AtomicLong());
+    }
+
+    private AsyncProjectRepository(IProjectRepository delegate, ExecutorService executor, Semaphore permits, long timeoutMillis,
+                                   AtomicLong readAfter) {
+        this.delegate = delegate;
+        this.executor = executor;
+        this.permits = permits;
+        this.timeoutMillis = timeoutMillis;
+        this.readAfter = readAfter;
+    }
+
+    // A view sharing this repository's threads and concurrency limit but with a different per-call timeout;
+    // a zero duration disables the timeout
+    public AsyncProjectRepository withTimeout(Duration timeout) {
+        return new AsyncProjectRepository(delegate, executor, permits, timeout.toMillis(), readAfter);
+    }
+
+    @FunctionalInterface
+    private interface Call<T> {
+        T call() throws Exception;
+    }
+
+    private <T> CompletableFuture<T> submit(Call<T> call) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        long callerReadAfter = DBConnUtil.getReadAfter();
+        Future<?> task = executor.submit(() -> {
+            try {
+                permits.acquire();
+            } catch (InterruptedException e) {
+                result.completeExceptionally(new CancellationException("Cancelled while waiting for a connection slot"));
+                return;
+            }
+            try {
+                if (!result.isDone()) { // skip work whose caller already gave up
+                    DBConnUtil.readAfter(Math.max(callerReadAfter, readAfter.get()));
+                    T value;
+                    try {
+                        value = call.call();
+                    } finally {
+                        // before completing, so a call chained on this one sees its writes
+                        readAfter.accumulateAndGet(DBConnUtil.getReadAfter(), Math::max);
+                    }
+                    result.complete(value);
+                }
+            } catch (Throwable e) {
+                result.completeExceptionally(e);
+            } finally {
+                permits.release();
+            }
+        });
+        result.whenComplete((value, error) -> {
+            if (error != null) {
+                task.cancel(true);
+            }
+        });
+        return timeoutMillis > 0 ? result.orTimeout(timeoutMillis, TimeUnit.MILLISECONDS) : result;
+    }
+
+    public CompletableFuture<Boolean> createEmployee(Employee emp) { return submit(() -> delegate.createEmployee(emp)); }
+    public CompletableFuture<Boolean> createProject(Project pj) { return submit(() -> delegate.createProject(pj)); }
+    public CompletableFuture<Boolean> createTask(Task task) { return submit(() -> delegate.createTask(task)); }
+
+    public CompletableFuture<Boolean> assignProjectToEmployee(int projectId, int employeeId) {
+        return submit(() -> delegate.assignProjectToEmployee(projectId, employeeId));
+    }
+
+    public CompletableFuture<Boolean> assignTaskToEmployee(int taskId, int projectId, int employeeId) {
+        return submit(() -> delegate.assignTaskToEmployee(taskId, projectId, employeeId));
+    }
+
+    public CompletableFuture<Boolean> deleteEmployee(int userId) { return submit(() -> delegate.deleteEmployee(userId)); }
+    public CompletableFuture<Boolean> deleteProject(int projectId) { return submit(() -> delegate.deleteProject(projectId)); }
+
+    public CompletableFuture<List<Task>> getAllTasks(int empId, int projectId) { return submit(() -> delegate.getAllTasks(empId, projectId)); }
+    public CompletableFuture<List<Employee>> getAllEmployees() { return submit(delegate::getAllEmployees); }
+    public CompletableFuture<List<Project>> getAllProjects() { return submit(delegate::getAllProjects); }
+    public CompletableFuture<List<Task>> getTaskTable() { return submit(delegate::getTaskTable); }
+
+    public CompletableFuture<Optional<Employee>> findEmployee(int id) { return submit(() -> delegate.findEmployee(id)); }
+    public CompletableFuture<Optional<Project>> findProject(int id) { return submit(() -> delegate.findProject(id)); }
+    public CompletableFuture<Boolean> employeeExists(int id) { return submit(() -> delegate.employeeExists(id)); }
+    public CompletableFuture<Boolean> projectExists(int id) { return submit(() -> delegate.projectExists(id)); }
+
+    public CompletableFuture<Page<Task>> findTasks(TaskFilter filter, String pageToken, int pageSize) {
+        return submit(() -> delegate.findTasks(filter, pageToken, pageSize));
+    }
+
+    public CompletableFuture<Page<Employee>> findEmployees(Integer projectId, String pageToken, int pageSize) {
+        return submit(() -> delegate.findEmployees(projectId, pageToken, pageSize));
+    }
+
+    public CompletableFuture<Page<Project>> findProjects(String status, String pageToken, int pageSize) {
+        return submit(() -> delegate.findProjects(status, pageToken, pageSize));
+    }
+
+    public CompletableFuture<BatchResult> createEmployees(List<Employee> employees) { return submit(() -> delegate.createEmployees(employees)); }
+    public CompletableFuture<BatchResult> createProjects(List<Project> projects) { return submit(() -> delegate.createProjects(projects)); }
+    public CompletableFuture<BatchResult> createTasks(List<Task> tasks) { return submit(() -> delegate.createTasks(tasks)); }
+
+    public CompletableFuture<BatchResult> assignTasksToEmployee(List<Integer> taskIds, int projectId, int employeeId) {
+        return submit(() -> delegate.assignTasksToEmployee(taskIds, projectId, employeeId));
+    }
+
+    public record Tables(List<Project> projects, List<Employee> employees, List<Task> tasks) {}
+
+    // Loads the three tables concurrently, e.g. for "Show All Tables"; fails if any of the reads fails
+    public CompletableFuture<Tables> getAllTables() {
+        CompletableFuture<List<Project>> projects = getAllProjects();
+        CompletableFuture<List<Employee>> employees = getAllEmployees();
+        CompletableFuture<List<Task>> tasks = getTaskTable();
+        return CompletableFuture.allOf(projects, employees, tasks)
+                .thenApply(ignored -> new Tables(projects.join(), employees.join(), tasks.join()));
+    }
+
+    public record FirstPages(Page<Project> projects, Page<Employee> employees, Page<Task> tasks) {}
+
+    // First page of each table, fetched concurrently; the pages' tokens continue each table
+    public CompletableFuture<FirstPages> getFirstPages(int pageSize) {
+        CompletableFuture<Page<Project>> projects = findProjects(null, null, pageSize);
+        CompletableFuture<Page<Employee>> employees = findEmployees(null, null, pageSize);
+        CompletableFuture<Page<Task>> tasks = findTasks(TaskFilter.all(), null, pageSize);
+        return CompletableFuture.allOf(projects, employees, tasks)
+                .thenApply(ignored -> new FirstPages(projects.join(), employees.join(), tasks.join()));
+    }
+
+    @Override
+    public void close() {
+        executor.shutdown();
+    }
+}
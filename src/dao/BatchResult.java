@@ -0,0 +1,50 @@
+package dao;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.TreeMap;
+
+// Outcome of a bulk write: the generated id of every row that went in, and the reason for every row that didn't.
+// Rows are identified by their index in the list passed to the batch method. A batch can also fail as a whole,
+// on a lost connection, a deadlock or a lock wait timeout: its rows are then reported as failed too, but retrying
+// them later may well succeed.
+public class BatchResult {
+    private final int[] generatedIds;
+    private final Map<Integer, String> failures = new TreeMap<>();
+    private String batchFailure;
+
+    public BatchResult(int rowCount) {
+        this.generatedIds = new int[rowCount];
+    }
+
+    public void recordSuccess(int row, int generatedId) {
+        generatedIds[row] = generatedId;
+        failures.remove(row);
+    }
+
+    public void recordFailure(int row, String reason) {
+        generatedIds[row] = 0;
+        failures.put(row, reason);
+    }
+
+    // Keeps the first reason given
+    public void recordBatchFailure(String reason) {
+        if (batchFailure == null) {
+            batchFailure = reason;
+        }
+    }
+
+    public int getRowCount() { return generatedIds.length; }
+    public int getSuccessCount() { return generatedIds.length - failures.size(); }
+    public int getFailureCount() { return failures.size(); }
+    public boolean isFailed(int row) { return failures.containsKey(row); }
+    public int getGeneratedId(int row) { return generatedIds[row]; }
+    public Map<Integer, String> getFailures() { return Collections.unmodifiableMap(failures); }
+    // Null unless some failures were not caused by the rows themselves
+    public String getBatchFailure() { return batchFailure; }
+
+    @Override
+    public String toString() {
+        return "BatchResult{rows=" + getRowCount() + ", succeeded=" + getSuccessCount() + ", failed=" + getFailureCount() + "}";
+    }
+}
@@ -0,0 +1,233 @@
+package dao;
+
+import entity.Employee;
+import entity.Project;
+import entity.Task;
+import exception.EmployeeNotFoundException;
+import exception.ProjectNotFoundException;
+import util.DBConnUtil;
+import util.LruCache;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+// Read-through cache for employees and projects by id, in front of any IProjectRepository.
+// Absent ids are cached too (as empty Optionals) and dropped whenever a new row could appear.
+// Callers always receive copies, so mutating a returned entity never changes the cached one.
+// Misses are loaded from the primary: a lagging replica could put back the row a write just invalidated,
+// and it would then be served until it expires.
+public class CachingProjectRepository implements IProjectRepository {
+    private final IProjectRepository delegate;
+    private final LruCache<Integer, Optional<Employee>> employees;
+    private final LruCache<Integer, Optional<Project>> projects;
+
+    public CachingProjectRepository(IProjectRepository delegate, int maxSize, long ttlMillis) {
+        this.delegate = delegate;
+        this.employees = new LruCache<>(maxSize, ttlMillis);
+        this.projects = new LruCache<>(maxSize, ttlMillis);
+    }
+
+    public LruCache<Integer, Optional<Employee>> getEmployeeCache() { return employees; }
+    public LruCache<Integer, Optional<Project>> getProjectCache() { return projects; }
+
+    // For writes that went around this decorator, such as a committed UnitOfWork
+    public void invalidateAll() {
+        employees.invalidateAll();
+        projects.invalidateAll();
+    }
+
+    @Override
+    public Optional<Employee> findEmployee(int id) {
+        return employees.getOrLoad(id, this::loadEmployee).map(CachingProjectRepository::copy);
+    }
+
+    @Override
+    public Optional<Project> findProject(int id) {
+        return projects.getOrLoad(id, this::loadProject).map(CachingProjectRepository::copy);
+    }
+
+    @Override
+    public boolean employeeExists(int id) {
+        return employees.getOrLoad(id, this::loadEmployee).isPresent();
+    }
+
+    @Override
+    public boolean projectExists(int id) {
+        return projects.getOrLoad(id, this::loadProject).isPresent();
+    }
+
+    @Override
+    public boolean createEmployee(Employee emp) throws ProjectNotFoundException {
+        try {
+            boolean created = delegate.createEmployee(emp);
+            if (created) {
+                cacheEmployee(emp);
+            }
+            return created;
+        } catch (ProjectNotFoundException e) {
+            projects.put(emp.getProjectId(), Optional.empty());
+            throw e;
+        }
+    }
+
+    @Override
+    public boolean createProject(Project pj) {
+        boolean created = delegate.createProject(pj);
+        if (created) {
+            if (pj.getId() > 0) {
+                projects.put(pj.getId(), Optional.of(copy(pj))); // replaces any cached absence of the id
+            } else {
+                projects.invalidateIf(Optional::isEmpty);
+            }
+        }
+        return created;
+    }
+
+    @Override
+    public boolean createTask(Task task) throws EmployeeNotFoundException, ProjectNotFoundException {
+        return delegate.createTask(task);
+    }
+
+    @Override
+    public boolean assignProjectToEmployee(int projectId, int employeeId) throws EmployeeNotFoundException, ProjectNotFoundException {
+        try {
+            return delegate.assignProjectToEmployee(projectId, employeeId);
+        } finally {
+            employees.invalidate(employeeId);
+        }
+    }
+
+    @Override
+    public boolean assignTaskToEmployee(int taskId, int projectId, int employeeId) throws EmployeeNotFoundException, ProjectNotFoundException {
+        return delegate.assignTaskToEmployee(taskId, projectId, employeeId);
+    }
+
+    @Override
+    public boolean deleteEmployee(int userId) throws EmployeeNotFoundException {
+        try {
+            return delegate.deleteEmployee(userId);
+        } finally {
+            employees.invalidate(userId);
+        }
+    }
+
+    @Override
+    public boolean deleteProject(int projectId) throws ProjectNotFoundException {
+        try {
+            return delegate.deleteProject(projectId);
+        } finally {
+            projects.invalidate(projectId);
+            // Employees on the project may have been detached or removed along with it
+            employees.invalidateIf(e -> e.isPresent() && e.get().getProjectId() == projectId);
+        }
+    }
+
+    @Override
+    public BatchResult createEmployees(List<Employee> batch) {
+        BatchResult result = delegate.createEmployees(batch);
+        if (result.getSuccessCount() > 0) {
+            employees.invalidateIf(Optional::isEmpty);
+        }
+        return result;
+    }
+
+    @Override
+    public BatchResult createProjects(List<Project> batch) {
+        BatchResult result = delegate.createProjects(batch);
+        if (result.getSuccessCount() > 0) {
+            projects.invalidateIf(Optional::isEmpty);
+        }
+        return result;
+    }
+
+    @Override
+    public BatchResult createTasks(List<Task> tasks) {
+        return delegate.createTasks(tasks);
+    }
+
+    @Override
+    public BatchResult assignTasksToEmployee(List<Integer> taskIds, int projectId, int employeeId) throws EmployeeNotFoundException, ProjectNotFoundException {
+        return delegate.assignTasksToEmployee(taskIds, projectId, employeeId);
+    }
+
+    @Override
+    public List<Task> getAllTasks(int empId, int projectId) {
+        return delegate.getAllTasks(empId, projectId);
+    }
+
+    @Override
+    public List<Employee> getAllEmployees() {
+        return delegate.getAllEmployees();
+    }
+
+    @Override
+    public List<Project> getAllProjects() {
+        return delegate.getAllProjects();
+    }
+
+    @Override
+    public List<Task> getTaskTable() {
+        return delegate.getTaskTable();
+    }
+
+    @Override
+    public Stream<Task> streamTaskTable() {
+        return delegate.streamTaskTable();
+    }
+
+    @Override
+    public Stream<Employee> streamEmployees() {
+        return delegate.streamEmployees();
+    }
+
+    @Override
+    public Stream<Project> streamProjects() {
+        return delegate.streamProjects();
+    }
+
+    @Override
+    public Page<Task> findTasks(TaskFilter filter, String pageToken, int pageSize) {
+        return delegate.findTasks(filter, pageToken, pageSize);
+    }
+
+    @Override
+    public Page<Employee> findEmployees(Integer projectId, String pageToken, int pageSize) {
+        return delegate.findEmployees(projectId, pageToken, pageSize);
+    }
+
+    @Override
+    public Page<Project> findProjects(String status, String pageToken, int pageSize) {
+        return delegate.findProjects(status, pageToken, pageSize);
+    }
+
+    @Override
+    public String toString() {
+        return "CachingProjectRepository{employees=[" + employees + "], projects=[" + projects + "]}";
+    }
+
+    private Optional<Employee> loadEmployee(int id) {
+        return DBConnUtil.readFromPrimary(() -> delegate.findEmployee(id));
+    }
+
+    private Optional<Project> loadProject(int id) {
+        return DBConnUtil.readFromPrimary(() -> delegate.findProject(id));
+    }
+
+    // Replaces any cached absence of the id; without a generated id every cached absence has to go
+    private void cacheEmployee(Employee emp) {
+        if (emp.getId() > 0) {
+            employees.put(emp.getId(), Optional.of(copy(emp)));
+        } else {
+            employees.invalidateIf(Optional::isEmpty);
+        }
+    }
+
+    private static Employee copy(Employee e) {
+        return new Employee(e.getId(), e.getName(), e.getDesignation(), e.getGender(), e.getSalary(), e.getProjectId());
+    }
+
+    private static Project copy(Project p) {
+        return new Project(p.getId(), p.getProjectName(), p.getDescription(), p.getStartDate(), p.getStatus());
+    }
+}
@@ -0,0 +1,364 @@
+package dao;
+
+import exception.EmployeeNotFoundException;
+import exception.ProjectNotFoundException;
+import util.DBConnUtil;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.SQLIntegrityConstraintViolationException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+// Deletes a project or an employee together with the rows that reference it. Dependent tasks and employees
+// are deleted or unlinked a chunk at a time: a chunk locks at most chunkSize rows, commits on its own and
+// returns its connection to the pool, so a concurrent createTask waits for one short transaction at most
+// instead of for the whole cascade. The parent row goes last, so a cascade that fails or is cancelled leaves
+// it in place with fewer dependents, and running it again finishes the job.
+public class CascadeDeleter implements AutoCloseable {
+    public static final int DEFAULT_CHUNK_SIZE = 1000;
+    private static final int MYSQL_LOCK_WAIT_TIMEOUT = 1205;
+    private static final int MYSQL_DEADLOCK = 1213;
+    private static final int MYSQL_ROW_IS_REFERENCED = 1451;
+    private static final int MAX_ATTEMPTS = 3;
+
+    // QueryPlanChecker EXPLAINs these and lockTasks() as they are
+    static final String PROJECT_EMPLOYEES = "SELECT id FROM Employee WHERE project_id = ? ORDER BY id LIMIT ?";
+    static final String DETACH_EMPLOYEES = "UPDATE Employee SET project_id = NULL WHERE project_id = ? ORDER BY id LIMIT ?";
+
+    // What happens to the rows that reference a deleted parent: DETACH sets their foreign key to NULL
+    public enum Dependents { DELETE, DETACH }
+
+    @FunctionalInterface
+    public interface Progress {
+        void chunkDone(CascadeResult soFar);
+    }
+
+    @FunctionalInterface
+    private interface Chunk<T> {
+        T run(Connection conn) throws SQLException;
+    }
+
+    private record TaskRow(int taskId, int projectId, int employeeId, String status) {}
+
+    private final ConnectionProvider connections;
+    private final int chunkSize;
+    private final List<TaskChangeListener> listeners = new CopyOnWriteArrayList<>();
+    private final List<Runnable> completionHooks = new CopyOnWriteArrayList<>();
+    private final ExecutorService background = Executors.newVirtualThreadPerTaskExecutor();
+
+    public CascadeDeleter() {
+        this(DBConnUtil::getConnection, DEFAULT_CHUNK_SIZE);
+    }
+
+    public CascadeDeleter(ConnectionProvider connections, int chunkSize) {
+        if (chunkSize < 1) {
+            throw new IllegalArgumentException("Chunk size must be positive: " + chunkSize);
+        }
+        this.connections = connections;
+        this.chunkSize = chunkSize;
+    }
+
+    // Told about every task deleted or unassigned, after the chunk holding it commits
+    public void addListener(TaskChangeListener listener) {
+        listeners.add(listener);
+    }
+
+    // Runs after every cascade, finished or not, e.g. to invalidate caches holding rows it removed
+    public void onCompletion(Runnable hook) {
+        completionHooks.add(hook);
+    }
+
+    // Deletes the project's tasks, then deletes or detaches its employees, then the project. Deleting an
+    // employee also deletes its tasks in other projects.
+    public CascadeResult deleteProject(int projectId, Dependents employees, Progress progress)
+            throws ProjectNotFoundException, SQLException, InterruptedException {
+        CascadeResult result = new CascadeResult();
+        try {
+            if (!exists("SELECT 1 FROM Project WHERE id = ?", projectId)) {
+                throw new ProjectNotFoundException("Project with ID " + projectId + " not found.");
+            }
+            Boolean deleted;
+            int pass = 0;
+            do {
+                pass++;
+                processTasks("project_id", projectId, Dependents.DELETE, result, progress);
+                if (employees == Dependents.DELETE) {
+                    deleteEmployeesOf(projectId, result, progress);
+                } else {
+                    detachEmployeesOf(projectId, result, progress);
+                }
+                deleted = deleteParent("DELETE FROM Project WHERE id = ?", projectId, pass);
+            } while (deleted == null);
+            if (deleted) {
+                for (TaskChangeListener listener : listeners) {
+                    listener.projectDeleted(projectId);
+                }
+            }
+            return result;
+        } finally {
+            finish(result);
+        }
+    }
+
+    // Deletes or unassigns the employee's tasks, then the employee
+    public CascadeResult deleteEmployee(int employeeId, Dependents tasks, Progress progress)
+            throws EmployeeNotFoundException, SQLException, InterruptedException {
+        CascadeResult result = new CascadeResult();
+        try {
+            if (!exists("SELECT 1 FROM Employee WHERE id = ?", employeeId)) {
+                throw new EmployeeNotFoundException("Employee with ID " + employeeId + " not found.");
+            }
+            cascadeEmployee(employeeId, tasks, result, progress);
+            return result;
+        } finally {
+            finish(result);
+        }
+    }
+
+    // The same deletes on a virtual thread. Cancelling the future interrupts the cascade, which stops
+    // before its next chunk; chunks committed so far stay committed.
+    public CompletableFuture<CascadeResult> deleteProjectInBackground(int projectId, Dependents employees, Progress progress) {
+        return submit(() -> deleteProject(projectId, employees, progress));
+    }
+
+    public CompletableFuture<CascadeResult> deleteEmployeeInBackground(int employeeId, Dependents tasks, Progress progress) {
+        return submit(() -> deleteEmployee(employeeId, tasks, progress));
+    }
+
+    private CompletableFuture<CascadeResult> submit(Callable<CascadeResult> call) {
+        CompletableFuture<CascadeResult> result = new CompletableFuture<>();
+        Future<?> task = background.submit(() -> {
+            try {
+                result.complete(call.call());
+            } catch (Throwable e) {
+                result.completeExceptionally(e);
+            }
+        });
+        result.whenComplete((value, error) -> {
+            if (error != null) {
+                task.cancel(true);
+            }
+        });
+        return result;
+    }
+
+    private void cascadeEmployee(int employeeId, Dependents tasks, CascadeResult result, Progress progress)
+            throws SQLException, InterruptedException {
+        Boolean deleted;
+        int pass = 0;
+        do {
+            pass++;
+            processTasks("employee_id", employeeId, tasks, result, progress);
+            deleted = deleteParent("DELETE FROM Employee WHERE id = ?", employeeId, pass);
+        } while (deleted == null);
+        if (deleted) {
+            result.addEmployeesDeleted(1);
+            for (TaskChangeListener listener : listeners) {
+                listener.employeeDeleted(employeeId);
+            }
+            report(progress, result);
+        }
+    }
+
+    // Locks the next chunk of matching tasks, deletes or unassigns exactly those rows and commits, until none are left
+    private void processTasks(String column, int id, Dependents mode, CascadeResult result, Progress progress)
+            throws SQLException, InterruptedException {
+        String select = lockTasks(column);
+        String change = mode == Dependents.DELETE ? "DELETE FROM Task" : "UPDATE Task SET employee_id = NULL";
+        while (true) {
+            checkInterrupted();
+            List<TaskRow> rows = inTransaction(conn -> {
+                List<TaskRow> locked = new ArrayList<>();
+                try (PreparedStatement pstmt = conn.prepareStatement(select)) {
+                    pstmt.setInt(1, id);
+                    pstmt.setInt(2, chunkSize);
+                    try (ResultSet rs = pstmt.executeQuery()) {
+                        while (rs.next()) {
+                            locked.add(new TaskRow(rs.getInt(1), rs.getInt(2), rs.getInt(3), rs.getString(4)));
+                        }
+                    }
+                }
+                if (locked.isEmpty()) {
+                    return locked;
+                }
+                try (PreparedStatement pstmt = conn.prepareStatement(change + " WHERE task_id IN (" + placeholders(locked.size()) + ")")) {
+                    for (int i = 0; i < locked.size(); i++) {
+                        pstmt.setInt(i + 1, locked.get(i).taskId());
+                    }
+                    pstmt.executeUpdate();
+                }
+                return locked;
+            });
+            if (rows.isEmpty()) {
+                return;
+            }
+            for (TaskRow row : rows) {
+                for (TaskChangeListener listener : listeners) {
+                    if (mode == Dependents.DELETE) {
+                        listener.taskDeleted(row.taskId(), row.projectId(), row.employeeId(), row.status());
+                    } else {
+                        listener.taskReassigned(row.taskId(), row.projectId(), row.status(), row.employeeId(), 0);
+                    }
+                }
+            }
+            if (mode == Dependents.DELETE) {
+                result.addTasksDeleted(rows.size());
+            } else {
+                result.addTasksUnassigned(rows.size());
+            }
+            report(progress, result);
+            if (rows.size() < chunkSize) {
+                return;
+            }
+        }
+    }
+
+    // No ORDER BY: any chunk will do, and reading the first entries of the index needs no sort
+    static String lockTasks(String column) {
+        return "SELECT task_id, project_id, employee_id, status FROM Task WHERE " + column + " = ? LIMIT ? FOR UPDATE";
+    }
+
+    private void deleteEmployeesOf(int projectId, CascadeResult result, Progress progress)
+            throws SQLException, InterruptedException {
+        while (true) {
+            checkInterrupted();
+            List<Integer> ids = inTransaction(conn -> {
+                List<Integer> found = new ArrayList<>();
+                try (PreparedStatement pstmt = conn.prepareStatement(PROJECT_EMPLOYEES)) {
+                    pstmt.setInt(1, projectId);
+                    pstmt.setInt(2, chunkSize);
+                    try (ResultSet rs = pstmt.executeQuery()) {
+                        while (rs.next()) {
+                            found.add(rs.getInt(1));
+                        }
+                    }
+                }
+                return found;
+            });
+            for (int employeeId : ids) {
+                cascadeEmployee(employeeId, Dependents.DELETE, result, progress);
+            }
+            if (ids.size() < chunkSize) {
+                return;
+            }
+        }
+    }
+
+    private void detachEmployeesOf(int projectId, CascadeResult result, Progress progress)
+            throws SQLException, InterruptedException {
+        while (true) {
+            checkInterrupted();
+            int detached = inTransaction(conn -> {
+                try (PreparedStatement pstmt = conn.prepareStatement(DETACH_EMPLOYEES)) {
+                    pstmt.setInt(1, projectId);
+                    pstmt.setInt(2, chunkSize);
+                    return pstmt.executeUpdate();
+                }
+            });
+            if (detached == 0) {
+                return;
+            }
+            result.addEmployeesDetached(detached);
+            report(progress, result);
+            if (detached < chunkSize) {
+                return;
+            }
+        }
+    }
+
+    // True once the row is gone, false if someone else deleted it first, null if new dependents appeared
+    // after they were cleared, in which case the caller clears them again
+    private Boolean deleteParent(String sql, int id, int pass) throws SQLException {
+        try {
+            return inTransaction(conn -> {
+                try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+                    pstmt.setInt(1, id);
+                    return pstmt.executeUpdate() > 0;
+                }
+            });
+        } catch (SQLIntegrityConstraintViolationException e) {
+            if (e.getErrorCode() == MYSQL_ROW_IS_REFERENCED && pass < MAX_ATTEMPTS) {
+                return null;
+            }
+            throw e;
+        }
+    }
+
+    // One short transaction per chunk, retried when MySQL picks it as a deadlock victim or its lock wait times out
+    private <T> T inTransaction(Chunk<T> chunk) throws SQLException {
+        for (int attempt = 1; ; attempt++) {
+            try (Connection conn = connect()) {
+                conn.setAutoCommit(false);
+                try {
+                    T value = chunk.run(conn);
+                    conn.commit();
+                    return value;
+                } catch (SQLException | RuntimeException e) {
+                    conn.rollback();
+                    throw e;
+                }
+            } catch (SQLException e) {
+                if (attempt == MAX_ATTEMPTS || (e.getErrorCode() != MYSQL_DEADLOCK && e.getErrorCode() != MYSQL_LOCK_WAIT_TIMEOUT)) {
+                    throw e;
+                }
+            }
+        }
+    }
+
+    private boolean exists(String sql, int id) throws SQLException {
+        try (Connection conn = connect();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            pstmt.setInt(1, id);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                return rs.next();
+            }
+        }
+    }
+
+    private Connection connect() throws SQLException {
+        Connection conn = connections.getConnection();
+        if (conn == null) {
+            throw new SQLException("No database connection available");
+        }
+        return conn;
+    }
+
+    private void report(Progress progress, CascadeResult result) {
+        if (progress != null) {
+            progress.chunkDone(result);
+        }
+    }
+
+    private void finish(CascadeResult result) {
+        result.finish();
+        for (Runnable hook : completionHooks) {
+            hook.run();
+        }
+    }
+
+    private static void checkInterrupted() throws InterruptedException {
+        if (Thread.interrupted()) {
+            throw new InterruptedException("Cascading delete cancelled");
+        }
+    }
+
+    private static String placeholders(int count) {
+        return String.join(",", Collections.nCopies(count, "?"));
+    }
+
+    // Waits for background deletes still running
+    @Override
+    public void close() {
+        background.close();
+    }
+}
@@ -0,0 +1,33 @@
+package dao;
+
+// Running totals of a cascading delete. Progress callbacks receive the live instance after every chunk;
+// it is only written by the thread doing the delete.
+public class CascadeResult {
+    private volatile long tasksDeleted;
+    private volatile long tasksUnassigned;
+    private volatile long employeesDeleted;
+    private volatile long employeesDetached;
+    private volatile int chunks;
+    private final long started = System.currentTimeMillis();
+    private volatile long elapsedMillis;
+
+    void addTasksDeleted(int count) { tasksDeleted += count; chunks++; }
+    void addTasksUnassigned(int count) { tasksUnassigned += count; chunks++; }
+    void addEmployeesDeleted(int count) { employeesDeleted += count; chunks++; }
+    void addEmployeesDetached(int count) { employeesDetached += count; chunks++; }
+    void finish() { elapsedMillis = System.currentTimeMillis() - started; }
+
+    public long getTasksDeleted() { return tasksDeleted; }
+    public long getTasksUnassigned() { return tasksUnassigned; }
+    public long getEmployeesDeleted() { return employeesDeleted; }
+    public long getEmployeesDetached() { return employeesDetached; }
+    public int getChunks() { return chunks; }
+    public long getElapsedMillis() { return elapsedMillis > 0 ? elapsedMillis : System.currentTimeMillis() - started; }
+
+    @Override
+    public String toString() {
+        return "CascadeResult{tasksDeleted=" + tasksDeleted + ", tasksUnassigned=" + tasksUnassigned
+                + ", employeesDeleted=" + employeesDeleted + ", employeesDetached=" + employeesDetached
+                + ", chunks=" + chunks + ", elapsedMs=" + getElapsedMillis() + "}";
+    }
+}
@@ -0,0 +1,10 @@
+package dao;
+
+import java.sql.Connection;
+
+// Where ProjectRepositoryImpl gets its connections. Every operation closes the connection it was given when done,
+// so providers hand out pooled connections, or wrappers whose close() does not end anything shared.
+@FunctionalInterface
+public interface ConnectionProvider {
+    Connection getConnection();
+}
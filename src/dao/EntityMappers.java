@@ -0,0 +1,47 @@
+package dao;
+
+import entity.Employee;
+import entity.Project;
+import entity.Task;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+
+// Row mappers for the three tables. Column indexes are resolved by name when a result set is bound,
+// so the mappers work with any column order and still read every row by index with typed getters.
+public final class EntityMappers {
+    private EntityMappers() {}
+
+    public static RowMapper<Task> task(ResultSet rs) throws SQLException {
+        int taskId = rs.findColumn("task_id");
+        int taskName = rs.findColumn("task_name");
+        int projectId = rs.findColumn("project_id");
+        int employeeId = rs.findColumn("employee_id");
+        int status = rs.findColumn("status");
+        return row -> new Task(row.getInt(taskId), row.getString(taskName), row.getInt(projectId),
+                row.getInt(employeeId), row.getString(status));
+    }
+
+    public static RowMapper<Employee> employee(ResultSet rs) throws SQLException {
+        int id = rs.findColumn("id");
+        int name = rs.findColumn("name");
+        int designation = rs.findColumn("designation");
+        int gender = rs.findColumn("gender");
+        int salary = rs.findColumn("salary");
+        int projectId = rs.findColumn("project_id");
+        return row -> new Employee(row.getInt(id), row.getString(name), row.getString(designation),
+                row.getString(gender), row.getDouble(salary), row.getInt(projectId));
+    }
+
+    public static RowMapper<Project> project(ResultSet rs) throws SQLException {
+        int id = rs.findColumn("id");
+        int projectName = rs.findColumn("projectName");
+        int description = rs.findColumn("description");
+        int startDate = rs.findColumn("startDate");
+        int status = rs.findColumn("status");
+        // DATE columns convert straight to LocalDate, without formatting and re-parsing a string
+        return row -> new Project(row.getInt(id), row.getString(projectName), row.getString(description),
+                row.getObject(startDate, LocalDate.class), row.getString(status));
+    }
+}
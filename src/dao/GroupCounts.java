@@ -0,0 +1,74 @@
+package dao;
+
+import entity.TaskStatus;
+import util.IntArrayList;
+
+import java.util.Arrays;
+
+// Task counts grouped by an id (project or employee) and split by status. One row of counts per distinct id,
+// found by binary search, so sparse or very large ids cost no more than dense ones.
+public class GroupCounts {
+    // Statuses in ordinal order, plus one trailing column for tasks without a recognised status
+    static final int WIDTH = TaskStatus.values().length + 1;
+
+    private final int[] ids; // ascending, ids[i] owns row i of counts
+    private final int[] counts;
+
+    // Column for a Task.status value; unknown and missing statuses share the last column
+    static int column(String status) {
+        try {
+            TaskStatus known = TaskStatus.fromLabel(status);
+            return known == null ? WIDTH - 1 : known.ordinal();
+        } catch (IllegalArgumentException e) {
+            return WIDTH - 1;
+        }
+    }
+
+    GroupCounts(int[] ids, int[] counts) {
+        this.ids = ids;
+        this.counts = counts;
+    }
+
+    public int count(int key) {
+        int row = Arrays.binarySearch(ids, key);
+        if (row < 0) {
+            return 0;
+        }
+        return rowTotal(row);
+    }
+
+    public int count(int key, TaskStatus status) {
+        int row = Arrays.binarySearch(ids, key);
+        if (row < 0) {
+            return 0;
+        }
+        return counts[row * WIDTH + (status == null ? WIDTH - 1 : status.ordinal())];
+    }
+
+    // Keys with at least one task, ascending
+    public int[] keys() {
+        IntArrayList keys = new IntArrayList(16);
+        for (int row = 0; row < ids.length; row++) {
+            if (rowTotal(row) > 0) {
+                keys.add(ids[row]);
+            }
+        }
+        return keys.toArray();
+    }
+
+    public long total() {
+        long total = 0;
+        for (int count : counts) {
+            total += count;
+        }
+        return total;
+    }
+
+    private int rowTotal(int row) {
+        int total = 0;
+        for (int column = row * WIDTH, end = column + WIDTH; column < end; column++) {
+            total += counts[column];
+        }
+        return total;
+    }
+}
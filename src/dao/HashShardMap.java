@@ -0,0 +1,63 @@
+package dao;
+
+import java.util.Arrays;
+
+// Consistent hashing: every shard owns virtualNodes points on a 32-bit ring and a project belongs to the first
+// point at or after its hash. Adding a shard only takes projects from the points it lands next to, about 1/N
+// of them, instead of reshuffling nearly everything the way hash % N would.
+public class HashShardMap implements ShardMap {
+    private final int shardCount;
+    private final int[] points; // sorted ring positions
+    private final int[] owners; // shard owning points[i]
+
+    public HashShardMap(int shardCount, int virtualNodes) {
+        if (shardCount < 1 || virtualNodes < 1) {
+            throw new IllegalArgumentException("Need at least one shard and one virtual node per shard");
+        }
+        this.shardCount = shardCount;
+        long[] ring = new long[shardCount * virtualNodes];
+        for (int shard = 0; shard < shardCount; shard++) {
+            for (int node = 0; node < virtualNodes; node++) {
+                int point = mix(shard * 0x9E3779B9L + node * 0x85EBCA6BL + 1);
+                // position in the high half, owner in the low half, so one sort orders both
+                ring[shard * virtualNodes + node] = ((long) point << 32) | shard;
+            }
+        }
+        Arrays.sort(ring);
+        points = new int[ring.length];
+        owners = new int[ring.length];
+        for (int i = 0; i < ring.length; i++) {
+            points[i] = (int) (ring[i] >> 32);
+            owners[i] = (int) ring[i];
+        }
+    }
+
+    @Override
+    public int shardFor(int projectId) {
+        int index = Arrays.binarySearch(points, mix(projectId));
+        if (index < 0) {
+            index = -index - 1;
+        }
+        return owners[index == points.length ? 0 : index]; // past the last point wraps round to the first
+    }
+
+    @Override
+    public int getShardCount() {
+        return shardCount;
+    }
+
+    // murmur3's 64-bit finalizer, folded to 32 bits
+    private static int mix(long value) {
+        value ^= value >>> 33;
+        value *= 0xFF51AFD7ED558CCDL;
+        value ^= value >>> 33;
+        value *= 0xC4CEB9FE1A85EC53L;
+        value ^= value >>> 33;
+        return (int) value;
+    }
+
+    @Override
+    public String toString() {
+        return "HashShardMap{shards=" + shardCount + ", points=" + points.length + "}";
+    }
+}
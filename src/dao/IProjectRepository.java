@@ -6,7 +6,11 @@ import entity.Task;
 import exception.EmployeeNotFoundException;
 import exception.ProjectNotFoundException;
 
+import java.util.Comparator;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 public interface IProjectRepository {
     boolean createEmployee(Employee emp) throws ProjectNotFoundException;
@@ -22,4 +26,120 @@ public interface IProjectRepository {
     List<Project> getAllProjects();
 
     List<Task> getTaskTable();
+
+    // Single-entity lookups. The defaults scan the streaming reads; implementations should override them.
+    default Optional<Employee> findEmployee(int id) {
+        try (Stream<Employee> employees = streamEmployees()) {
+            return employees.filter(e -> e.getId() == id).findFirst();
+        }
+    }
+
+    default Optional<Project> findProject(int id) {
+        try (Stream<Project> projects = streamProjects()) {
+            return projects.filter(p -> p.getId() == id).findFirst();
+        }
+    }
+
+    default boolean employeeExists(int id) { return findEmployee(id).isPresent(); }
+    default boolean projectExists(int id) { return findProject(id).isPresent(); }
+
+    // Streaming reads hold database resources until closed; always use them in try-with-resources.
+    default Stream<Task> streamTaskTable() { return getTaskTable().stream(); }
+    default Stream<Employee> streamEmployees() { return getAllEmployees().stream(); }
+    default Stream<Project> streamProjects() { return getAllProjects().stream(); }
+
+    // Keyset pagination ordered by id. The defaults scan the streaming reads; implementations should override them.
+    default Page<Task> findTasks(TaskFilter filter, String pageToken, int pageSize) {
+        Page.requireSize(pageSize);
+        int afterId = Page.decodeToken(pageToken);
+        try (Stream<Task> tasks = streamTaskTable()) {
+            return Page.of(tasks.filter(t -> t.getTaskId() > afterId && filter.matches(t))
+                    .sorted(Comparator.comparingInt(Task::getTaskId))
+                    .limit(pageSize + 1L)
+                    .collect(Collectors.toList()), pageSize, Task::getTaskId);
+        }
+    }
+
+    default Page<Employee> findEmployees(Integer projectId, String pageToken, int pageSize) {
+        Page.requireSize(pageSize);
+        int afterId = Page.decodeToken(pageToken);
+        try (Stream<Employee> employees = streamEmployees()) {
+            return Page.of(employees.filter(e -> e.getId() > afterId && (projectId == null || e.getProjectId() == projectId))
+                    .sorted(Comparator.comparingInt(Employee::getId))
+                    .limit(pageSize + 1L)
+                    .collect(Collectors.toList()), pageSize, Employee::getId);
+        }
+    }
+
+    default Page<Project> findProjects(String status, String pageToken, int pageSize) {
+        Page.requireSize(pageSize);
+        int afterId = Page.decodeToken(pageToken);
+        try (Stream<Project> projects = streamProjects()) {
+            return Page.of(projects.filter(p -> p.getId() > afterId && (status == null || status.equalsIgnoreCase(p.getStatus())))
+                    .sorted(Comparator.comparingInt(Project::getId))
+                    .limit(pageSize + 1L)
+                    .collect(Collectors.toList()), pageSize, Project::getId);
+        }
+    }
+
+    // Bulk writes. The defaults fall back to one call per row; implementations should override them.
+    default BatchResult createEmployees(List<Employee> employees) {
+        BatchResult result = new BatchResult(employees.size());
+        for (int i = 0; i < employees.size(); i++) {
+            Employee emp = employees.get(i);
+            try {
+                if (createEmployee(emp)) {
+                    result.recordSuccess(i, emp.getId());
+                } else {
+                    result.recordFailure(i, "Failed to add employee.");
+                }
+            } catch (ProjectNotFoundException e) {
+                result.recordFailure(i, e.getMessage());
+            }
+        }
+        return result;
+    }
+
+    default BatchResult createProjects(List<Project> projects) {
+        BatchResult result = new BatchResult(projects.size());
+        for (int i = 0; i < projects.size(); i++) {
+            Project project = projects.get(i);
+            if (createProject(project)) {
+                result.recordSuccess(i, project.getId());
+            } else {
+                result.recordFailure(i, "Failed to add project.");
+            }
+        }
+        return result;
+    }
+
+    default BatchResult createTasks(List<Task> tasks) {
+        BatchResult result = new BatchResult(tasks.size());
+        for (int i = 0; i < tasks.size(); i++) {
+            Task task = tasks.get(i);
+            try {
+                if (createTask(task)) {
+                    result.recordSuccess(i, task.getTaskId());
+                } else {
+                    result.recordFailure(i, "Failed to add task.");
+                }
+            } catch (EmployeeNotFoundException | ProjectNotFoundException e) {
+                result.recordFailure(i, e.getMessage());
+            }
+        }
+        return result;
+    }
+
+    default BatchResult assignTasksToEmployee(List<Integer> taskIds, int projectId, int employeeId) throws EmployeeNotFoundException, ProjectNotFoundException {
+        BatchResult result = new BatchResult(taskIds.size());
+        for (int i = 0; i < taskIds.size(); i++) {
+            int taskId = taskIds.get(i);
+            if (assignTaskToEmployee(taskId, projectId, employeeId)) {
+                result.recordSuccess(i, taskId);
+            } else {
+                result.recordFailure(i, "Task with ID " + taskId + " not found in project " + projectId + ".");
+            }
+        }
+        return result;
+    }
 }
@@ -0,0 +1,20 @@
+package dao;
+
+import entity.EmployeeWorkload;
+import entity.ProjectCost;
+import entity.ProjectTaskSummary;
+
+import java.time.LocalDate;
+import java.util.List;
+
+// Aggregated reports, one row per group, ordered by id
+public interface IReportRepository {
+    // Every project, including those without tasks
+    List<ProjectTaskSummary> getTaskStatusByProject();
+
+    // Projects whose start date falls within [from, to]; a null bound is open
+    List<ProjectCost> getProjectCosts(LocalDate from, LocalDate to);
+
+    // Employees of the given project, or every employee when projectId is null
+    List<EmployeeWorkload> getEmployeeWorkloads(Integer projectId);
+}
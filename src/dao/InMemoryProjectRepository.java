@@ -0,0 +1,544 @@
+package dao;
+
+import entity.Employee;
+import entity.Project;
+import entity.Task;
+import exception.EmployeeNotFoundException;
+import exception.ProjectNotFoundException;
+import util.IntArrayList;
+import util.IntObjectHashMap;
+import util.LongObjectHashMap;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+// IProjectRepository kept entirely in memory, with primitive int-keyed indexes instead of MySQL.
+// Follows the same rules as the schema's foreign keys: employees and tasks must reference existing
+// rows, and a project or employee that is still referenced can't be deleted.
+// Entities are copied on the way in and out, so callers can't corrupt the indexes.
+public class InMemoryProjectRepository implements IProjectRepository {
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final IntObjectHashMap<Employee> employees = new IntObjectHashMap<>();
+    private final IntObjectHashMap<Project> projects = new IntObjectHashMap<>();
+    private final IntObjectHashMap<Task> tasks = new IntObjectHashMap<>();
+
+    // Ids in ascending order, for ordered scans and keyset paging. Deleted ids are skipped lazily.
+    private final IdOrder employeeOrder = new IdOrder(employees);
+    private final IdOrder projectOrder = new IdOrder(projects);
+    private final IdOrder taskOrder = new IdOrder(tasks);
+
+    private final LongObjectHashMap<IntArrayList> tasksByEmployeeAndProject = new LongObjectHashMap<>();
+    private final IntObjectHashMap<IntArrayList> tasksByProject = new IntObjectHashMap<>();
+    private final IntObjectHashMap<IntArrayList> tasksByEmployee = new IntObjectHashMap<>();
+    private final IntObjectHashMap<IntArrayList> employeesByProject = new IntObjectHashMap<>();
+
+    private int nextEmployeeId = 1;
+    private int nextProjectId = 1;
+    private int nextTaskId = 1;
+
+    @Override
+    public boolean createEmployee(Employee emp) throws ProjectNotFoundException {
+        lock.writeLock().lock();
+        try {
+            requireProject(emp.getProjectId());
+            emp.setId(nextEmployeeId++);
+            insertEmployee(copy(emp));
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public boolean createProject(Project pj) {
+        lock.writeLock().lock();
+        try {
+            pj.setId(nextProjectId++);
+            insertProject(copy(pj));
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public boolean createTask(Task task) throws EmployeeNotFoundException, ProjectNotFoundException {
+        lock.writeLock().lock();
+        try {
+            requireEmployee(task.getEmployeeId());
+            requireProject(task.getProjectId());
+            task.setTaskId(nextTaskId++);
+            insertTask(copy(task));
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public boolean assignProjectToEmployee(int projectId, int employeeId) throws EmployeeNotFoundException, ProjectNotFoundException {
+        lock.writeLock().lock();
+        try {
+            requireProject(projectId);
+            Employee employee = requireEmployee(employeeId);
+            unindex(employeesByProject, employee.getProjectId(), employeeId);
+            employee.setProjectId(projectId);
+            index(employeesByProject, projectId, employeeId);
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public boolean assignTaskToEmployee(int taskId, int projectId, int employeeId) throws EmployeeNotFoundException, ProjectNotFoundException {
+        lock.writeLock().lock();
+        try {
+            requireProject(projectId);
+            requireEmployee(employeeId);
+            Task task = tasks.get(taskId);
+            if (task == null || task.getProjectId() != projectId) {
+                return false;
+            }
+            unindexTask(task);
+            task.setEmployeeId(employeeId);
+            indexTask(task);
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public boolean deleteEmployee(int userId) throws EmployeeNotFoundException {
+        lock.writeLock().lock();
+        try {
+            Employee employee = requireEmployee(userId);
+            if (hasEntries(tasksByEmployee, userId)) {
+                return false; // still referenced by tasks
+            }
+            employees.remove(userId);
+            employeeOrder.removed();
+            unindex(employeesByProject, employee.getProjectId(), userId);
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public boolean deleteProject(int projectId) throws ProjectNotFoundException {
+        lock.writeLock().lock();
+        try {
+            requireProject(projectId);
+            if (hasEntries(tasksByProject, projectId) || hasEntries(employeesByProject, projectId)) {
+                return false; // still referenced by tasks or employees
+            }
+            projects.remove(projectId);
+            projectOrder.removed();
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public List<Task> getAllTasks(int empId, int projectId) {
+        lock.readLock().lock();
+        try {
+            IntArrayList ids = tasksByEmployeeAndProject.get(pairKey(empId, projectId));
+            List<Task> result = new ArrayList<>(ids == null ? 0 : ids.size());
+            for (int i = 0; ids != null && i < ids.size(); i++) {
+                result.add(copy(tasks.get(ids.get(i))));
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public List<Employee> getAllEmployees() {
+        return findEmployees(null, null, Integer.MAX_VALUE - 1).getItems();
+    }
+
+    @Override
+    public List<Project> getAllProjects() {
+        return findProjects(null, null, Integer.MAX_VALUE - 1).getItems();
+    }
+
+    @Override
+    public List<Task> getTaskTable() {
+        return findTasks(TaskFilter.all(), null, Integer.MAX_VALUE - 1).getItems();
+    }
+
+    @Override
+    public Optional<Employee> findEmployee(int id) {
+        lock.readLock().lock();
+        try {
+            return Optional.ofNullable(employees.get(id)).map(InMemoryProjectRepository::copy);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public Optional<Project> findProject(int id) {
+        lock.readLock().lock();
+        try {
+            return Optional.ofNullable(projects.get(id)).map(InMemoryProjectRepository::copy);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public boolean employeeExists(int id) {
+        lock.readLock().lock();
+        try {
+            return employees.containsKey(id);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public boolean projectExists(int id) {
+        lock.readLock().lock();
+        try {
+            return projects.containsKey(id);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public Page<Task> findTasks(TaskFilter filter, String pageToken, int pageSize) {
+        Page.requireSize(pageSize);
+        int afterId = Page.decodeToken(pageToken);
+        lock.readLock().lock();
+        try {
+            List<Task> fetched = new ArrayList<>();
+            IntArrayList candidates = candidateTasks(filter);
+            if (candidates == null) {
+                // No index applies: walk the ordered id list from the page start
+                IntArrayList ids = taskOrder.ids();
+                for (int i = ids.upperBound(afterId); i < ids.size() && fetched.size() <= pageSize; i++) {
+                    Task task = tasks.get(ids.get(i));
+                    if (task != null && filter.matches(task)) {
+                        fetched.add(copy(task));
+                    }
+                }
+            } else {
+                // Index buckets are kept in id order too, so the page starts right after the token's id
+                for (int i = candidates.upperBound(afterId); i < candidates.size() && fetched.size() <= pageSize; i++) {
+                    Task task = tasks.get(candidates.get(i));
+                    if (filter.matches(task)) {
+                        fetched.add(copy(task));
+                    }
+                }
+            }
+            return Page.of(fetched, pageSize, Task::getTaskId);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public Page<Employee> findEmployees(Integer projectId, String pageToken, int pageSize) {
+        Page.requireSize(pageSize);
+        int afterId = Page.decodeToken(pageToken);
+        lock.readLock().lock();
+        try {
+            List<Employee> fetched = new ArrayList<>();
+            IntArrayList ids = employeeOrder.ids();
+            for (int i = ids.upperBound(afterId); i < ids.size() && fetched.size() <= pageSize; i++) {
+                Employee employee = employees.get(ids.get(i));
+                if (employee != null && (projectId == null || employee.getProjectId() == projectId)) {
+                    fetched.add(copy(employee));
+                }
+            }
+            return Page.of(fetched, pageSize, Employee::getId);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public Page<Project> findProjects(String status, String pageToken, int pageSize) {
+        Page.requireSize(pageSize);
+        int afterId = Page.decodeToken(pageToken);
+        lock.readLock().lock();
+        try {
+            List<Project> fetched = new ArrayList<>();
+            IntArrayList ids = projectOrder.ids();
+            for (int i = ids.upperBound(afterId); i < ids.size() && fetched.size() <= pageSize; i++) {
+                Project project = projects.get(ids.get(i));
+                if (project != null && (status == null || status.equalsIgnoreCase(project.getStatus()))) {
+                    fetched.add(copy(project));
+                }
+            }
+            return Page.of(fetched, pageSize, Project::getId);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int getEmployeeCount() { return countUnderReadLock(employees); }
+    public int getProjectCount() { return countUnderReadLock(projects); }
+    public int getTaskCount() { return countUnderReadLock(tasks); }
+
+    private int countUnderReadLock(IntObjectHashMap<?> map) {
+        lock.readLock().lock();
+        try {
+            return map.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Bulk loads of rows that already have ids, e.g. from a snapshot. The ids are kept and later creates continue
+    // after the highest one. Projects go first, then employees, then tasks: a row referencing a project or employee
+    // that isn't there is rejected like a clashing id, since the copy it came from can't have been consistent.
+    // Unlike the create methods the rows are stored as given, not copied, so callers hand them over for good.
+    public void restoreProjects(List<Project> rows) {
+        lock.writeLock().lock();
+        try {
+            IntArrayList ids = new IntArrayList(rows.size());
+            for (Project project : rows) {
+                ids.add(project.getId());
+            }
+            requireNew(projects, ids, "Project");
+            for (Project project : rows) {
+                projects.put(project.getId(), project);
+                nextProjectId = Math.max(nextProjectId, project.getId() + 1);
+            }
+            projectOrder.addAll(ids);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void restoreEmployees(List<Employee> rows) {
+        lock.writeLock().lock();
+        try {
+            IntArrayList ids = new IntArrayList(rows.size());
+            for (Employee employee : rows) {
+                ids.add(employee.getId());
+            }
+            requireNew(employees, ids, "Employee");
+            for (Employee employee : rows) {
+                requireReferenced(projects, employee.getProjectId(), "Employee", employee.getId(), "project");
+            }
+            for (Employee employee : rows) {
+                employees.put(employee.getId(), employee);
+                index(employeesByProject, employee.getProjectId(), employee.getId());
+                nextEmployeeId = Math.max(nextEmployeeId, employee.getId() + 1);
+            }
+            employeeOrder.addAll(ids);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void restoreTasks(List<Task> rows) {
+        lock.writeLock().lock();
+        try {
+            IntArrayList ids = new IntArrayList(rows.size());
+            for (Task task : rows) {
+                ids.add(task.getTaskId());
+            }
+            requireNew(tasks, ids, "Task");
+            for (Task task : rows) {
+                requireReferenced(projects, task.getProjectId(), "Task", task.getTaskId(), "project");
+                requireReferenced(employees, task.getEmployeeId(), "Task", task.getTaskId(), "employee");
+            }
+            for (Task task : rows) {
+                tasks.put(task.getTaskId(), task);
+                index(tasksByProject, task.getProjectId(), task.getTaskId());
+                indexTask(task);
+                nextTaskId = Math.max(nextTaskId, task.getTaskId() + 1);
+            }
+            taskOrder.addAll(ids);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Restores are bulk loads into fresh data, so a clashing id means the input itself is broken. All ids are checked
+    // before anything is stored, so a rejected restore leaves the repository as it was.
+    private static void requireNew(IntObjectHashMap<?> existing, IntArrayList ids, String entity) {
+        int[] sorted = ids.toArray();
+        Arrays.sort(sorted);
+        for (int i = 0; i < sorted.length; i++) {
+            if (existing.containsKey(sorted[i]) || (i > 0 && sorted[i] == sorted[i - 1])) {
+                throw new IllegalStateException(entity + " with ID " + sorted[i] + " can't be restored: it already exists");
+            }
+        }
+    }
+
+    // 0 stands for a NULL foreign key
+    private static void requireReferenced(IntObjectHashMap<?> parents, int parentId, String entity, int id, String parent) {
+        if (parentId != 0 && !parents.containsKey(parentId)) {
+            throw new IllegalStateException(entity + " with ID " + id + " can't be restored: its " + parent
+                    + " " + parentId + " is missing");
+        }
+    }
+
+    private IntArrayList candidateTasks(TaskFilter filter) {
+        if (filter.getEmployeeId() != null && filter.getProjectId() != null) {
+            return orEmpty(tasksByEmployeeAndProject.get(pairKey(filter.getEmployeeId(), filter.getProjectId())));
+        }
+        if (filter.getProjectId() != null) {
+            return orEmpty(tasksByProject.get(filter.getProjectId()));
+        }
+        if (filter.getEmployeeId() != null) {
+            return orEmpty(tasksByEmployee.get(filter.getEmployeeId()));
+        }
+        return null;
+    }
+
+    private static IntArrayList orEmpty(IntArrayList ids) {
+        return ids == null ? new IntArrayList(0) : ids;
+    }
+
+    private void insertEmployee(Employee employee) {
+        employees.put(employee.getId(), employee);
+        employeeOrder.add(employee.getId());
+        index(employeesByProject, employee.getProjectId(), employee.getId());
+    }
+
+    private void insertProject(Project project) {
+        projects.put(project.getId(), project);
+        projectOrder.add(project.getId());
+    }
+
+    private void insertTask(Task task) {
+        tasks.put(task.getTaskId(), task);
+        taskOrder.add(task.getTaskId());
+        index(tasksByProject, task.getProjectId(), task.getTaskId());
+        indexTask(task);
+    }
+
+    private void indexTask(Task task) {
+        index(tasksByEmployee, task.getEmployeeId(), task.getTaskId());
+        IntArrayList ids = tasksByEmployeeAndProject.get(pairKey(task.getEmployeeId(), task.getProjectId()));
+        if (ids == null) {
+            ids = new IntArrayList(4);
+            tasksByEmployeeAndProject.put(pairKey(task.getEmployeeId(), task.getProjectId()), ids);
+        }
+        ids.addSorted(task.getTaskId());
+    }
+
+    private void unindexTask(Task task) {
+        unindex(tasksByEmployee, task.getEmployeeId(), task.getTaskId());
+        long key = pairKey(task.getEmployeeId(), task.getProjectId());
+        IntArrayList ids = tasksByEmployeeAndProject.get(key);
+        if (ids != null && ids.removeSorted(task.getTaskId()) && ids.isEmpty()) {
+            tasksByEmployeeAndProject.remove(key);
+        }
+    }
+
+    // Buckets hold ids in ascending order, so paging through one can binary-search to the page start
+    private static void index(IntObjectHashMap<IntArrayList> index, int key, int id) {
+        IntArrayList ids = index.get(key);
+        if (ids == null) {
+            ids = new IntArrayList(4);
+            index.put(key, ids);
+        }
+        ids.addSorted(id);
+    }
+
+    private static void unindex(IntObjectHashMap<IntArrayList> index, int key, int id) {
+        IntArrayList ids = index.get(key);
+        if (ids != null && ids.removeSorted(id) && ids.isEmpty()) {
+            index.remove(key);
+        }
+    }
+
+    private static boolean hasEntries(IntObjectHashMap<IntArrayList> index, int key) {
+        IntArrayList ids = index.get(key);
+        return ids != null && !ids.isEmpty();
+    }
+
+    private static long pairKey(int employeeId, int projectId) {
+        return ((long) employeeId << 32) | (projectId & 0xFFFFFFFFL);
+    }
+
+    private Employee requireEmployee(int employeeId) throws EmployeeNotFoundException {
+        Employee employee = employees.get(employeeId);
+        if (employee == null) {
+            throw new EmployeeNotFoundException("Employee with ID " + employeeId + " not found.");
+        }
+        return employee;
+    }
+
+    private void requireProject(int projectId) throws ProjectNotFoundException {
+        if (!projects.containsKey(projectId)) {
+            throw new ProjectNotFoundException("Project with ID " + projectId + " not found.");
+        }
+    }
+
+    private static Employee copy(Employee e) {
+        return new Employee(e.getId(), e.getName(), e.getDesignation(), e.getGender(), e.getSalary(), e.getProjectId());
+    }
+
+    private static Project copy(Project p) {
+        return new Project(p.getId(), p.getProjectName(), p.getDescription(), p.getStartDate(), p.getStatus());
+    }
+
+    private static Task copy(Task t) {
+        return new Task(t.getTaskId(), t.getTaskName(), t.getProjectId(), t.getEmployeeId(), t.getStatus());
+    }
+
+    // Ascending id list that tolerates deletes by skipping missing ids, compacting once they pile up.
+    // Only modified under the write lock, so readers can walk it freely under the read lock.
+    private static final class IdOrder {
+        private final IntObjectHashMap<?> rows;
+        private final IntArrayList ids = new IntArrayList(16);
+        private int removedSinceCompaction;
+
+        IdOrder(IntObjectHashMap<?> rows) {
+            this.rows = rows;
+        }
+
+        void add(int id) {
+            ids.addSorted(id); // generated ids only grow, so this is usually an append
+        }
+
+        // Bulk path for restores: appends in the given order and sorts once if that broke the ordering
+        void addAll(IntArrayList added) {
+            boolean ordered = true;
+            for (int i = 0; i < added.size(); i++) {
+                int id = added.get(i);
+                ordered &= ids.isEmpty() || ids.get(ids.size() - 1) < id;
+                ids.add(id);
+            }
+            if (!ordered) {
+                ids.sort();
+            }
+        }
+
+        void removed() {
+            if (++removedSinceCompaction > 1024 && removedSinceCompaction > ids.size() / 2) {
+                int kept = 0;
+                for (int i = 0; i < ids.size(); i++) {
+                    if (rows.containsKey(ids.get(i))) {
+                        ids.set(kept++, ids.get(i));
+                    }
+                }
+                ids.truncate(kept);
+                removedSinceCompaction = 0;
+            }
+        }
+
+        IntArrayList ids() {
+            return ids;
+        }
+    }
+}
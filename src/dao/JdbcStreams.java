@@ -0,0 +1,73 @@
+package dao;
+
+import exception.UncheckedSQLException;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+// Turns a query into a lazily fetched Stream. The connection, statement and result set stay open
+// until the stream is closed, so callers must use try-with-resources. A missing connection, a failed query
+// or a failure while rows are being fetched is thrown as an UncheckedSQLException, never passed off as an
+// empty or shorter table.
+final class JdbcStreams {
+    private JdbcStreams() {}
+
+    static <T> Stream<T> stream(Connection conn, String query, ResultSetMapper<T> mapper) {
+        if (conn == null) {
+            throw new UncheckedSQLException(new SQLException("No database connection for: " + query));
+        }
+        PreparedStatement pstmt = null;
+        try {
+            pstmt = conn.prepareStatement(query, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            pstmt.setFetchSize(Integer.MIN_VALUE); // Connector/J: stream rows one at a time instead of buffering the table
+            ResultSet rs = pstmt.executeQuery();
+            RowMapper<T> row = mapper.bind(rs);
+            Spliterator<T> rows = new Spliterators.AbstractSpliterator<T>(Long.MAX_VALUE, Spliterator.ORDERED | Spliterator.NONNULL) {
+                @Override
+                public boolean tryAdvance(Consumer<? super T> action) {
+                    try {
+                        if (!rs.next()) {
+                            return false;
+                        }
+                        action.accept(row.map(rs));
+                        return true;
+                    } catch (SQLException e) {
+                        // ending the stream here would pass a partial table off as the whole of it
+                        throw new UncheckedSQLException(e);
+                    }
+                }
+            };
+            PreparedStatement statement = pstmt;
+            return StreamSupport.stream(rows, false).onClose(() -> closeQuietly(rs, statement, conn));
+        } catch (SQLException e) {
+            closeQuietly(null, pstmt, conn);
+            throw new UncheckedSQLException(e);
+        }
+    }
+
+    private static void closeQuietly(ResultSet rs, PreparedStatement pstmt, Connection conn) {
+        try {
+            if (rs != null) {
+                rs.close();
+            }
+            if (pstmt != null) {
+                pstmt.close();
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+        } finally {
+            try {
+                conn.close();
+            } catch (SQLException e) {
+                e.printStackTrace();
+            }
+        }
+    }
+}
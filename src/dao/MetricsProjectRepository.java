@@ -0,0 +1,455 @@
+package dao;
+
+import entity.Employee;
+import entity.Project;
+import entity.Task;
+import exception.EmployeeNotFoundException;
+import exception.ProjectNotFoundException;
+import util.DBConnUtil;
+import util.PoolMetrics;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.io.PrintStream;
+import java.lang.management.ManagementFactory;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+// Records per-operation call counts, outcomes, rows returned and latency (split into connection acquire
+// and query time) for every call into the wrapped repository. Exposed over JMX and as a periodic text dump.
+public class MetricsProjectRepository implements IProjectRepository {
+    private final IProjectRepository delegate;
+    private final List<OperationMetrics> operations = new ArrayList<>();
+    private ScheduledExecutorService reporter;
+
+    private final OperationMetrics createEmployee = register("createEmployee");
+    private final OperationMetrics createProject = register("createProject");
+    private final OperationMetrics createTask = register("createTask");
+    private final OperationMetrics assignProjectToEmployee = register("assignProjectToEmployee");
+    private final OperationMetrics assignTaskToEmployee = register("assignTaskToEmployee");
+    private final OperationMetrics deleteEmployee = register("deleteEmployee");
+    private final OperationMetrics deleteProject = register("deleteProject");
+    private final OperationMetrics getAllTasks = register("getAllTasks");
+    private final OperationMetrics getAllEmployees = register("getAllEmployees");
+    private final OperationMetrics getAllProjects = register("getAllProjects");
+    private final OperationMetrics getTaskTable = register("getTaskTable");
+    private final OperationMetrics findEmployee = register("findEmployee");
+    private final OperationMetrics findProject = register("findProject");
+    private final OperationMetrics employeeExists = register("employeeExists");
+    private final OperationMetrics projectExists = register("projectExists");
+    private final OperationMetrics streamTaskTable = register("streamTaskTable");
+    private final OperationMetrics streamEmployees = register("streamEmployees");
+    private final OperationMetrics streamProjects = register("streamProjects");
+    private final OperationMetrics findTasks = register("findTasks");
+    private final OperationMetrics findEmployees = register("findEmployees");
+    private final OperationMetrics findProjects = register("findProjects");
+    private final OperationMetrics createEmployees = register("createEmployees");
+    private final OperationMetrics createProjects = register("createProjects");
+    private final OperationMetrics createTasks = register("createTasks");
+    private final OperationMetrics assignTasksToEmployee = register("assignTasksToEmployee");
+
+    public MetricsProjectRepository(IProjectRepository delegate) {
+        this.delegate = delegate;
+    }
+
+    private OperationMetrics register(String name) {
+        OperationMetrics metrics = new OperationMetrics(name);
+        operations.add(metrics);
+        return metrics;
+    }
+
+    // Install on ProjectRepositoryImpl so swallowed SQLExceptions are counted against the running operation
+    public static Consumer<SQLException> sqlErrorHandler() {
+        return e -> {
+            OperationMetrics.recordSqlError(e);
+            e.printStackTrace();
+        };
+    }
+
+    public List<OperationMetrics> getOperations() {
+        return operations;
+    }
+
+    public void registerMBeans() {
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        for (OperationMetrics metrics : operations) {
+            try {
+                ObjectName name = new ObjectName("dao:type=RepositoryOperation,name=" + metrics.getOperation());
+                if (!server.isRegistered(name)) {
+                    server.registerMBean(metrics, name);
+                }
+            } catch (JMException e) {
+                e.printStackTrace();
+            }
+        }
+    }
+
+    public synchronized void startReporter(long periodMillis, PrintStream out) {
+        if (reporter != null) {
+            return;
+        }
+        reporter = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "dao-metrics-reporter");
+            thread.setDaemon(true);
+            return thread;
+        });
+        reporter.scheduleAtFixedRate(() -> out.println(dump()), periodMillis, periodMillis, TimeUnit.MILLISECONDS);
+    }
+
+    public synchronized void stopReporter() {
+        if (reporter != null) {
+            reporter.shutdownNow();
+            reporter = null;
+        }
+    }
+
+    public String dump() {
+        StringBuilder out = new StringBuilder("----- Repository metrics -----\n");
+        for (OperationMetrics metrics : operations) {
+            if (metrics.getCalls() > 0) {
+                out.append(metrics).append('\n');
+            }
+        }
+        PoolMetrics pool = DBConnUtil.getPoolMetrics();
+        if (pool != null) {
+            out.append("connection pool          ").append(pool).append('\n');
+        }
+        return out.toString();
+    }
+
+    @Override
+    public boolean createEmployee(Employee emp) throws ProjectNotFoundException {
+        long start = createEmployee.begin();
+        try {
+            boolean result = delegate.createEmployee(emp);
+            createEmployee.end(start, result, 0);
+            return result;
+        } catch (ProjectNotFoundException | RuntimeException e) {
+            createEmployee.error(start, e);
+            throw e;
+        }
+    }
+
+    @Override
+    public boolean createProject(Project pj) {
+        long start = createProject.begin();
+        try {
+            boolean result = delegate.createProject(pj);
+            createProject.end(start, result, 0);
+            return result;
+        } catch (RuntimeException e) {
+            createProject.error(start, e);
+            throw e;
+        }
+    }
+
+    @Override
+    public boolean createTask(Task task) throws EmployeeNotFoundException, ProjectNotFoundException {
+        long start = createTask.begin();
+        try {
+            boolean result = delegate.createTask(task);
+            createTask.end(start, result, 0);
+            return result;
+        } catch (EmployeeNotFoundException | ProjectNotFoundException | RuntimeException e) {
+            createTask.error(start, e);
+            throw e;
+        }
+    }
+
+    @Override
+    public boolean assignProjectToEmployee(int projectId, int employeeId) throws EmployeeNotFoundException, ProjectNotFoundException {
+        long start = assignProjectToEmployee.begin();
+        try {
+            boolean result = delegate.assignProjectToEmployee(projectId, employeeId);
+            assignProjectToEmployee.end(start, result, 0);
+            return result;
+        } catch (EmployeeNotFoundException | ProjectNotFoundException | RuntimeException e) {
+            assignProjectToEmployee.error(start, e);
+            throw e;
+        }
+    }
+
+    @Override
+    public boolean assignTaskToEmployee(int taskId, int projectId, int employeeId) throws EmployeeNotFoundException, ProjectNotFoundException {
+        long start = assignTaskToEmployee.begin();
+        try {
+            boolean result = delegate.assignTaskToEmployee(taskId, projectId, employeeId);
+            assignTaskToEmployee.end(start, result, 0);
+            return result;
+        } catch (EmployeeNotFoundException | ProjectNotFoundException | RuntimeException e) {
+            assignTaskToEmployee.error(start, e);
+            throw e;
+        }
+    }
+
+    @Override
+    public boolean deleteEmployee(int userId) throws EmployeeNotFoundException {
+        long start = deleteEmployee.begin();
+        try {
+            boolean result = delegate.deleteEmployee(userId);
+            deleteEmployee.end(start, result, 0);
+            return result;
+        } catch (EmployeeNotFoundException | RuntimeException e) {
+            deleteEmployee.error(start, e);
+            throw e;
+        }
+    }
+
+    @Override
+    public boolean deleteProject(int projectId) throws ProjectNotFoundException {
+        long start = deleteProject.begin();
+        try {
+            boolean result = delegate.deleteProject(projectId);
+            deleteProject.end(start, result, 0);
+            return result;
+        } catch (ProjectNotFoundException | RuntimeException e) {
+            deleteProject.error(start, e);
+            throw e;
+        }
+    }
+
+    @Override
+    public List<Task> getAllTasks(int empId, int projectId) {
+        long start = getAllTasks.begin();
+        try {
+            List<Task> result = delegate.getAllTasks(empId, projectId);
+            getAllTasks.end(start, true, result.size());
+            return result;
+        } catch (RuntimeException e) {
+            getAllTasks.error(start, e);
+            throw e;
+        }
+    }
+
+    @Override
+    public List<Employee> getAllEmployees() {
+        long start = getAllEmployees.begin();
+        try {
+            List<Employee> result = delegate.getAllEmployees();
+            getAllEmployees.end(start, true, result.size());
+            return result;
+        } catch (RuntimeException e) {
+            getAllEmployees.error(start, e);
+            throw e;
+        }
+    }
+
+    @Override
+    public List<Project> getAllProjects() {
+        long start = getAllProjects.begin();
+        try {
+            List<Project> result = delegate.getAllProjects();
+            getAllProjects.end(start, true, result.size());
+            return result;
+        } catch (RuntimeException e) {
+            getAllProjects.error(start, e);
+            throw e;
+        }
+    }
+
+    @Override
+    public List<Task> getTaskTable() {
+        long start = getTaskTable.begin();
+        try {
+            List<Task> result = delegate.getTaskTable();
+            getTaskTable.end(start, true, result.size());
+            return result;
+        } catch (RuntimeException e) {
+            getTaskTable.error(start, e);
+            throw e;
+        }
+    }
+
+    @Override
+    public Optional<Employee> findEmployee(int id) {
+        long start = findEmployee.begin();
+        try {
+            Optional<Employee> result = delegate.findEmployee(id);
+            findEmployee.end(start, true, result.isPresent() ? 1 : 0);
+            return result;
+        } catch (RuntimeException e) {
+            findEmployee.error(start, e);
+            throw e;
+        }
+    }
+
+    @Override
+    public Optional<Project> findProject(int id) {
+        long start = findProject.begin();
+        try {
+            Optional<Project> result = delegate.findProject(id);
+            findProject.end(start, true, result.isPresent() ? 1 : 0);
+            return result;
+        } catch (RuntimeException e) {
+            findProject.error(start, e);
+            throw e;
+        }
+    }
+
+    @Override
+    public boolean employeeExists(int id) {
+        long start = employeeExists.begin();
+        try {
+            boolean result = delegate.employeeExists(id);
+            employeeExists.end(start, true, 0);
+            return result;
+        } catch (RuntimeException e) {
+            employeeExists.error(start, e);
+            throw e;
+        }
+    }
+
+    @Override
+    public boolean projectExists(int id) {
+        long start = projectExists.begin();
+        try {
+            boolean result = delegate.projectExists(id);
+            projectExists.end(start, true, 0);
+            return result;
+        } catch (RuntimeException e) {
+            projectExists.error(start, e);
+            throw e;
+        }
+    }
+
+    @Override
+    public Stream<Task> streamTaskTable() {
+        long start = streamTaskTable.begin();
+        try {
+            // Only opening the stream is timed; rows are fetched later by the caller
+            Stream<Task> result = delegate.streamTaskTable();
+            streamTaskTable.end(start, true, 0);
+            return result;
+        } catch (RuntimeException e) {
+            streamTaskTable.error(start, e);
+            throw e;
+        }
+    }
+
+    @Override
+    public Stream<Employee> streamEmployees() {
+        long start = streamEmployees.begin();
+        try {
+            // Only opening the stream is timed; rows are fetched later by the caller
+            Stream<Employee> result = delegate.streamEmployees();
+            streamEmployees.end(start, true, 0);
+            return result;
+        } catch (RuntimeException e) {
+            streamEmployees.error(start, e);
+            throw e;
+        }
+    }
+
+    @Override
+    public Stream<Project> streamProjects() {
+        long start = streamProjects.begin();
+        try {
+            // Only opening the stream is timed; rows are fetched later by the caller
+            Stream<Project> result = delegate.streamProjects();
+            streamProjects.end(start, true, 0);
+            return result;
+        } catch (RuntimeException e) {
+            streamProjects.error(start, e);
+            throw e;
+        }
+    }
+
+    @Override
+    public Page<Task> findTasks(TaskFilter filter, String pageToken, int pageSize) {
+        long start = findTasks.begin();
+        try {
+            Page<Task> result = delegate.findTasks(filter, pageToken, pageSize);
+            findTasks.end(start, true, result.getItems().size());
+            return result;
+        } catch (RuntimeException e) {
+            findTasks.error(start, e);
+            throw e;
+        }
+    }
+
+    @Override
+    public Page<Employee> findEmployees(Integer projectId, String pageToken, int pageSize) {
+        long start = findEmployees.begin();
+        try {
+            Page<Employee> result = delegate.findEmployees(projectId, pageToken, pageSize);
+            findEmployees.end(start, true, result.getItems().size());
+            return result;
+        } catch (RuntimeException e) {
+            findEmployees.error(start, e);
+            throw e;
+        }
+    }
+
+    @Override
+    public Page<Project> findProjects(String status, String pageToken, int pageSize) {
+        long start = findProjects.begin();
+        try {
+            Page<Project> result = delegate.findProjects(status, pageToken, pageSize);
+            findProjects.end(start, true, result.getItems().size());
+            return result;
+        } catch (RuntimeException e) {
+            findProjects.error(start, e);
+            throw e;
+        }
+    }
+
+    @Override
+    public BatchResult createEmployees(List<Employee> employees) {
+        long start = createEmployees.begin();
+        try {
+            BatchResult result = delegate.createEmployees(employees);
+            createEmployees.end(start, result.getFailureCount() == 0, 0);
+            return result;
+        } catch (RuntimeException e) {
+            createEmployees.error(start, e);
+            throw e;
+        }
+    }
+
+    @Override
+    public BatchResult createProjects(List<Project> projects) {
+        long start = createProjects.begin();
+        try {
+            BatchResult result = delegate.createProjects(projects);
+            createProjects.end(start, result.getFailureCount() == 0, 0);
+            return result;
+        } catch (RuntimeException e) {
+            createProjects.error(start, e);
+            throw e;
+        }
+    }
+
+    @Override
+    public BatchResult createTasks(List<Task> tasks) {
+        long start = createTasks.begin();
+        try {
+            BatchResult result = delegate.createTasks(tasks);
+            createTasks.end(start, result.getFailureCount() == 0, 0);
+            return result;
+        } catch (RuntimeException e) {
+            createTasks.error(start, e);
+            throw e;
+        }
+    }
+
+    @Override
+    public BatchResult assignTasksToEmployee(List<Integer> taskIds, int projectId, int employeeId) throws EmployeeNotFoundException, ProjectNotFoundException {
+        long start = assignTasksToEmployee.begin();
+        try {
+            BatchResult result = delegate.assignTasksToEmployee(taskIds, projectId, employeeId);
+            assignTasksToEmployee.end(start, result.getFailureCount() == 0, 0);
+            return result;
+        } catch (EmployeeNotFoundException | ProjectNotFoundException | RuntimeException e) {
+            assignTasksToEmployee.error(start, e);
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package dao;
+
+import exception.EmployeeNotFoundException;
+import exception.ProjectNotFoundException;
+import util.ConnectionPool;
+import util.LatencyHistogram;
+
+import java.sql.SQLException;
+import java.util.concurrent.atomic.LongAdder;
+
+// Counters and latency distributions for one repository operation. Recording is lock-free and allocates nothing.
+// Latency is split into time spent acquiring pooled connections and the remainder (query and mapping).
+public class OperationMetrics implements OperationMetricsMXBean {
+    private static final ThreadLocal<OperationMetrics> CURRENT = new ThreadLocal<>();
+
+    private final String operation;
+    private final LongAdder calls = new LongAdder();
+    private final LongAdder failures = new LongAdder();
+    private final LongAdder sqlErrors = new LongAdder();
+    private final LongAdder employeeNotFound = new LongAdder();
+    private final LongAdder projectNotFound = new LongAdder();
+    private final LongAdder otherErrors = new LongAdder();
+    private final LongAdder rowsReturned = new LongAdder();
+    private final LatencyHistogram latency = new LatencyHistogram();
+    private final LatencyHistogram queryLatency = new LatencyHistogram();
+    private final LatencyHistogram acquireLatency = new LatencyHistogram();
+
+    OperationMetrics(String operation) {
+        this.operation = operation;
+    }
+
+    // Marks this operation as running on the current thread; returns the start timestamp for the end call
+    long begin() {
+        CURRENT.set(this);
+        ConnectionPool.takeThreadAcquireNanos();
+        return System.nanoTime();
+    }
+
+    void end(long start, boolean succeeded, long rows) {
+        long elapsed = System.nanoTime() - start;
+        long acquire = Math.min(ConnectionPool.takeThreadAcquireNanos(), elapsed);
+        CURRENT.remove();
+        calls.increment();
+        latency.record(elapsed);
+        acquireLatency.record(acquire);
+        queryLatency.record(elapsed - acquire);
+        if (!succeeded) {
+            failures.increment();
+        }
+        if (rows > 0) {
+            rowsReturned.add(rows);
+        }
+    }
+
+    void error(long start, Throwable e) {
+        end(start, false, 0);
+        if (e instanceof EmployeeNotFoundException) {
+            employeeNotFound.increment();
+        } else if (e instanceof ProjectNotFoundException) {
+            projectNotFound.increment();
+        } else {
+            otherErrors.increment();
+        }
+    }
+
+    // SQLExceptions are swallowed inside ProjectRepositoryImpl, so they are attributed to whichever operation
+    // the reporting thread is running
+    static void recordSqlError(SQLException e) {
+        OperationMetrics current = CURRENT.get();
+        if (current != null) {
+            current.sqlErrors.increment();
+        }
+    }
+
+    public LatencyHistogram getLatency() { return latency; }
+    public LatencyHistogram getQueryLatency() { return queryLatency; }
+    public LatencyHistogram getAcquireLatency() { return acquireLatency; }
+
+    @Override public String getOperation() { return operation; }
+    @Override public long getCalls() { return calls.sum(); }
+    @Override public long getFailures() { return failures.sum(); }
+    @Override public long getSqlErrors() { return sqlErrors.sum(); }
+    @Override public long getEmployeeNotFound() { return employeeNotFound.sum(); }
+    @Override public long getProjectNotFound() { return projectNotFound.sum(); }
+    @Override public long getOtherErrors() { return otherErrors.sum(); }
+    @Override public long getRowsReturned() { return rowsReturned.sum(); }
+    @Override public double getMeanMicros() { return latency.getMean() / 1_000.0; }
+    @Override public double getP50Micros() { return latency.getPercentile(50) / 1_000.0; }
+    @Override public double getP99Micros() { return latency.getPercentile(99) / 1_000.0; }
+    @Override public double getMaxMicros() { return latency.getMax() / 1_000.0; }
+    @Override public double getMeanAcquireMicros() { return acquireLatency.getMean() / 1_000.0; }
+    @Override public double getP99AcquireMicros() { return acquireLatency.getPercentile(99) / 1_000.0; }
+
+    @Override
+    public String toString() {
+        return String.format("%-24s calls=%-8d fail=%-5d sqlErr=%-5d empNF=%-5d projNF=%-5d rows=%-9d mean=%.1fus p50=%.1fus p99=%.1fus max=%.1fus acquire(mean=%.1fus p99=%.1fus)",
+                operation, getCalls(), getFailures(), getSqlErrors(), getEmployeeNotFound(), getProjectNotFound(), getRowsReturned(),
+                getMeanMicros(), getP50Micros(), getP99Micros(), getMaxMicros(), getMeanAcquireMicros(), getP99AcquireMicros());
+    }
+}
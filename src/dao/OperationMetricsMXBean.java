@@ -0,0 +1,18 @@
+package dao;
+
+public interface OperationMetricsMXBean {
+    String getOperation();
+    long getCalls();
+    long getFailures();
+    long getSqlErrors();
+    long getEmployeeNotFound();
+    long getProjectNotFound();
+    long getOtherErrors();
+    long getRowsReturned();
+    double getMeanMicros();
+    double getP50Micros();
+    double getP99Micros();
+    double getMaxMicros();
+    double getMeanAcquireMicros();
+    double getP99AcquireMicros();
+}
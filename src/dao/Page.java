@@ -0,0 +1,55 @@
+package dao;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.ToIntFunction;
+
+// One page of a keyset-paginated query. The token encodes the last id on the page; the next page
+// starts strictly after it, so fetching any page costs the same regardless of how deep it is.
+public class Page<T> {
+    private final List<T> items;
+    private final String nextPageToken;
+
+    public Page(List<T> items, String nextPageToken) {
+        this.items = Collections.unmodifiableList(items);
+        this.nextPageToken = nextPageToken;
+    }
+
+    public static int requireSize(int pageSize) {
+        if (pageSize < 1) {
+            throw new IllegalArgumentException("Page size must be positive: " + pageSize);
+        }
+        return pageSize;
+    }
+
+    // Expects up to pageSize + 1 rows in key order; the extra row only signals that another page exists
+    public static <T> Page<T> of(List<T> fetched, int pageSize, ToIntFunction<T> key) {
+        if (fetched.size() <= pageSize) {
+            return new Page<>(fetched, null);
+        }
+        List<T> items = fetched.subList(0, pageSize);
+        return new Page<>(items, encodeToken(key.applyAsInt(items.get(pageSize - 1))));
+    }
+
+    public List<T> getItems() { return items; }
+    public String getNextPageToken() { return nextPageToken; }
+    public boolean hasNext() { return nextPageToken != null; }
+
+    public static String encodeToken(int lastId) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(Integer.toString(lastId).getBytes(StandardCharsets.US_ASCII));
+    }
+
+    // A null or empty token means "start from the beginning"
+    public static int decodeToken(String token) {
+        if (token == null || token.isEmpty()) {
+            return 0;
+        }
+        try {
+            return Integer.parseInt(new String(Base64.getUrlDecoder().decode(token), StandardCharsets.US_ASCII));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid page token: " + token, e);
+        }
+    }
+}
@@ -0,0 +1,242 @@
+package dao;
+
+import io.SnapshotReader;
+import util.DBConnUtil;
+import util.DBPropertyUtil;
+import util.PoolConfig;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Properties;
+import java.util.Set;
+
+// Builds the repository configured in db.properties
+public class ProjectRepositoryFactory {
+    private static final String PROPERTY_FILE = "db.properties";
+    private static volatile TaskStatsEngine statsEngine;
+    private static volatile ProjectRepositoryImpl jdbcRepository;
+    private static volatile CachingProjectRepository cachingRepository;
+    private static volatile ShardedProjectRepository shardedRepository;
+    private static final Set<String> migratedDatabases = new HashSet<>();
+
+    public static IProjectRepository create() {
+        Properties properties = DBPropertyUtil.getProperties(PROPERTY_FILE);
+        boolean metricsEnabled = DBPropertyUtil.getBoolean(properties, "metrics.enabled", false);
+        IProjectRepository repository;
+        if (isMemoryBackend(properties)) {
+            repository = loadSnapshot(properties.getProperty("repository.snapshot"));
+        } else if (isShardedBackend(properties)) {
+            ShardedProjectRepository sharded = createSharded(properties);
+            if (metricsEnabled) {
+                sharded.setErrorHandler(MetricsProjectRepository.sqlErrorHandler());
+            }
+            shardedRepository = sharded;
+            repository = sharded;
+        } else {
+            if (DBPropertyUtil.getBoolean(properties, "schema.migrate", true)) {
+                migrateSchema("the database", DBConnUtil::getConnection);
+            }
+            ProjectRepositoryImpl impl = new ProjectRepositoryImpl();
+            if (metricsEnabled) {
+                impl.setErrorHandler(MetricsProjectRepository.sqlErrorHandler());
+            }
+            if (DBPropertyUtil.getBoolean(properties, "stats.enabled", false)) {
+                // Reconciliation reads the primary: counts from a lagging replica would undo recent changes
+                ReportRepositoryImpl primaryReports = new ReportRepositoryImpl(DBConnUtil::getConnection);
+                if (metricsEnabled) {
+                    primaryReports.setErrorHandler(MetricsProjectRepository.sqlErrorHandler());
+                }
+                TaskStatsEngine engine = new TaskStatsEngine(primaryReports);
+                impl.addListener(engine);
+                engine.startReconciliation(DBPropertyUtil.getLong(properties, "stats.reconcileIntervalMs", 60_000));
+                statsEngine = engine;
+            }
+            jdbcRepository = impl;
+            repository = impl;
+        }
+        // Metrics sit directly on the backend so they time real DAO work, not cache hits
+        if (metricsEnabled) {
+            MetricsProjectRepository metrics = new MetricsProjectRepository(repository);
+            metrics.registerMBeans();
+            long reportInterval = DBPropertyUtil.getLong(properties, "metrics.reportIntervalMs", 0);
+            if (reportInterval > 0) {
+                metrics.startReporter(reportInterval, System.out);
+            }
+            repository = metrics;
+        }
+        if (DBPropertyUtil.getBoolean(properties, "cache.enabled", false)) {
+            CachingProjectRepository caching = new CachingProjectRepository(repository,
+                    DBPropertyUtil.getInt(properties, "cache.maxSize", 10_000),
+                    DBPropertyUtil.getLong(properties, "cache.ttlMs", 60_000));
+            cachingRepository = caching;
+            repository = caching;
+        }
+        return repository;
+    }
+
+    // Applies pending migrations once per process and database. An edited migration script stops startup with an
+    // IllegalStateException; a database that can't be reached is left to fail on first use as before.
+    private static synchronized void migrateSchema(String database, ConnectionProvider connections) {
+        if (migratedDatabases.contains(database)) {
+            return;
+        }
+        try {
+            for (SchemaMigrator.Migration migration : new SchemaMigrator(connections).migrate()) {
+                System.out.println("Applied schema migration " + migration.script() + " to " + database);
+            }
+            migratedDatabases.add(database);
+        } catch (IOException | SQLException e) {
+            e.printStackTrace();
+        }
+    }
+
+    // Tasks spread by project over the databases in shard.hosts, placed by the shard.map strategy. Each shard
+    // gets the full schema; the shard directory must be readable from the first one at startup.
+    private static ShardedProjectRepository createSharded(Properties properties) {
+        List<String> hosts = DBPropertyUtil.getShards(PROPERTY_FILE);
+        if (hosts.isEmpty()) {
+            throw new IllegalStateException("repository.backend=sharded needs the shard databases listed in shard.hosts");
+        }
+        List<ConnectionProvider> shards = new ArrayList<>();
+        for (int i = 0; i < hosts.size(); i++) {
+            int shard = i;
+            shards.add(() -> DBConnUtil.getShardConnection(shard));
+            if (DBPropertyUtil.getBoolean(properties, "schema.migrate", true)) {
+                migrateSchema("shard " + shard + " (" + hosts.get(shard) + ")", shards.get(shard));
+            }
+        }
+        try {
+            return new ShardedProjectRepository(shards, ShardDirectory.load(createShardMap(properties, hosts.size()), shards.get(0)));
+        } catch (SQLException e) {
+            throw new IllegalStateException("Could not read the shard directory from " + hosts.get(0), e);
+        }
+    }
+
+    private static ShardMap createShardMap(Properties properties, int shardCount) {
+        String type = properties.getProperty("shard.map", "hash").trim();
+        if (type.equalsIgnoreCase("hash")) {
+            return new HashShardMap(shardCount, DBPropertyUtil.getInt(properties, "shard.virtualNodes", 64));
+        } else if (type.equalsIgnoreCase("range")) {
+            String[] bounds = properties.getProperty("shard.ranges", "").split(",");
+            if (bounds.length != shardCount - 1) {
+                throw new IllegalStateException("shard.ranges needs " + (shardCount - 1) + " upper bounds for "
+                        + shardCount + " shards, got " + properties.getProperty("shard.ranges"));
+            }
+            int[] upperBounds = new int[bounds.length];
+            for (int i = 0; i < bounds.length; i++) {
+                upperBounds[i] = Integer.parseInt(bounds[i].trim());
+            }
+            return new RangeShardMap(upperBounds);
+        }
+        throw new IllegalStateException("Unknown shard.map " + type + "; use hash or range");
+    }
+
+    // Moves projects between the shards of the last sharded repository created, or null for the other backends.
+    // Only the process serving the repository may use it: the move tracks writes in memory (see ShardRebalancer).
+    public static ShardRebalancer createRebalancer() {
+        ShardedProjectRepository sharded = shardedRepository;
+        if (sharded == null) {
+            return null;
+        }
+        return new ShardRebalancer(sharded, DBPropertyUtil.getInt(DBPropertyUtil.getProperties(PROPERTY_FILE),
+                "shard.moveChunkSize", ShardRebalancer.DEFAULT_CHUNK_SIZE));
+    }
+
+    // Transaction on the last MySQL repository created: its task listeners hear about committed changes
+    // and its entity cache, if any, is cleared on every commit
+    public static UnitOfWork beginUnitOfWork(int isolationLevel) throws SQLException {
+        ProjectRepositoryImpl impl = jdbcRepository;
+        if (impl == null) {
+            throw new IllegalStateException("Transactions need the single-database MySQL backend; call create() first");
+        }
+        UnitOfWork work = impl.beginUnitOfWork(isolationLevel);
+        CachingProjectRepository caching = cachingRepository;
+        if (caching != null) {
+            work.onCommit(caching::invalidateAll);
+        }
+        return work;
+    }
+
+    // A consistent read of every table on the last MySQL repository created, or null for the other backends
+    public static UnitOfWork beginConsistentRead() throws SQLException {
+        ProjectRepositoryImpl impl = jdbcRepository;
+        return impl == null ? null : impl.beginConsistentRead();
+    }
+
+    // Chunked cascading deletes against the MySQL database, keeping live task counters and the entity cache
+    // of the last repository created in step
+    public static CascadeDeleter createCascadeDeleter() {
+        Properties properties = DBPropertyUtil.getProperties(PROPERTY_FILE);
+        if (isMemoryBackend(properties) || isShardedBackend(properties)) {
+            throw new IllegalStateException("Cascading deletes need the single-database MySQL backend");
+        }
+        CascadeDeleter deleter = new CascadeDeleter(DBConnUtil::getConnection,
+                DBPropertyUtil.getInt(properties, "delete.chunkSize", CascadeDeleter.DEFAULT_CHUNK_SIZE));
+        TaskStatsEngine engine = statsEngine;
+        if (engine != null) {
+            deleter.addListener(engine);
+        }
+        CachingProjectRepository caching = cachingRepository;
+        if (caching != null) {
+            deleter.onCompletion(caching::invalidateAll);
+        }
+        return deleter;
+    }
+
+    // Live task counters of the last MySQL repository created with stats.enabled=true, or null
+    public static TaskStatsEngine getStatsEngine() {
+        return statsEngine;
+    }
+
+    // Reports over the same data as the given repository: GROUP BY queries for MySQL, streamed aggregation in memory
+    // and across shards
+    public static IReportRepository createReports(IProjectRepository repository) {
+        Properties properties = DBPropertyUtil.getProperties(PROPERTY_FILE);
+        if (isMemoryBackend(properties) || isShardedBackend(properties)) {
+            return new StreamReportRepository(repository);
+        }
+        ReportRepositoryImpl reports = new ReportRepositoryImpl();
+        if (DBPropertyUtil.getBoolean(properties, "metrics.enabled", false)) {
+            reports.setErrorHandler(MetricsProjectRepository.sqlErrorHandler());
+        }
+        return reports;
+    }
+
+    // Cold start for the in-memory backend: preloads the snapshot file if one is configured and present. A snapshot
+    // that can't be read in full stops startup rather than leaving the service to answer with no data.
+    private static InMemoryProjectRepository loadSnapshot(String file) {
+        if (file == null || file.isBlank() || !Files.exists(Paths.get(file.trim()))) {
+            return new InMemoryProjectRepository();
+        }
+        InMemoryProjectRepository repository = new InMemoryProjectRepository();
+        try {
+            System.out.println("Loaded snapshot " + file.trim() + ": " + SnapshotReader.load(Paths.get(file.trim()), repository));
+            return repository;
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not load the snapshot " + file.trim(), e);
+        }
+    }
+
+    private static boolean isMemoryBackend(Properties properties) {
+        return "memory".equalsIgnoreCase(properties == null ? null : properties.getProperty("repository.backend"));
+    }
+
+    private static boolean isShardedBackend(Properties properties) {
+        return "sharded".equalsIgnoreCase(properties == null ? null : properties.getProperty("repository.backend"));
+    }
+
+    // Asynchronous front for a repository built by create(), allowing as many concurrent calls as the pool has
+    // connections. It wraps the given instance, so the caches, stats and metrics stay shared with synchronous callers.
+    public static AsyncProjectRepository createAsync(IProjectRepository repository) {
+        Properties properties = DBPropertyUtil.getProperties(PROPERTY_FILE);
+        return new AsyncProjectRepository(repository,
+                PoolConfig.fromProperties(properties).getMaxSize(),
+                Duration.ofMillis(DBPropertyUtil.getLong(properties, "async.timeoutMs", 30_000)));
+    }
+}
@@ -8,266 +8,789 @@ import exception.ProjectNotFoundException;
 import util.DBConnUtil;
 
 import java.sql.*;
-import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 public class ProjectRepositoryImpl implements IProjectRepository {
+    private static final int MYSQL_NO_REFERENCED_ROW = 1452;
+    private static final int MYSQL_LOCK_WAIT_TIMEOUT = 1205;
+    private static final int MYSQL_DEADLOCK = 1213;
+    private static final int BATCH_SIZE = 1000;
+
+    // Statements shared with QueryPlanChecker
+    static final String ASSIGN_PROJECT = "UPDATE Employee e JOIN Project p ON p.id = ? SET e.project_id = p.id WHERE e.id = ?";
+    static final String LOCK_TASK = "SELECT employee_id, status FROM Task WHERE task_id = ? AND project_id = ? FOR UPDATE";
+    // A matching task row implies its project exists, so only the employee needs joining
+    static final String ASSIGN_TASK = "UPDATE Task t JOIN Employee e ON e.id = ? SET t.employee_id = e.id WHERE t.task_id = ? AND t.project_id = ?";
+    static final String ASSIGN_TASKS = "UPDATE Task SET employee_id = ? WHERE task_id = ? AND project_id = ?";
+    static final String EMPLOYEE_TASKS = "SELECT * FROM Task WHERE employee_id = ? AND project_id = ?";
+
+    private final ConnectionProvider connections;
+    private final ConnectionProvider readConnections;
+    private volatile Consumer<SQLException> errorHandler = SQLException::printStackTrace;
+    private final List<TaskChangeListener> listeners = new CopyOnWriteArrayList<>();
+
+    // Writes go to the primary and read-only methods to a read replica when one is configured
+    public ProjectRepositoryImpl() {
+        this(DBConnUtil::getConnection, DBConnUtil::getReadConnection);
+    }
+
+    public ProjectRepositoryImpl(ConnectionProvider connections) {
+        this(connections, connections);
+    }
+
+    public ProjectRepositoryImpl(ConnectionProvider connections, ConnectionProvider readConnections) {
+        this.connections = connections;
+        this.readConnections = readConnections;
+    }
+
+    // Starts a transaction on a connection of its own; see UnitOfWork. The connection keeps its default isolation.
+    public UnitOfWork beginUnitOfWork() throws SQLException {
+        return beginUnitOfWork(UnitOfWork.DEFAULT_ISOLATION);
+    }
+
+    // isolationLevel is one of the Connection.TRANSACTION_* constants
+    public UnitOfWork beginUnitOfWork(int isolationLevel) throws SQLException {
+        Connection conn = connections.getConnection();
+        if (conn == null) {
+            throw new SQLException("No database connection available");
+        }
+        return new UnitOfWork(conn, isolationLevel, errorHandler, listeners);
+    }
+
+    // Reads that must agree with each other, such as a snapshot of all three tables. The streamed reads of
+    // repository() run one after another on the same connection, all seeing the database as of this call.
+    public UnitOfWork beginConsistentRead() throws SQLException {
+        UnitOfWork work = beginUnitOfWork(Connection.TRANSACTION_REPEATABLE_READ);
+        try {
+            work.startConsistentSnapshot();
+            return work;
+        } catch (SQLException e) {
+            work.close();
+            throw e;
+        }
+    }
+
+    // Called with every SQLException the repository swallows; by default the stack trace is printed
+    public void setErrorHandler(Consumer<SQLException> errorHandler) {
+        this.errorHandler = errorHandler;
+    }
+
+    // Listeners hear about committed task changes. While any are registered, single task reassignments
+    // lock the task row first so the previous employee can be reported.
+    public void addListener(TaskChangeListener listener) {
+        listeners.add(listener);
+    }
+
+    public void removeListener(TaskChangeListener listener) {
+        listeners.remove(listener);
+    }
 
     @Override
     public boolean createEmployee(Employee emp) throws ProjectNotFoundException {
-        if (!checkProjectExists(emp.getProjectId())) { // Check if the project exists
-            throw new ProjectNotFoundException("Project with ID " + emp.getProjectId() + " not found.");
-        }
-        try (Connection conn = DBConnUtil.getConnection()) {
-            String query = "INSERT INTO Employee (name, designation, gender, salary, project_id) VALUES (?, ?, ?, ?, ?)";
-            PreparedStatement pstmt = conn.prepareStatement(query);
-            pstmt.setString(1, emp.getName());
-            pstmt.setString(2, emp.getDesignation());
-            pstmt.setString(3, emp.getGender());
-            pstmt.setDouble(4, emp.getSalary());
-            pstmt.setInt(5, emp.getProjectId());
-            return pstmt.executeUpdate() > 0;
+        try (Connection conn = connections.getConnection()) {
+            // The project check and the insert run as one statement, so the project can't vanish in between
+            String query = "INSERT INTO Employee (name, designation, gender, salary, project_id) "
+                    + "SELECT ?, ?, ?, ?, id FROM Project WHERE id = ?";
+            try (PreparedStatement pstmt = conn.prepareStatement(query, Statement.RETURN_GENERATED_KEYS)) {
+                pstmt.setString(1, emp.getName());
+                pstmt.setString(2, emp.getDesignation());
+                pstmt.setString(3, emp.getGender());
+                pstmt.setDouble(4, emp.getSalary());
+                pstmt.setInt(5, emp.getProjectId());
+                if (executeValidatedUpdate(pstmt) > 0) {
+                    emp.setId(generatedKey(pstmt));
+                    return true;
+                }
+            }
+            requireProject(conn, emp.getProjectId());
+            return false;
         } catch (SQLException e) {
-            e.printStackTrace();
+            errorHandler.accept(e);
             return false;
         }
     }
 
     @Override
     public boolean createProject(Project pj) {
-        try (Connection conn = DBConnUtil.getConnection()) {
+        try (Connection conn = connections.getConnection()) {
             String query = "INSERT INTO Project (projectName, description, startDate, status) VALUES (?, ?, ?, ?)";
-            PreparedStatement pstmt = conn.prepareStatement(query);
-            pstmt.setString(1, pj.getProjectName());
-            pstmt.setString(2, pj.getDescription());
-            pstmt.setDate(3, Date.valueOf(pj.getStartDate()));
-            pstmt.setString(4, pj.getStatus());
-            return pstmt.executeUpdate() > 0;
+            try (PreparedStatement pstmt = conn.prepareStatement(query, Statement.RETURN_GENERATED_KEYS)) {
+                pstmt.setString(1, pj.getProjectName());
+                pstmt.setString(2, pj.getDescription());
+                if (pj.getStartDate() == null) {
+                    pstmt.setNull(3, Types.DATE);
+                } else {
+                    pstmt.setDate(3, Date.valueOf(pj.getStartDate()));
+                }
+                pstmt.setString(4, pj.getStatus());
+                if (pstmt.executeUpdate() > 0) {
+                    pj.setId(generatedKey(pstmt));
+                    return true;
+                }
+            }
+            return false;
         } catch (SQLException e) {
-            e.printStackTrace();
+            errorHandler.accept(e);
             return false;
         }
     }
 
     @Override
     public boolean createTask(Task task) throws EmployeeNotFoundException, ProjectNotFoundException {
-        if (!checkEmployeeExists(task.getEmployeeId())) { // Check if the employee exists
-            throw new EmployeeNotFoundException("Employee with ID " + task.getEmployeeId() + " not found.");
-        }
-        if (!checkProjectExists(task.getProjectId())) { // Check if the project exists
-            throw new ProjectNotFoundException("Project with ID " + task.getProjectId() + " not found.");
-        }
-
-        try (Connection conn = DBConnUtil.getConnection()) {
-            String query = "INSERT INTO Task (task_name, project_id, employee_id, status) VALUES (?, ?, ?, ?)";
-            PreparedStatement pstmt = conn.prepareStatement(query);
-            pstmt.setString(1, task.getTaskName());
-            pstmt.setInt(2, task.getProjectId());
-            pstmt.setInt(3, task.getEmployeeId());
-            pstmt.setString(4, task.getStatus());
-            return pstmt.executeUpdate() > 0;
+        try (Connection conn = connections.getConnection()) {
+            String query = "INSERT INTO Task (task_name, project_id, employee_id, status) "
+                    + "SELECT ?, p.id, e.id, ? FROM Project p JOIN Employee e ON e.id = ? WHERE p.id = ?";
+            try (PreparedStatement pstmt = conn.prepareStatement(query, Statement.RETURN_GENERATED_KEYS)) {
+                pstmt.setString(1, task.getTaskName());
+                pstmt.setString(2, task.getStatus());
+                pstmt.setInt(3, task.getEmployeeId());
+                pstmt.setInt(4, task.getProjectId());
+                if (executeValidatedUpdate(pstmt) > 0) {
+                    task.setTaskId(generatedKey(pstmt));
+                    for (TaskChangeListener listener : listeners) {
+                        listener.taskCreated(task.getTaskId(), task.getProjectId(), task.getEmployeeId(), task.getStatus());
+                    }
+                    return true;
+                }
+            }
+            requireEmployee(conn, task.getEmployeeId());
+            requireProject(conn, task.getProjectId());
+            return false;
         } catch (SQLException e) {
-            e.printStackTrace();
+            errorHandler.accept(e);
             return false;
         }
     }
 
     @Override
     public boolean assignProjectToEmployee(int projectId, int employeeId) throws EmployeeNotFoundException, ProjectNotFoundException {
-        if (!checkProjectExists(projectId)) { // Check if project exists
-            throw new ProjectNotFoundException("Project with ID " + projectId + " not found.");
-        }
-        if (!checkEmployeeExists(employeeId)) { // Check if employee exists
-            throw new EmployeeNotFoundException("Employee with ID " + employeeId + " not found.");
-        }
-
-        try (Connection conn = DBConnUtil.getConnection()) {
-            String query = "UPDATE Employee SET project_id = ? WHERE id = ?";
-            PreparedStatement pstmt = conn.prepareStatement(query);
-            pstmt.setInt(1, projectId);
-            pstmt.setInt(2, employeeId);
-            return pstmt.executeUpdate() > 0;
+        try (Connection conn = connections.getConnection()) {
+            try (PreparedStatement pstmt = conn.prepareStatement(ASSIGN_PROJECT)) {
+                pstmt.setInt(1, projectId);
+                pstmt.setInt(2, employeeId);
+                if (executeValidatedUpdate(pstmt) > 0) {
+                    return true;
+                }
+            }
+            requireProject(conn, projectId);
+            requireEmployee(conn, employeeId);
+            return false;
         } catch (SQLException e) {
-            e.printStackTrace();
+            errorHandler.accept(e);
             return false;
         }
     }
 
     @Override
     public boolean assignTaskToEmployee(int taskId, int projectId, int employeeId) throws EmployeeNotFoundException, ProjectNotFoundException {
-        if (!checkProjectExists(projectId)) { // Check if project exists
-            throw new ProjectNotFoundException("Project with ID " + projectId + " not found.");
-        }
-        if (!checkEmployeeExists(employeeId)) { // Check if employee exists
-            throw new EmployeeNotFoundException("Employee with ID " + employeeId + " not found.");
-        }
-
-        try (Connection conn = DBConnUtil.getConnection()) {
-            String query = "UPDATE Task SET employee_id = ? WHERE task_id = ? AND project_id = ?";
-            PreparedStatement pstmt = conn.prepareStatement(query);
-            pstmt.setInt(1, employeeId);
-            pstmt.setInt(2, taskId);
-            pstmt.setInt(3, projectId);
-            return pstmt.executeUpdate() > 0;
+        try (Connection conn = connections.getConnection()) {
+            boolean notify = !listeners.isEmpty();
+            // Inside a UnitOfWork the caller's transaction already holds the lock until it commits
+            boolean ownTransaction = notify && conn.getAutoCommit();
+            int previousEmployee = 0;
+            String status = null;
+            if (notify) {
+                if (ownTransaction) {
+                    conn.setAutoCommit(false); // hold the row lock until the update commits
+                }
+                try (PreparedStatement pstmt = conn.prepareStatement(LOCK_TASK)) {
+                    pstmt.setInt(1, taskId);
+                    pstmt.setInt(2, projectId);
+                    try (ResultSet rs = pstmt.executeQuery()) {
+                        if (rs.next()) {
+                            previousEmployee = rs.getInt(1);
+                            status = rs.getString(2);
+                        }
+                    }
+                }
+            }
+            try (PreparedStatement pstmt = conn.prepareStatement(ASSIGN_TASK)) {
+                pstmt.setInt(1, employeeId);
+                pstmt.setInt(2, taskId);
+                pstmt.setInt(3, projectId);
+                if (executeValidatedUpdate(pstmt) > 0) {
+                    if (ownTransaction) {
+                        conn.commit();
+                    }
+                    for (TaskChangeListener listener : listeners) {
+                        listener.taskReassigned(taskId, projectId, status, previousEmployee, employeeId);
+                    }
+                    return true;
+                }
+            }
+            if (ownTransaction) {
+                conn.rollback();
+            }
+            requireProject(conn, projectId);
+            requireEmployee(conn, employeeId);
+            return false; // both exist, so the task itself wasn't found in that project
         } catch (SQLException e) {
-            e.printStackTrace();
+            errorHandler.accept(e);
             return false;
         }
     }
 
     @Override
     public boolean deleteEmployee(int userId) throws EmployeeNotFoundException {
-        if (!checkEmployeeExists(userId)) { // Check if employee exists
-            throw new EmployeeNotFoundException("Employee with ID " + userId + " not found.");
-        }
-
-        try (Connection conn = DBConnUtil.getConnection()) {
-            String query = "DELETE FROM Employee WHERE id = ?";
-            PreparedStatement pstmt = conn.prepareStatement(query);
+        String query = "DELETE FROM Employee WHERE id = ?";
+        try (Connection conn = connections.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(query)) {
             pstmt.setInt(1, userId);
-            return pstmt.executeUpdate() > 0;
+            if (pstmt.executeUpdate() > 0) {
+                for (TaskChangeListener listener : listeners) {
+                    listener.employeeDeleted(userId);
+                }
+                return true;
+            }
         } catch (SQLException e) {
-            e.printStackTrace();
+            errorHandler.accept(e);
             return false;
         }
+        throw new EmployeeNotFoundException("Employee with ID " + userId + " not found.");
     }
 
     @Override
     public boolean deleteProject(int projectId) throws ProjectNotFoundException {
-        if (!checkProjectExists(projectId)) { // Check if project exists
-            throw new ProjectNotFoundException("Project with ID " + projectId + " not found.");
-        }
-
-        try (Connection conn = DBConnUtil.getConnection()) {
-            String query = "DELETE FROM Project WHERE id = ?";
-            PreparedStatement pstmt = conn.prepareStatement(query);
+        String query = "DELETE FROM Project WHERE id = ?";
+        try (Connection conn = connections.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(query)) {
             pstmt.setInt(1, projectId);
-            return pstmt.executeUpdate() > 0;
+            if (pstmt.executeUpdate() > 0) {
+                for (TaskChangeListener listener : listeners) {
+                    listener.projectDeleted(projectId);
+                }
+                return true;
+            }
         } catch (SQLException e) {
-            e.printStackTrace();
+            errorHandler.accept(e);
             return false;
         }
+        throw new ProjectNotFoundException("Project with ID " + projectId + " not found.");
     }
 
     @Override
-    public List<Task> getAllTasks(int empId, int projectId) {
-        List<Task> tasks = new ArrayList<>();
-        try (Connection conn = DBConnUtil.getConnection()) {
-            String query = "SELECT * FROM Task WHERE employee_id = ? AND project_id = ?";
-            PreparedStatement pstmt = conn.prepareStatement(query);
-            pstmt.setInt(1, empId);
-            pstmt.setInt(2, projectId);
-            ResultSet rs = pstmt.executeQuery();
-            while (rs.next()) {
-                Task task = new Task();
-                task.setTaskId(rs.getInt("task_id"));
-                task.setTaskName(rs.getString("task_name"));
-                task.setProjectId(rs.getInt("project_id"));
-                task.setEmployeeId(rs.getInt("employee_id"));
-                task.setStatus(rs.getString("status"));
-                tasks.add(task);
+    public BatchResult createEmployees(List<Employee> employees) {
+        BatchResult result = new BatchResult(employees.size());
+        String query = "INSERT INTO Employee (name, designation, gender, salary, project_id) VALUES (?, ?, ?, ?, ?)";
+        try (Connection conn = connections.getConnection()) {
+            for (int from = 0; from < employees.size(); from += BATCH_SIZE) {
+                int to = Math.min(from + BATCH_SIZE, employees.size());
+                Set<Integer> projectIds = new HashSet<>();
+                for (int i = from; i < to; i++) {
+                    projectIds.add(employees.get(i).getProjectId());
+                }
+                Set<Integer> existingProjects = existingIds(conn, "SELECT id FROM Project WHERE id IN ", projectIds);
+
+                int[] rows = new int[to - from];
+                int count = 0;
+                for (int i = from; i < to; i++) {
+                    int projectId = employees.get(i).getProjectId();
+                    if (existingProjects.contains(projectId)) {
+                        rows[count++] = i;
+                    } else {
+                        result.recordFailure(i, "Project with ID " + projectId + " not found.");
+                    }
+                }
+                executeChunk(conn, query, true, rows, count, result, (pstmt, row) -> {
+                    Employee emp = employees.get(row);
+                    pstmt.setString(1, emp.getName());
+                    pstmt.setString(2, emp.getDesignation());
+                    pstmt.setString(3, emp.getGender());
+                    pstmt.setDouble(4, emp.getSalary());
+                    pstmt.setInt(5, emp.getProjectId());
+                });
+                for (int k = 0; k < count; k++) {
+                    if (!result.isFailed(rows[k])) {
+                        employees.get(rows[k]).setId(result.getGeneratedId(rows[k]));
+                    }
+                }
             }
         } catch (SQLException e) {
-            e.printStackTrace();
+            errorHandler.accept(e);
+            failUnreported(result, e);
         }
-        return tasks;
+        return result;
     }
 
     @Override
-    public List<Employee> getAllEmployees() {
-        List<Employee> employees = new ArrayList<>();
-        try (Connection conn = DBConnUtil.getConnection()) {
-            String query = "SELECT * FROM Employee";
-            PreparedStatement pstmt = conn.prepareStatement(query);
-            ResultSet rs = pstmt.executeQuery();
-            while (rs.next()) {
-                Employee employee = new Employee();
-                employee.setId(rs.getInt("id"));
-                employee.setName(rs.getString("name"));
-                employee.setDesignation(rs.getString("designation"));
-                employee.setGender(rs.getString("gender"));
-                employee.setSalary(rs.getDouble("salary"));
-                employee.setProjectId(rs.getInt("project_id"));
-                employees.add(employee);
+    public BatchResult createProjects(List<Project> projects) {
+        BatchResult result = new BatchResult(projects.size());
+        String query = "INSERT INTO Project (projectName, description, startDate, status) VALUES (?, ?, ?, ?)";
+        int[] rows = new int[projects.size()];
+        for (int i = 0; i < rows.length; i++) {
+            rows[i] = i;
+        }
+        try (Connection conn = connections.getConnection()) {
+            executeChunk(conn, query, true, rows, rows.length, result, (pstmt, row) -> {
+                Project project = projects.get(row);
+                pstmt.setString(1, project.getProjectName());
+                pstmt.setString(2, project.getDescription());
+                pstmt.setDate(3, project.getStartDate() == null ? null : Date.valueOf(project.getStartDate()));
+                pstmt.setString(4, project.getStatus());
+            });
+            for (int i = 0; i < rows.length; i++) {
+                if (!result.isFailed(i)) {
+                    projects.get(i).setId(result.getGeneratedId(i));
+                }
             }
         } catch (SQLException e) {
-            e.printStackTrace();
+            errorHandler.accept(e);
+            failUnreported(result, e);
         }
-        return employees;
+        return result;
     }
 
     @Override
-    public List<Project> getAllProjects() {
-        List<Project> projects = new ArrayList<>();
-        try (Connection conn = DBConnUtil.getConnection()) {
-            String query = "SELECT * FROM Project";
-            PreparedStatement pstmt = conn.prepareStatement(query);
-            ResultSet rs = pstmt.executeQuery();
-            while (rs.next()) {
-                Project project = new Project();
-                project.setId(rs.getInt("id"));
-                project.setProjectName(rs.getString("projectName"));
-                project.setDescription(rs.getString("description"));
-                project.setStartDate(LocalDate.parse(rs.getString("startDate")));
-                project.setStatus(rs.getString("status"));
-                projects.add(project);
+    public BatchResult createTasks(List<Task> tasks) {
+        BatchResult result = new BatchResult(tasks.size());
+        String query = "INSERT INTO Task (task_name, project_id, employee_id, status) VALUES (?, ?, ?, ?)";
+        try (Connection conn = connections.getConnection()) {
+            for (int from = 0; from < tasks.size(); from += BATCH_SIZE) {
+                int to = Math.min(from + BATCH_SIZE, tasks.size());
+                Set<Integer> employeeIds = new HashSet<>();
+                Set<Integer> projectIds = new HashSet<>();
+                for (int i = from; i < to; i++) {
+                    employeeIds.add(tasks.get(i).getEmployeeId());
+                    projectIds.add(tasks.get(i).getProjectId());
+                }
+                Set<Integer> existingEmployees = existingIds(conn, "SELECT id FROM Employee WHERE id IN ", employeeIds);
+                Set<Integer> existingProjects = existingIds(conn, "SELECT id FROM Project WHERE id IN ", projectIds);
+
+                int[] rows = new int[to - from];
+                int count = 0;
+                for (int i = from; i < to; i++) {
+                    Task task = tasks.get(i);
+                    if (!existingEmployees.contains(task.getEmployeeId())) {
+                        result.recordFailure(i, "Employee with ID " + task.getEmployeeId() + " not found.");
+                    } else if (!existingProjects.contains(task.getProjectId())) {
+                        result.recordFailure(i, "Project with ID " + task.getProjectId() + " not found.");
+                    } else {
+                        rows[count++] = i;
+                    }
+                }
+                executeChunk(conn, query, true, rows, count, result, (pstmt, row) -> {
+                    Task task = tasks.get(row);
+                    pstmt.setString(1, task.getTaskName());
+                    pstmt.setInt(2, task.getProjectId());
+                    pstmt.setInt(3, task.getEmployeeId());
+                    pstmt.setString(4, task.getStatus());
+                });
+                for (int k = 0; k < count; k++) {
+                    if (!result.isFailed(rows[k])) {
+                        Task task = tasks.get(rows[k]);
+                        task.setTaskId(result.getGeneratedId(rows[k]));
+                        for (TaskChangeListener listener : listeners) {
+                            listener.taskCreated(task.getTaskId(), task.getProjectId(), task.getEmployeeId(), task.getStatus());
+                        }
+                    }
+                }
             }
         } catch (SQLException e) {
-            e.printStackTrace();
+            errorHandler.accept(e);
+            failUnreported(result, e);
         }
-        return projects;
+        return result;
     }
 
     @Override
-    public List<Task> getTaskTable() {
-        List<Task> tasks = new ArrayList<>();
-        try (Connection conn = DBConnUtil.getConnection()) {
-            String query = "SELECT * FROM Task";
-            PreparedStatement pstmt = conn.prepareStatement(query);
-            ResultSet rs = pstmt.executeQuery();
-            while (rs.next()) {
-                Task task = new Task();
-                task.setTaskId(rs.getInt("task_id"));
-                task.setTaskName(rs.getString("task_name"));
-                task.setProjectId(rs.getInt("project_id"));
-                task.setEmployeeId(rs.getInt("employee_id"));
-                task.setStatus(rs.getString("status"));
-                tasks.add(task);
+    public BatchResult assignTasksToEmployee(List<Integer> taskIds, int projectId, int employeeId) throws EmployeeNotFoundException, ProjectNotFoundException {
+        BatchResult result = new BatchResult(taskIds.size());
+        try (Connection conn = connections.getConnection()) {
+            requireProject(conn, projectId);
+            requireEmployee(conn, employeeId);
+            int[] rows = new int[taskIds.size()];
+            for (int i = 0; i < rows.length; i++) {
+                rows[i] = i;
+            }
+            executeChunk(conn, ASSIGN_TASKS, false, rows, rows.length, result, (pstmt, row) -> {
+                pstmt.setInt(1, employeeId);
+                pstmt.setInt(2, taskIds.get(row));
+                pstmt.setInt(3, projectId);
+            });
+            for (int i = 0; i < rows.length; i++) {
+                if (!result.isFailed(i) && result.getGeneratedId(i) == 0) {
+                    result.recordFailure(i, "Task with ID " + taskIds.get(i) + " not found in project " + projectId + ".");
+                } else if (!result.isFailed(i)) {
+                    result.recordSuccess(i, taskIds.get(i));
+                }
             }
         } catch (SQLException e) {
-            e.printStackTrace();
+            errorHandler.accept(e);
+            failUnreported(result, e);
+        }
+        if (result.getSuccessCount() > 0) {
+            for (TaskChangeListener listener : listeners) {
+                listener.tasksChanged(); // previous employees aren't known per row
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public List<Task> getAllTasks(int empId, int projectId) {
+        return queryList(EMPLOYEE_TASKS, List.of(empId, projectId), EntityMappers::task);
+    }
+
+    @Override
+    public List<Employee> getAllEmployees() {
+        return queryList("SELECT * FROM Employee", List.of(), EntityMappers::employee);
+    }
+
+    @Override
+    public List<Project> getAllProjects() {
+        return queryList("SELECT * FROM Project", List.of(), EntityMappers::project);
+    }
+
+    @Override
+    public List<Task> getTaskTable() {
+        return queryList("SELECT * FROM Task", List.of(), EntityMappers::task);
+    }
+
+    @Override
+    public Stream<Task> streamTaskTable() {
+        return JdbcStreams.stream(readConnections.getConnection(), "SELECT * FROM Task", EntityMappers::task);
+    }
+
+    @Override
+    public Stream<Employee> streamEmployees() {
+        return JdbcStreams.stream(readConnections.getConnection(), "SELECT * FROM Employee", EntityMappers::employee);
+    }
+
+    @Override
+    public Stream<Project> streamProjects() {
+        return JdbcStreams.stream(readConnections.getConnection(), "SELECT * FROM Project", EntityMappers::project);
+    }
+
+    @Override
+    public Page<Task> findTasks(TaskFilter filter, String pageToken, int pageSize) {
+        Page.requireSize(pageSize);
+        SqlQuery query = findTasksQuery(filter, Page.decodeToken(pageToken), pageSize);
+        return Page.of(queryList(query.sql(), query.params(), EntityMappers::task), pageSize, Task::getTaskId);
+    }
+
+    static SqlQuery findTasksQuery(TaskFilter filter, int afterId, int pageSize) {
+        StringBuilder query = new StringBuilder("SELECT * FROM Task WHERE task_id > ?");
+        List<Object> params = new ArrayList<>();
+        params.add(afterId);
+        if (filter.getProjectId() != null) {
+            query.append(" AND project_id = ?");
+            params.add(filter.getProjectId());
+        }
+        if (filter.getEmployeeId() != null) {
+            query.append(" AND employee_id = ?");
+            params.add(filter.getEmployeeId());
+        }
+        if (filter.getStatus() != null) {
+            query.append(" AND status = ?");
+            params.add(filter.getStatus());
+        }
+        query.append(" ORDER BY task_id LIMIT ?");
+        params.add(pageSize + 1);
+        return new SqlQuery(query.toString(), params);
+    }
+
+    @Override
+    public Page<Employee> findEmployees(Integer projectId, String pageToken, int pageSize) {
+        Page.requireSize(pageSize);
+        SqlQuery query = findEmployeesQuery(projectId, Page.decodeToken(pageToken), pageSize);
+        return Page.of(queryList(query.sql(), query.params(), EntityMappers::employee), pageSize, Employee::getId);
+    }
+
+    static SqlQuery findEmployeesQuery(Integer projectId, int afterId, int pageSize) {
+        StringBuilder query = new StringBuilder("SELECT * FROM Employee WHERE id > ?");
+        List<Object> params = new ArrayList<>();
+        params.add(afterId);
+        if (projectId != null) {
+            query.append(" AND project_id = ?");
+            params.add(projectId);
         }
-        return tasks;
+        query.append(" ORDER BY id LIMIT ?");
+        params.add(pageSize + 1);
+        return new SqlQuery(query.toString(), params);
+    }
+
+    @Override
+    public Page<Project> findProjects(String status, String pageToken, int pageSize) {
+        Page.requireSize(pageSize);
+        SqlQuery query = findProjectsQuery(status, Page.decodeToken(pageToken), pageSize);
+        return Page.of(queryList(query.sql(), query.params(), EntityMappers::project), pageSize, Project::getId);
+    }
+
+    static SqlQuery findProjectsQuery(String status, int afterId, int pageSize) {
+        StringBuilder query = new StringBuilder("SELECT * FROM Project WHERE id > ?");
+        List<Object> params = new ArrayList<>();
+        params.add(afterId);
+        if (status != null) {
+            query.append(" AND status = ?");
+            params.add(status);
+        }
+        query.append(" ORDER BY id LIMIT ?");
+        params.add(pageSize + 1);
+        return new SqlQuery(query.toString(), params);
+    }
+
+    @Override
+    public Optional<Employee> findEmployee(int id) {
+        return queryList("SELECT * FROM Employee WHERE id = ?", List.of(id), EntityMappers::employee).stream().findFirst();
+    }
+
+    @Override
+    public Optional<Project> findProject(int id) {
+        return queryList("SELECT * FROM Project WHERE id = ?", List.of(id), EntityMappers::project).stream().findFirst();
+    }
+
+    @Override
+    public boolean employeeExists(int id) {
+        return checkEmployeeExists(id);
+    }
+
+    @Override
+    public boolean projectExists(int id) {
+        return checkProjectExists(id);
     }
 
     public boolean checkEmployeeExists(int employeeId) {
-        try (Connection conn = DBConnUtil.getConnection()) {
-            String query = "SELECT COUNT(*) FROM Employee WHERE id = ?";
-            PreparedStatement pstmt = conn.prepareStatement(query);
+        String query = "SELECT COUNT(*) FROM Employee WHERE id = ?";
+        try (Connection conn = readConnections.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(query)) {
             pstmt.setInt(1, employeeId);
-            ResultSet rs = pstmt.executeQuery();
-            if (rs.next()) {
-                return rs.getInt(1) > 0; // return true if employee exists
+            try (ResultSet rs = pstmt.executeQuery()) {
+                if (rs.next()) {
+                    return rs.getInt(1) > 0; // return true if employee exists
+                }
             }
         } catch (SQLException e) {
-            e.printStackTrace();
+            errorHandler.accept(e);
         }
         return false; // return false if employee does not exist
     }
 
     public boolean checkProjectExists(int projectId) {
-        try (Connection conn = DBConnUtil.getConnection()) {
-            String query = "SELECT COUNT(*) FROM Project WHERE id = ?";
-            PreparedStatement pstmt = conn.prepareStatement(query);
+        String query = "SELECT COUNT(*) FROM Project WHERE id = ?";
+        try (Connection conn = readConnections.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(query)) {
             pstmt.setInt(1, projectId);
-            ResultSet rs = pstmt.executeQuery();
-            if (rs.next()) {
-                return rs.getInt(1) > 0; // return true if project exists
+            try (ResultSet rs = pstmt.executeQuery()) {
+                if (rs.next()) {
+                    return rs.getInt(1) > 0; // return true if project exists
+                }
             }
         } catch (SQLException e) {
-            e.printStackTrace();
+            errorHandler.accept(e);
         }
         return false; // return false if project does not exist
     }
+
+    // A foreign key violation means a referenced row was deleted concurrently; report it as "no rows"
+    // so the caller falls through to the not-found diagnosis below.
+    private int executeValidatedUpdate(PreparedStatement pstmt) throws SQLException {
+        try {
+            return pstmt.executeUpdate();
+        } catch (SQLIntegrityConstraintViolationException e) {
+            if (e.getErrorCode() == MYSQL_NO_REFERENCED_ROW) {
+                return 0;
+            }
+            throw e;
+        }
+    }
+
+    // Only reached when a validated write touched no rows, so the happy path stays at one round trip
+    private void requireEmployee(Connection conn, int employeeId) throws SQLException, EmployeeNotFoundException {
+        if (!rowExists(conn, "SELECT 1 FROM Employee WHERE id = ?", employeeId)) {
+            throw new EmployeeNotFoundException("Employee with ID " + employeeId + " not found.");
+        }
+    }
+
+    private void requireProject(Connection conn, int projectId) throws SQLException, ProjectNotFoundException {
+        if (!rowExists(conn, "SELECT 1 FROM Project WHERE id = ?", projectId)) {
+            throw new ProjectNotFoundException("Project with ID " + projectId + " not found.");
+        }
+    }
+
+    private boolean rowExists(Connection conn, String query, int id) throws SQLException {
+        try (PreparedStatement pstmt = conn.prepareStatement(query)) {
+            pstmt.setInt(1, id);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                return rs.next();
+            }
+        }
+    }
+
+    private <T> List<T> queryList(String query, List<Object> params, ResultSetMapper<T> mapper) {
+        List<T> rows = new ArrayList<>();
+        try (Connection conn = readConnections.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(query)) {
+            for (int i = 0; i < params.size(); i++) {
+                pstmt.setObject(i + 1, params.get(i));
+            }
+            try (ResultSet rs = pstmt.executeQuery()) {
+                RowMapper<T> row = mapper.bind(rs);
+                while (rs.next()) {
+                    rows.add(row.map(rs));
+                }
+            }
+        } catch (SQLException e) {
+            errorHandler.accept(e);
+        }
+        return rows;
+    }
+
+    private int generatedKey(PreparedStatement pstmt) throws SQLException {
+        try (ResultSet keys = pstmt.getGeneratedKeys()) {
+            return keys.next() ? keys.getInt(1) : 0;
+        }
+    }
+
+    private interface RowBinder {
+        void bind(PreparedStatement pstmt, int row) throws SQLException;
+    }
+
+    // Sends the given rows as JDBC batches of BATCH_SIZE, committing after each one. For inserts the
+    // generated id of each row is recorded; for updates the update count is (0 meaning "no such row").
+    // If a batch fails as a whole it is rolled back and replayed row by row so every row gets its own verdict.
+    // On a connection that is already in a transaction (a UnitOfWork) nothing is committed: batches and
+    // replayed rows are bounded by savepoints instead, and the caller decides when to commit.
+    private void executeChunk(Connection conn, String query, boolean insert, int[] rows, int count,
+                              BatchResult result, RowBinder binder) throws SQLException {
+        if (count == 0) {
+            return;
+        }
+        boolean ownTransaction = conn.getAutoCommit();
+        if (ownTransaction) {
+            conn.setAutoCommit(false);
+        }
+        try (PreparedStatement pstmt = insert
+                ? conn.prepareStatement(query, Statement.RETURN_GENERATED_KEYS)
+                : conn.prepareStatement(query)) {
+            for (int from = 0; from < count; from += BATCH_SIZE) {
+                int to = Math.min(from + BATCH_SIZE, count);
+                Savepoint savepoint = ownTransaction ? null : conn.setSavepoint();
+                try {
+                    for (int k = from; k < to; k++) {
+                        binder.bind(pstmt, rows[k]);
+                        pstmt.addBatch();
+                    }
+                    int[] updateCounts = pstmt.executeBatch();
+                    int[] values = insert ? readGeneratedKeys(pstmt, to - from) : updateCounts;
+                    finishStep(conn, savepoint);
+                    for (int k = from; k < to; k++) {
+                        int value = values[k - from];
+                        result.recordSuccess(rows[k], insert ? value : (value == Statement.SUCCESS_NO_INFO ? 1 : value));
+                    }
+                } catch (SQLException e) {
+                    pstmt.clearBatch();
+                    undoStep(conn, savepoint);
+                    for (int k = from; k < to; k++) {
+                        executeSingle(conn, pstmt, insert, rows[k], result, binder, ownTransaction);
+                    }
+                }
+            }
+        } finally {
+            if (ownTransaction) {
+                conn.setAutoCommit(true);
+            }
+        }
+    }
+
+    private void executeSingle(Connection conn, PreparedStatement pstmt, boolean insert, int row,
+                               BatchResult result, RowBinder binder, boolean ownTransaction) throws SQLException {
+        Savepoint savepoint = ownTransaction ? null : conn.setSavepoint();
+        try {
+            binder.bind(pstmt, row);
+            int updated = pstmt.executeUpdate();
+            int value = insert ? generatedKey(pstmt) : updated;
+            finishStep(conn, savepoint);
+            result.recordSuccess(row, value);
+        } catch (SQLException e) {
+            undoStep(conn, savepoint);
+            if (isRowIndependent(e)) {
+                throw e; // the rows left fail with it, see failUnreported
+            }
+            result.recordFailure(row, e.getMessage());
+        }
+    }
+
+    // Failures that say nothing about the row being written: a lost connection, a deadlock, a lock wait timeout
+    private static boolean isRowIndependent(SQLException e) {
+        String state = e.getSQLState();
+        return e instanceof SQLTransientException || e instanceof SQLRecoverableException
+                || e instanceof SQLNonTransientConnectionException
+                || e.getErrorCode() == MYSQL_DEADLOCK || e.getErrorCode() == MYSQL_LOCK_WAIT_TIMEOUT
+                || (state != null && (state.startsWith("08") || state.startsWith("40")));
+    }
+
+    // A step is committed when the repository owns the transaction, otherwise its savepoint is released
+    private static void finishStep(Connection conn, Savepoint savepoint) throws SQLException {
+        if (savepoint == null) {
+            conn.commit();
+        } else {
+            conn.releaseSavepoint(savepoint);
+        }
+    }
+
+    private static void undoStep(Connection conn, Savepoint savepoint) throws SQLException {
+        if (savepoint == null) {
+            conn.rollback();
+        } else {
+            conn.rollback(savepoint);
+        }
+    }
+
+    private int[] readGeneratedKeys(PreparedStatement pstmt, int expected) throws SQLException {
+        int[] ids = new int[expected];
+        try (ResultSet keys = pstmt.getGeneratedKeys()) {
+            for (int i = 0; i < expected && keys.next(); i++) {
+                ids[i] = keys.getInt(1);
+            }
+        }
+        return ids;
+    }
+
+    private Set<Integer> existingIds(Connection conn, String queryPrefix, Set<Integer> ids) throws SQLException {
+        Set<Integer> existing = new HashSet<>();
+        if (ids.isEmpty()) {
+            return existing;
+        }
+        // Round the placeholder count up to a power of two so only a handful of distinct statements get prepared
+        int placeholders = Integer.highestOneBit(((ids.size() - 1) << 1) | 1);
+        StringBuilder query = new StringBuilder(queryPrefix).append('(');
+        for (int i = 0; i < placeholders; i++) {
+            query.append(i == 0 ? "?" : ", ?");
+        }
+        query.append(')');
+        try (PreparedStatement pstmt = conn.prepareStatement(query.toString())) {
+            int index = 1;
+            int last = 0;
+            for (int id : ids) {
+                pstmt.setInt(index++, id);
+                last = id;
+            }
+            while (index <= placeholders) {
+                pstmt.setInt(index++, last); // padding repeats an id already in the list
+            }
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    existing.add(rs.getInt(1));
+                }
+            }
+        }
+        return existing;
+    }
+
+    // Rows that never got a verdict because the connection itself failed
+    private void failUnreported(BatchResult result, SQLException e) {
+        result.recordBatchFailure(e.getMessage());
+        for (int i = 0; i < result.getRowCount(); i++) {
+            if (!result.isFailed(i) && result.getGeneratedId(i) == 0) {
+                result.recordFailure(i, e.getMessage());
+            }
+        }
+    }
 }
@@ -0,0 +1,90 @@
+package dao;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+// Runs EXPLAIN on the filtered statements the DAO issues and reports every table one of them reads in full:
+// access type ALL (table scan) or index (scan of a whole index). Such a query gets slower with every row added,
+// and its locking reads lock the whole table. Only the plan matters, so sample values stand in for the real
+// parameters. MySQL plans from table statistics and happily scans a table of a few rows, so run the check
+// against a database holding realistic data. Whole-table reads such as getAllEmployees are left out.
+public class QueryPlanChecker {
+    // A statement as the DAO sends it; scanning the listed tables (or aliases) is inherent to what it returns
+    private record Probe(String name, String sql, List<Object> params, Set<String> fullScanExpected) {
+        Probe(String name, SqlQuery query, Set<String> fullScanExpected) {
+            this(name, query.sql(), query.params(), fullScanExpected);
+        }
+    }
+
+    // The statements come from the classes that run them, so a changed query is checked as it now reads
+    private static final List<Probe> PROBES = List.of(
+            new Probe("getAllTasks", ProjectRepositoryImpl.EMPLOYEE_TASKS, List.of(1, 1), Set.of()),
+            new Probe("findTasks by project", ProjectRepositoryImpl.findTasksQuery(new TaskFilter(1, null, null), 0, 20), Set.of()),
+            new Probe("findTasks by project and status",
+                    ProjectRepositoryImpl.findTasksQuery(new TaskFilter(1, null, "Assigned"), 0, 20), Set.of()),
+            new Probe("findTasks by employee", ProjectRepositoryImpl.findTasksQuery(new TaskFilter(null, 1, null), 0, 20), Set.of()),
+            new Probe("findTasks by status", ProjectRepositoryImpl.findTasksQuery(new TaskFilter(null, null, "Assigned"), 0, 20), Set.of()),
+            new Probe("findEmployees by project", ProjectRepositoryImpl.findEmployeesQuery(1, 0, 20), Set.of()),
+            new Probe("findProjects by status", ProjectRepositoryImpl.findProjectsQuery("started", 0, 20), Set.of()),
+            new Probe("assignProjectToEmployee", ProjectRepositoryImpl.ASSIGN_PROJECT, List.of(1, 1), Set.of()),
+            new Probe("assignTaskToEmployee lock", ProjectRepositoryImpl.LOCK_TASK, List.of(1, 1), Set.of()),
+            new Probe("assignTaskToEmployee", ProjectRepositoryImpl.ASSIGN_TASK, List.of(1, 1, 1), Set.of()),
+            new Probe("assignTasksToEmployee", ProjectRepositoryImpl.ASSIGN_TASKS, List.of(1, 1, 1), Set.of()),
+            new Probe("cascade delete of a project's tasks", CascadeDeleter.lockTasks("project_id"), List.of(1, 1000), Set.of()),
+            new Probe("cascade delete of an employee's tasks", CascadeDeleter.lockTasks("employee_id"), List.of(1, 1000), Set.of()),
+            new Probe("cascade delete of a project's employees", CascadeDeleter.PROJECT_EMPLOYEES, List.of(1, 1000), Set.of()),
+            new Probe("cascade detach of a project's employees", CascadeDeleter.DETACH_EMPLOYEES, List.of(1, 1000), Set.of()),
+            new Probe("getTaskStatusByProject", ReportRepositoryImpl.TASK_STATUS_BY_PROJECT, List.of(), Set.of("p")),
+            new Probe("getProjectCosts",
+                    ReportRepositoryImpl.projectCostsQuery(LocalDate.now().minusDays(30), LocalDate.now()), Set.of()),
+            new Probe("getEmployeeWorkloads by project", ReportRepositoryImpl.employeeWorkloadsQuery(1), Set.of()),
+            new Probe("getEmployeeWorkloads", ReportRepositoryImpl.employeeWorkloadsQuery(null), Set.of("e")));
+
+    public record Finding(String statement, String table, String accessType, long rows, String extra) {
+        @Override
+        public String toString() {
+            return statement + ": " + (accessType.equals("ALL") ? "full table scan" : "full index scan") + " of " + table
+                    + " (~" + rows + " rows" + (extra == null ? "" : ", " + extra) + ")";
+        }
+    }
+
+    private final ConnectionProvider connections;
+
+    public QueryPlanChecker(ConnectionProvider connections) {
+        this.connections = connections;
+    }
+
+    // Full scans nobody expected; an empty list means every statement reads through an index
+    public List<Finding> check() throws SQLException {
+        List<Finding> findings = new ArrayList<>();
+        Connection conn = connections.getConnection();
+        if (conn == null) {
+            throw new SQLException("No database connection available");
+        }
+        try (conn) {
+            for (Probe probe : PROBES) {
+                try (PreparedStatement pstmt = conn.prepareStatement("EXPLAIN " + probe.sql())) {
+                    for (int i = 0; i < probe.params().size(); i++) {
+                        pstmt.setObject(i + 1, probe.params().get(i));
+                    }
+                    try (ResultSet rs = pstmt.executeQuery()) {
+                        while (rs.next()) {
+                            String table = rs.getString("table");
+                            String type = rs.getString("type");
+                            if (("ALL".equals(type) || "index".equals(type)) && !probe.fullScanExpected().contains(table)) {
+                                findings.add(new Finding(probe.name(), table, type, rs.getLong("rows"), rs.getString("Extra")));
+                            }
+                        }
+                    }
+                }
+            }
+        }
+        return findings;
+    }
+}
@@ -0,0 +1,35 @@
+package dao;
+
+import java.util.Arrays;
+
+// Contiguous ranges of project ids: shard i holds the ids up to upperBounds[i] and above the previous bound, the
+// last shard everything beyond the last bound. Keeps neighbouring projects together, at the cost of new projects
+// all landing on the last shard until the ranges are extended.
+public class RangeShardMap implements ShardMap {
+    private final int[] upperBounds;
+
+    public RangeShardMap(int... upperBounds) {
+        for (int i = 1; i < upperBounds.length; i++) {
+            if (upperBounds[i] <= upperBounds[i - 1]) {
+                throw new IllegalArgumentException("Shard range bounds must increase: " + Arrays.toString(upperBounds));
+            }
+        }
+        this.upperBounds = upperBounds.clone();
+    }
+
+    @Override
+    public int shardFor(int projectId) {
+        int index = Arrays.binarySearch(upperBounds, projectId);
+        return index >= 0 ? index : -index - 1;
+    }
+
+    @Override
+    public int getShardCount() {
+        return upperBounds.length + 1;
+    }
+
+    @Override
+    public String toString() {
+        return "RangeShardMap" + Arrays.toString(upperBounds);
+    }
+}
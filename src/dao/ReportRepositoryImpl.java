@@ -0,0 +1,110 @@
+package dao;
+
+import entity.EmployeeWorkload;
+import entity.ProjectCost;
+import entity.ProjectTaskSummary;
+import util.DBConnUtil;
+
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+// Reports computed by MySQL with GROUP BY, so only one row per group crosses the network
+public class ReportRepositoryImpl implements IReportRepository {
+    private static final String STATUS_COUNTS = "COUNT(CASE WHEN t.status = 'Assigned' THEN 1 END), "
+            + "COUNT(CASE WHEN t.status = 'Started' THEN 1 END), "
+            + "COUNT(CASE WHEN t.status = 'Completed' THEN 1 END), "
+            + "COUNT(t.task_id)";
+    static final String TASK_STATUS_BY_PROJECT = "SELECT p.id, p.projectName, " + STATUS_COUNTS
+            + " FROM Project p LEFT JOIN Task t ON t.project_id = p.id"
+            + " GROUP BY p.id, p.projectName ORDER BY p.id";
+
+    private final ConnectionProvider connections;
+    private volatile Consumer<SQLException> errorHandler = SQLException::printStackTrace;
+
+    // Reports read from a replica when one is configured
+    public ReportRepositoryImpl() {
+        this(DBConnUtil::getReadConnection);
+    }
+
+    public ReportRepositoryImpl(ConnectionProvider connections) {
+        this.connections = connections;
+    }
+
+    // Called with every SQLException a report swallows; by default the stack trace is printed
+    public void setErrorHandler(Consumer<SQLException> errorHandler) {
+        this.errorHandler = errorHandler;
+    }
+
+    @Override
+    public List<ProjectTaskSummary> getTaskStatusByProject() {
+        return queryList(TASK_STATUS_BY_PROJECT, List.of(), rs -> new ProjectTaskSummary(rs.getInt(1), rs.getString(2),
+                rs.getInt(3), rs.getInt(4), rs.getInt(5), rs.getInt(6)));
+    }
+
+    @Override
+    public List<ProjectCost> getProjectCosts(LocalDate from, LocalDate to) {
+        SqlQuery query = projectCostsQuery(from, to);
+        return queryList(query.sql(), query.params(), rs -> new ProjectCost(rs.getInt(1), rs.getString(2),
+                rs.getObject(3, LocalDate.class), rs.getInt(4), rs.getDouble(5)));
+    }
+
+    static SqlQuery projectCostsQuery(LocalDate from, LocalDate to) {
+        StringBuilder query = new StringBuilder("SELECT p.id, p.projectName, p.startDate, COUNT(e.id), COALESCE(SUM(e.salary), 0)"
+                + " FROM Project p LEFT JOIN Employee e ON e.project_id = p.id WHERE 1 = 1");
+        List<Object> params = new ArrayList<>();
+        if (from != null) {
+            query.append(" AND p.startDate >= ?");
+            params.add(Date.valueOf(from));
+        }
+        if (to != null) {
+            query.append(" AND p.startDate <= ?");
+            params.add(Date.valueOf(to));
+        }
+        query.append(" GROUP BY p.id, p.projectName, p.startDate ORDER BY p.id");
+        return new SqlQuery(query.toString(), params);
+    }
+
+    @Override
+    public List<EmployeeWorkload> getEmployeeWorkloads(Integer projectId) {
+        SqlQuery query = employeeWorkloadsQuery(projectId);
+        return queryList(query.sql(), query.params(), rs -> new EmployeeWorkload(rs.getInt(1), rs.getString(2), rs.getInt(3),
+                rs.getInt(4), rs.getInt(5), rs.getInt(6), rs.getInt(7)));
+    }
+
+    static SqlQuery employeeWorkloadsQuery(Integer projectId) {
+        StringBuilder query = new StringBuilder("SELECT e.id, e.name, e.project_id, " + STATUS_COUNTS
+                + " FROM Employee e LEFT JOIN Task t ON t.employee_id = e.id");
+        List<Object> params = new ArrayList<>();
+        if (projectId != null) {
+            query.append(" WHERE e.project_id = ?");
+            params.add(projectId);
+        }
+        query.append(" GROUP BY e.id, e.name, e.project_id ORDER BY e.id");
+        return new SqlQuery(query.toString(), params);
+    }
+
+    private <T> List<T> queryList(String query, List<Object> params, RowMapper<T> mapper) {
+        List<T> rows = new ArrayList<>();
+        try (Connection conn = connections.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(query)) {
+            for (int i = 0; i < params.size(); i++) {
+                pstmt.setObject(i + 1, params.get(i));
+            }
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    rows.add(mapper.map(rs));
+                }
+            }
+        } catch (SQLException e) {
+            errorHandler.accept(e);
+        }
+        return rows;
+    }
+}
@@ -0,0 +1,10 @@
+package dao;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+// Prepares a RowMapper for one result set, so column lookups happen once per query instead of once per row
+@FunctionalInterface
+public interface ResultSetMapper<T> {
+    RowMapper<T> bind(ResultSet rs) throws SQLException;
+}
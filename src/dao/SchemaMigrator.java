@@ -0,0 +1,271 @@
+package dao;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileSystem;
+import java.nio.file.FileSystemNotFoundException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+// Brings the database schema up to date from the scripts in db/migration on the classpath (src/db/migration).
+// Scripts are named V<version>__<description>.sql and run in version order; each one that succeeds is recorded
+// in schema_version with the SHA-256 of its text. An applied script must never be edited, so a checksum that no
+// longer matches stops the migration: the database would no longer be what the scripts describe. A MySQL named
+// lock stops two instances starting at the same time from running a script twice.
+public class SchemaMigrator {
+    public static final String LOCATION = "db/migration";
+    private static final Pattern SCRIPT_NAME = Pattern.compile("V(\\d+)__(\\w+)\\.sql");
+    private static final String LOCK_NAME = "ProjectManagement.schema_migration";
+    private static final int LOCK_TIMEOUT_SECONDS = 60;
+    private static final int MYSQL_DUPLICATE_KEY_NAME = 1061;
+
+    public record Migration(int version, String description, String script, String checksum, List<String> statements) {}
+
+    private final ConnectionProvider connections;
+    private final List<Migration> migrations;
+
+    public SchemaMigrator(ConnectionProvider connections) throws IOException {
+        this(connections, loadScripts());
+    }
+
+    public SchemaMigrator(ConnectionProvider connections, List<Migration> migrations) {
+        this.connections = connections;
+        this.migrations = migrations;
+    }
+
+    // Applies every script the database hasn't seen yet and returns them
+    public List<Migration> migrate() throws SQLException {
+        try (Connection conn = connect()) {
+            lock(conn);
+            try {
+                createHistoryTable(conn);
+                Map<Integer, String> applied = appliedChecksums(conn);
+                for (Migration migration : migrations) {
+                    String checksum = applied.get(migration.version());
+                    if (checksum != null && !checksum.equals(migration.checksum())) {
+                        throw new IllegalStateException("Migration " + migration.script() + " was changed after it was applied"
+                                + " (checksum " + checksum + " in schema_version, " + migration.checksum() + " on disk)");
+                    }
+                }
+                List<Migration> ran = new ArrayList<>();
+                for (Migration migration : migrations) {
+                    if (!applied.containsKey(migration.version())) {
+                        apply(conn, migration);
+                        ran.add(migration);
+                    }
+                }
+                return ran;
+            } finally {
+                unlock(conn);
+            }
+        }
+    }
+
+    // Scripts not yet applied to the database
+    public List<Migration> pending() throws SQLException {
+        try (Connection conn = connect()) {
+            createHistoryTable(conn);
+            Map<Integer, String> applied = appliedChecksums(conn);
+            return migrations.stream().filter(m -> !applied.containsKey(m.version())).toList();
+        }
+    }
+
+    public List<Migration> getMigrations() {
+        return migrations;
+    }
+
+    // MySQL commits DDL statement by statement, so a script that failed halfway has run its first statements.
+    // Rerunning it skips indexes that already exist rather than failing on them again.
+    private void apply(Connection conn, Migration migration) throws SQLException {
+        long started = System.currentTimeMillis();
+        try (Statement stmt = conn.createStatement()) {
+            for (String sql : migration.statements()) {
+                try {
+                    stmt.execute(sql);
+                } catch (SQLException e) {
+                    if (e.getErrorCode() != MYSQL_DUPLICATE_KEY_NAME) {
+                        throw new SQLException("Migration " + migration.script() + " failed on: " + sql, e.getSQLState(), e.getErrorCode(), e);
+                    }
+                }
+            }
+        }
+        String insert = "INSERT INTO schema_version (version, description, script, checksum, execution_ms) VALUES (?, ?, ?, ?, ?)";
+        try (PreparedStatement pstmt = conn.prepareStatement(insert)) {
+            pstmt.setInt(1, migration.version());
+            pstmt.setString(2, migration.description());
+            pstmt.setString(3, migration.script());
+            pstmt.setString(4, migration.checksum());
+            pstmt.setLong(5, System.currentTimeMillis() - started);
+            pstmt.executeUpdate();
+        }
+    }
+
+    private void createHistoryTable(Connection conn) throws SQLException {
+        try (Statement stmt = conn.createStatement()) {
+            stmt.execute("CREATE TABLE IF NOT EXISTS schema_version ("
+                    + "version INT PRIMARY KEY, "
+                    + "description VARCHAR(200) NOT NULL, "
+                    + "script VARCHAR(255) NOT NULL, "
+                    + "checksum CHAR(64) NOT NULL, "
+                    + "installed_on TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP, "
+                    + "execution_ms BIGINT NOT NULL)");
+        }
+    }
+
+    private Map<Integer, String> appliedChecksums(Connection conn) throws SQLException {
+        Map<Integer, String> applied = new TreeMap<>();
+        try (Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT version, checksum FROM schema_version")) {
+            while (rs.next()) {
+                applied.put(rs.getInt(1), rs.getString(2));
+            }
+        }
+        return applied;
+    }
+
+    private void lock(Connection conn) throws SQLException {
+        try (PreparedStatement pstmt = conn.prepareStatement("SELECT GET_LOCK(?, ?)")) {
+            pstmt.setString(1, LOCK_NAME);
+            pstmt.setInt(2, LOCK_TIMEOUT_SECONDS);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                if (!rs.next() || rs.getInt(1) != 1) {
+                    throw new SQLException("Timed out waiting for another instance to finish migrating the schema");
+                }
+            }
+        }
+    }
+
+    private void unlock(Connection conn) throws SQLException {
+        try (PreparedStatement pstmt = conn.prepareStatement("SELECT RELEASE_LOCK(?)")) {
+            pstmt.setString(1, LOCK_NAME);
+            pstmt.executeQuery().close();
+        }
+    }
+
+    private Connection connect() throws SQLException {
+        Connection conn = connections.getConnection();
+        if (conn == null) {
+            throw new SQLException("No database connection available");
+        }
+        return conn;
+    }
+
+    // Scripts on the classpath, from the source tree when run from an IDE or from inside the jar
+    public static List<Migration> loadScripts() throws IOException {
+        URL location = SchemaMigrator.class.getClassLoader().getResource(LOCATION);
+        if (location == null) {
+            throw new IOException("No migration scripts on the classpath under " + LOCATION);
+        }
+        try {
+            URI uri = location.toURI();
+            if (!uri.getScheme().equals("jar")) {
+                return loadScripts(Paths.get(uri));
+            }
+            FileSystem jar;
+            try {
+                jar = FileSystems.getFileSystem(uri);
+            } catch (FileSystemNotFoundException e) {
+                jar = FileSystems.newFileSystem(uri, Map.of());
+            }
+            return loadScripts(jar.provider().getPath(uri));
+        } catch (URISyntaxException e) {
+            throw new IOException("Bad migration script location " + location, e);
+        }
+    }
+
+    public static List<Migration> loadScripts(Path directory) throws IOException {
+        List<Migration> migrations = new ArrayList<>();
+        try (Stream<Path> files = Files.list(directory)) {
+            for (Path file : (Iterable<Path>) files::iterator) {
+                String name = file.getFileName().toString();
+                Matcher matcher = SCRIPT_NAME.matcher(name);
+                if (!matcher.matches()) {
+                    continue;
+                }
+                String text = Files.readString(file, StandardCharsets.UTF_8).replace("\r\n", "\n");
+                migrations.add(new Migration(Integer.parseInt(matcher.group(1)), matcher.group(2).replace('_', ' '),
+                        name, sha256(text), splitStatements(text)));
+            }
+        }
+        migrations.sort(Comparator.comparingInt(Migration::version));
+        for (int i = 1; i < migrations.size(); i++) {
+            if (migrations.get(i).version() == migrations.get(i - 1).version()) {
+                throw new IOException("Two migration scripts share version " + migrations.get(i).version() + ": "
+                        + migrations.get(i - 1).script() + " and " + migrations.get(i).script());
+            }
+        }
+        return migrations;
+    }
+
+    // Splits a script on semicolons outside quotes and comments, dropping the comments
+    public static List<String> splitStatements(String script) {
+        List<String> statements = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        char quote = 0;
+        for (int i = 0; i < script.length(); i++) {
+            char c = script.charAt(i);
+            if (quote != 0) {
+                current.append(c);
+                if (c == '\\' && quote != '`' && i + 1 < script.length()) {
+                    current.append(script.charAt(++i));
+                } else if (c == quote) {
+                    quote = 0;
+                }
+            } else if (c == '\'' || c == '"' || c == '`') {
+                quote = c;
+                current.append(c);
+            } else if (c == '#' || (script.startsWith("--", i)
+                    && (i + 2 == script.length() || Character.isWhitespace(script.charAt(i + 2))))) {
+                int end = script.indexOf('\n', i);
+                i = end < 0 ? script.length() : end - 1;
+            } else if (c == '/' && script.startsWith("/*", i)) {
+                int end = script.indexOf("*/", i + 2);
+                i = end < 0 ? script.length() : end + 1;
+                current.append(' ');
+            } else if (c == ';') {
+                addStatement(statements, current);
+            } else {
+                current.append(c);
+            }
+        }
+        addStatement(statements, current);
+        return statements;
+    }
+
+    private static void addStatement(List<String> statements, StringBuilder current) {
+        String sql = current.toString().trim();
+        if (!sql.isEmpty()) {
+            statements.add(sql);
+        }
+        current.setLength(0);
+    }
+
+    private static String sha256(String text) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(text.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e); // every JVM ships SHA-256
+        }
+    }
+}
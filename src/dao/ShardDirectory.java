@@ -0,0 +1,104 @@
+package dao;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Where each project's tasks live: the ShardMap's answer, unless ShardRebalancer has moved the project, in which
+// case the move is recorded in the shard_directory table of the first shard. The table is read into memory by
+// load() and reload(), so routing never waits on a query; another process sharing the shards only sees a move
+// after its next reload().
+public class ShardDirectory {
+    private final ShardMap map;
+    private final ConnectionProvider catalog;
+    private final Map<Integer, Integer> moved = new ConcurrentHashMap<>();
+
+    private ShardDirectory(ShardMap map, ConnectionProvider catalog) {
+        this.map = map;
+        this.catalog = catalog;
+    }
+
+    public static ShardDirectory load(ShardMap map, ConnectionProvider catalog) throws SQLException {
+        ShardDirectory directory = new ShardDirectory(map, catalog);
+        directory.reload();
+        return directory;
+    }
+
+    public int shardFor(int projectId) {
+        Integer shard = moved.get(projectId);
+        return shard != null ? shard : map.shardFor(projectId);
+    }
+
+    public int getShardCount() {
+        return map.getShardCount();
+    }
+
+    public ShardMap getMap() {
+        return map;
+    }
+
+    // Projects living somewhere other than where the map puts them
+    public Map<Integer, Integer> getMovedProjects() {
+        return Map.copyOf(moved);
+    }
+
+    public void reload() throws SQLException {
+        try (Connection conn = connect();
+             Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT project_id, shard FROM shard_directory")) {
+            Map<Integer, Integer> current = new ConcurrentHashMap<>();
+            while (rs.next()) {
+                current.put(rs.getInt(1), rs.getInt(2));
+            }
+            moved.keySet().retainAll(current.keySet());
+            moved.putAll(current);
+        }
+    }
+
+    // Records that the project's tasks now live on the given shard; moving a project back to where the map
+    // puts it just drops the entry
+    void place(int projectId, int shard) throws SQLException {
+        try (Connection conn = connect()) {
+            if (shard == map.shardFor(projectId)) {
+                try (PreparedStatement pstmt = conn.prepareStatement("DELETE FROM shard_directory WHERE project_id = ?")) {
+                    pstmt.setInt(1, projectId);
+                    pstmt.executeUpdate();
+                }
+                moved.remove(projectId);
+            } else {
+                String upsert = "INSERT INTO shard_directory (project_id, shard) VALUES (?, ?) "
+                        + "ON DUPLICATE KEY UPDATE shard = VALUES(shard), moved_on = CURRENT_TIMESTAMP";
+                try (PreparedStatement pstmt = conn.prepareStatement(upsert)) {
+                    pstmt.setInt(1, projectId);
+                    pstmt.setInt(2, shard);
+                    pstmt.executeUpdate();
+                }
+                moved.put(projectId, shard);
+            }
+        }
+    }
+
+    // Drops the entry of a deleted project
+    void forget(int projectId) throws SQLException {
+        if (moved.remove(projectId) == null) {
+            return;
+        }
+        try (Connection conn = connect();
+             PreparedStatement pstmt = conn.prepareStatement("DELETE FROM shard_directory WHERE project_id = ?")) {
+            pstmt.setInt(1, projectId);
+            pstmt.executeUpdate();
+        }
+    }
+
+    private Connection connect() throws SQLException {
+        Connection conn = catalog.getConnection();
+        if (conn == null) {
+            throw new SQLException("No database connection available");
+        }
+        return conn;
+    }
+}
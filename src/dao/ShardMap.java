@@ -0,0 +1,9 @@
+package dao;
+
+// Decides which shard holds a project's tasks. Implementations must be stateless functions of the project id:
+// projects placed elsewhere by ShardRebalancer are recorded in the ShardDirectory instead.
+public interface ShardMap {
+    int shardFor(int projectId);
+
+    int getShardCount();
+}
@@ -0,0 +1,202 @@
+package dao;
+
+import exception.ProjectNotFoundException;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.locks.Lock;
+import java.util.function.LongConsumer;
+
+// Moves a project's tasks to another shard while the project stays in use:
+//  1. every task written in the project from now on is remembered by the repository;
+//  2. the tasks are copied in chunks of chunkSize, ordered by id, without blocking anyone;
+//  3. calls on the project are held back while the remembered tasks are copied again and the directory is
+//     switched, so the pause lasts as long as re-copying what changed during step 2;
+//  4. the old copies are deleted in chunks. Reads skip them from step 3 on.
+// Writes are only remembered when they go through the ShardedProjectRepository given here, and the directory
+// change is only seen by that repository, so a move must run inside the one process serving the project; it is
+// offered by ProjectHttpServer, not as a separate command. A move that fails before step 3 leaves the project where it was;
+// the copies it made are overwritten by the next attempt. Repeating a move that failed in step 4 finishes the
+// cleanup.
+public class ShardRebalancer {
+    public static final int DEFAULT_CHUNK_SIZE = 1000;
+    private static final String COPY_TASK = "INSERT INTO Task (task_id, task_name, project_id, employee_id, status) "
+            + "VALUES (?, ?, ?, ?, ?) ON DUPLICATE KEY UPDATE task_name = VALUES(task_name), "
+            + "employee_id = VALUES(employee_id), status = VALUES(status)";
+
+    public record MoveResult(int projectId, int fromShard, int toShard, long tasksCopied, long tasksRecopied,
+                             long tasksRemoved, long pauseMillis, long elapsedMillis) {
+        @Override
+        public String toString() {
+            return "Project " + projectId + " moved from shard " + fromShard + " to shard " + toShard + ": "
+                    + tasksCopied + " tasks copied, " + tasksRecopied + " copied again after changing, "
+                    + tasksRemoved + " old copies removed; paused writes for " + pauseMillis + "ms of " + elapsedMillis + "ms";
+        }
+    }
+
+    private final ShardedProjectRepository repository;
+    private final int chunkSize;
+
+    public ShardRebalancer(ShardedProjectRepository repository, int chunkSize) {
+        if (chunkSize < 1) {
+            throw new IllegalArgumentException("Chunk size must be positive: " + chunkSize);
+        }
+        this.repository = repository;
+        this.chunkSize = chunkSize;
+    }
+
+    // progress hears the running count of tasks copied
+    public MoveResult moveProject(int projectId, int targetShard, LongConsumer progress) throws ProjectNotFoundException, SQLException {
+        if (targetShard < 0 || targetShard >= repository.getShardCount()) {
+            throw new IllegalArgumentException("No shard " + targetShard + "; shards are 0 to " + (repository.getShardCount() - 1));
+        }
+        if (!repository.projectExists(projectId)) {
+            throw new ProjectNotFoundException("Project with ID " + projectId + " not found.");
+        }
+        ShardDirectory directory = repository.getDirectory();
+        int sourceShard = directory.shardFor(projectId);
+        long started = System.currentTimeMillis();
+        if (sourceShard == targetShard) {
+            return new MoveResult(projectId, sourceShard, targetShard, 0, 0, removeLeftovers(projectId, targetShard), 0,
+                    System.currentTimeMillis() - started);
+        }
+        ConnectionProvider source = repository.shardConnections(sourceShard);
+        ConnectionProvider target = repository.shardConnections(targetShard);
+        long copied = 0;
+        long recopied;
+        long pauseMillis;
+        Set<Integer> written = repository.trackWrites(projectId);
+        try {
+            int afterId = 0;
+            while (true) {
+                List<Object[]> rows = readTasks(source, "SELECT task_id, task_name, project_id, employee_id, status FROM Task "
+                        + "WHERE project_id = ? AND task_id > ? ORDER BY task_id LIMIT ?", projectId, afterId, chunkSize);
+                if (rows.isEmpty()) {
+                    break;
+                }
+                writeTasks(target, rows);
+                copied += rows.size();
+                afterId = (Integer) rows.get(rows.size() - 1)[0];
+                progress.accept(copied);
+            }
+
+            Lock lock = repository.moveLock(projectId);
+            lock.lock();
+            long paused = System.currentTimeMillis();
+            try {
+                recopied = recopy(source, target, projectId, new ArrayList<>(written));
+                directory.place(projectId, targetShard);
+            } finally {
+                lock.unlock();
+                pauseMillis = System.currentTimeMillis() - paused;
+            }
+        } finally {
+            repository.stopTracking(projectId);
+        }
+        progress.accept(copied + recopied);
+
+        return new MoveResult(projectId, sourceShard, targetShard, copied, recopied, removeLeftovers(projectId, targetShard),
+                pauseMillis, System.currentTimeMillis() - started);
+    }
+
+    // Deletes the project's tasks from every shard but its home, a chunk per statement
+    private long removeLeftovers(int projectId, int homeShard) throws SQLException {
+        long removed = 0;
+        for (int shard = 0; shard < repository.getShardCount(); shard++) {
+            if (shard == homeShard) {
+                continue;
+            }
+            ConnectionProvider connections = repository.shardConnections(shard);
+            while (true) {
+                int deleted = update(connections, "DELETE FROM Task WHERE project_id = ? LIMIT ?", projectId, chunkSize);
+                if (deleted == 0) {
+                    break;
+                }
+                removed += deleted;
+            }
+        }
+        return removed;
+    }
+
+    // Brings the target's copies of tasks written during the bulk copy up to date, in chunks of ids
+    private long recopy(ConnectionProvider source, ConnectionProvider target, int projectId, List<Integer> taskIds) throws SQLException {
+        long count = 0;
+        for (int from = 0; from < taskIds.size(); from += chunkSize) {
+            List<Integer> ids = taskIds.subList(from, Math.min(from + chunkSize, taskIds.size()));
+            String in = "?" + ",?".repeat(ids.size() - 1);
+            List<Object> params = new ArrayList<>(ids);
+            params.add(projectId);
+            List<Object[]> rows = readTasks(source, "SELECT task_id, task_name, project_id, employee_id, status FROM Task "
+                    + "WHERE task_id IN (" + in + ") AND project_id = ?", params.toArray());
+            writeTasks(target, rows);
+            count += rows.size();
+            if (rows.size() < ids.size()) {
+                // gone from the source since they were copied
+                Set<Integer> vanished = new HashSet<>(ids);
+                for (Object[] row : rows) {
+                    vanished.remove((Integer) row[0]);
+                }
+                for (int taskId : vanished) {
+                    update(target, "DELETE FROM Task WHERE task_id = ? AND project_id = ?", taskId, projectId);
+                }
+            }
+        }
+        return count;
+    }
+
+    private List<Object[]> readTasks(ConnectionProvider shard, String sql, Object... params) throws SQLException {
+        List<Object[]> rows = new ArrayList<>();
+        try (Connection conn = connect(shard);
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            for (int i = 0; i < params.length; i++) {
+                pstmt.setObject(i + 1, params[i]);
+            }
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    rows.add(new Object[] {rs.getInt(1), rs.getString(2), rs.getInt(3), rs.getObject(4), rs.getString(5)});
+                }
+            }
+        }
+        return rows;
+    }
+
+    private void writeTasks(ConnectionProvider shard, List<Object[]> rows) throws SQLException {
+        if (rows.isEmpty()) {
+            return;
+        }
+        try (Connection conn = connect(shard);
+             PreparedStatement pstmt = conn.prepareStatement(COPY_TASK)) {
+            for (Object[] row : rows) {
+                for (int i = 0; i < row.length; i++) {
+                    pstmt.setObject(i + 1, row[i]);
+                }
+                pstmt.addBatch();
+            }
+            pstmt.executeBatch();
+        }
+    }
+
+    private int update(ConnectionProvider shard, String sql, Object... params) throws SQLException {
+        try (Connection conn = connect(shard);
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            for (int i = 0; i < params.length; i++) {
+                pstmt.setObject(i + 1, params[i]);
+            }
+            return pstmt.executeUpdate();
+        }
+    }
+
+    private static Connection connect(ConnectionProvider shard) throws SQLException {
+        Connection conn = shard.getConnection();
+        if (conn == null) {
+            throw new SQLException("No shard connection available");
+        }
+        return conn;
+    }
+}
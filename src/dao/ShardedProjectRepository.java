@@ -0,0 +1,691 @@
+package dao;
+
+import entity.Employee;
+import entity.Project;
+import entity.Task;
+import exception.EmployeeNotFoundException;
+import exception.ProjectNotFoundException;
+
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.SQLIntegrityConstraintViolationException;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.function.IntFunction;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+// Spreads the Task table over several MySQL databases by project. Every shard is an ordinary database with the
+// full schema, read and written through its own ProjectRepositoryImpl:
+//  - a project's tasks live on the one shard the ShardDirectory names for it;
+//  - Project and Employee are small reference tables copied to every shard under the same ids, so the foreign
+//    keys from Task hold on each shard. The first shard assigns the ids and answers every read of them;
+//  - task ids stay unique across shards because each shard's connections set auto_increment_offset to the
+//    shard's number and share one auto_increment_increment (see DBConnUtil.getShardConnection).
+// Calls naming a project go to one shard. Reads over all tasks run on every shard at once and merge the results,
+// skipping rows a shard still holds for a project that ShardRebalancer has moved away.
+// Reference writes reach the shards one after another, not atomically: one that fails partway reports the error
+// and returns false, and repeating it brings the shards back in line.
+public class ShardedProjectRepository implements IProjectRepository, AutoCloseable {
+    private static final int MYSQL_ROW_IS_REFERENCED = 1451;
+    private static final int LOCK_STRIPES = 64;
+    private static final int BATCH_SIZE = 1000;
+    private static final int MERGE_BUFFER = 1024;
+    private static final String COPY_PROJECT = "INSERT INTO Project (id, projectName, description, startDate, status) "
+            + "VALUES (?, ?, ?, ?, ?) ON DUPLICATE KEY UPDATE projectName = VALUES(projectName), "
+            + "description = VALUES(description), startDate = VALUES(startDate), status = VALUES(status)";
+    private static final String COPY_EMPLOYEE = "INSERT INTO Employee (id, name, designation, gender, salary, project_id) "
+            + "VALUES (?, ?, ?, ?, ?, ?) ON DUPLICATE KEY UPDATE name = VALUES(name), designation = VALUES(designation), "
+            + "gender = VALUES(gender), salary = VALUES(salary), project_id = VALUES(project_id)";
+
+    private final List<ConnectionProvider> connections;
+    private final List<ProjectRepositoryImpl> shards = new ArrayList<>();
+    private final ShardDirectory directory;
+    // Calls on a project hold its stripe's read lock; ShardRebalancer takes the write lock to switch shards
+    private final ReentrantReadWriteLock[] projectLocks = new ReentrantReadWriteLock[LOCK_STRIPES];
+    // Tasks written while their project is being moved, by project id
+    private final Map<Integer, Set<Integer>> moving = new ConcurrentHashMap<>();
+    private final ExecutorService scatter = Executors.newVirtualThreadPerTaskExecutor();
+    private volatile Consumer<SQLException> errorHandler = SQLException::printStackTrace;
+
+    public ShardedProjectRepository(List<ConnectionProvider> connections, ShardDirectory directory) {
+        if (connections.size() != directory.getShardCount()) {
+            throw new IllegalArgumentException("The shard map has " + directory.getShardCount() + " shards but "
+                    + connections.size() + " databases were given");
+        }
+        this.connections = List.copyOf(connections);
+        this.directory = directory;
+        for (ConnectionProvider provider : connections) {
+            shards.add(new ProjectRepositoryImpl(provider));
+        }
+        for (int i = 0; i < LOCK_STRIPES; i++) {
+            projectLocks[i] = new ReentrantReadWriteLock();
+        }
+    }
+
+    public void setErrorHandler(Consumer<SQLException> errorHandler) {
+        this.errorHandler = errorHandler;
+        for (ProjectRepositoryImpl shard : shards) {
+            shard.setErrorHandler(errorHandler);
+        }
+    }
+
+    // Task events come from the shard holding the task, employee and project deletions from the first shard
+    public void addListener(TaskChangeListener listener) {
+        for (ProjectRepositoryImpl shard : shards) {
+            shard.addListener(listener);
+        }
+    }
+
+    public int getShardCount() {
+        return shards.size();
+    }
+
+    public ShardDirectory getDirectory() {
+        return directory;
+    }
+
+    @Override
+    public boolean createEmployee(Employee emp) throws ProjectNotFoundException {
+        if (!catalog().createEmployee(emp)) {
+            return false;
+        }
+        if (copyToOtherShards(COPY_EMPLOYEE, List.of(emp), ShardedProjectRepository::bindEmployee)) {
+            return true;
+        }
+        deleteFromAllShards("Employee", List.of(emp.getId()));
+        return false;
+    }
+
+    @Override
+    public boolean createProject(Project pj) {
+        if (!catalog().createProject(pj)) {
+            return false;
+        }
+        if (copyToOtherShards(COPY_PROJECT, List.of(pj), ShardedProjectRepository::bindProject)) {
+            return true;
+        }
+        deleteFromAllShards("Project", List.of(pj.getId()));
+        return false;
+    }
+
+    @Override
+    public boolean createTask(Task task) throws EmployeeNotFoundException, ProjectNotFoundException {
+        return onProject(task.getProjectId(), shard -> {
+            boolean created = shard.createTask(task);
+            if (created) {
+                recordWrite(task.getProjectId(), task.getTaskId());
+            }
+            return created;
+        });
+    }
+
+    @Override
+    public boolean assignProjectToEmployee(int projectId, int employeeId) throws EmployeeNotFoundException, ProjectNotFoundException {
+        if (!catalog().assignProjectToEmployee(projectId, employeeId)) {
+            return false;
+        }
+        try {
+            for (int shard = 1; shard < shards.size(); shard++) {
+                update(shard, "UPDATE Employee SET project_id = ? WHERE id = ?", projectId, employeeId);
+            }
+            return true;
+        } catch (SQLException e) {
+            errorHandler.accept(e);
+            return false;
+        }
+    }
+
+    @Override
+    public boolean assignTaskToEmployee(int taskId, int projectId, int employeeId) throws EmployeeNotFoundException, ProjectNotFoundException {
+        return onProject(projectId, shard -> {
+            boolean assigned = shard.assignTaskToEmployee(taskId, projectId, employeeId);
+            if (assigned) {
+                recordWrite(projectId, taskId);
+            }
+            return assigned;
+        });
+    }
+
+    // Tasks on any shard keep the employee, as the foreign key would on a single database. The first shard goes
+    // last, so the employee stays readable until it is gone everywhere.
+    @Override
+    public boolean deleteEmployee(int userId) throws EmployeeNotFoundException {
+        try {
+            for (int shard = 1; shard < shards.size(); shard++) {
+                if (exists(shard, "SELECT 1 FROM Task WHERE employee_id = ? LIMIT 1", userId)) {
+                    throw new SQLIntegrityConstraintViolationException("Employee " + userId
+                            + " still has tasks on shard " + shard, "23000", MYSQL_ROW_IS_REFERENCED);
+                }
+            }
+            for (int shard = 1; shard < shards.size(); shard++) {
+                update(shard, "DELETE FROM Employee WHERE id = ?", userId);
+            }
+        } catch (SQLException e) {
+            errorHandler.accept(e);
+            return false;
+        }
+        return catalog().deleteEmployee(userId);
+    }
+
+    // The project's own shard goes first, since it is the one whose tasks can block the delete, and the first
+    // shard last
+    @Override
+    public boolean deleteProject(int projectId) throws ProjectNotFoundException {
+        Lock lock = projectLocks[Math.floorMod(projectId, LOCK_STRIPES)].readLock();
+        lock.lock();
+        try {
+            int home = directory.shardFor(projectId);
+            try {
+                if (home != 0) {
+                    update(home, "DELETE FROM Project WHERE id = ?", projectId);
+                } else if (!catalog().deleteProject(projectId)) {
+                    return false;
+                }
+                for (int shard = 1; shard < shards.size(); shard++) {
+                    if (shard != home) {
+                        update(shard, "DELETE FROM Project WHERE id = ?", projectId);
+                    }
+                }
+            } catch (SQLException e) {
+                errorHandler.accept(e);
+                return false;
+            }
+            if (home != 0 && !catalog().deleteProject(projectId)) {
+                return false;
+            }
+            try {
+                directory.forget(projectId);
+            } catch (SQLException e) {
+                errorHandler.accept(e);
+            }
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public List<Task> getAllTasks(int empId, int projectId) {
+        return shardOf(projectId).getAllTasks(empId, projectId);
+    }
+
+    @Override
+    public List<Employee> getAllEmployees() {
+        return catalog().getAllEmployees();
+    }
+
+    @Override
+    public List<Project> getAllProjects() {
+        return catalog().getAllProjects();
+    }
+
+    // Every shard's tasks read in parallel, in task id order
+    @Override
+    public List<Task> getTaskTable() {
+        List<CompletableFuture<List<Task>>> reads = new ArrayList<>();
+        for (int i = 0; i < shards.size(); i++) {
+            int shard = i;
+            reads.add(CompletableFuture.supplyAsync(() -> ownTasks(shard, shards.get(shard).getTaskTable()), scatter));
+        }
+        List<Task> tasks = new ArrayList<>();
+        for (CompletableFuture<List<Task>> read : reads) {
+            tasks.addAll(read.join());
+        }
+        tasks.sort(Comparator.comparingInt(Task::getTaskId));
+        return tasks;
+    }
+
+    // Rows arrive as the shards produce them, in no particular order
+    @Override
+    public Stream<Task> streamTaskTable() {
+        return merge(shard -> shards.get(shard).streamTaskTable().filter(task -> isHome(shard, task)));
+    }
+
+    @Override
+    public Stream<Employee> streamEmployees() {
+        return catalog().streamEmployees();
+    }
+
+    @Override
+    public Stream<Project> streamProjects() {
+        return catalog().streamProjects();
+    }
+
+    // A filter naming a project reads one shard. Otherwise every shard returns the first pageSize + 1 tasks after
+    // the token that it owns, and the page is the lowest ids among them.
+    @Override
+    public Page<Task> findTasks(TaskFilter filter, String pageToken, int pageSize) {
+        Page.requireSize(pageSize);
+        if (filter.getProjectId() != null) {
+            return shardOf(filter.getProjectId()).findTasks(filter, pageToken, pageSize);
+        }
+        List<CompletableFuture<List<Task>>> reads = new ArrayList<>();
+        for (int i = 0; i < shards.size(); i++) {
+            int shard = i;
+            reads.add(CompletableFuture.supplyAsync(() -> {
+                List<Task> own = new ArrayList<>();
+                String token = pageToken;
+                while (own.size() <= pageSize) {
+                    Page<Task> page = shards.get(shard).findTasks(filter, token, pageSize);
+                    own.addAll(ownTasks(shard, page.getItems()));
+                    if (!page.hasNext()) {
+                        break;
+                    }
+                    token = page.getNextPageToken();
+                }
+                return own;
+            }, scatter));
+        }
+        List<Task> merged = new ArrayList<>();
+        for (CompletableFuture<List<Task>> read : reads) {
+            merged.addAll(read.join());
+        }
+        merged.sort(Comparator.comparingInt(Task::getTaskId));
+        return Page.of(merged.subList(0, Math.min(merged.size(), pageSize + 1)), pageSize, Task::getTaskId);
+    }
+
+    @Override
+    public Page<Employee> findEmployees(Integer projectId, String pageToken, int pageSize) {
+        return catalog().findEmployees(projectId, pageToken, pageSize);
+    }
+
+    @Override
+    public Page<Project> findProjects(String status, String pageToken, int pageSize) {
+        return catalog().findProjects(status, pageToken, pageSize);
+    }
+
+    @Override
+    public Optional<Employee> findEmployee(int id) {
+        return catalog().findEmployee(id);
+    }
+
+    @Override
+    public Optional<Project> findProject(int id) {
+        return catalog().findProject(id);
+    }
+
+    @Override
+    public boolean employeeExists(int id) {
+        return catalog().employeeExists(id);
+    }
+
+    @Override
+    public boolean projectExists(int id) {
+        return catalog().projectExists(id);
+    }
+
+    @Override
+    public BatchResult createEmployees(List<Employee> employees) {
+        BatchResult result = catalog().createEmployees(employees);
+        copyBatch(result, employees, "Employee", COPY_EMPLOYEE, ShardedProjectRepository::bindEmployee);
+        return result;
+    }
+
+    @Override
+    public BatchResult createProjects(List<Project> projects) {
+        BatchResult result = catalog().createProjects(projects);
+        copyBatch(result, projects, "Project", COPY_PROJECT, ShardedProjectRepository::bindProject);
+        return result;
+    }
+
+    // Split by shard, each part inserted as one batch on its own shard
+    @Override
+    public BatchResult createTasks(List<Task> tasks) {
+        BatchResult result = new BatchResult(tasks.size());
+        Set<Integer> projectIds = new TreeSet<>();
+        for (Task task : tasks) {
+            projectIds.add(task.getProjectId());
+        }
+        List<Lock> locks = lockProjects(projectIds);
+        try {
+            Map<Integer, List<Integer>> rowsByShard = new TreeMap<>();
+            for (int i = 0; i < tasks.size(); i++) {
+                rowsByShard.computeIfAbsent(directory.shardFor(tasks.get(i).getProjectId()), shard -> new ArrayList<>()).add(i);
+            }
+            List<CompletableFuture<Void>> inserts = new ArrayList<>();
+            for (Map.Entry<Integer, List<Integer>> entry : rowsByShard.entrySet()) {
+                List<Integer> rows = entry.getValue();
+                List<Task> part = new ArrayList<>(rows.size());
+                for (int row : rows) {
+                    part.add(tasks.get(row));
+                }
+                inserts.add(CompletableFuture.supplyAsync(() -> shards.get(entry.getKey()).createTasks(part), scatter)
+                        .thenAccept(partResult -> {
+                            synchronized (result) {
+                                if (partResult.getBatchFailure() != null) {
+                                    result.recordBatchFailure(partResult.getBatchFailure());
+                                }
+                                for (int k = 0; k < rows.size(); k++) {
+                                    String failure = partResult.getFailures().get(k);
+                                    if (failure != null) {
+                                        result.recordFailure(rows.get(k), failure);
+                                    } else {
+                                        result.recordSuccess(rows.get(k), partResult.getGeneratedId(k));
+                                        recordWrite(part.get(k).getProjectId(), partResult.getGeneratedId(k));
+                                    }
+                                }
+                            }
+                        }));
+            }
+            CompletableFuture.allOf(inserts.toArray(new CompletableFuture<?>[0])).join();
+        } finally {
+            locks.forEach(Lock::unlock);
+        }
+        return result;
+    }
+
+    @Override
+    public BatchResult assignTasksToEmployee(List<Integer> taskIds, int projectId, int employeeId) throws EmployeeNotFoundException, ProjectNotFoundException {
+        return onProject(projectId, shard -> {
+            BatchResult result = shard.assignTasksToEmployee(taskIds, projectId, employeeId);
+            for (int i = 0; i < taskIds.size(); i++) {
+                if (!result.isFailed(i)) {
+                    recordWrite(projectId, taskIds.get(i));
+                }
+            }
+            return result;
+        });
+    }
+
+    @Override
+    public void close() {
+        scatter.shutdownNow();
+    }
+
+    // ShardRebalancer's side of a move: from here on every task written in the project is remembered. Taking the
+    // write lock first waits out writes already under way, which the bulk copy might otherwise miss.
+    Set<Integer> trackWrites(int projectId) {
+        Lock lock = moveLock(projectId);
+        lock.lock();
+        try {
+            Set<Integer> written = ConcurrentHashMap.newKeySet();
+            if (moving.putIfAbsent(projectId, written) != null) {
+                throw new IllegalStateException("Project " + projectId + " is already being moved");
+            }
+            return written;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    void stopTracking(int projectId) {
+        moving.remove(projectId);
+    }
+
+    // Held while a move switches the project to its new shard; calls on projects sharing the stripe wait too
+    Lock moveLock(int projectId) {
+        return projectLocks[Math.floorMod(projectId, LOCK_STRIPES)].writeLock();
+    }
+
+    ConnectionProvider shardConnections(int shard) {
+        return connections.get(shard);
+    }
+
+    private ProjectRepositoryImpl catalog() {
+        return shards.get(0);
+    }
+
+    private ProjectRepositoryImpl shardOf(int projectId) {
+        return shards.get(directory.shardFor(projectId));
+    }
+
+    private boolean isHome(int shard, Task task) {
+        return directory.shardFor(task.getProjectId()) == shard;
+    }
+
+    private List<Task> ownTasks(int shard, List<Task> tasks) {
+        List<Task> own = new ArrayList<>(tasks.size());
+        for (Task task : tasks) {
+            if (isHome(shard, task)) {
+                own.add(task);
+            }
+        }
+        return own;
+    }
+
+    private void recordWrite(int projectId, int taskId) {
+        Set<Integer> written = moving.get(projectId);
+        if (written != null) {
+            written.add(taskId);
+        }
+    }
+
+    @FunctionalInterface
+    private interface ShardCall<T> {
+        T call(ProjectRepositoryImpl shard) throws EmployeeNotFoundException, ProjectNotFoundException;
+    }
+
+    private <T> T onProject(int projectId, ShardCall<T> call) throws EmployeeNotFoundException, ProjectNotFoundException {
+        Lock lock = projectLocks[Math.floorMod(projectId, LOCK_STRIPES)].readLock();
+        lock.lock();
+        try {
+            return call.call(shardOf(projectId));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Read locks on every stripe the projects fall in, taken in stripe order
+    private List<Lock> lockProjects(Set<Integer> projectIds) {
+        Set<Integer> stripes = new TreeSet<>();
+        for (int projectId : projectIds) {
+            stripes.add(Math.floorMod(projectId, LOCK_STRIPES));
+        }
+        List<Lock> locks = new ArrayList<>();
+        for (int stripe : stripes) {
+            Lock lock = projectLocks[stripe].readLock();
+            lock.lock();
+            locks.add(lock);
+        }
+        return locks;
+    }
+
+    // One producer per shard feeds a bounded queue, so rows flow as soon as any shard has them and a slow reader
+    // holds every shard back instead of buffering their tables. Closing the stream stops the producers.
+    private <T> Stream<T> merge(IntFunction<Stream<T>> perShard) {
+        BlockingQueue<Object> queue = new ArrayBlockingQueue<>(MERGE_BUFFER);
+        Object end = new Object();
+        List<Future<?>> producers = new ArrayList<>();
+        for (int i = 0; i < shards.size(); i++) {
+            int shard = i;
+            producers.add(scatter.submit(() -> {
+                try {
+                    try (Stream<T> rows = perShard.apply(shard)) {
+                        Iterator<T> it = rows.iterator();
+                        while (it.hasNext()) {
+                            queue.put(it.next());
+                        }
+                    } catch (RuntimeException e) {
+                        queue.put(new ShardFailure(e));
+                        return;
+                    }
+                    queue.put(end);
+                } catch (InterruptedException e) {
+                    // the stream was closed early
+                }
+            }));
+        }
+        Iterator<T> merged = new Iterator<>() {
+            private int running = shards.size();
+            private T next;
+
+            @Override
+            @SuppressWarnings("unchecked")
+            public boolean hasNext() {
+                while (next == null && running > 0) {
+                    Object item;
+                    try {
+                        item = queue.take();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        throw new IllegalStateException("Interrupted while reading the shards", e);
+                    }
+                    if (item == end) {
+                        running--;
+                    } else if (item instanceof ShardFailure failure) {
+                        throw failure.error();
+                    } else {
+                        next = (T) item;
+                    }
+                }
+                return next != null;
+            }
+
+            @Override
+            public T next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                T item = next;
+                next = null;
+                return item;
+            }
+        };
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(merged, Spliterator.NONNULL), false)
+                .onClose(() -> producers.forEach(producer -> producer.cancel(true)));
+    }
+
+    private record ShardFailure(RuntimeException error) {}
+
+    @FunctionalInterface
+    private interface RowBinder<T> {
+        void bind(PreparedStatement pstmt, T row) throws SQLException;
+    }
+
+    // Copies rows the first shard has just created to every other shard
+    private <T> boolean copyToOtherShards(String sql, List<T> rows, RowBinder<T> binder) {
+        for (int shard = 1; shard < shards.size(); shard++) {
+            try (Connection conn = connect(shard);
+                 PreparedStatement pstmt = conn.prepareStatement(sql)) {
+                for (int from = 0; from < rows.size(); from += BATCH_SIZE) {
+                    for (T row : rows.subList(from, Math.min(from + BATCH_SIZE, rows.size()))) {
+                        binder.bind(pstmt, row);
+                        pstmt.addBatch();
+                    }
+                    pstmt.executeBatch();
+                }
+            } catch (SQLException e) {
+                errorHandler.accept(e);
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // Takes back a create that could not be copied everywhere; what this fails to remove is reported
+    private void deleteFromAllShards(String table, List<Integer> ids) {
+        for (int shard = shards.size() - 1; shard >= 0; shard--) {
+            try (Connection conn = connect(shard);
+                 PreparedStatement pstmt = conn.prepareStatement("DELETE FROM " + table + " WHERE id = ?")) {
+                for (int id : ids) {
+                    pstmt.setInt(1, id);
+                    pstmt.addBatch();
+                }
+                pstmt.executeBatch();
+            } catch (SQLException e) {
+                errorHandler.accept(e);
+            }
+        }
+    }
+
+    private <T> void copyBatch(BatchResult result, List<T> rows, String table, String sql, RowBinder<T> binder) {
+        List<T> created = new ArrayList<>();
+        List<Integer> createdRows = new ArrayList<>();
+        for (int i = 0; i < rows.size(); i++) {
+            if (!result.isFailed(i)) {
+                created.add(rows.get(i));
+                createdRows.add(i);
+            }
+        }
+        if (created.isEmpty() || copyToOtherShards(sql, created, binder)) {
+            return;
+        }
+        result.recordBatchFailure("Failed to copy the rows to every shard.");
+        List<Integer> ids = new ArrayList<>();
+        for (int row : createdRows) {
+            ids.add(result.getGeneratedId(row));
+            result.recordFailure(row, "Failed to copy the row to every shard.");
+        }
+        deleteFromAllShards(table, ids);
+    }
+
+    private static void bindProject(PreparedStatement pstmt, Project project) throws SQLException {
+        pstmt.setInt(1, project.getId());
+        pstmt.setString(2, project.getProjectName());
+        pstmt.setString(3, project.getDescription());
+        if (project.getStartDate() == null) {
+            pstmt.setNull(4, Types.DATE);
+        } else {
+            pstmt.setDate(4, Date.valueOf(project.getStartDate()));
+        }
+        pstmt.setString(5, project.getStatus());
+    }
+
+    private static void bindEmployee(PreparedStatement pstmt, Employee emp) throws SQLException {
+        pstmt.setInt(1, emp.getId());
+        pstmt.setString(2, emp.getName());
+        pstmt.setString(3, emp.getDesignation());
+        pstmt.setString(4, emp.getGender());
+        pstmt.setDouble(5, emp.getSalary());
+        if (emp.getProjectId() == 0) {
+            pstmt.setNull(6, Types.INTEGER);
+        } else {
+            pstmt.setInt(6, emp.getProjectId());
+        }
+    }
+
+    private int update(int shard, String sql, Object... params) throws SQLException {
+        try (Connection conn = connect(shard);
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            for (int i = 0; i < params.length; i++) {
+                pstmt.setObject(i + 1, params[i]);
+            }
+            return pstmt.executeUpdate();
+        }
+    }
+
+    private boolean exists(int shard, String sql, Object... params) throws SQLException {
+        try (Connection conn = connect(shard);
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            for (int i = 0; i < params.length; i++) {
+                pstmt.setObject(i + 1, params[i]);
+            }
+            try (ResultSet rs = pstmt.executeQuery()) {
+                return rs.next();
+            }
+        }
+    }
+
+    private Connection connect(int shard) throws SQLException {
+        Connection conn = connections.get(shard).getConnection();
+        if (conn == null) {
+            throw new SQLException("No connection available to shard " + shard);
+        }
+        return conn;
+    }
+}
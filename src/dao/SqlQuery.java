@@ -0,0 +1,7 @@
+package dao;
+
+import java.util.List;
+
+// A statement and the values for its placeholders, in order. Built by the repositories and also handed to
+// QueryPlanChecker, so the plans it checks are those of the statements that actually run.
+record SqlQuery(String sql, List<Object> params) {}
@@ -0,0 +1,81 @@
+package dao;
+
+import entity.Employee;
+import entity.EmployeeWorkload;
+import entity.Project;
+import entity.ProjectCost;
+import entity.ProjectTaskSummary;
+import entity.TaskStatus;
+import util.IntObjectHashMap;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+// Reports for repositories without a SQL backend, such as InMemoryProjectRepository. Tables are
+// streamed once and tasks are counted through a TaskColumns snapshot, so no row lists are held.
+public class StreamReportRepository implements IReportRepository {
+    private final IProjectRepository repository;
+
+    public StreamReportRepository(IProjectRepository repository) {
+        this.repository = repository;
+    }
+
+    @Override
+    public List<ProjectTaskSummary> getTaskStatusByProject() {
+        GroupCounts counts = TaskColumns.load(repository).countByProject(TaskFilter.all());
+        List<ProjectTaskSummary> rows = new ArrayList<>();
+        try (Stream<Project> projects = repository.streamProjects()) {
+            projects.forEach(p -> rows.add(new ProjectTaskSummary(p.getId(), p.getProjectName(),
+                    counts.count(p.getId(), TaskStatus.ASSIGNED), counts.count(p.getId(), TaskStatus.STARTED),
+                    counts.count(p.getId(), TaskStatus.COMPLETED), counts.count(p.getId()))));
+        }
+        return rows;
+    }
+
+    @Override
+    public List<ProjectCost> getProjectCosts(LocalDate from, LocalDate to) {
+        IntObjectHashMap<double[]> totals = new IntObjectHashMap<>(); // project id -> {headcount, salary}
+        try (Stream<Employee> employees = repository.streamEmployees()) {
+            employees.forEach(e -> {
+                double[] total = totals.get(e.getProjectId());
+                if (total == null) {
+                    total = new double[2];
+                    totals.put(e.getProjectId(), total);
+                }
+                total[0]++;
+                total[1] += e.getSalary();
+            });
+        }
+        List<ProjectCost> rows = new ArrayList<>();
+        try (Stream<Project> projects = repository.streamProjects()) {
+            projects.filter(p -> inRange(p.getStartDate(), from, to)).forEach(p -> {
+                double[] total = totals.get(p.getId());
+                rows.add(new ProjectCost(p.getId(), p.getProjectName(), p.getStartDate(),
+                        total == null ? 0 : (int) total[0], total == null ? 0 : total[1]));
+            });
+        }
+        return rows;
+    }
+
+    @Override
+    public List<EmployeeWorkload> getEmployeeWorkloads(Integer projectId) {
+        GroupCounts counts = TaskColumns.load(repository).countByEmployee(TaskFilter.all());
+        List<EmployeeWorkload> rows = new ArrayList<>();
+        try (Stream<Employee> employees = repository.streamEmployees()) {
+            employees.filter(e -> projectId == null || e.getProjectId() == projectId).forEach(e -> rows.add(
+                    new EmployeeWorkload(e.getId(), e.getName(), e.getProjectId(),
+                            counts.count(e.getId(), TaskStatus.ASSIGNED), counts.count(e.getId(), TaskStatus.STARTED),
+                            counts.count(e.getId(), TaskStatus.COMPLETED), counts.count(e.getId()))));
+        }
+        return rows;
+    }
+
+    private static boolean inRange(LocalDate date, LocalDate from, LocalDate to) {
+        if (date == null) {
+            return from == null && to == null;
+        }
+        return (from == null || !date.isBefore(from)) && (to == null || !date.isAfter(to));
+    }
+}
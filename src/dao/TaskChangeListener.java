@@ -0,0 +1,18 @@
+package dao;
+
+// Notified by ProjectRepositoryImpl after a change to the Task table has been committed
+public interface TaskChangeListener {
+    void taskCreated(int taskId, int projectId, int employeeId, String status);
+
+    // An employee id of 0 stands for a NULL employee_id, i.e. an unassigned task
+    void taskReassigned(int taskId, int projectId, String status, int fromEmployeeId, int toEmployeeId);
+
+    void taskDeleted(int taskId, int projectId, int employeeId, String status);
+
+    void employeeDeleted(int employeeId);
+
+    void projectDeleted(int projectId);
+
+    // Tasks changed in a way not described row by row, e.g. a batch reassignment
+    void tasksChanged();
+}
@@ -0,0 +1,348 @@
+package dao;
+
+import entity.Task;
+import entity.TaskStatus;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.stream.Stream;
+
+// Read-only, column-oriented snapshot of the Task table for dashboard aggregates. Each column is a
+// primitive array, status is stored as the TaskStatus ordinal, and names, project ids and employee ids are
+// dictionary encoded, so a task costs about 17 bytes plus its share of the dictionaries, and no Task objects
+// are kept. Ids are stored as their rank among the distinct ids, which keeps the grouped counts as small as
+// the number of projects or employees however sparse or large the ids themselves are.
+// Counting loops are written without branches or object access so the JIT can vectorize them, and
+// large scans are split across the common fork-join pool.
+public final class TaskColumns {
+    private static final TaskStatus[] STATUSES = TaskStatus.values();
+    private static final byte NO_STATUS = (byte) (GroupCounts.WIDTH - 1);
+    private static final int PARALLEL_THRESHOLD = 1 << 16;
+
+    private final int size;
+    private final int[] taskIds;
+    private final int[] projectCodes;
+    private final int[] employeeCodes;
+    private final byte[] statuses;
+    private final int[] nameCodes;
+    private final String[] names;
+    private final int[] projectIds; // distinct, ascending, indexed by project code
+    private final int[] employeeIds;
+
+    private TaskColumns(Builder builder) {
+        size = builder.size;
+        taskIds = Arrays.copyOf(builder.taskIds, size);
+        projectCodes = Arrays.copyOf(builder.projectIds, size);
+        employeeCodes = Arrays.copyOf(builder.employeeIds, size);
+        statuses = Arrays.copyOf(builder.statuses, size);
+        nameCodes = Arrays.copyOf(builder.nameCodes, size);
+        names = builder.names.toArray(new String[0]);
+        projectIds = encode(projectCodes);
+        employeeIds = encode(employeeCodes);
+    }
+
+    // Streams the Task table once; the repository's connection is released when loading finishes
+    public static TaskColumns load(IProjectRepository repository) {
+        try (Stream<Task> tasks = repository.streamTaskTable()) {
+            Builder builder = new Builder();
+            tasks.forEach(builder::add);
+            return builder.build();
+        }
+    }
+
+    public static TaskColumns of(Iterable<Task> tasks) {
+        Builder builder = new Builder();
+        for (Task task : tasks) {
+            builder.add(task);
+        }
+        return builder.build();
+    }
+
+    public int size() { return size; }
+    public int getTaskId(int row) { return taskIds[row]; }
+    public int getProjectId(int row) { return projectIds[projectCodes[row]]; }
+    public int getEmployeeId(int row) { return employeeIds[employeeCodes[row]]; }
+    public String getTaskName(int row) { return names[nameCodes[row]]; }
+
+    public TaskStatus getStatus(int row) {
+        byte status = statuses[row];
+        return status == NO_STATUS ? null : STATUSES[status];
+    }
+
+    public Task toTask(int row) {
+        TaskStatus status = getStatus(row);
+        return new Task(taskIds[row], getTaskName(row), getProjectId(row), getEmployeeId(row),
+                status == null ? null : status.getLabel());
+    }
+
+    public int getDistinctNameCount() {
+        return names.length;
+    }
+
+    // Indexed by TaskStatus ordinal; tasks without a recognised status are not counted
+    public long[] countByStatus() {
+        long[] counts = new long[GroupCounts.WIDTH];
+        for (int row = 0; row < size; row++) {
+            counts[statuses[row]]++;
+        }
+        return Arrays.copyOf(counts, STATUSES.length);
+    }
+
+    public GroupCounts countByProject(TaskFilter filter) {
+        return group(projectCodes, projectIds, filter);
+    }
+
+    public GroupCounts countByEmployee(TaskFilter filter) {
+        return group(employeeCodes, employeeIds, filter);
+    }
+
+    public int count(TaskFilter filter) {
+        Criteria criteria = Criteria.of(filter, this);
+        if (criteria == null) {
+            return 0;
+        }
+        if (size < PARALLEL_THRESHOLD) {
+            return countRange(criteria, 0, size);
+        }
+        return ForkJoinPool.commonPool().invoke(new CountTask(criteria, 0, size, leafSize()));
+    }
+
+    // Rows matching the filter, in snapshot order
+    public int[] select(TaskFilter filter) {
+        Criteria criteria = Criteria.of(filter, this);
+        if (criteria == null) {
+            return new int[0];
+        }
+        int[] rows = new int[count(filter)];
+        int found = 0;
+        for (int row = 0; row < size && found < rows.length; row++) {
+            if (criteria.matches(this, row)) {
+                rows[found++] = row;
+            }
+        }
+        return rows;
+    }
+
+    // Counts per code, one row of WIDTH cells per distinct id
+    private GroupCounts group(int[] codes, int[] ids, TaskFilter filter) {
+        Criteria criteria = Criteria.of(filter, this);
+        int cells = Math.multiplyExact(ids.length, GroupCounts.WIDTH);
+        if (criteria == null) {
+            return new GroupCounts(ids, new int[cells]);
+        }
+        if (size < PARALLEL_THRESHOLD) {
+            return new GroupCounts(ids, groupRange(codes, cells, criteria, 0, size));
+        }
+        return new GroupCounts(ids, ForkJoinPool.commonPool().invoke(new GroupTask(codes, cells, criteria, 0, size, leafSize())));
+    }
+
+    // Few enough leaves that each one's count array stays cheap, enough to keep every core busy
+    private int leafSize() {
+        int leaves = ForkJoinPool.getCommonPoolParallelism() * 4;
+        return Math.max(PARALLEL_THRESHOLD / 4, size / leaves + 1);
+    }
+
+    private int[] groupRange(int[] codes, int cells, Criteria criteria, int from, int to) {
+        int[] counts = new int[cells];
+        if (criteria.isEmpty()) {
+            for (int row = from; row < to; row++) {
+                counts[codes[row] * GroupCounts.WIDTH + statuses[row]]++;
+            }
+        } else {
+            for (int row = from; row < to; row++) {
+                // Branch rather than add zero: skipped rows then cost no random write into the count array
+                if (criteria.matches(this, row)) {
+                    counts[codes[row] * GroupCounts.WIDTH + statuses[row]]++;
+                }
+            }
+        }
+        return counts;
+    }
+
+    private int countRange(Criteria criteria, int from, int to) {
+        int count = 0;
+        for (int row = from; row < to; row++) {
+            count += criteria.matches(this, row) ? 1 : 0;
+        }
+        return count;
+    }
+
+    // Replaces every value by its rank among the distinct values, and returns those values in ascending order
+    private static int[] encode(int[] values) {
+        int[] distinct = values.clone();
+        Arrays.sort(distinct);
+        int count = 0;
+        for (int i = 0; i < distinct.length; i++) {
+            if (i == 0 || distinct[i] != distinct[i - 1]) {
+                distinct[count++] = distinct[i];
+            }
+        }
+        distinct = Arrays.copyOf(distinct, count);
+        for (int row = 0; row < values.length; row++) {
+            values[row] = Arrays.binarySearch(distinct, values[row]);
+        }
+        return distinct;
+    }
+
+    // TaskFilter resolved to codes; an absent criterion is encoded so it matches every row
+    private static final class Criteria {
+        final boolean anyProject;
+        final int projectCode;
+        final boolean anyEmployee;
+        final int employeeCode;
+        final boolean anyStatus;
+        final byte status;
+
+        private Criteria(TaskFilter filter, int projectCode, int employeeCode, byte status) {
+            anyProject = filter.getProjectId() == null;
+            this.projectCode = projectCode;
+            anyEmployee = filter.getEmployeeId() == null;
+            this.employeeCode = employeeCode;
+            anyStatus = filter.getStatus() == null;
+            this.status = status;
+        }
+
+        // Null when the filter names a status, project or employee that no task has
+        static Criteria of(TaskFilter filter, TaskColumns columns) {
+            int projectCode = 0;
+            if (filter.getProjectId() != null) {
+                projectCode = Arrays.binarySearch(columns.projectIds, filter.getProjectId());
+                if (projectCode < 0) {
+                    return null;
+                }
+            }
+            int employeeCode = 0;
+            if (filter.getEmployeeId() != null) {
+                employeeCode = Arrays.binarySearch(columns.employeeIds, filter.getEmployeeId());
+                if (employeeCode < 0) {
+                    return null;
+                }
+            }
+            byte status = 0;
+            if (filter.getStatus() != null) {
+                TaskStatus known;
+                try {
+                    known = TaskStatus.fromLabel(filter.getStatus());
+                } catch (IllegalArgumentException e) {
+                    return null;
+                }
+                status = (byte) known.ordinal();
+            }
+            return new Criteria(filter, projectCode, employeeCode, status);
+        }
+
+        boolean isEmpty() {
+            return anyProject & anyEmployee & anyStatus;
+        }
+
+        boolean matches(TaskColumns columns, int row) {
+            return (anyProject | columns.projectCodes[row] == projectCode)
+                    & (anyEmployee | columns.employeeCodes[row] == employeeCode)
+                    & (anyStatus | columns.statuses[row] == status);
+        }
+    }
+
+    // Fork-join tasks are Serializable through ForkJoinTask, but these never leave the process
+    private final class CountTask extends RecursiveTask<Integer> {
+        private static final long serialVersionUID = 1L;
+        private final transient Criteria criteria;
+        private final int from;
+        private final int to;
+        private final int leafSize;
+
+        CountTask(Criteria criteria, int from, int to, int leafSize) {
+            this.criteria = criteria;
+            this.from = from;
+            this.to = to;
+            this.leafSize = leafSize;
+        }
+
+        @Override
+        protected Integer compute() {
+            if (to - from <= leafSize) {
+                return countRange(criteria, from, to);
+            }
+            int mid = (from + to) >>> 1;
+            CountTask left = new CountTask(criteria, from, mid, leafSize);
+            left.fork();
+            int right = new CountTask(criteria, mid, to, leafSize).compute();
+            return left.join() + right;
+        }
+    }
+
+    private final class GroupTask extends RecursiveTask<int[]> {
+        private static final long serialVersionUID = 1L;
+        private final int[] codes;
+        private final int cells;
+        private final transient Criteria criteria;
+        private final int from;
+        private final int to;
+        private final int leafSize;
+
+        GroupTask(int[] codes, int cells, Criteria criteria, int from, int to, int leafSize) {
+            this.codes = codes;
+            this.cells = cells;
+            this.criteria = criteria;
+            this.from = from;
+            this.to = to;
+            this.leafSize = leafSize;
+        }
+
+        @Override
+        protected int[] compute() {
+            if (to - from <= leafSize) {
+                return groupRange(codes, cells, criteria, from, to);
+            }
+            int mid = (from + to) >>> 1;
+            GroupTask left = new GroupTask(codes, cells, criteria, from, mid, leafSize);
+            left.fork();
+            int[] merged = new GroupTask(codes, cells, criteria, mid, to, leafSize).compute();
+            int[] other = left.join();
+            for (int i = 0; i < merged.length; i++) {
+                merged[i] += other[i];
+            }
+            return merged;
+        }
+    }
+
+    public static final class Builder {
+        private int size;
+        private int[] taskIds = new int[1024];
+        private int[] projectIds = new int[1024];
+        private int[] employeeIds = new int[1024];
+        private byte[] statuses = new byte[1024];
+        private int[] nameCodes = new int[1024];
+        private final List<String> names = new ArrayList<>();
+        private final Map<String, Integer> nameIndex = new HashMap<>();
+
+        public Builder add(Task task) {
+            if (size == taskIds.length) {
+                int capacity = size + (size >> 1);
+                taskIds = Arrays.copyOf(taskIds, capacity);
+                projectIds = Arrays.copyOf(projectIds, capacity);
+                employeeIds = Arrays.copyOf(employeeIds, capacity);
+                statuses = Arrays.copyOf(statuses, capacity);
+                nameCodes = Arrays.copyOf(nameCodes, capacity);
+            }
+            taskIds[size] = task.getTaskId();
+            projectIds[size] = task.getProjectId();
+            employeeIds[size] = task.getEmployeeId();
+            statuses[size] = (byte) GroupCounts.column(task.getStatus());
+            nameCodes[size] = nameIndex.computeIfAbsent(task.getTaskName(), name -> {
+                names.add(name);
+                return names.size() - 1;
+            });
+            size++;
+            return this;
+        }
+
+        public TaskColumns build() {
+            return new TaskColumns(this);
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package dao;
+
+import entity.Task;
+
+// Optional criteria for paged task queries; a null field matches everything
+public class TaskFilter {
+    private Integer projectId;
+    private Integer employeeId;
+    private String status;
+
+    public TaskFilter() {}
+
+    public TaskFilter(Integer projectId, Integer employeeId, String status) {
+        this.projectId = projectId;
+        this.employeeId = employeeId;
+        this.status = status;
+    }
+
+    public static TaskFilter all() {
+        return new TaskFilter();
+    }
+
+    public boolean matches(Task task) {
+        return (projectId == null || task.getProjectId() == projectId)
+                && (employeeId == null || task.getEmployeeId() == employeeId)
+                && (status == null || status.equalsIgnoreCase(task.getStatus()));
+    }
+
+    public Integer getProjectId() { return projectId; }
+    public void setProjectId(Integer projectId) { this.projectId = projectId; }
+    public Integer getEmployeeId() { return employeeId; }
+    public void setEmployeeId(Integer employeeId) { this.employeeId = employeeId; }
+    public String getStatus() { return status; }
+    public void setStatus(String status) { this.status = status; }
+}
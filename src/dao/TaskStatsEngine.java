@@ -0,0 +1,204 @@
+package dao;
+
+import entity.EmployeeWorkload;
+import entity.ProjectTaskSummary;
+import entity.TaskStatus;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+// Task counts per project and per employee, split by status, kept current from the repository's change
+// events so dashboard reads are O(1) and never touch MySQL. A periodic reconciliation rebuilds the counters
+// from the report queries and swaps them in whole, correcting any drift (e.g. rows changed outside this
+// application). A change committed while a reconciliation query is running may be missed or counted twice
+// until the next pass.
+public class TaskStatsEngine implements TaskChangeListener, AutoCloseable {
+    private final IReportRepository source;
+    private final AtomicReference<Counters> counters = new AtomicReference<>(new Counters());
+    private final AtomicBoolean reconcileQueued = new AtomicBoolean();
+    private final ScheduledExecutorService scheduler;
+    private volatile long lastReconcileMillis;
+    private volatile int lastCorrections;
+
+    public TaskStatsEngine(IReportRepository source) {
+        this.source = source;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "task-stats-reconciler");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    public void startReconciliation(long periodMillis) {
+        scheduler.scheduleWithFixedDelay(this::reconcileQuietly, 0, periodMillis, TimeUnit.MILLISECONDS);
+    }
+
+    public long getProjectTaskCount(int projectId) {
+        return total(counters.get().byProject.get(projectId));
+    }
+
+    // A null status counts tasks without a recognised status
+    public long getProjectTaskCount(int projectId, TaskStatus status) {
+        return count(counters.get().byProject.get(projectId), status);
+    }
+
+    public long getEmployeeTaskCount(int employeeId) {
+        return total(counters.get().byEmployee.get(employeeId));
+    }
+
+    public long getEmployeeTaskCount(int employeeId, TaskStatus status) {
+        return count(counters.get().byEmployee.get(employeeId), status);
+    }
+
+    public long getLastReconcileMillis() { return lastReconcileMillis; }
+
+    // Counters the last reconciliation had to correct; persistently non-zero means events are being missed
+    public int getLastCorrections() { return lastCorrections; }
+
+    @Override
+    public void taskCreated(int taskId, int projectId, int employeeId, String status) {
+        int column = GroupCounts.column(status);
+        Counters current = counters.get();
+        current.project(projectId)[column].increment();
+        current.employee(employeeId)[column].increment();
+    }
+
+    @Override
+    public void taskReassigned(int taskId, int projectId, String status, int fromEmployeeId, int toEmployeeId) {
+        if (fromEmployeeId == toEmployeeId) {
+            return;
+        }
+        int column = GroupCounts.column(status);
+        Counters current = counters.get();
+        if (fromEmployeeId != 0) { // 0 is a NULL employee_id
+            current.employee(fromEmployeeId)[column].decrement();
+        }
+        if (toEmployeeId != 0) {
+            current.employee(toEmployeeId)[column].increment();
+        }
+    }
+
+    @Override
+    public void taskDeleted(int taskId, int projectId, int employeeId, String status) {
+        int column = GroupCounts.column(status);
+        Counters current = counters.get();
+        current.project(projectId)[column].decrement();
+        if (employeeId != 0) {
+            current.employee(employeeId)[column].decrement();
+        }
+    }
+
+    // Deletes only succeed for rows no task references any more, so there are no task counts to move
+    @Override
+    public void employeeDeleted(int employeeId) {
+        counters.get().byEmployee.remove(employeeId);
+    }
+
+    @Override
+    public void projectDeleted(int projectId) {
+        counters.get().byProject.remove(projectId);
+    }
+
+    @Override
+    public void tasksChanged() {
+        if (reconcileQueued.compareAndSet(false, true)) {
+            scheduler.execute(this::reconcileQuietly);
+        }
+    }
+
+    // Rebuilds every counter from MySQL and returns how many differed from the incrementally maintained values
+    public int reconcile() {
+        reconcileQueued.set(false);
+        Counters fresh = new Counters();
+        for (ProjectTaskSummary row : source.getTaskStatusByProject()) {
+            load(fresh.project(row.projectId()), row.assigned(), row.started(), row.completed(), row.total());
+        }
+        for (EmployeeWorkload row : source.getEmployeeWorkloads(null)) {
+            load(fresh.employee(row.employeeId()), row.assigned(), row.started(), row.completed(), row.total());
+        }
+        Counters previous = counters.getAndSet(fresh);
+        int corrections = differences(previous.byProject, fresh.byProject) + differences(previous.byEmployee, fresh.byEmployee);
+        lastCorrections = corrections;
+        lastReconcileMillis = System.currentTimeMillis();
+        return corrections;
+    }
+
+    private void reconcileQuietly() {
+        try {
+            reconcile();
+        } catch (RuntimeException e) {
+            e.printStackTrace();
+        }
+    }
+
+    @Override
+    public void close() {
+        scheduler.shutdownNow();
+    }
+
+    private static void load(LongAdder[] cells, int assigned, int started, int completed, int total) {
+        cells[TaskStatus.ASSIGNED.ordinal()].add(assigned);
+        cells[TaskStatus.STARTED.ordinal()].add(started);
+        cells[TaskStatus.COMPLETED.ordinal()].add(completed);
+        cells[GroupCounts.WIDTH - 1].add(total - assigned - started - completed);
+    }
+
+    private static long count(LongAdder[] cells, TaskStatus status) {
+        return cells == null ? 0 : cells[status == null ? GroupCounts.WIDTH - 1 : status.ordinal()].sum();
+    }
+
+    private static long total(LongAdder[] cells) {
+        long total = 0;
+        for (int i = 0; cells != null && i < cells.length; i++) {
+            total += cells[i].sum();
+        }
+        return total;
+    }
+
+    private static int differences(Map<Integer, LongAdder[]> before, Map<Integer, LongAdder[]> after) {
+        int differences = 0;
+        for (Map.Entry<Integer, LongAdder[]> entry : after.entrySet()) {
+            LongAdder[] old = before.get(entry.getKey());
+            for (int column = 0; column < GroupCounts.WIDTH; column++) {
+                long expected = entry.getValue()[column].sum();
+                if ((old == null ? 0 : old[column].sum()) != expected) {
+                    differences++;
+                }
+            }
+        }
+        for (Map.Entry<Integer, LongAdder[]> entry : before.entrySet()) {
+            if (!after.containsKey(entry.getKey()) && total(entry.getValue()) != 0) {
+                differences++;
+            }
+        }
+        return differences;
+    }
+
+    // One generation of counters; reconciliation replaces the whole generation atomically
+    private static final class Counters {
+        final Map<Integer, LongAdder[]> byProject = new ConcurrentHashMap<>();
+        final Map<Integer, LongAdder[]> byEmployee = new ConcurrentHashMap<>();
+
+        LongAdder[] project(int projectId) {
+            return byProject.computeIfAbsent(projectId, id -> newCells());
+        }
+
+        LongAdder[] employee(int employeeId) {
+            return byEmployee.computeIfAbsent(employeeId, id -> newCells());
+        }
+
+        private static LongAdder[] newCells() {
+            LongAdder[] cells = new LongAdder[GroupCounts.WIDTH];
+            for (int i = 0; i < cells.length; i++) {
+                cells[i] = new LongAdder();
+            }
+            return cells;
+        }
+    }
+}
@@ -0,0 +1,234 @@
+package dao;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Savepoint;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+// A transaction spanning any number of repository operations. Everything done through repository() runs on
+// one connection with autocommit off, so "create a project, add its employees, assign their tasks" is a single
+// commit instead of one per statement. commit() may be called repeatedly to commit in stages; close() rolls
+// back whatever is uncommitted and returns the connection to the pool.
+//
+//   try (UnitOfWork work = repository.beginUnitOfWork(Connection.TRANSACTION_READ_COMMITTED)) {
+//       work.repository().createProject(project);
+//       work.repository().createEmployees(employees);
+//       work.commit();
+//   }
+//
+// Repository methods still report SQL errors through the error handler rather than throwing. Once one has,
+// commit() refuses until rollback(), because MySQL may already have rolled the transaction back (deadlock,
+// lock wait timeout). Task change listeners hear about changes only once they are committed.
+public class UnitOfWork implements AutoCloseable {
+    public static final int DEFAULT_ISOLATION = -1;
+
+    private final Connection connection;
+    private final ProjectRepositoryImpl repository;
+    private final List<TaskChangeListener> listeners;
+    private final List<Consumer<TaskChangeListener>> pendingEvents = new ArrayList<>();
+    private final Map<Savepoint, Integer> eventMarks = new IdentityHashMap<>();
+    private final List<Runnable> commitHooks = new ArrayList<>();
+    private SQLException failure;
+    private boolean closed;
+
+    UnitOfWork(Connection connection, int isolationLevel, Consumer<SQLException> errorHandler,
+               List<TaskChangeListener> listeners) throws SQLException {
+        this.connection = connection;
+        this.listeners = listeners;
+        try {
+            if (isolationLevel != DEFAULT_ISOLATION) {
+                connection.setTransactionIsolation(isolationLevel); // only applies to transactions started afterwards
+            }
+            connection.setAutoCommit(false);
+        } catch (SQLException e) {
+            connection.close();
+            throw e;
+        }
+        Connection shared = nonClosing(connection);
+        repository = new ProjectRepositoryImpl(() -> shared);
+        repository.setErrorHandler(e -> {
+            if (failure == null) {
+                failure = e;
+            }
+            errorHandler.accept(e);
+        });
+        if (!listeners.isEmpty()) {
+            repository.addListener(new EventRecorder());
+        }
+    }
+
+    // Restarts the transaction as a read-only InnoDB consistent snapshot: every read after this sees the database
+    // as of this call, even across tables and even if other transactions commit in between
+    void startConsistentSnapshot() throws SQLException {
+        requireOpen();
+        try (Statement stmt = connection.createStatement()) {
+            stmt.execute("START TRANSACTION WITH CONSISTENT SNAPSHOT, READ ONLY");
+        }
+    }
+
+    // Repository whose operations all run inside this transaction
+    public IProjectRepository repository() {
+        return repository;
+    }
+
+    // Runs after each successful commit, e.g. to invalidate caches that the transaction bypassed
+    public void onCommit(Runnable hook) {
+        commitHooks.add(hook);
+    }
+
+    public Savepoint setSavepoint(String name) throws SQLException {
+        requireOpen();
+        Savepoint savepoint = connection.setSavepoint(name);
+        eventMarks.put(savepoint, pendingEvents.size());
+        return savepoint;
+    }
+
+    // Undoes everything after the savepoint, which stays valid for another rollback
+    public void rollbackTo(Savepoint savepoint) throws SQLException {
+        requireOpen();
+        connection.rollback(savepoint);
+        Integer mark = eventMarks.get(savepoint);
+        if (mark != null && mark < pendingEvents.size()) {
+            pendingEvents.subList(mark, pendingEvents.size()).clear();
+        }
+    }
+
+    public void releaseSavepoint(Savepoint savepoint) throws SQLException {
+        requireOpen();
+        connection.releaseSavepoint(savepoint);
+        eventMarks.remove(savepoint);
+    }
+
+    public void commit() throws SQLException {
+        requireOpen();
+        if (failure != null) {
+            throw new SQLException("Can't commit after a failed operation; roll back first", failure);
+        }
+        connection.commit();
+        List<Consumer<TaskChangeListener>> committed = new ArrayList<>(pendingEvents);
+        pendingEvents.clear();
+        eventMarks.clear();
+        for (Consumer<TaskChangeListener> event : committed) {
+            for (TaskChangeListener listener : listeners) {
+                event.accept(listener);
+            }
+        }
+        for (Runnable hook : commitHooks) {
+            hook.run();
+        }
+    }
+
+    public void rollback() throws SQLException {
+        requireOpen();
+        pendingEvents.clear();
+        eventMarks.clear();
+        failure = null;
+        connection.rollback();
+    }
+
+    public boolean isOpen() {
+        return !closed;
+    }
+
+    @Override
+    public void close() throws SQLException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        try {
+            if (!connection.isClosed()) {
+                connection.rollback();
+            }
+        } finally {
+            pendingEvents.clear();
+            connection.close(); // the pool restores autocommit and isolation
+        }
+    }
+
+    private void requireOpen() throws SQLException {
+        if (closed) {
+            throw new SQLException("Unit of work is closed");
+        }
+    }
+
+    // The view of the connection given to the repository: close() is a no-op since the repository closes its
+    // connection after every operation, and the transaction boundaries belong to this class alone
+    private static Connection nonClosing(Connection connection) {
+        InvocationHandler handler = new InvocationHandler() {
+            @Override
+            public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+                switch (method.getName()) {
+                    case "close":
+                        return null;
+                    case "commit":
+                        throw new SQLException("Transaction is managed by its UnitOfWork");
+                    case "rollback":
+                        if (args == null) {
+                            throw new SQLException("Transaction is managed by its UnitOfWork");
+                        }
+                        break;
+                    case "setAutoCommit":
+                        if ((Boolean) args[0]) {
+                            throw new SQLException("Transaction is managed by its UnitOfWork");
+                        }
+                        break;
+                    case "equals":
+                        return proxy == args[0];
+                    case "hashCode":
+                        return System.identityHashCode(proxy);
+                    default:
+                        break;
+                }
+                try {
+                    return method.invoke(connection, args);
+                } catch (InvocationTargetException e) {
+                    throw e.getCause();
+                }
+            }
+        };
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[]{Connection.class}, handler);
+    }
+
+    // Holds events until the transaction commits; events after a savepoint are dropped if it is rolled back
+    private final class EventRecorder implements TaskChangeListener {
+        @Override
+        public void taskCreated(int taskId, int projectId, int employeeId, String status) {
+            pendingEvents.add(listener -> listener.taskCreated(taskId, projectId, employeeId, status));
+        }
+
+        @Override
+        public void taskReassigned(int taskId, int projectId, String status, int fromEmployeeId, int toEmployeeId) {
+            pendingEvents.add(listener -> listener.taskReassigned(taskId, projectId, status, fromEmployeeId, toEmployeeId));
+        }
+
+        @Override
+        public void taskDeleted(int taskId, int projectId, int employeeId, String status) {
+            pendingEvents.add(listener -> listener.taskDeleted(taskId, projectId, employeeId, status));
+        }
+
+        @Override
+        public void employeeDeleted(int employeeId) {
+            pendingEvents.add(listener -> listener.employeeDeleted(employeeId));
+        }
+
+        @Override
+        public void projectDeleted(int projectId) {
+            pendingEvents.add(listener -> listener.projectDeleted(projectId));
+        }
+
+        @Override
+        public void tasksChanged() {
+            pendingEvents.add(TaskChangeListener::tasksChanged);
+        }
+    }
+}
@@ -0,0 +1,28 @@
+-- Tables as created by hand from the README before migrations existed; IF NOT EXISTS leaves such a database as it is
+CREATE TABLE IF NOT EXISTS Project (
+    id INT AUTO_INCREMENT PRIMARY KEY,
+    projectName VARCHAR(255) NOT NULL,
+    description TEXT,
+    startDate DATE,
+    status ENUM('started', 'development', 'build', 'test', 'deployed')
+);
+
+CREATE TABLE IF NOT EXISTS Employee (
+    id INT AUTO_INCREMENT PRIMARY KEY,
+    name VARCHAR(255) NOT NULL,
+    designation VARCHAR(255),
+    gender ENUM('Male', 'Female', 'Other'),
+    salary DECIMAL(10, 2),
+    project_id INT,
+    FOREIGN KEY (project_id) REFERENCES Project(id)
+);
+
+CREATE TABLE IF NOT EXISTS Task (
+    task_id INT AUTO_INCREMENT PRIMARY KEY,
+    task_name VARCHAR(255) NOT NULL,
+    project_id INT,
+    employee_id INT,
+    status ENUM('Assigned', 'Started', 'Completed'),
+    FOREIGN KEY (project_id) REFERENCES Project(id),
+    FOREIGN KEY (employee_id) REFERENCES Employee(id)
+);
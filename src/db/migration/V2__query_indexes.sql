@@ -0,0 +1,21 @@
+-- Indexes for the lookups ProjectRepositoryImpl, ReportRepositoryImpl and CascadeDeleter make. InnoDB appends the
+-- primary key to every secondary index, so rows sharing the indexed values come back in id order and the keyset
+-- paging queries (WHERE id > ? ... ORDER BY id LIMIT ?) read a range without a filesort.
+
+-- getAllTasks (employee_id = ? AND project_id = ?), CascadeDeleter on an employee's tasks, and the employee
+-- workload report, which it covers
+CREATE INDEX idx_task_employee_project_status ON Task (employee_id, project_id, status);
+
+-- findTasks by project, with or without a status, CascadeDeleter on a project's tasks, and the task status
+-- report, which it covers. It also serves the project_id foreign key, so Task needs no index on project_id alone.
+CREATE INDEX idx_task_project_status ON Task (project_id, status);
+
+-- findTasks by status alone
+CREATE INDEX idx_task_status ON Task (status);
+
+-- findEmployees by project, CascadeDeleter on a project's employees, and the project cost report's join
+CREATE INDEX idx_employee_project ON Employee (project_id);
+
+-- findProjects by status, and the project cost report's start date range
+CREATE INDEX idx_project_status ON Project (status);
+CREATE INDEX idx_project_start_date ON Project (startDate);
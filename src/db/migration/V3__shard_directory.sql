@@ -0,0 +1,7 @@
+-- Projects moved off the shard the shard map assigns them (see ShardDirectory). Only read on the first shard of
+-- a sharded setup; the table stays empty everywhere else.
+CREATE TABLE IF NOT EXISTS shard_directory (
+    project_id INT PRIMARY KEY,
+    shard INT NOT NULL,
+    moved_on TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
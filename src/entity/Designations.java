@@ -0,0 +1,28 @@
+package entity;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Designations repeat across thousands of employees, so loaded rows share one String per distinct title.
+// The pool is bounded; once full, new titles are simply kept as they are.
+public final class Designations {
+    private static final int MAX_ENTRIES = 4096;
+    private static final Map<String, String> POOL = new ConcurrentHashMap<>();
+
+    private Designations() {}
+
+    public static String canonical(String designation) {
+        if (designation == null) {
+            return null;
+        }
+        String shared = POOL.get(designation);
+        if (shared != null) {
+            return shared;
+        }
+        if (POOL.size() >= MAX_ENTRIES) {
+            return designation;
+        }
+        shared = POOL.putIfAbsent(designation, designation);
+        return shared != null ? shared : designation;
+    }
+}
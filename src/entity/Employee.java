@@ -13,8 +13,8 @@ public class Employee {
     public Employee(int id, String name, String designation, String gender, double salary, int projectId) {
         this.id = id;
         this.name = name;
-        this.designation = designation;
-        this.gender = gender;
+        this.designation = Designations.canonical(designation);
+        this.gender = Gender.canonical(gender);
         this.salary = salary;
         this.projectId = projectId;
     }
@@ -24,9 +24,11 @@ public class Employee {
     public String getName() { return name; }
     public void setName(String name) { this.name = name; }
     public String getDesignation() { return designation; }
-    public void setDesignation(String designation) { this.designation = designation; }
+    public void setDesignation(String designation) { this.designation = Designations.canonical(designation); }
     public String getGender() { return gender; }
-    public void setGender(String gender) { this.gender = gender; }
+    public void setGender(String gender) { this.gender = Gender.canonical(gender); }
+    public Gender getEmployeeGender() { return Gender.fromLabel(gender); }
+    public void setEmployeeGender(Gender gender) { this.gender = gender == null ? null : gender.getLabel(); }
     public double getSalary() { return salary; }
     public void setSalary(double salary) { this.salary = salary; }
     public int getProjectId() { return projectId; }
@@ -0,0 +1,22 @@
+package entity;
+
+// Immutable form of Employee; the designation is canonicalized so equal titles share one String
+public record EmployeeRecord(int id, String name, String designation, Gender gender, double salary, int projectId) {
+
+    public EmployeeRecord {
+        designation = Designations.canonical(designation);
+    }
+
+    public static EmployeeRecord of(Employee employee) {
+        return new EmployeeRecord(employee.getId(), employee.getName(), employee.getDesignation(),
+                Gender.fromLabel(employee.getGender()), employee.getSalary(), employee.getProjectId());
+    }
+
+    public Employee toEmployee() {
+        return new Employee(id, name, designation, gender == null ? null : gender.getLabel(), salary, projectId);
+    }
+
+    public EmployeeRecord withProjectId(int projectId) {
+        return new EmployeeRecord(id, name, designation, gender, salary, projectId);
+    }
+}
@@ -0,0 +1,4 @@
+package entity;
+
+// One report row: an employee's tasks counted by status. total also counts tasks without a status.
+public record EmployeeWorkload(int employeeId, String name, int projectId, int assigned, int started, int completed, int total) {}
@@ -0,0 +1,38 @@
+package entity;
+
+// Label lookups for the enums that mirror the schema's ENUM columns. Labels match case-insensitively like
+// MySQL does, and null stays null. Callers pass their cached values() array, since the lookup runs for every
+// loaded row.
+final class EnumLabels {
+    interface Labeled {
+        String getLabel();
+    }
+
+    private EnumLabels() {}
+
+    static <E extends Enum<E> & Labeled> E find(E[] values, String label) {
+        if (label != null) {
+            for (E value : values) {
+                if (value.getLabel().equalsIgnoreCase(label)) {
+                    return value;
+                }
+            }
+        }
+        return null;
+    }
+
+    // Like find, but a label that names no value is an error; kind names the column in the message
+    static <E extends Enum<E> & Labeled> E fromLabel(E[] values, String label, String kind) {
+        E value = find(values, label);
+        if (value == null && label != null) {
+            throw new IllegalArgumentException("Unknown " + kind + ": " + label);
+        }
+        return value;
+    }
+
+    // The shared label instance when the value names one of the values, otherwise the value itself
+    static <E extends Enum<E> & Labeled> String canonical(E[] values, String value) {
+        E match = find(values, value);
+        return match == null ? value : match.getLabel();
+    }
+}
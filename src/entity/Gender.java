@@ -0,0 +1,33 @@
+package entity;
+
+// Values of the Employee.gender ENUM column
+public enum Gender implements EnumLabels.Labeled {
+    MALE("Male"),
+    FEMALE("Female"),
+    OTHER("Other");
+
+    private static final Gender[] VALUES = values();
+
+    private final String label;
+
+    Gender(String label) {
+        this.label = label;
+    }
+
+    @Override
+    public String getLabel() { return label; }
+
+    public static Gender fromLabel(String label) {
+        return EnumLabels.fromLabel(VALUES, label, "gender");
+    }
+
+    // The shared label instance when the value names a gender, otherwise the value itself
+    public static String canonical(String value) {
+        return EnumLabels.canonical(VALUES, value);
+    }
+
+    @Override
+    public String toString() {
+        return label;
+    }
+}
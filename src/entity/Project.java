@@ -16,7 +16,7 @@ public class Project {
         this.projectName = projectName;
         this.description = description;
         this.startDate = startDate;
-        this.status = status;
+        this.status = ProjectStatus.canonical(status);
     }
 
     public int getId() { return id; }
@@ -28,5 +28,7 @@ public class Project {
     public LocalDate getStartDate() { return startDate; }
     public void setStartDate(LocalDate startDate) { this.startDate = startDate; }
     public String getStatus() { return status; }
-    public void setStatus(String status) { this.status = status; }
+    public void setStatus(String status) { this.status = ProjectStatus.canonical(status); }
+    public ProjectStatus getProjectStatus() { return ProjectStatus.fromLabel(status); }
+    public void setProjectStatus(ProjectStatus status) { this.status = status == null ? null : status.getLabel(); }
 }
@@ -0,0 +1,6 @@
+package entity;
+
+import java.time.LocalDate;
+
+// One report row: a project's headcount and the summed salary of its employees
+public record ProjectCost(int projectId, String projectName, LocalDate startDate, int headcount, double totalSalary) {}
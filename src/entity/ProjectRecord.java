@@ -0,0 +1,20 @@
+package entity;
+
+import java.time.LocalDate;
+
+// Immutable form of Project
+public record ProjectRecord(int id, String projectName, String description, LocalDate startDate, ProjectStatus status) {
+
+    public static ProjectRecord of(Project project) {
+        return new ProjectRecord(project.getId(), project.getProjectName(), project.getDescription(),
+                project.getStartDate(), ProjectStatus.fromLabel(project.getStatus()));
+    }
+
+    public Project toProject() {
+        return new Project(id, projectName, description, startDate, status == null ? null : status.getLabel());
+    }
+
+    public ProjectRecord withStatus(ProjectStatus status) {
+        return new ProjectRecord(id, projectName, description, startDate, status);
+    }
+}
@@ -0,0 +1,35 @@
+package entity;
+
+// Values of the Project.status ENUM column
+public enum ProjectStatus implements EnumLabels.Labeled {
+    STARTED("started"),
+    DEVELOPMENT("development"),
+    BUILD("build"),
+    TEST("test"),
+    DEPLOYED("deployed");
+
+    private static final ProjectStatus[] VALUES = values();
+
+    private final String label;
+
+    ProjectStatus(String label) {
+        this.label = label;
+    }
+
+    @Override
+    public String getLabel() { return label; }
+
+    public static ProjectStatus fromLabel(String label) {
+        return EnumLabels.fromLabel(VALUES, label, "project status");
+    }
+
+    // The shared label instance when the value names a status, otherwise the value itself
+    public static String canonical(String value) {
+        return EnumLabels.canonical(VALUES, value);
+    }
+
+    @Override
+    public String toString() {
+        return label;
+    }
+}
@@ -0,0 +1,4 @@
+package entity;
+
+// One report row: a project's tasks counted by status. total also counts tasks without a status.
+public record ProjectTaskSummary(int projectId, String projectName, int assigned, int started, int completed, int total) {}
@@ -14,7 +14,7 @@ public class Task {
         this.taskName = taskName;
         this.projectId = projectId;
         this.employeeId = employeeId;
-        this.status = status;
+        this.status = TaskStatus.canonical(status);
     }
 
     public int getTaskId() { return taskId; }
@@ -26,5 +26,8 @@ public class Task {
     public int getEmployeeId() { return employeeId; }
     public void setEmployeeId(int employeeId) { this.employeeId = employeeId; }
     public String getStatus() { return status; }
-    public void setStatus(String status) { this.status = status; }
+    // Known statuses are stored as the enum's shared label, so loaded rows don't each carry their own copy
+    public void setStatus(String status) { this.status = TaskStatus.canonical(status); }
+    public TaskStatus getTaskStatus() { return TaskStatus.fromLabel(status); }
+    public void setTaskStatus(TaskStatus status) { this.status = status == null ? null : status.getLabel(); }
 }
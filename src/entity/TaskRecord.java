@@ -0,0 +1,22 @@
+package entity;
+
+// Immutable form of Task for large in-memory task sets; equality and hashing cover every field
+public record TaskRecord(int taskId, String taskName, int projectId, int employeeId, TaskStatus status) {
+
+    public static TaskRecord of(Task task) {
+        return new TaskRecord(task.getTaskId(), task.getTaskName(), task.getProjectId(), task.getEmployeeId(),
+                TaskStatus.fromLabel(task.getStatus()));
+    }
+
+    public Task toTask() {
+        return new Task(taskId, taskName, projectId, employeeId, status == null ? null : status.getLabel());
+    }
+
+    public TaskRecord withEmployeeId(int employeeId) {
+        return new TaskRecord(taskId, taskName, projectId, employeeId, status);
+    }
+
+    public TaskRecord withStatus(TaskStatus status) {
+        return new TaskRecord(taskId, taskName, projectId, employeeId, status);
+    }
+}
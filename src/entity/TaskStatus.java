@@ -0,0 +1,33 @@
+package entity;
+
+// Values of the Task.status ENUM column
+public enum TaskStatus implements EnumLabels.Labeled {
+    ASSIGNED("Assigned"),
+    STARTED("Started"),
+    COMPLETED("Completed");
+
+    private static final TaskStatus[] VALUES = values();
+
+    private final String label;
+
+    TaskStatus(String label) {
+        this.label = label;
+    }
+
+    @Override
+    public String getLabel() { return label; }
+
+    public static TaskStatus fromLabel(String label) {
+        return EnumLabels.fromLabel(VALUES, label, "task status");
+    }
+
+    // The shared label instance when the value names a status, otherwise the value itself
+    public static String canonical(String value) {
+        return EnumLabels.canonical(VALUES, value);
+    }
+
+    @Override
+    public String toString() {
+        return label;
+    }
+}
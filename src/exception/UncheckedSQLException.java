@@ -0,0 +1,17 @@
+package exception;
+
+import java.sql.SQLException;
+
+// Carries a SQLException out of code that can't declare it, such as a Stream being consumed
+public class UncheckedSQLException extends RuntimeException {
+    private static final long serialVersionUID = 1L;
+
+    public UncheckedSQLException(SQLException cause) {
+        super(cause.getMessage(), cause);
+    }
+
+    @Override
+    public synchronized SQLException getCause() {
+        return (SQLException) super.getCause();
+    }
+}
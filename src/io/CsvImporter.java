@@ -0,0 +1,500 @@
+package io;
+
+import dao.BatchResult;
+import dao.IProjectRepository;
+import entity.Employee;
+import entity.Gender;
+import entity.Project;
+import entity.ProjectStatus;
+import entity.Task;
+import entity.TaskStatus;
+import util.DBConnUtil;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLWarning;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+
+// Imports a CSV file into one table as a three-stage pipeline: a reader thread parses records, a validator
+// thread turns them into entities, and the calling thread inserts them through the repository's batch methods.
+// The stages hand over fixed-size batches through bounded queues, so memory stays flat on multi-gigabyte files
+// and a slow database simply stalls the reader. After every inserted batch the byte offset of its last record
+// is checkpointed next to the input, and rows that fail validation or insertion go to a rejected-rows file.
+// A batch that fails as a whole (lost connection, deadlock, lock wait timeout) stops the import at the previous
+// checkpoint instead, since its rows aren't at fault. Delivery on resume is at least once: the checkpoint is
+// written after the batch commits, so a crash in between, or a batch that failed after some of its rows went in,
+// inserts those rows again with new ids.
+public class CsvImporter {
+    private static final int DEFAULT_BATCH_SIZE = 1000;
+    private static final int QUEUE_CAPACITY = 4;
+
+    private final IProjectRepository repository;
+    private final int batchSize;
+
+    public CsvImporter(IProjectRepository repository) {
+        this(repository, DEFAULT_BATCH_SIZE);
+    }
+
+    public CsvImporter(IProjectRepository repository, int batchSize) {
+        this.repository = repository;
+        this.batchSize = Math.max(1, batchSize);
+    }
+
+    public static Path checkpointFile(Path file) {
+        return file.resolveSibling(file.getFileName() + ".checkpoint");
+    }
+
+    public static Path rejectedFile(Path file) {
+        return file.resolveSibling(file.getFileName() + ".rejected.csv");
+    }
+
+    // Imports every data row of the file; with resume, continues after the last checkpointed batch.
+    // Ids in the file are ignored, new rows get generated ids like any other insert.
+    public ImportResult importFile(ImportTarget target, Path file, boolean resume) throws IOException {
+        switch (target) {
+            case EMPLOYEES:
+                return run(file, resume, CsvImporter::employeeParser, repository::createEmployees);
+            case PROJECTS:
+                return run(file, resume, CsvImporter::projectParser, repository::createProjects);
+            default:
+                return run(file, resume, CsvImporter::taskParser, repository::createTasks);
+        }
+    }
+
+    // Optional fast path for MySQL: the server reads the file itself with LOAD DATA LOCAL INFILE. Much faster
+    // than batched inserts, but rows are not validated and there are no checkpoints or rejected-rows file.
+    // Needs db.allowLoadLocalInfile=true in db.properties and local_infile enabled on the server.
+    public static ImportResult loadDataInfile(ImportTarget target, Path file) throws IOException, SQLException {
+        long started = System.currentTimeMillis();
+        String[] header;
+        boolean crlf;
+        try (CsvReader reader = new CsvReader(file)) {
+            if (!reader.next()) {
+                return new ImportResult(0, 0, 0, 0, System.currentTimeMillis() - started);
+            }
+            header = reader.toArray();
+            crlf = reader.isCrlf();
+        }
+
+        List<String> columns = new ArrayList<>();
+        int skipped = 0;
+        for (String name : header) {
+            String column = columnFor(target, name);
+            // Ids are generated by the database, so the id column is discarded along with unknown columns
+            columns.add(column == null || column.equals(target.getColumns().get(0)) ? "@skip" + skipped++ : column);
+        }
+        String sql = "LOAD DATA LOCAL INFILE '" + file.toAbsolutePath().toString().replace("\\", "\\\\").replace("'", "\\'")
+                + "' INTO TABLE " + target.getTable()
+                + " CHARACTER SET utf8mb4 FIELDS TERMINATED BY ',' OPTIONALLY ENCLOSED BY '\"' ESCAPED BY ''"
+                + " LINES TERMINATED BY '" + (crlf ? "\\r\\n" : "\\n") + "' IGNORE 1 LINES (" + String.join(", ", columns) + ")";
+
+        Connection conn = DBConnUtil.getConnection();
+        if (conn == null) {
+            throw new SQLException("No database connection available");
+        }
+        try (conn; Statement stmt = conn.createStatement()) {
+            long imported = stmt.executeLargeUpdate(sql);
+            for (SQLWarning warning = stmt.getWarnings(); warning != null; warning = warning.getNextWarning()) {
+                System.err.println("LOAD DATA: " + warning.getMessage());
+            }
+            return new ImportResult(imported, imported, 0, 0, System.currentTimeMillis() - started);
+        }
+    }
+
+    private <T> ImportResult run(Path file, boolean resume, Function<String[], RowParser<T>> parserFactory,
+                                 Function<List<T>, BatchResult> inserter) throws IOException {
+        long started = System.currentTimeMillis();
+        Path checkpointFile = checkpointFile(file);
+        Checkpoint checkpoint = resume ? Checkpoint.read(checkpointFile) : null;
+
+        try (CsvReader reader = new CsvReader(file)) {
+            if (!reader.next()) {
+                return new ImportResult(0, 0, 0, 0, System.currentTimeMillis() - started);
+            }
+            String[] header = reader.toArray();
+            RowParser<T> parser = parserFactory.apply(header);
+            long resumedAt = 0;
+            if (checkpoint != null) {
+                reader.seek(checkpoint.offset, checkpoint.record);
+                resumedAt = checkpoint.record;
+            }
+
+            try (RejectWriter rejects = new RejectWriter(rejectedFile(file), header, checkpoint != null)) {
+                return new Pipeline<>(reader, parser, inserter, rejects, checkpointFile, resumedAt, started).run();
+            }
+        }
+    }
+
+    private final class Pipeline<T> {
+        private final CsvReader reader;
+        private final RowParser<T> parser;
+        private final Function<List<T>, BatchResult> inserter;
+        private final RejectWriter rejects;
+        private final Path checkpointFile;
+        private final long resumedAt;
+        private final long started;
+
+        private final BlockingQueue<RawBatch> rawQueue = new ArrayBlockingQueue<>(QUEUE_CAPACITY);
+        private final BlockingQueue<ParsedBatch<T>> parsedQueue = new ArrayBlockingQueue<>(QUEUE_CAPACITY);
+        private final AtomicReference<Throwable> failure = new AtomicReference<>();
+        private final AtomicLong rowsRead = new AtomicLong();
+        private final AtomicLong rowsRejected = new AtomicLong();
+        private long rowsImported;
+
+        Pipeline(CsvReader reader, RowParser<T> parser, Function<List<T>, BatchResult> inserter, RejectWriter rejects,
+                 Path checkpointFile, long resumedAt, long started) {
+            this.reader = reader;
+            this.parser = parser;
+            this.inserter = inserter;
+            this.rejects = rejects;
+            this.checkpointFile = checkpointFile;
+            this.resumedAt = resumedAt;
+            this.started = started;
+        }
+
+        ImportResult run() throws IOException {
+            Thread readerThread = new Thread(this::readRecords, "csv-import-reader");
+            Thread validatorThread = new Thread(this::validateRecords, "csv-import-validator");
+            readerThread.setDaemon(true);
+            validatorThread.setDaemon(true);
+            readerThread.start();
+            validatorThread.start();
+
+            try {
+                insertBatches();
+            } catch (RuntimeException | IOException e) {
+                failure.compareAndSet(null, e);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                failure.compareAndSet(null, e);
+            } finally {
+                if (failure.get() != null) {
+                    readerThread.interrupt();
+                    validatorThread.interrupt();
+                }
+                join(readerThread);
+                join(validatorThread);
+            }
+
+            Throwable error = failure.get();
+            if (error != null) {
+                // The checkpoint is left in place so the import can be resumed
+                throw error instanceof IOException ? (IOException) error : new IOException("Import failed: " + error, error);
+            }
+            Files.deleteIfExists(checkpointFile);
+            return new ImportResult(rowsRead.get(), rowsImported, rowsRejected.get(), resumedAt, System.currentTimeMillis() - started);
+        }
+
+        private void readRecords() {
+            try {
+                List<RawRecord> records = new ArrayList<>(batchSize);
+                while (failure.get() == null && reader.next()) {
+                    records.add(new RawRecord(reader.getRecordNumber(), reader.toArray(), reader.isMalformed(), reader.isTruncated()));
+                    if (records.size() == batchSize) {
+                        rawQueue.put(new RawBatch(records, reader.getRecordEndOffset(), reader.getRecordNumber(), false));
+                        records = new ArrayList<>(batchSize);
+                    }
+                }
+                rawQueue.put(new RawBatch(records, reader.getRecordEndOffset(), reader.getRecordNumber(), true));
+            } catch (IOException | RuntimeException e) {
+                fail(e);
+            } catch (InterruptedException e) {
+                // Cancelled by a failing stage further down
+            }
+        }
+
+        private void validateRecords() {
+            try {
+                boolean last = false;
+                while (!last) {
+                    RawBatch batch = rawQueue.take();
+                    last = batch.last;
+                    List<T> rows = new ArrayList<>(batch.records.size());
+                    List<RawRecord> sources = new ArrayList<>(batch.records.size());
+                    List<Rejected> rejected = new ArrayList<>();
+                    for (RawRecord record : batch.records) {
+                        rowsRead.incrementAndGet();
+                        if (record.truncated) {
+                            rejected.add(new Rejected(record, "CSV record longer than " + reader.getMaxRecordBytes()
+                                    + " bytes, skipped to the next line"));
+                            continue;
+                        } else if (record.malformed) {
+                            rejected.add(new Rejected(record, "Malformed CSV record"));
+                            continue;
+                        }
+                        try {
+                            rows.add(parser.parse(record.fields));
+                            sources.add(record);
+                        } catch (RuntimeException e) {
+                            rejected.add(new Rejected(record, e.getMessage() == null ? e.toString() : e.getMessage()));
+                        }
+                    }
+                    parsedQueue.put(new ParsedBatch<>(rows, sources, rejected, batch.endOffset, batch.lastRecord, last));
+                }
+            } catch (RuntimeException e) {
+                fail(e);
+            } catch (InterruptedException e) {
+                // Cancelled by a failing stage
+            }
+        }
+
+        private void insertBatches() throws IOException, InterruptedException {
+            boolean last = false;
+            while (!last) {
+                ParsedBatch<T> batch = pollParsed();
+                if (batch == null) {
+                    return; // an upstream stage failed
+                }
+                last = batch.last;
+                if (!batch.rows.isEmpty()) {
+                    BatchResult result = inserter.apply(batch.rows);
+                    if (result.getBatchFailure() != null) {
+                        // The checkpoint stays before this batch, so --resume retries all of it
+                        throw new IOException("Batch insert failed, run the import again with --resume: " + result.getBatchFailure());
+                    }
+                    rowsImported += result.getSuccessCount();
+                    for (Map.Entry<Integer, String> rejected : result.getFailures().entrySet()) {
+                        reject(batch.sources.get(rejected.getKey()), rejected.getValue());
+                    }
+                }
+                // Validation rejects are written with the batch's checkpoint too, so a resumed import doesn't repeat them
+                for (Rejected rejected : batch.rejected) {
+                    reject(rejected.record, rejected.reason);
+                }
+                rejects.flush();
+                new Checkpoint(batch.endOffset, batch.lastRecord).write(checkpointFile);
+            }
+        }
+
+        // Waits for the next batch, giving up once another stage has failed
+        private ParsedBatch<T> pollParsed() throws InterruptedException {
+            while (failure.get() == null) {
+                ParsedBatch<T> batch = parsedQueue.poll(100, TimeUnit.MILLISECONDS);
+                if (batch != null) {
+                    return batch;
+                }
+            }
+            return null;
+        }
+
+        private void reject(RawRecord record, String reason) throws IOException {
+            rowsRejected.incrementAndGet();
+            rejects.write(record.fields, reason);
+        }
+
+        private void fail(Throwable e) {
+            failure.compareAndSet(null, e);
+        }
+
+        private void join(Thread thread) {
+            try {
+                thread.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    // Column lookup from the header: names match the schema ignoring case and underscores, so both
+    // project_id and projectId are accepted
+    private static int[] columnIndexes(ImportTarget target, String[] header) {
+        List<String> columns = target.getColumns();
+        int[] indexes = new int[columns.size()];
+        for (int c = 0; c < columns.size(); c++) {
+            indexes[c] = -1;
+            for (int h = 0; h < header.length; h++) {
+                if (normalize(header[h]).equals(normalize(columns.get(c)))) {
+                    indexes[c] = h;
+                    break;
+                }
+            }
+        }
+        return indexes;
+    }
+
+    private static String columnFor(ImportTarget target, String headerName) {
+        for (String column : target.getColumns()) {
+            if (normalize(column).equals(normalize(headerName))) {
+                return column;
+            }
+        }
+        return null;
+    }
+
+    private static String normalize(String name) {
+        return name.trim().replace("_", "").replace(" ", "").toLowerCase(Locale.ROOT);
+    }
+
+    private static void requireColumns(ImportTarget target, int[] indexes, int... required) {
+        for (int column : required) {
+            if (indexes[column] < 0) {
+                throw new IllegalArgumentException("Missing column '" + target.getColumns().get(column) + "' in CSV header");
+            }
+        }
+    }
+
+    private static RowParser<Employee> employeeParser(String[] header) {
+        int[] col = columnIndexes(ImportTarget.EMPLOYEES, header);
+        requireColumns(ImportTarget.EMPLOYEES, col, 1, 5);
+        return fields -> {
+            String gender = value(fields, col[3]);
+            Gender.fromLabel(gender); // rejects unknown values
+            String salary = value(fields, col[4]);
+            return new Employee(0, required(fields, col[1], "name"), value(fields, col[2]), gender,
+                    salary == null ? 0 : Double.parseDouble(salary), Integer.parseInt(required(fields, col[5], "project_id")));
+        };
+    }
+
+    private static RowParser<Project> projectParser(String[] header) {
+        int[] col = columnIndexes(ImportTarget.PROJECTS, header);
+        requireColumns(ImportTarget.PROJECTS, col, 1);
+        return fields -> {
+            String startDate = value(fields, col[3]);
+            String status = value(fields, col[4]);
+            ProjectStatus.fromLabel(status);
+            return new Project(0, required(fields, col[1], "projectName"), value(fields, col[2]),
+                    startDate == null ? null : LocalDate.parse(startDate), status);
+        };
+    }
+
+    private static RowParser<Task> taskParser(String[] header) {
+        int[] col = columnIndexes(ImportTarget.TASKS, header);
+        requireColumns(ImportTarget.TASKS, col, 1, 2, 3);
+        return fields -> {
+            String status = value(fields, col[4]);
+            TaskStatus.fromLabel(status);
+            return new Task(0, required(fields, col[1], "task_name"), Integer.parseInt(required(fields, col[2], "project_id")),
+                    Integer.parseInt(required(fields, col[3], "employee_id")), status);
+        };
+    }
+
+    // Trimmed field value, null when the column is absent or the field is empty
+    private static String value(String[] fields, int index) {
+        if (index < 0 || index >= fields.length) {
+            return null;
+        }
+        String value = fields[index].trim();
+        return value.isEmpty() ? null : value;
+    }
+
+    private static String required(String[] fields, int index, String column) {
+        String value = value(fields, index);
+        if (value == null) {
+            throw new IllegalArgumentException("Missing value for " + column);
+        }
+        return value;
+    }
+
+    private interface RowParser<T> {
+        T parse(String[] fields);
+    }
+
+    private record RawRecord(long number, String[] fields, boolean malformed, boolean truncated) {}
+
+    private record RawBatch(List<RawRecord> records, long endOffset, long lastRecord, boolean last) {}
+
+    private record Rejected(RawRecord record, String reason) {}
+
+    private record ParsedBatch<T>(List<T> rows, List<RawRecord> sources, List<Rejected> rejected, long endOffset,
+                                  long lastRecord, boolean last) {}
+
+    // Position after the last fully inserted batch. Written to a temporary file and moved over the old one,
+    // so a crash mid-write never leaves a truncated checkpoint behind.
+    private record Checkpoint(long offset, long record) {
+        static Checkpoint read(Path path) throws IOException {
+            if (!Files.exists(path)) {
+                return null;
+            }
+            Properties properties = new Properties();
+            try (InputStream in = Files.newInputStream(path)) {
+                properties.load(in);
+            }
+            return new Checkpoint(Long.parseLong(properties.getProperty("offset")), Long.parseLong(properties.getProperty("record")));
+        }
+
+        void write(Path path) throws IOException {
+            Properties properties = new Properties();
+            properties.setProperty("offset", Long.toString(offset));
+            properties.setProperty("record", Long.toString(record));
+            Path temp = path.resolveSibling(path.getFileName() + ".tmp");
+            try (OutputStream out = Files.newOutputStream(temp)) {
+                properties.store(out, null);
+            }
+            try {
+                Files.move(temp, path, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING);
+            }
+        }
+    }
+
+    // Rejected rows keep their original fields plus an error column. The file is only created once the
+    // first row is rejected, and a resumed import appends to it.
+    private static final class RejectWriter implements AutoCloseable {
+        private final Path path;
+        private final String[] header;
+        private final boolean append;
+        private CsvWriter writer;
+
+        RejectWriter(Path path, String[] header, boolean append) {
+            this.path = path;
+            this.header = header;
+            this.append = append;
+        }
+
+        synchronized void write(String[] fields, String reason) throws IOException {
+            if (writer == null) {
+                boolean exists = append && Files.exists(path);
+                BufferedWriter out = Files.newBufferedWriter(path, StandardCharsets.UTF_8, StandardOpenOption.CREATE,
+                        StandardOpenOption.WRITE, exists ? StandardOpenOption.APPEND : StandardOpenOption.TRUNCATE_EXISTING);
+                writer = new CsvWriter(out);
+                if (!exists) {
+                    writer.writeRow(withReason(header, "error"));
+                }
+            }
+            writer.writeRow(withReason(fields, reason));
+        }
+
+        synchronized void flush() throws IOException {
+            if (writer != null) {
+                writer.flush();
+            }
+        }
+
+        private static Object[] withReason(String[] fields, String reason) {
+            Object[] row = new Object[fields.length + 1];
+            System.arraycopy(fields, 0, row, 0, fields.length);
+            row[fields.length] = reason;
+            return row;
+        }
+
+        @Override
+        public synchronized void close() throws IOException {
+            if (writer != null) {
+                writer.close();
+            }
+        }
+    }
+}
@@ -0,0 +1,204 @@
+package io;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+// Streaming RFC 4180 reader over a FileChannel. The file is read in fixed-size chunks into one reusable
+// buffer, so memory stays constant whatever the file size. Parsing works on bytes: the structural
+// characters are ASCII and never occur inside a UTF-8 multi-byte sequence, so only finished fields are
+// decoded. Quoted fields may contain commas, doubled quotes and line breaks; LF and CRLF both end a record.
+// A record longer than maxRecordBytes (line break included) is cut off there and marked malformed, and reading
+// resumes at the next line break: one stray quote would otherwise pull the rest of the file into a single field.
+public class CsvReader implements AutoCloseable {
+    private static final int CHUNK_SIZE = 1 << 20;
+    public static final int DEFAULT_MAX_RECORD_BYTES = 1 << 20;
+    private static final String[] EMPTY = new String[0];
+
+    private final FileChannel channel;
+    private final int maxRecordBytes;
+    private final ByteBuffer buffer = ByteBuffer.allocate(CHUNK_SIZE);
+    private final byte[] chunk = buffer.array();
+    private int position;
+    private int limit;
+    private long chunkOffset;
+    private boolean endOfFile;
+
+    private byte[] field = new byte[256];
+    private int fieldLength;
+    private String[] fields = new String[16];
+    private int fieldCount;
+    private long recordNumber;
+    private long recordEndOffset;
+    private boolean malformed;
+    private boolean truncated;
+    private boolean crlf;
+
+    public CsvReader(Path path) throws IOException {
+        this(path, DEFAULT_MAX_RECORD_BYTES);
+    }
+
+    public CsvReader(Path path, int maxRecordBytes) throws IOException {
+        if (maxRecordBytes < 1) {
+            throw new IllegalArgumentException("maxRecordBytes must be positive");
+        }
+        this.maxRecordBytes = maxRecordBytes;
+        channel = FileChannel.open(path, StandardOpenOption.READ);
+    }
+
+    // Continues from a byte offset previously returned by getRecordEndOffset()
+    public void seek(long offset, long recordNumber) throws IOException {
+        channel.position(offset);
+        chunkOffset = offset;
+        position = 0;
+        limit = 0;
+        endOfFile = false;
+        this.recordNumber = recordNumber;
+        recordEndOffset = offset;
+    }
+
+    // Advances to the next record, skipping blank lines; false at end of file
+    public boolean next() throws IOException {
+        fieldCount = 0;
+        fieldLength = 0;
+        malformed = false;
+        truncated = false;
+        int b;
+        do {
+            b = read();
+        } while (b == '\n' || b == '\r');
+        if (b == -1) {
+            return false;
+        }
+
+        boolean inQuotes = false;
+        boolean quoted = false;
+        int recordBytes = 0;
+        while (b != -1) {
+            if (++recordBytes > maxRecordBytes) {
+                truncated = true;
+                skipLine(b);
+                break;
+            }
+            if (inQuotes) {
+                if (b == '"') {
+                    if (peek() == '"') {
+                        read();
+                        append('"');
+                    } else {
+                        inQuotes = false;
+                    }
+                } else {
+                    append(b);
+                }
+            } else if (b == '"' && fieldLength == 0 && !quoted) {
+                inQuotes = true;
+                quoted = true;
+            } else if (b == ',') {
+                endField();
+                quoted = false;
+            } else if (b == '\n') {
+                crlf = false;
+                break;
+            } else if (b == '\r' && peek() == '\n') {
+                read();
+                crlf = true;
+                break;
+            } else {
+                malformed |= quoted; // text after a closing quote
+                append(b);
+            }
+            b = read();
+        }
+        malformed |= inQuotes || truncated; // quote still open at end of file or at the cut-off
+        endField();
+        recordNumber++;
+        recordEndOffset = chunkOffset + position;
+        return true;
+    }
+
+    public int size() { return fieldCount; }
+    public String get(int index) { return index < fieldCount ? fields[index] : null; }
+    public String[] toArray() { return fieldCount == 0 ? EMPTY : Arrays.copyOf(fields, fieldCount); }
+
+    // 1-based, counting the header like any other record
+    public long getRecordNumber() { return recordNumber; }
+
+    // Byte offset just past the current record, usable with seek() to resume after it
+    public long getRecordEndOffset() { return recordEndOffset; }
+
+    // True if the record has an unterminated quote or text after a closing quote, or was truncated
+    public boolean isMalformed() { return malformed; }
+
+    // True if the record ran past maxRecordBytes; its fields hold only what came before the cut-off
+    public boolean isTruncated() { return truncated; }
+
+    public int getMaxRecordBytes() { return maxRecordBytes; }
+
+    // Whether the last record ended with CRLF rather than LF
+    public boolean isCrlf() { return crlf; }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    private int read() throws IOException {
+        if (position == limit && !fill()) {
+            return -1;
+        }
+        return chunk[position++] & 0xFF;
+    }
+
+    private int peek() throws IOException {
+        if (position == limit && !fill()) {
+            return -1;
+        }
+        return chunk[position] & 0xFF;
+    }
+
+    private boolean fill() throws IOException {
+        if (endOfFile) {
+            return false;
+        }
+        chunkOffset += limit;
+        buffer.clear();
+        int read;
+        do {
+            read = channel.read(buffer);
+        } while (read == 0);
+        position = 0;
+        limit = Math.max(read, 0);
+        endOfFile = read < 0;
+        return read > 0;
+    }
+
+    // Drops everything up to and including the next LF, whatever the quoting
+    private void skipLine(int b) throws IOException {
+        int previous = -1;
+        while (b != -1 && b != '\n') {
+            previous = b;
+            b = read();
+        }
+        crlf = previous == '\r';
+    }
+
+    private void append(int b) {
+        if (fieldLength == field.length) {
+            field = Arrays.copyOf(field, field.length * 2);
+        }
+        field[fieldLength++] = (byte) b;
+    }
+
+    private void endField() {
+        if (fieldCount == fields.length) {
+            fields = Arrays.copyOf(fields, fields.length * 2);
+        }
+        fields[fieldCount++] = new String(field, 0, fieldLength, StandardCharsets.UTF_8);
+        fieldLength = 0;
+    }
+}
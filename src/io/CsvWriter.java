@@ -0,0 +1,62 @@
+package io;
+
+import java.io.IOException;
+import java.io.Writer;
+
+// Writes RFC 4180 rows, quoting only the fields that need it. Null values are written as empty fields.
+// Each row is assembled in a reused buffer and handed to the Writer in one call.
+public class CsvWriter implements AutoCloseable {
+    private final Writer out;
+    private final StringBuilder row = new StringBuilder(256);
+
+    public CsvWriter(Writer out) {
+        this.out = out;
+    }
+
+    public void writeRow(Object... values) throws IOException {
+        row.setLength(0);
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                row.append(',');
+            }
+            Object value = values[i];
+            if (value instanceof Number) {
+                row.append(value); // never needs quoting
+            } else if (value != null) {
+                appendField(value.toString());
+            }
+        }
+        row.append('\n');
+        out.append(row);
+    }
+
+    private void appendField(String value) {
+        boolean quote = false;
+        for (int i = 0; i < value.length() && !quote; i++) {
+            char c = value.charAt(i);
+            quote = c == ',' || c == '"' || c == '\n' || c == '\r';
+        }
+        if (!quote) {
+            row.append(value);
+            return;
+        }
+        row.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"') {
+                row.append('"');
+            }
+            row.append(c);
+        }
+        row.append('"');
+    }
+
+    public void flush() throws IOException {
+        out.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        out.close();
+    }
+}
@@ -0,0 +1,25 @@
+package io;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+
+public class ExportResult {
+    private final Map<ImportTarget, Long> rows;
+    private final long elapsedMillis;
+
+    public ExportResult(Map<ImportTarget, Long> rows, long elapsedMillis) {
+        this.rows = Collections.unmodifiableMap(new EnumMap<>(rows));
+        this.elapsedMillis = elapsedMillis;
+    }
+
+    public long getRows(ImportTarget target) { return rows.getOrDefault(target, 0L); }
+    public long getTotalRows() { return rows.values().stream().mapToLong(Long::longValue).sum(); }
+    public Map<ImportTarget, Long> getRowCounts() { return rows; }
+    public long getElapsedMillis() { return elapsedMillis; }
+
+    @Override
+    public String toString() {
+        return "ExportResult{rows=" + rows + ", elapsed=" + elapsedMillis + "ms}";
+    }
+}
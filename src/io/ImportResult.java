@@ -0,0 +1,30 @@
+package io;
+
+public class ImportResult {
+    private final long rowsRead;
+    private final long rowsImported;
+    private final long rowsRejected;
+    private final long resumedAtRecord;
+    private final long elapsedMillis;
+
+    public ImportResult(long rowsRead, long rowsImported, long rowsRejected, long resumedAtRecord, long elapsedMillis) {
+        this.rowsRead = rowsRead;
+        this.rowsImported = rowsImported;
+        this.rowsRejected = rowsRejected;
+        this.resumedAtRecord = resumedAtRecord;
+        this.elapsedMillis = elapsedMillis;
+    }
+
+    public long getRowsRead() { return rowsRead; }
+    public long getRowsImported() { return rowsImported; }
+    public long getRowsRejected() { return rowsRejected; }
+    public long getResumedAtRecord() { return resumedAtRecord; }
+    public long getElapsedMillis() { return elapsedMillis; }
+
+    @Override
+    public String toString() {
+        return "ImportResult{read=" + rowsRead + ", imported=" + rowsImported + ", rejected=" + rowsRejected
+                + (resumedAtRecord > 0 ? ", resumedAfterRecord=" + resumedAtRecord : "")
+                + ", elapsed=" + elapsedMillis + "ms}";
+    }
+}
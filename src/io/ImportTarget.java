@@ -0,0 +1,32 @@
+package io;
+
+import java.util.List;
+
+// Tables that can be imported and exported, with their columns in schema order
+public enum ImportTarget {
+    EMPLOYEES("Employee", List.of("id", "name", "designation", "gender", "salary", "project_id")),
+    PROJECTS("Project", List.of("id", "projectName", "description", "startDate", "status")),
+    TASKS("Task", List.of("task_id", "task_name", "project_id", "employee_id", "status"));
+
+    private final String table;
+    private final List<String> columns;
+
+    ImportTarget(String table, List<String> columns) {
+        this.table = table;
+        this.columns = columns;
+    }
+
+    public String getTable() { return table; }
+    public List<String> getColumns() { return columns; }
+
+    // Accepts the enum name or the table name, singular or plural, in any case
+    public static ImportTarget fromName(String name) {
+        for (ImportTarget target : values()) {
+            if (target.name().equalsIgnoreCase(name) || target.table.equalsIgnoreCase(name)
+                    || (target.table + "s").equalsIgnoreCase(name)) {
+                return target;
+            }
+        }
+        throw new IllegalArgumentException("Unknown table: " + name);
+    }
+}
@@ -0,0 +1,37 @@
+package io;
+
+// Layout shared by SnapshotWriter and SnapshotReader.
+//
+//   header:  magic (int) | version (short) | flags (short) | created epoch millis (long)
+//   block:   type (byte) | row count (int) | payload length (int) | CRC32 of payload (int) | payload
+//   payload: dictionary size (varint) | dictionary strings (varint byte length + UTF-8) | rows
+//
+// Blocks hold up to MAX_BLOCK_ROWS rows of one table, projects first, then employees, then tasks, and the
+// file ends with an END block whose payload repeats the three row counts. Every string in a block is a
+// varint reference into the block's dictionary (0 for null), so repeated values such as statuses and
+// designations are stored once per block. Ids are zigzag varint deltas from the previous row's id.
+// Fixed-width values are big-endian.
+final class SnapshotFormat {
+    static final int MAGIC = 0x504D534E; // "PMSN"
+    static final short VERSION = 1;
+    static final int HEADER_SIZE = 16;
+    static final int BLOCK_HEADER_SIZE = 13;
+
+    static final byte END = 0;
+    static final byte PROJECTS = 1;
+    static final byte EMPLOYEES = 2;
+    static final byte TASKS = 3;
+
+    static final int MAX_BLOCK_ROWS = 65_536;
+    static final int MAX_BLOCK_BYTES = 4 << 20;
+
+    private SnapshotFormat() {}
+
+    static long zigzag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    static long unzigzag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+}
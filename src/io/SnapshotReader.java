@@ -0,0 +1,214 @@
+package io;
+
+import dao.InMemoryProjectRepository;
+import entity.Employee;
+import entity.Project;
+import entity.Task;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.CRC32;
+
+// Loads a snapshot written by SnapshotWriter into an InMemoryProjectRepository. Each block is memory-mapped,
+// checked against its CRC32 and decoded straight into entities, which are handed to the repository a block
+// at a time. Strings are decoded once per block and shared by every row that references them.
+public class SnapshotReader implements AutoCloseable {
+    private final FileChannel channel;
+    private final long size;
+    private final CRC32 crc = new CRC32();
+    private final ByteBuffer blockHeader = ByteBuffer.allocate(SnapshotFormat.BLOCK_HEADER_SIZE);
+    private byte[] stringBytes = new byte[256];
+    private long position;
+    private long created;
+
+    private SnapshotReader(FileChannel channel) throws IOException {
+        this.channel = channel;
+        this.size = channel.size();
+    }
+
+    public static InMemoryProjectRepository load(Path file) throws IOException {
+        InMemoryProjectRepository repository = new InMemoryProjectRepository();
+        load(file, repository);
+        return repository;
+    }
+
+    public static ImportResult load(Path file, InMemoryProjectRepository target) throws IOException {
+        long started = System.currentTimeMillis();
+        try (SnapshotReader reader = new SnapshotReader(FileChannel.open(file, StandardOpenOption.READ))) {
+            long rows = reader.readInto(target);
+            return new ImportResult(rows, rows, 0, 0, System.currentTimeMillis() - started);
+        }
+    }
+
+    // Creation time recorded in the header of a snapshot file, in epoch milliseconds
+    public static long readCreated(Path file) throws IOException {
+        try (SnapshotReader reader = new SnapshotReader(FileChannel.open(file, StandardOpenOption.READ))) {
+            reader.readHeader();
+            return reader.created;
+        }
+    }
+
+    private long readInto(InMemoryProjectRepository target) throws IOException {
+        readHeader();
+        long[] counts = new long[4];
+        while (true) {
+            if (position + SnapshotFormat.BLOCK_HEADER_SIZE > size) {
+                throw new IOException("Snapshot is truncated: no end block");
+            }
+            blockHeader.clear();
+            readFully(blockHeader, position);
+            blockHeader.flip();
+            byte type = blockHeader.get();
+            int rows = blockHeader.getInt();
+            int length = blockHeader.getInt();
+            int checksum = blockHeader.getInt();
+            long payloadStart = position + SnapshotFormat.BLOCK_HEADER_SIZE;
+            if (type < SnapshotFormat.END || type > SnapshotFormat.TASKS || rows < 0 || length < 0 || payloadStart + length > size) {
+                throw new IOException("Corrupt snapshot block header at offset " + position);
+            }
+
+            MappedByteBuffer payload = channel.map(FileChannel.MapMode.READ_ONLY, payloadStart, length);
+            crc.reset();
+            crc.update(payload);
+            if ((int) crc.getValue() != checksum) {
+                throw new IOException("Snapshot checksum mismatch in block at offset " + position);
+            }
+            payload.rewind();
+            position = payloadStart + length;
+
+            String[] dictionary = readDictionary(payload);
+            if (type == SnapshotFormat.END) {
+                verifyCounts(payload, counts);
+                return counts[SnapshotFormat.PROJECTS] + counts[SnapshotFormat.EMPLOYEES] + counts[SnapshotFormat.TASKS];
+            }
+            switch (type) {
+                case SnapshotFormat.PROJECTS:
+                    target.restoreProjects(readProjects(payload, dictionary, rows));
+                    break;
+                case SnapshotFormat.EMPLOYEES:
+                    target.restoreEmployees(readEmployees(payload, dictionary, rows));
+                    break;
+                default:
+                    target.restoreTasks(readTasks(payload, dictionary, rows));
+            }
+            counts[type] += rows;
+        }
+    }
+
+    private void readHeader() throws IOException {
+        if (size < SnapshotFormat.HEADER_SIZE) {
+            throw new IOException("Not a snapshot file: too short");
+        }
+        ByteBuffer header = ByteBuffer.allocate(SnapshotFormat.HEADER_SIZE);
+        readFully(header, 0);
+        header.flip();
+        if (header.getInt() != SnapshotFormat.MAGIC) {
+            throw new IOException("Not a snapshot file: bad magic number");
+        }
+        short version = header.getShort();
+        if (version != SnapshotFormat.VERSION) {
+            throw new IOException("Unsupported snapshot version " + version + ", expected " + SnapshotFormat.VERSION);
+        }
+        header.getShort(); // flags, unused in version 1
+        created = header.getLong();
+        position = SnapshotFormat.HEADER_SIZE;
+    }
+
+    private List<Project> readProjects(ByteBuffer in, String[] dictionary, int rows) {
+        List<Project> projects = new ArrayList<>(rows);
+        int id = 0;
+        for (int i = 0; i < rows; i++) {
+            id += (int) SnapshotFormat.unzigzag(readVarint(in));
+            String name = dictionary[(int) readVarint(in)];
+            String description = dictionary[(int) readVarint(in)];
+            long startDate = readVarint(in);
+            String status = dictionary[(int) readVarint(in)];
+            projects.add(new Project(id, name, description,
+                    startDate == 0 ? null : LocalDate.ofEpochDay(SnapshotFormat.unzigzag(startDate - 1)), status));
+        }
+        return projects;
+    }
+
+    private List<Employee> readEmployees(ByteBuffer in, String[] dictionary, int rows) {
+        List<Employee> employees = new ArrayList<>(rows);
+        int id = 0;
+        for (int i = 0; i < rows; i++) {
+            id += (int) SnapshotFormat.unzigzag(readVarint(in));
+            String name = dictionary[(int) readVarint(in)];
+            String designation = dictionary[(int) readVarint(in)];
+            String gender = dictionary[(int) readVarint(in)];
+            double salary = Double.longBitsToDouble(in.getLong());
+            employees.add(new Employee(id, name, designation, gender, salary, (int) readVarint(in)));
+        }
+        return employees;
+    }
+
+    private List<Task> readTasks(ByteBuffer in, String[] dictionary, int rows) {
+        List<Task> tasks = new ArrayList<>(rows);
+        int id = 0;
+        for (int i = 0; i < rows; i++) {
+            id += (int) SnapshotFormat.unzigzag(readVarint(in));
+            String name = dictionary[(int) readVarint(in)];
+            int projectId = (int) readVarint(in);
+            int employeeId = (int) readVarint(in);
+            tasks.add(new Task(id, name, projectId, employeeId, dictionary[(int) readVarint(in)]));
+        }
+        return tasks;
+    }
+
+    // Index 0 is null, so row references can be used directly
+    private String[] readDictionary(ByteBuffer in) {
+        String[] dictionary = new String[(int) readVarint(in) + 1];
+        for (int i = 1; i < dictionary.length; i++) {
+            int length = (int) readVarint(in);
+            if (length > stringBytes.length) {
+                stringBytes = new byte[Math.max(length, stringBytes.length * 2)];
+            }
+            in.get(stringBytes, 0, length);
+            dictionary[i] = new String(stringBytes, 0, length, StandardCharsets.UTF_8);
+        }
+        return dictionary;
+    }
+
+    private void verifyCounts(ByteBuffer in, long[] counts) throws IOException {
+        for (byte type = SnapshotFormat.PROJECTS; type <= SnapshotFormat.TASKS; type++) {
+            long expected = readVarint(in);
+            if (expected != counts[type]) {
+                throw new IOException("Snapshot row count mismatch: expected " + expected + " rows of block type " + type + ", read " + counts[type]);
+            }
+        }
+    }
+
+    private static long readVarint(ByteBuffer in) {
+        long value = 0;
+        int shift = 0;
+        byte b;
+        do {
+            b = in.get();
+            value |= (long) (b & 0x7F) << shift;
+            shift += 7;
+        } while (b < 0);
+        return value;
+    }
+
+    private void readFully(ByteBuffer buffer, long offset) throws IOException {
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, offset + buffer.position()) < 0) {
+                throw new IOException("Unexpected end of snapshot file");
+            }
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
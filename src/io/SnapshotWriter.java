@@ -0,0 +1,241 @@
+package io;
+
+import dao.IProjectRepository;
+import entity.Employee;
+import entity.Project;
+import entity.Task;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+// Writes every Project, Employee and Task of a repository to a binary snapshot (see SnapshotFormat).
+// Rows are streamed from the repository and encoded one block at a time, so memory use is bounded by the
+// block size. The file is written under a temporary name and renamed once complete. The three tables are read
+// one after another, so a live MySQL source should be a consistent read (ProjectRepositoryImpl.beginConsistentRead())
+// or tasks may reference employees written after the employee table was read.
+public class SnapshotWriter implements AutoCloseable {
+    private final FileChannel channel;
+    private final Bytes dictionaryCount = new Bytes();
+    private final Bytes dictionaryBytes = new Bytes();
+    private final Bytes rowBytes = new Bytes();
+    private final Map<String, Integer> dictionary = new HashMap<>();
+    private final CRC32 crc = new CRC32();
+    private final ByteBuffer blockHeader = ByteBuffer.allocate(SnapshotFormat.BLOCK_HEADER_SIZE);
+    private byte blockType;
+    private int blockRows;
+    private int previousId;
+
+    private SnapshotWriter(FileChannel channel) {
+        this.channel = channel;
+    }
+
+    public static ExportResult write(IProjectRepository source, Path file) throws IOException {
+        long started = System.currentTimeMillis();
+        Path temp = file.resolveSibling(file.getFileName() + ".part");
+        Map<ImportTarget, Long> rows = new EnumMap<>(ImportTarget.class);
+        try (SnapshotWriter writer = new SnapshotWriter(FileChannel.open(temp, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING))) {
+            writer.writeHeader();
+            rows.put(ImportTarget.PROJECTS, writer.writeProjects(source.streamProjects()));
+            rows.put(ImportTarget.EMPLOYEES, writer.writeEmployees(source.streamEmployees()));
+            rows.put(ImportTarget.TASKS, writer.writeTasks(source.streamTaskTable()));
+            writer.writeEnd(rows.get(ImportTarget.PROJECTS), rows.get(ImportTarget.EMPLOYEES), rows.get(ImportTarget.TASKS));
+            writer.channel.force(false);
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(temp);
+            throw e;
+        }
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING);
+        return new ExportResult(rows, System.currentTimeMillis() - started);
+    }
+
+    private void writeHeader() throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(SnapshotFormat.HEADER_SIZE);
+        header.putInt(SnapshotFormat.MAGIC).putShort(SnapshotFormat.VERSION).putShort((short) 0).putLong(System.currentTimeMillis());
+        header.flip();
+        writeFully(header);
+    }
+
+    private long writeProjects(Stream<Project> source) throws IOException {
+        long count = 0;
+        try (Stream<Project> rows = source) {
+            Iterator<Project> iterator = rows.iterator();
+            while (iterator.hasNext()) {
+                Project project = iterator.next();
+                startRow(SnapshotFormat.PROJECTS, project.getId());
+                writeString(project.getProjectName());
+                writeString(project.getDescription());
+                LocalDate startDate = project.getStartDate();
+                rowBytes.writeVarint(startDate == null ? 0 : SnapshotFormat.zigzag(startDate.toEpochDay()) + 1);
+                writeString(project.getStatus());
+                count++;
+            }
+        }
+        flushBlock();
+        return count;
+    }
+
+    private long writeEmployees(Stream<Employee> source) throws IOException {
+        long count = 0;
+        try (Stream<Employee> rows = source) {
+            Iterator<Employee> iterator = rows.iterator();
+            while (iterator.hasNext()) {
+                Employee emp = iterator.next();
+                startRow(SnapshotFormat.EMPLOYEES, emp.getId());
+                writeString(emp.getName());
+                writeString(emp.getDesignation());
+                writeString(emp.getGender());
+                rowBytes.writeLong(Double.doubleToLongBits(emp.getSalary()));
+                rowBytes.writeVarint(emp.getProjectId());
+                count++;
+            }
+        }
+        flushBlock();
+        return count;
+    }
+
+    private long writeTasks(Stream<Task> source) throws IOException {
+        long count = 0;
+        try (Stream<Task> rows = source) {
+            Iterator<Task> iterator = rows.iterator();
+            while (iterator.hasNext()) {
+                Task task = iterator.next();
+                startRow(SnapshotFormat.TASKS, task.getTaskId());
+                writeString(task.getTaskName());
+                rowBytes.writeVarint(task.getProjectId());
+                rowBytes.writeVarint(task.getEmployeeId());
+                writeString(task.getStatus());
+                count++;
+            }
+        }
+        flushBlock();
+        return count;
+    }
+
+    private void writeEnd(long projects, long employees, long tasks) throws IOException {
+        blockType = SnapshotFormat.END;
+        rowBytes.writeVarint(projects);
+        rowBytes.writeVarint(employees);
+        rowBytes.writeVarint(tasks);
+        writeBlock();
+    }
+
+    private void startRow(byte type, int id) throws IOException {
+        if (blockRows == SnapshotFormat.MAX_BLOCK_ROWS
+                || dictionaryBytes.size() + rowBytes.size() >= SnapshotFormat.MAX_BLOCK_BYTES) {
+            flushBlock();
+        }
+        blockType = type;
+        blockRows++;
+        rowBytes.writeVarint(SnapshotFormat.zigzag((long) id - previousId));
+        previousId = id;
+    }
+
+    private void writeString(String value) {
+        if (value == null) {
+            rowBytes.writeVarint(0);
+            return;
+        }
+        Integer ref = dictionary.get(value);
+        if (ref == null) {
+            ref = dictionary.size() + 1;
+            dictionary.put(value, ref);
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            dictionaryBytes.writeVarint(bytes.length);
+            dictionaryBytes.write(bytes);
+        }
+        rowBytes.writeVarint(ref);
+    }
+
+    private void flushBlock() throws IOException {
+        if (blockRows > 0) {
+            writeBlock();
+        }
+    }
+
+    private void writeBlock() throws IOException {
+        Bytes count = dictionaryCount;
+        count.clear();
+        count.writeVarint(dictionary.size());
+        crc.reset();
+        crc.update(count.data, 0, count.size);
+        crc.update(dictionaryBytes.data, 0, dictionaryBytes.size);
+        crc.update(rowBytes.data, 0, rowBytes.size);
+
+        blockHeader.clear();
+        blockHeader.put(blockType).putInt(blockRows).putInt(count.size + dictionaryBytes.size + rowBytes.size).putInt((int) crc.getValue());
+        blockHeader.flip();
+        writeFully(blockHeader);
+        writeFully(ByteBuffer.wrap(count.data, 0, count.size));
+        writeFully(ByteBuffer.wrap(dictionaryBytes.data, 0, dictionaryBytes.size));
+        writeFully(ByteBuffer.wrap(rowBytes.data, 0, rowBytes.size));
+
+        dictionary.clear();
+        dictionaryBytes.clear();
+        rowBytes.clear();
+        blockRows = 0;
+        previousId = 0;
+    }
+
+    private void writeFully(ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    // Growable byte array with varint and big-endian long encoding
+    private static final class Bytes {
+        private byte[] data = new byte[1 << 12];
+        private int size;
+
+        void writeVarint(long value) {
+            ensure(10);
+            while ((value & ~0x7FL) != 0) {
+                data[size++] = (byte) ((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            data[size++] = (byte) value;
+        }
+
+        void writeLong(long value) {
+            ensure(8);
+            for (int shift = 56; shift >= 0; shift -= 8) {
+                data[size++] = (byte) (value >>> shift);
+            }
+        }
+
+        void write(byte[] bytes) {
+            ensure(bytes.length);
+            System.arraycopy(bytes, 0, data, size, bytes.length);
+            size += bytes.length;
+        }
+
+        int size() { return size; }
+        void clear() { size = 0; }
+
+        private void ensure(int extra) {
+            if (size + extra > data.length) {
+                data = Arrays.copyOf(data, Math.max(data.length * 2, size + extra));
+            }
+        }
+    }
+}
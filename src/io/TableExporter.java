@@ -0,0 +1,157 @@
+package io;
+
+import dao.IProjectRepository;
+import entity.Employee;
+import entity.Project;
+import entity.Task;
+
+import java.io.BufferedOutputStream;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Function;
+import java.util.stream.Stream;
+import java.util.zip.GZIPOutputStream;
+
+// Exports tables to CSV or JSON Lines files, one file per table. Rows come from the repository's streaming
+// reads, which on MySQL are server-side cursors on their own pooled connection, and go out through a
+// buffered channel writer, so heap use does not grow with the table. The tables are exported in parallel.
+// Each file is written under a temporary name and renamed when complete, so a failed export never leaves
+// a truncated file that looks finished.
+public class TableExporter {
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    private final IProjectRepository repository;
+    private final ExportFormat format;
+    private final boolean gzip;
+
+    public TableExporter(IProjectRepository repository, ExportFormat format, boolean gzip) {
+        this.repository = repository;
+        this.format = format;
+        this.gzip = gzip;
+    }
+
+    public Path fileFor(Path directory, ImportTarget target) {
+        return directory.resolve(target.name().toLowerCase(Locale.ROOT) + "." + format.getExtension() + (gzip ? ".gz" : ""));
+    }
+
+    public ExportResult exportAll(Path directory) throws IOException {
+        return export(directory, Set.of(ImportTarget.values()));
+    }
+
+    public ExportResult export(Path directory, Set<ImportTarget> targets) throws IOException {
+        long started = System.currentTimeMillis();
+        Files.createDirectories(directory);
+        Map<ImportTarget, Future<Long>> running = new EnumMap<>(ImportTarget.class);
+        Map<ImportTarget, Long> rows = new EnumMap<>(ImportTarget.class);
+        List<Throwable> failures = new ArrayList<>();
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (ImportTarget target : targets) {
+                running.put(target, executor.submit(() -> exportTable(target, fileFor(directory, target))));
+            }
+            for (Map.Entry<ImportTarget, Future<Long>> entry : running.entrySet()) {
+                try {
+                    rows.put(entry.getKey(), entry.getValue().get());
+                } catch (ExecutionException e) {
+                    failures.add(e.getCause());
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    running.values().forEach(future -> future.cancel(true));
+                    throw new IOException("Export interrupted", e);
+                }
+            }
+        }
+
+        if (!failures.isEmpty()) {
+            IOException error = new IOException("Export failed: " + failures.get(0), failures.get(0));
+            failures.stream().skip(1).forEach(error::addSuppressed);
+            throw error;
+        }
+        return new ExportResult(rows, System.currentTimeMillis() - started);
+    }
+
+    public long exportTable(ImportTarget target, Path file) throws IOException {
+        switch (target) {
+            case EMPLOYEES:
+                return write(target, file, repository.streamEmployees(), TableExporter::employeeValues);
+            case PROJECTS:
+                return write(target, file, repository.streamProjects(), TableExporter::projectValues);
+            default:
+                return write(target, file, repository.streamTaskTable(), TableExporter::taskValues);
+        }
+    }
+
+    private <T> long write(ImportTarget target, Path file, Stream<T> source, Function<T, Object[]> values) throws IOException {
+        Path temp = file.resolveSibling(file.getFileName() + ".part");
+        long count = 0;
+        try (Stream<T> rows = source; Writer out = open(temp)) {
+            List<String> columns = target.getColumns();
+            Iterator<T> iterator = rows.iterator();
+            if (format == ExportFormat.CSV) {
+                CsvWriter csv = new CsvWriter(out);
+                csv.writeRow(columns.toArray());
+                while (iterator.hasNext()) {
+                    csv.writeRow(values.apply(iterator.next()));
+                    count++;
+                }
+            } else {
+                JsonWriter json = new JsonWriter(out);
+                while (iterator.hasNext()) {
+                    Object[] row = values.apply(iterator.next());
+                    json.beginObject();
+                    for (int i = 0; i < row.length; i++) {
+                        json.field(columns.get(i), row[i]);
+                    }
+                    json.endObject().newline();
+                    count++;
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(temp);
+            throw e;
+        }
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING);
+        return count;
+    }
+
+    private Writer open(Path path) throws IOException {
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+        OutputStream out = Channels.newOutputStream(channel);
+        out = gzip ? new GZIPOutputStream(out, BUFFER_SIZE) : new BufferedOutputStream(out, BUFFER_SIZE);
+        return new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), BUFFER_SIZE);
+    }
+
+    // Values in the column order of ImportTarget, which is also what CsvImporter reads back
+    private static Object[] employeeValues(Employee emp) {
+        return new Object[]{emp.getId(), emp.getName(), emp.getDesignation(), emp.getGender(), emp.getSalary(), emp.getProjectId()};
+    }
+
+    private static Object[] projectValues(Project project) {
+        return new Object[]{project.getId(), project.getProjectName(), project.getDescription(), project.getStartDate(), project.getStatus()};
+    }
+
+    private static Object[] taskValues(Task task) {
+        return new Object[]{task.getTaskId(), task.getTaskName(), task.getProjectId(), task.getEmployeeId(), task.getStatus()};
+    }
+}
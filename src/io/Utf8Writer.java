@@ -0,0 +1,143 @@
+package io;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Writer;
+import java.util.Arrays;
+
+// Writer that encodes UTF-8 straight into a byte array, without the char buffers and encoder objects of an
+// OutputStreamWriter. With an OutputStream it sends the bytes on whenever the buffer fills; without one it keeps
+// everything, e.g. to learn a response's length before sending it. A surrogate pair split across two write
+// calls is written as '?'.
+public class Utf8Writer extends Writer {
+    private final OutputStream out;
+    private byte[] buffer;
+    private int count;
+
+    public Utf8Writer(int initialSize) {
+        this(null, initialSize);
+    }
+
+    public Utf8Writer(OutputStream out, int bufferSize) {
+        this.out = out;
+        this.buffer = new byte[Math.max(bufferSize, 16)];
+    }
+
+    @Override
+    public void write(int c) throws IOException {
+        ensure(3);
+        encode((char) c);
+    }
+
+    @Override
+    public void write(char[] chars, int offset, int length) throws IOException {
+        for (int i = offset; i < offset + length; i++) {
+            char c = chars[i];
+            if (Character.isHighSurrogate(c) && i + 1 < offset + length && Character.isLowSurrogate(chars[i + 1])) {
+                writeCodePoint(Character.toCodePoint(c, chars[++i]));
+            } else {
+                write(c);
+            }
+        }
+    }
+
+    @Override
+    public void write(String text, int offset, int length) throws IOException {
+        int end = offset + length;
+        int i = offset;
+        while (i < end) {
+            // runs of ASCII, the common case, go in a byte per char
+            ensure(Math.min(end - i, buffer.length));
+            int room = buffer.length - count;
+            int stop = Math.min(end, i + room);
+            while (i < stop) {
+                char c = text.charAt(i);
+                if (c >= 0x80) {
+                    break;
+                }
+                buffer[count++] = (byte) c;
+                i++;
+            }
+            if (i < end && i < stop) {
+                char c = text.charAt(i);
+                if (Character.isHighSurrogate(c) && i + 1 < end && Character.isLowSurrogate(text.charAt(i + 1))) {
+                    writeCodePoint(Character.toCodePoint(c, text.charAt(i + 1)));
+                    i += 2;
+                } else {
+                    write(c);
+                    i++;
+                }
+            }
+        }
+    }
+
+    // Bytes buffered so far; with no OutputStream, the whole output
+    public int size() {
+        return count;
+    }
+
+    public void writeTo(OutputStream target) throws IOException {
+        target.write(buffer, 0, count);
+    }
+
+    public byte[] toByteArray() {
+        return Arrays.copyOf(buffer, count);
+    }
+
+    @Override
+    public void flush() throws IOException {
+        if (out != null) {
+            drain();
+            out.flush();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (out != null) {
+            drain();
+            out.close();
+        }
+    }
+
+    private void writeCodePoint(int codePoint) throws IOException {
+        ensure(4);
+        buffer[count++] = (byte) (0xF0 | (codePoint >> 18));
+        buffer[count++] = (byte) (0x80 | ((codePoint >> 12) & 0x3F));
+        buffer[count++] = (byte) (0x80 | ((codePoint >> 6) & 0x3F));
+        buffer[count++] = (byte) (0x80 | (codePoint & 0x3F));
+    }
+
+    private void encode(char c) {
+        if (c < 0x80) {
+            buffer[count++] = (byte) c;
+        } else if (c < 0x800) {
+            buffer[count++] = (byte) (0xC0 | (c >> 6));
+            buffer[count++] = (byte) (0x80 | (c & 0x3F));
+        } else if (Character.isSurrogate(c)) {
+            buffer[count++] = '?';
+        } else {
+            buffer[count++] = (byte) (0xE0 | (c >> 12));
+            buffer[count++] = (byte) (0x80 | ((c >> 6) & 0x3F));
+            buffer[count++] = (byte) (0x80 | (c & 0x3F));
+        }
+    }
+
+    private void ensure(int bytes) throws IOException {
+        if (count + bytes <= buffer.length) {
+            return;
+        }
+        if (out != null) {
+            drain();
+        } else {
+            buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, count + bytes));
+        }
+    }
+
+    private void drain() throws IOException {
+        if (count > 0) {
+            out.write(buffer, 0, count);
+            count = 0;
+        }
+    }
+}
@@ -1,29 +1,243 @@
 package main;
 
+import dao.AsyncProjectRepository;
+import dao.CascadeDeleter;
+import dao.CascadeResult;
 import dao.IProjectRepository;
-import dao.ProjectRepositoryImpl;
+import dao.IReportRepository;
+import dao.Page;
+import dao.ProjectRepositoryFactory;
+import dao.QueryPlanChecker;
+import dao.SchemaMigrator;
+import dao.TaskFilter;
+import dao.UnitOfWork;
 import entity.Employee;
+import entity.EmployeeWorkload;
 import entity.Project;
+import entity.ProjectCost;
+import entity.ProjectTaskSummary;
 import entity.Task;
 import exception.EmployeeNotFoundException;
 import exception.ProjectNotFoundException;
-
+import exception.UncheckedSQLException;
+import io.CsvImporter;
+import io.ExportFormat;
+import io.ExportResult;
+import io.ImportResult;
+import io.ImportTarget;
+import io.SnapshotWriter;
+import io.TableExporter;
+import server.ProjectHttpServer;
+import util.DBConnUtil;
+import util.DBPropertyUtil;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.sql.SQLException;
 import java.time.LocalDate;
-import java.time.format.DateTimeFormatter;
+import java.util.EnumSet;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Scanner;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.function.Consumer;
+import java.util.function.Function;
 
 public class MainModule {
+    private static final int PAGE_SIZE = 20;
     private static final Scanner scanner = new Scanner(System.in);
-    private static final IProjectRepository repository = new ProjectRepositoryImpl();
+    private static final IProjectRepository repository = ProjectRepositoryFactory.create();
+    private static final IReportRepository reports = ProjectRepositoryFactory.createReports(repository);
+    private static final AsyncProjectRepository async = ProjectRepositoryFactory.createAsync(repository);
 
     public static void main(String[] args) {
+        if (args.length > 0) {
+            runCommand(args);
+            async.close();
+            DBConnUtil.shutdown();
+            return;
+        }
         System.out.println("Enter 0 for console mode and 1 for GUI Mode");
             runConsole();
     }
 
+    // Non-interactive commands, e.g. import tasks tasks.csv --resume
+    private static void runCommand(String[] args) {
+        if (args[0].equals("import") && args.length >= 3) {
+            importFile(args);
+        } else if (args[0].equals("export") && args.length >= 2) {
+            exportTables(args);
+        } else if (args[0].equals("snapshot") && args.length >= 2) {
+            writeSnapshot(Paths.get(args[1]));
+        } else if (args[0].equals("delete") && args.length >= 3) {
+            cascadeDelete(args);
+        } else if (args[0].equals("schema") && args.length >= 2) {
+            schemaCommand(args[1]);
+        } else if (args[0].equals("serve")) {
+            serve(args);
+        } else {
+            System.out.println("Usage: import <employees|projects|tasks> <file.csv> [--resume] [--load-data]");
+            System.out.println("       export <directory> [--format csv|jsonl] [--gzip] [--tables employees,projects,tasks]");
+            System.out.println("       snapshot <file>");
+            System.out.println("       delete project <id> [--employees delete|detach]");
+            System.out.println("       delete employee <id> [--tasks delete|unassign]");
+            System.out.println("       schema <migrate|status|check>");
+            System.out.println("       serve [port]");
+        }
+    }
+
+    // Serves the repository as REST/JSON until the process is stopped
+    private static void serve(String[] args) {
+        try {
+            int port = args.length > 1 ? Integer.parseInt(args[1])
+                    : DBPropertyUtil.getInt(DBPropertyUtil.getProperties("db.properties"), "server.port", 8080);
+            ProjectHttpServer server = ProjectHttpServer.fromProperties(repository, DBPropertyUtil.getProperties("db.properties"), port);
+            server.setRebalancer(ProjectRepositoryFactory.createRebalancer());
+            CountDownLatch stopped = new CountDownLatch(1);
+            Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+                server.stop(1);
+                stopped.countDown();
+            }));
+            server.start();
+            System.out.println("Listening on http://localhost:" + server.getAddress().getPort() + "/ (Ctrl+C to stop)");
+            stopped.await();
+        } catch (NumberFormatException e) {
+            System.out.println("Not a port number: " + args[1]);
+        } catch (IOException e) {
+            System.out.println("Server failed to start: " + e.getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void schemaCommand(String action) {
+        try {
+            SchemaMigrator migrator = new SchemaMigrator(DBConnUtil::getConnection);
+            if (action.equals("migrate")) {
+                List<SchemaMigrator.Migration> applied = migrator.migrate();
+                System.out.println(applied.isEmpty() ? "Schema is up to date." : "Applied " + applied.size() + " migration(s).");
+            } else if (action.equals("status")) {
+                List<SchemaMigrator.Migration> pending = migrator.pending();
+                for (SchemaMigrator.Migration migration : migrator.getMigrations()) {
+                    System.out.println((pending.contains(migration) ? "pending  " : "applied  ") + migration.script());
+                }
+            } else if (action.equals("check")) {
+                List<QueryPlanChecker.Finding> findings = new QueryPlanChecker(DBConnUtil::getConnection).check();
+                findings.forEach(System.out::println);
+                System.out.println(findings.isEmpty() ? "✅ Every statement reads through an index." : "❌ " + findings.size() + " full scan(s).");
+            } else {
+                System.out.println("Unknown schema command: " + action);
+            }
+        } catch (IllegalStateException e) {
+            System.out.println("❌ " + e.getMessage());
+        } catch (IOException | SQLException e) {
+            System.out.println("Schema command failed: " + e.getMessage());
+            e.printStackTrace();
+        }
+    }
+
+    // Deletes a project or employee with everything referencing it, a chunk at a time
+    private static void cascadeDelete(String[] args) {
+        CascadeDeleter.Dependents dependents = CascadeDeleter.Dependents.DELETE;
+        try (CascadeDeleter deleter = ProjectRepositoryFactory.createCascadeDeleter()) {
+            int id = Integer.parseInt(args[2]);
+            boolean project = args[1].equals("project");
+            if (!project && !args[1].equals("employee")) {
+                throw new IllegalArgumentException("Unknown entity: " + args[1]);
+            }
+            for (int i = 3; i < args.length; i++) {
+                if (args[i].equals(project ? "--employees" : "--tasks") && i + 1 < args.length) {
+                    String mode = args[++i];
+                    if (mode.equals(project ? "detach" : "unassign")) {
+                        dependents = CascadeDeleter.Dependents.DETACH;
+                    } else if (!mode.equals("delete")) {
+                        throw new IllegalArgumentException("Unknown mode: " + mode);
+                    }
+                } else {
+                    throw new IllegalArgumentException("Unknown option: " + args[i]);
+                }
+            }
+            CascadeDeleter.Progress progress = soFar -> System.out.print("\r" + soFar);
+            CascadeResult result = project
+                    ? deleter.deleteProject(id, dependents, progress)
+                    : deleter.deleteEmployee(id, dependents, progress);
+            System.out.println();
+            System.out.println("Delete finished: " + result);
+        } catch (IllegalArgumentException | IllegalStateException e) {
+            System.out.println(e.getMessage());
+        } catch (EmployeeNotFoundException | ProjectNotFoundException e) {
+            System.out.println("❌ " + e.getMessage());
+        } catch (SQLException | InterruptedException e) {
+            System.out.println();
+            System.out.println("Delete stopped, run it again to finish: " + e.getMessage());
+            e.printStackTrace();
+        }
+    }
+
+    // On MySQL the three tables are read in one consistent snapshot, so every task's employee and project are in the file
+    private static void writeSnapshot(Path file) {
+        try (UnitOfWork read = ProjectRepositoryFactory.beginConsistentRead()) {
+            System.out.println("Snapshot written: " + SnapshotWriter.write(read == null ? repository : read.repository(), file));
+        } catch (IOException | SQLException | UncheckedSQLException e) {
+            System.out.println("Snapshot failed: " + e.getMessage());
+            e.printStackTrace();
+        }
+    }
+
+    private static void exportTables(String[] args) {
+        ExportFormat format = ExportFormat.CSV;
+        boolean gzip = false;
+        Set<ImportTarget> tables = EnumSet.allOf(ImportTarget.class);
+        try {
+            for (int i = 2; i < args.length; i++) {
+                if (args[i].equals("--gzip")) {
+                    gzip = true;
+                } else if (args[i].equals("--format") && i + 1 < args.length) {
+                    format = ExportFormat.fromName(args[++i]);
+                } else if (args[i].equals("--tables") && i + 1 < args.length) {
+                    tables = EnumSet.noneOf(ImportTarget.class);
+                    for (String name : args[++i].split(",")) {
+                        tables.add(ImportTarget.fromName(name.trim()));
+                    }
+                } else {
+                    throw new IllegalArgumentException("Unknown option: " + args[i]);
+                }
+            }
+            ExportResult result = new TableExporter(repository, format, gzip).export(Paths.get(args[1]), tables);
+            System.out.println("Export finished: " + result);
+        } catch (IllegalArgumentException e) {
+            System.out.println(e.getMessage());
+        } catch (IOException e) {
+            System.out.println("Export failed: " + e.getMessage());
+            e.printStackTrace();
+        }
+    }
+
+    private static void importFile(String[] args) {
+        List<String> options = List.of(args).subList(3, args.length);
+        try {
+            ImportTarget target = ImportTarget.fromName(args[1]);
+            Path file = Paths.get(args[2]);
+            ImportResult result = options.contains("--load-data")
+                    ? CsvImporter.loadDataInfile(target, file)
+                    : new CsvImporter(repository).importFile(target, file, options.contains("--resume"));
+            System.out.println("Import finished: " + result);
+            if (result.getRowsRejected() > 0) {
+                System.out.println("Rejected rows written to " + CsvImporter.rejectedFile(file));
+            }
+        } catch (IllegalArgumentException e) {
+            System.out.println(e.getMessage());
+        } catch (IOException | SQLException e) {
+            System.out.println("Import failed: " + e.getMessage());
+            e.printStackTrace();
+        }
+    }
+
     private static void runConsole() {
         Map<Integer, Runnable> actions = new HashMap<>();
         actions.put(1, MainModule::addEmployee);
@@ -35,6 +249,7 @@ public class MainModule {
         actions.put(7, MainModule::deleteProject);
         actions.put(8, MainModule::listAllTasks);
         actions.put(9, MainModule::showAllTables);
+        actions.put(10, MainModule::showReports);
 
         while (true) {
             displayMenu();
@@ -44,6 +259,8 @@ public class MainModule {
 
             if (choice == 0) {
                 System.out.println("Exiting the application. Goodbye!");
+                async.close();
+                DBConnUtil.shutdown();
                 return;
             }
 
@@ -79,6 +296,7 @@ public class MainModule {
         System.out.println(BLUE + "║" + RESET + GREEN + " 7. " + RESET + WHITE + "Delete Project                      " + BLUE + "║" + RESET);
         System.out.println(BLUE + "║" + RESET + GREEN + " 8. " + RESET + WHITE + "List All Tasks in a Project         " + BLUE + "║" + RESET);
         System.out.println(BLUE + "║" + RESET + GREEN + " 9. " + RESET + WHITE + "Show All Tables                     " + BLUE + "║" + RESET);
+        System.out.println(BLUE + "║" + RESET + GREEN + "10. " + RESET + WHITE + "Reports                             " + BLUE + "║" + RESET);
 
         System.out.println(BLUE + "╠════════════════════════════════════════╣" + RESET);
         System.out.println(BLUE + "║" + RESET + RED + " 0. " + RESET + WHITE + "Exit                                " + BLUE + "║" + RESET);
@@ -93,7 +311,7 @@ public class MainModule {
         String name = scanner.nextLine();
         System.out.print("Enter designation: ");
         String designation = scanner.nextLine();
-        System.out.print("Enter gender: ");
+        System.out.print("Enter gender (Male/Female/Other): ");
         String gender = scanner.nextLine();
         System.out.print("Enter salary: ");
         double salary = scanner.nextDouble();
@@ -118,7 +336,7 @@ public class MainModule {
         String description = scanner.nextLine();
         System.out.print("Enter start date (YYYY-MM-DD): ");
         LocalDate startDate = LocalDate.parse(scanner.nextLine());
-        System.out.print("Enter status: ");
+        System.out.print("Enter status (started/development/build/test/deployed): ");
         String status = scanner.nextLine();
 
         Project project = new Project(0, projectName, description, startDate, status);
@@ -134,7 +352,7 @@ public class MainModule {
         int projectId = scanner.nextInt();
         System.out.print("Enter employee ID: ");
         int employeeId = scanner.nextInt();
-        System.out.print("Enter status: ");
+        System.out.print("Enter status (Assigned/Started/Completed): ");
         scanner.nextLine(); // Consume newline
         String status = scanner.nextLine();
 
@@ -217,28 +435,51 @@ public class MainModule {
         }
     }
 
+    // The three first pages are fetched concurrently; later pages are fetched as the user asks for them
     private static void showAllTables() {
-        listAllProjects();
-        listAllEmployees();
-        listTaskTable();
+        AsyncProjectRepository.FirstPages pages;
+        try {
+            pages = async.getFirstPages(PAGE_SIZE).join();
+        } catch (CompletionException | CancellationException e) {
+            System.out.println("Could not load the tables: " + (e.getCause() != null ? e.getCause() : e));
+            return;
+        }
+        listAllProjects(pages.projects());
+        listAllEmployees(pages.employees());
+        listTaskTable(pages.tasks());
     }
-    private static void listAllEmployees() {
-        List<Employee> employees = repository.getAllEmployees();
 
-        // Initialize maximum widths with the header lengths
-        int idWidth = 5; // Fixed width for ID
-        int nameWidth = "Name".length()+4;
-        int designationWidth = "Designation".length()+4;
-        int genderWidth = "Gender".length()+4;
-        int salaryWidth = "Salary".length()+4;
-
-        // Calculate maximum widths based on employee data
-        for (Employee employee : employees) {
-            nameWidth = Math.max(nameWidth, employee.getName().length());
-            designationWidth = Math.max(designationWidth, employee.getDesignation().length());
-            genderWidth = Math.max(genderWidth, employee.getGender().length());
-            salaryWidth = Math.max(salaryWidth, String.format("%.2f", employee.getSalary()).length());
+    // Prints one page at a time and asks before fetching the next; returns false if there was nothing to print.
+    // first is the already fetched first page, or null to fetch it here.
+    private static <T> boolean printPaged(Page<T> first, Function<String, Page<T>> fetch, Consumer<T> printer) {
+        String token = null;
+        boolean printedAny = false;
+        Page<T> page = first;
+        while (true) {
+            if (page == null) {
+                page = fetch.apply(token);
+            }
+            page.getItems().forEach(printer);
+            printedAny |= !page.getItems().isEmpty();
+            if (!page.hasNext()) {
+                return printedAny;
+            }
+            System.out.print("-- Press Enter for more, or q to skip: ");
+            if (scanner.nextLine().trim().equalsIgnoreCase("q")) {
+                return true;
+            }
+            token = page.getNextPageToken();
+            page = null;
         }
+    }
+
+    private static void listAllEmployees(Page<Employee> first) {
+        // Pages are printed as they are fetched, so column widths are fixed up front
+        int idWidth = 5;
+        int nameWidth = 20;
+        int designationWidth = 20;
+        int genderWidth = "Gender".length()+4;
+        int salaryWidth = 12;
 
         // Print the header
         System.out.println("\n==================================================================");
@@ -249,39 +490,26 @@ public class MainModule {
         System.out.println("------------------------------------------------------------------");
 
         // Employee entries
-        if (employees.isEmpty()) {
-            System.out.println("Employee Table is Empty");
-        } else {
-            for (Employee employee : employees) {
+        boolean any = printPaged(first, token -> repository.findEmployees(null, token, PAGE_SIZE), employee ->
                 System.out.printf("%-" + idWidth + "d %-" + nameWidth + "s %-" + designationWidth + "s %-" + genderWidth + "s %-" + salaryWidth + ".2f%n",
                         employee.getId(),
                         employee.getName(),
                         employee.getDesignation(),
                         employee.getGender(),
-                        employee.getSalary());
-            }
+                        employee.getSalary()));
+        if (!any) {
+            System.out.println("Employee Table is Empty");
         }
         System.out.println("===================================================================");
     }
 
-    private static void listAllProjects() {
-        List<Project> projects = repository.getAllProjects();
-        DateTimeFormatter dateFormatter = DateTimeFormatter.ofPattern("yyyy-MM-dd");
-        // Initialize maximum widths with the header lengths
-        int idWidth = 5; // Fixed width for ID
-        int projectNameWidth = "Project Name".length() + 4;
-        int descriptionWidth = "Description".length() + 4;
-        int statusWidth = "Status".length() + 4;
-        int startDateWidth = "Start Date".length() + 4; // For the startDate column
-
-        // Calculate maximum widths based on project data
-        for (Project project : projects) {
-            projectNameWidth = Math.max(projectNameWidth, project.getProjectName().length());
-            descriptionWidth = Math.max(descriptionWidth, project.getDescription().length());
-            statusWidth = Math.max(statusWidth, project.getStatus().length());
-            String startDateString = project.getStartDate().format(dateFormatter);
-            startDateWidth = Math.max(startDateWidth, startDateString.length());
-        }
+    private static void listAllProjects(Page<Project> first) {
+        // Pages are printed as they are fetched, so column widths are fixed up front
+        int idWidth = 5;
+        int projectNameWidth = 20;
+        int descriptionWidth = 30;
+        int statusWidth = 14;
+        int startDateWidth = "Start Date".length() + 4;
 
         // Print the header
         System.out.println("\n===========================================================================================");
@@ -292,40 +520,27 @@ public class MainModule {
         System.out.println("-------------------------------------------------------------------------------------------");
 
         // Project entries
-        if (projects.isEmpty()) {
-            System.out.println("No projects found.");
-        } else {
-            for (Project project : projects) {
+        boolean any = printPaged(first, token -> repository.findProjects(null, token, PAGE_SIZE), project ->
                 System.out.printf("%-" + idWidth + "d %-" + projectNameWidth + "s %-" + descriptionWidth + "s %-" + statusWidth + "s %-" + startDateWidth + "s%n",
                         project.getId(),
                         project.getProjectName(),
                         project.getDescription(),
                         project.getStatus(),
-                        project.getStartDate()); // Display startDate for each project
-            }
+                        project.getStartDate())); // Display startDate for each project
+        if (!any) {
+            System.out.println("No projects found.");
         }
         System.out.println("===========================================================================================");
     }
 
-
-    private static void listTaskTable() {
-        List<Task> tasks = repository.getTaskTable();
-
-        // Initialize maximum widths with the header lengths
-        int idWidth = 5; // Fixed width for ID
-        int taskNameWidth = "Task Name".length()+4;
+    private static void listTaskTable(Page<Task> first) {
+        // Pages are printed as they are fetched, so column widths are fixed up front
+        int idWidth = 5;
+        int taskNameWidth = 30;
         int projectIdWidth = "Project ID".length()+4;
         int empIdWidth = "Emp ID".length()+4;
         int statusWidth = "Status".length()+4;
 
-        // Calculate maximum widths based on task data
-        for (Task task : tasks) {
-            taskNameWidth = Math.max(taskNameWidth, task.getTaskName().length());
-            projectIdWidth = Math.max(projectIdWidth, String.valueOf(task.getProjectId()).length());
-            empIdWidth = Math.max(empIdWidth, String.valueOf(task.getEmployeeId()).length());
-            statusWidth = Math.max(statusWidth, task.getStatus().length());
-        }
-
         // Print the header
         System.out.println("\n======================================================================================");
         System.out.println("                                  Tasks                            ");
@@ -335,18 +550,62 @@ public class MainModule {
         System.out.println("---------------------------------------------------------------------------------------");
 
         // Task entries
-        if (tasks.isEmpty()) {
-            System.out.println("No tasks found.");
-        } else {
-            for (Task task : tasks) {
+        boolean any = printPaged(first, token -> repository.findTasks(TaskFilter.all(), token, PAGE_SIZE), task ->
                 System.out.printf("%-" + idWidth + "d %-" + taskNameWidth + "s %-" + projectIdWidth + "d %-" + empIdWidth + "d %-" + statusWidth + "s%n",
                         task.getTaskId(),
                         task.getTaskName(),
                         task.getProjectId(),
                         task.getEmployeeId(),
-                        task.getStatus());
-            }
+                        task.getStatus()));
+        if (!any) {
+            System.out.println("No tasks found.");
         }
         System.out.println("=======================================================================================");
     }
-}
\ No newline at end of file
+
+    private static void showReports() {
+        System.out.println("----- Reports -----");
+        System.out.print("Cost period start (YYYY-MM-DD, blank for none): ");
+        String from = scanner.nextLine().trim();
+        System.out.print("Cost period end (YYYY-MM-DD, blank for none): ");
+        String to = scanner.nextLine().trim();
+        System.out.print("Workload for project ID (blank for all employees): ");
+        String projectId = scanner.nextLine().trim();
+
+        System.out.println("\n===================================================================================");
+        System.out.println("                              Tasks by Status per Project                          ");
+        System.out.println("===================================================================================");
+        System.out.printf("%-5s %-30s %-10s %-10s %-10s %-10s%n", "ID", "Project Name", "Assigned", "Started", "Completed", "Total");
+        System.out.println("-----------------------------------------------------------------------------------");
+        for (ProjectTaskSummary row : reports.getTaskStatusByProject()) {
+            System.out.printf("%-5d %-30s %-10d %-10d %-10d %-10d%n",
+                    row.projectId(), row.projectName(), row.assigned(), row.started(), row.completed(), row.total());
+        }
+
+        System.out.println("\n===================================================================================");
+        System.out.println("                                  Project Costs                                    ");
+        System.out.println("===================================================================================");
+        System.out.printf("%-5s %-30s %-14s %-10s %-15s%n", "ID", "Project Name", "Start Date", "Headcount", "Total Salary");
+        System.out.println("-----------------------------------------------------------------------------------");
+        List<ProjectCost> costs = reports.getProjectCosts(from.isEmpty() ? null : LocalDate.parse(from),
+                to.isEmpty() ? null : LocalDate.parse(to));
+        double grandTotal = 0;
+        for (ProjectCost row : costs) {
+            System.out.printf("%-5d %-30s %-14s %-10d %-15.2f%n",
+                    row.projectId(), row.projectName(), row.startDate(), row.headcount(), row.totalSalary());
+            grandTotal += row.totalSalary();
+        }
+        System.out.printf("%-62s %-15.2f%n", "Total", grandTotal);
+
+        System.out.println("\n===================================================================================");
+        System.out.println("                                Employee Workload                                  ");
+        System.out.println("===================================================================================");
+        System.out.printf("%-5s %-20s %-10s %-10s %-10s %-10s %-10s%n", "ID", "Name", "Project", "Assigned", "Started", "Completed", "Total");
+        System.out.println("-----------------------------------------------------------------------------------");
+        for (EmployeeWorkload row : reports.getEmployeeWorkloads(projectId.isEmpty() ? null : Integer.valueOf(projectId))) {
+            System.out.printf("%-5d %-20s %-10d %-10d %-10d %-10d %-10d%n",
+                    row.employeeId(), row.name(), row.projectId(), row.assigned(), row.started(), row.completed(), row.total());
+        }
+        System.out.println("===================================================================================");
+    }
+}
@@ -0,0 +1,196 @@
+package server;
+
+import dao.BatchResult;
+import dao.Page;
+import dao.ShardRebalancer;
+import entity.Employee;
+import entity.Gender;
+import entity.Project;
+import entity.ProjectStatus;
+import entity.Task;
+import entity.TaskStatus;
+import io.JsonWriter;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+// Entities to and from JSON, with the column names of the export files (see ImportTarget). Numbers are written
+// as primitives, so a row costs no boxing and no intermediate strings beyond the entity's own.
+final class JsonCodec {
+
+    private JsonCodec() {}
+
+    static void writeEmployee(JsonWriter json, Employee emp) throws IOException {
+        json.beginObject();
+        json.name("id").value(emp.getId());
+        json.name("name").value(emp.getName());
+        json.name("designation").value(emp.getDesignation());
+        json.name("gender").value(emp.getGender());
+        json.name("salary").value(emp.getSalary());
+        json.name("project_id").value(emp.getProjectId());
+        json.endObject();
+    }
+
+    static void writeProject(JsonWriter json, Project project) throws IOException {
+        json.beginObject();
+        json.name("id").value(project.getId());
+        json.name("projectName").value(project.getProjectName());
+        json.name("description").value(project.getDescription());
+        json.name("startDate").value(project.getStartDate() == null ? null : project.getStartDate().toString());
+        json.name("status").value(project.getStatus());
+        json.endObject();
+    }
+
+    static void writeTask(JsonWriter json, Task task) throws IOException {
+        json.beginObject();
+        json.name("task_id").value(task.getTaskId());
+        json.name("task_name").value(task.getTaskName());
+        json.name("project_id").value(task.getProjectId());
+        json.name("employee_id").value(task.getEmployeeId());
+        json.name("status").value(task.getStatus());
+        json.endObject();
+    }
+
+    interface ItemWriter<T> {
+        void write(JsonWriter json, T item) throws IOException;
+    }
+
+    static <T> void writePage(JsonWriter json, Page<T> page, ItemWriter<T> items) throws IOException {
+        json.beginObject();
+        json.name("items").beginArray();
+        for (T item : page.getItems()) {
+            items.write(json, item);
+        }
+        json.endArray();
+        json.name("nextPageToken").value(page.getNextPageToken());
+        json.endObject();
+    }
+
+    // Generated ids in row order, 0 for rows that failed, and the reason for each failed row by index
+    static void writeBatchResult(JsonWriter json, BatchResult result) throws IOException {
+        json.beginObject();
+        json.name("rows").value(result.getRowCount());
+        json.name("succeeded").value(result.getSuccessCount());
+        json.name("failed").value(result.getFailureCount());
+        json.name("ids").beginArray();
+        for (int i = 0; i < result.getRowCount(); i++) {
+            json.value(result.getGeneratedId(i));
+        }
+        json.endArray();
+        json.name("failures").beginObject();
+        for (Map.Entry<Integer, String> failure : result.getFailures().entrySet()) {
+            json.name(failure.getKey().toString()).value(failure.getValue());
+        }
+        json.endObject();
+        json.endObject();
+    }
+
+    static void writeMoveResult(JsonWriter json, ShardRebalancer.MoveResult result) throws IOException {
+        json.beginObject();
+        json.name("project_id").value(result.projectId());
+        json.name("from_shard").value(result.fromShard());
+        json.name("to_shard").value(result.toShard());
+        json.name("tasks_copied").value(result.tasksCopied());
+        json.name("tasks_recopied").value(result.tasksRecopied());
+        json.name("tasks_removed").value(result.tasksRemoved());
+        json.name("pause_ms").value(result.pauseMillis());
+        json.name("elapsed_ms").value(result.elapsedMillis());
+        json.endObject();
+    }
+
+    // Request bodies, validated the way CsvImporter validates rows
+    static Employee readEmployee(Map<String, Object> body) {
+        String gender = optionalString(body, "gender");
+        Gender.fromLabel(gender);
+        Number salary = optionalNumber(body, "salary");
+        return new Employee(0, requiredString(body, "name"), optionalString(body, "designation"), gender,
+                salary == null ? 0 : salary.doubleValue(), requiredInt(body, "project_id"));
+    }
+
+    static Project readProject(Map<String, Object> body) {
+        String status = optionalString(body, "status");
+        ProjectStatus.fromLabel(status);
+        return new Project(0, requiredString(body, "projectName"), optionalString(body, "description"),
+                LocalDate.parse(requiredString(body, "startDate")), status);
+    }
+
+    static Task readTask(Map<String, Object> body) {
+        String status = optionalString(body, "status");
+        TaskStatus.fromLabel(status);
+        return new Task(0, requiredString(body, "task_name"), requiredInt(body, "project_id"),
+                requiredInt(body, "employee_id"), status);
+    }
+
+    @SuppressWarnings("unchecked")
+    static Map<String, Object> asObject(Object value, String what) {
+        if (!(value instanceof Map)) {
+            throw new IllegalArgumentException(what + " must be a JSON object");
+        }
+        return (Map<String, Object>) value;
+    }
+
+    static List<Map<String, Object>> asObjects(List<?> values, String what) {
+        List<Map<String, Object>> objects = new ArrayList<>(values.size());
+        for (Object value : values) {
+            objects.add(asObject(value, what));
+        }
+        return objects;
+    }
+
+    static List<Integer> requiredIntList(Map<String, Object> body, String field) {
+        if (!(body.get(field) instanceof List<?> values)) {
+            throw new IllegalArgumentException("Missing array " + field);
+        }
+        List<Integer> ints = new ArrayList<>(values.size());
+        for (Object value : values) {
+            ints.add(toInt(value, field));
+        }
+        return ints;
+    }
+
+    static int requiredInt(Map<String, Object> body, String field) {
+        Object value = body.get(field);
+        if (value == null) {
+            throw new IllegalArgumentException("Missing value for " + field);
+        }
+        return toInt(value, field);
+    }
+
+    private static int toInt(Object value, String field) {
+        if (!(value instanceof Long number) || number < Integer.MIN_VALUE || number > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException(field + " must be an integer");
+        }
+        return number.intValue();
+    }
+
+    private static String requiredString(Map<String, Object> body, String field) {
+        String value = optionalString(body, field);
+        if (value == null) {
+            throw new IllegalArgumentException("Missing value for " + field);
+        }
+        return value;
+    }
+
+    // Trimmed, null when absent or blank
+    private static String optionalString(Map<String, Object> body, String field) {
+        Object value = body.get(field);
+        if (value == null) {
+            return null;
+        }
+        if (!(value instanceof String text)) {
+            throw new IllegalArgumentException(field + " must be a string");
+        }
+        return text.isBlank() ? null : text.trim();
+    }
+
+    private static Number optionalNumber(Map<String, Object> body, String field) {
+        Object value = body.get(field);
+        if (value != null && !(value instanceof Number)) {
+            throw new IllegalArgumentException(field + " must be a number");
+        }
+        return (Number) value;
+    }
+}
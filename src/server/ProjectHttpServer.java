@@ -0,0 +1,564 @@
+package server;
+
+import com.sun.net.httpserver.Headers;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import dao.BatchResult;
+import dao.IProjectRepository;
+import dao.Page;
+import dao.ShardRebalancer;
+import dao.TaskFilter;
+import entity.Employee;
+import entity.Project;
+import entity.Task;
+import exception.EmployeeNotFoundException;
+import exception.ProjectNotFoundException;
+import io.JsonReader;
+import io.JsonWriter;
+import io.Utf8Writer;
+import util.DBConnUtil;
+import util.DBPropertyUtil;
+import util.LatencyHistogram;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.PrintStream;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.sql.SQLException;
+import java.time.DateTimeException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+// REST/JSON front for an IProjectRepository on the JDK's built-in HTTP server. Every request runs on a virtual
+// thread of its own, so a request waiting on MySQL or on the connection pool costs no platform thread.
+// Connections are kept alive between requests. Single entities, pages and batch results are sent with a
+// Content-Length; the full-table listings are streamed as a chunked JSON array straight from the repository's
+// streaming reads, so their size never sits in memory. Latencies are kept per route and served by GET /stats;
+// a request slower than slowRequestMillis is logged, and with accessLog every request is.
+// With read replicas, every response carries an X-Read-After consistency token (see DBConnUtil.getReadAfter);
+// a client that sends it back on a later request reads that request's writes even though each request runs
+// on a thread of its own.
+// With the sharded backend and setRebalancer(), PUT /projects/{id}/shard moves a project's tasks to another shard.
+// The move is only offered here because it tracks the project's writes in memory: they must all go through this
+// process while it runs.
+//
+//   GET    /projects[?status=&pageToken=&pageSize=]   every project, or one page when pageSize is given
+//   POST   /projects                                    one project, or an array of them as a batch
+//   GET    /projects/{id}     HEAD /projects/{id}     DELETE /projects/{id}
+//   GET    /projects/{id}/employees/{employeeId}/tasks  the employee's tasks in the project
+//   POST   /projects/{id}/assignments                   {"employee_id":1,"task_ids":[...]}
+//   PUT    /projects/{id}/shard                         {"shard":2}, answered once the move is done
+//   GET    /employees[?project_id=&pageToken=&pageSize=]
+//   POST   /employees
+//   GET    /employees/{id}    HEAD /employees/{id}    DELETE /employees/{id}
+//   PUT    /employees/{id}/project                      {"project_id":1}
+//   GET    /tasks[?project_id=&employee_id=&status=&pageToken=&pageSize=]
+//   POST   /tasks
+//   PUT    /tasks/{id}/employee                         {"project_id":1,"employee_id":1}
+//   GET    /stats
+public class ProjectHttpServer implements AutoCloseable {
+    private static final String JSON = "application/json; charset=utf-8";
+    private static final String READ_AFTER = "X-Read-After";
+    private static final int STREAM_BUFFER = 1 << 15;
+    private static final int MAX_BODY_BYTES = 16 << 20;
+    private static final List<String> METHODS = List.of("GET", "HEAD", "POST", "PUT", "DELETE");
+    private static final List<String> PATH_WORDS = List.of("projects", "employees", "tasks", "stats", "assignments", "project", "employee", "shard");
+
+    private final IProjectRepository repository;
+    private final HttpServer server;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final Map<String, LatencyHistogram> latencies = new ConcurrentHashMap<>();
+    private final long slowRequestNanos;
+    private final boolean accessLog;
+    private final PrintStream log;
+    private volatile ShardRebalancer rebalancer; // null unless project moves are enabled
+
+    public ProjectHttpServer(IProjectRepository repository, InetSocketAddress address, int backlog,
+                             long slowRequestMillis, boolean accessLog, PrintStream log) throws IOException {
+        this.repository = repository;
+        this.slowRequestNanos = TimeUnit.MILLISECONDS.toNanos(slowRequestMillis);
+        this.accessLog = accessLog;
+        this.log = log;
+        this.server = HttpServer.create(address, backlog);
+        server.createContext("/", this::handle);
+        server.setExecutor(executor);
+    }
+
+    // Settings from db.properties: server.backlog, server.slowRequestMs, server.accessLog and
+    // server.maxIdleConnections, the number of idle keep-alive connections held open for reuse
+    public static ProjectHttpServer fromProperties(IProjectRepository repository, Properties properties, int port) throws IOException {
+        // Read once, when the first server is created; explicit -D settings win
+        System.setProperty("sun.net.httpserver.maxIdleConnections", System.getProperty("sun.net.httpserver.maxIdleConnections",
+                Integer.toString(DBPropertyUtil.getInt(properties, "server.maxIdleConnections", 1000))));
+        // Small responses on a kept-alive connection would otherwise wait for the client's delayed ACK
+        System.setProperty("sun.net.httpserver.nodelay", System.getProperty("sun.net.httpserver.nodelay", "true"));
+        return new ProjectHttpServer(repository, new InetSocketAddress(port),
+                DBPropertyUtil.getInt(properties, "server.backlog", 1024),
+                DBPropertyUtil.getLong(properties, "server.slowRequestMs", 500),
+                DBPropertyUtil.getBoolean(properties, "server.accessLog", false), System.out);
+    }
+
+    public void start() {
+        server.start();
+    }
+
+    public InetSocketAddress getAddress() {
+        return server.getAddress();
+    }
+
+    // Stops accepting, gives running requests up to the delay to finish, then interrupts what is left
+    public void stop(int delaySeconds) {
+        server.stop(delaySeconds);
+        executor.shutdownNow();
+    }
+
+    @Override
+    public void close() {
+        stop(0);
+    }
+
+    // Enables PUT /projects/{id}/shard; the rebalancer must move projects of the repository this server serves
+    public void setRebalancer(ShardRebalancer rebalancer) {
+        this.rebalancer = rebalancer;
+    }
+
+    public Map<String, LatencyHistogram> getLatencies() {
+        return latencies;
+    }
+
+    // Thrown by handlers for any answer other than success
+    private static final class HttpError extends RuntimeException {
+        private static final long serialVersionUID = 1L;
+        private final int status;
+        private final boolean unknownRoute;
+
+        HttpError(int status, String message) {
+            this(status, message, false);
+        }
+
+        private HttpError(int status, String message, boolean unknownRoute) {
+            super(message, null, false, false);
+            this.status = status;
+            this.unknownRoute = unknownRoute;
+        }
+
+        static HttpError noResource(String[] path) {
+            return new HttpError(404, "No resource at /" + String.join("/", path), true);
+        }
+    }
+
+    private void handle(HttpExchange exchange) {
+        long started = System.nanoTime();
+        String method = exchange.getRequestMethod();
+        String path = exchange.getRequestURI().getRawPath();
+        String[] segments = segments(path);
+        String route = routeName(method, segments);
+        int status;
+        try (exchange) {
+            try {
+                status = dispatch(exchange, method, segments);
+            } catch (HttpError e) {
+                if (e.unknownRoute) {
+                    route = "unknown"; // keeps the latency table from growing with every path a client makes up
+                }
+                status = sendError(exchange, e.status, e.getMessage());
+            } catch (EmployeeNotFoundException | ProjectNotFoundException e) {
+                status = sendError(exchange, 404, e.getMessage());
+            } catch (IllegalArgumentException | DateTimeException e) {
+                status = sendError(exchange, 400, e.getMessage());
+            } catch (IOException e) {
+                status = 499; // the client went away
+            } catch (RuntimeException e) {
+                e.printStackTrace();
+                status = sendError(exchange, 500, "Internal error");
+            }
+        } catch (IOException e) {
+            status = 499;
+        }
+        long elapsed = System.nanoTime() - started;
+        latencies.computeIfAbsent(route, name -> new LatencyHistogram()).record(elapsed);
+        if (accessLog || elapsed >= slowRequestNanos) {
+            log.println(method + " " + path + " " + status + " " + TimeUnit.NANOSECONDS.toMicros(elapsed) + "us"
+                    + (elapsed >= slowRequestNanos ? " (slow)" : ""));
+        }
+    }
+
+    private int dispatch(HttpExchange exchange, String method, String[] path)
+            throws IOException, EmployeeNotFoundException, ProjectNotFoundException {
+        if (path.length == 0 || !METHODS.contains(method)) {
+            throw HttpError.noResource(path);
+        }
+        String readAfter = exchange.getRequestHeaders().getFirst(READ_AFTER);
+        if (readAfter != null) {
+            DBConnUtil.readAfter(Long.parseLong(readAfter.trim()));
+        }
+        String resource = path[0];
+        if (resource.equals("stats") && path.length == 1) {
+            requireMethod(method, "GET");
+            return sendStats(exchange);
+        } else if (resource.equals("projects")) {
+            return projects(exchange, method, path);
+        } else if (resource.equals("employees")) {
+            return employees(exchange, method, path);
+        } else if (resource.equals("tasks")) {
+            return tasks(exchange, method, path);
+        }
+        throw HttpError.noResource(path);
+    }
+
+    private int projects(HttpExchange exchange, String method, String[] path)
+            throws IOException, EmployeeNotFoundException, ProjectNotFoundException {
+        if (path.length == 1) {
+            if (method.equals("GET")) {
+                Map<String, String> query = query(exchange);
+                if (query.containsKey("pageSize")) {
+                    Page<Project> page = repository.findProjects(query.get("status"), query.get("pageToken"), pageSize(query));
+                    return send(exchange, 200, json -> JsonCodec.writePage(json, page, JsonCodec::writeProject));
+                }
+                return stream(exchange, repository.streamProjects(), JsonCodec::writeProject);
+            }
+            requireMethod(method, "POST");
+            Object body = readBody(exchange);
+            if (body instanceof List<?> rows) {
+                List<Project> projects = new ArrayList<>();
+                for (Map<String, Object> row : JsonCodec.asObjects(rows, "Each project")) {
+                    projects.add(JsonCodec.readProject(row));
+                }
+                BatchResult result = repository.createProjects(projects);
+                return send(exchange, 200, json -> JsonCodec.writeBatchResult(json, result));
+            }
+            Project project = JsonCodec.readProject(JsonCodec.asObject(body, "The project"));
+            if (!repository.createProject(project)) {
+                throw new HttpError(500, "Failed to add project.");
+            }
+            return send(exchange, 201, json -> JsonCodec.writeProject(json, project));
+        }
+        int projectId = id(path[1]);
+        if (path.length == 2) {
+            if (method.equals("GET") || method.equals("HEAD")) {
+                return sendEntity(exchange, method, repository.findProject(projectId), "Project", projectId, JsonCodec::writeProject);
+            }
+            requireMethod(method, "DELETE");
+            if (!repository.deleteProject(projectId)) {
+                throw new HttpError(409, "Failed to delete project. It may still have employees or tasks.");
+            }
+            return sendEmpty(exchange, 204);
+        } else if (path.length == 5 && path[2].equals("employees") && path[4].equals("tasks")) {
+            requireMethod(method, "GET");
+            List<Task> tasks = repository.getAllTasks(id(path[3]), projectId);
+            return send(exchange, 200, json -> writeArray(json, tasks, JsonCodec::writeTask));
+        } else if (path.length == 3 && path[2].equals("assignments")) {
+            requireMethod(method, "POST");
+            Map<String, Object> body = JsonCodec.asObject(readBody(exchange), "The assignment");
+            BatchResult result = repository.assignTasksToEmployee(JsonCodec.requiredIntList(body, "task_ids"), projectId,
+                    JsonCodec.requiredInt(body, "employee_id"));
+            return send(exchange, 200, json -> JsonCodec.writeBatchResult(json, result));
+        } else if (path.length == 3 && path[2].equals("shard")) {
+            requireMethod(method, "PUT");
+            return moveProject(exchange, projectId);
+        }
+        throw HttpError.noResource(path);
+    }
+
+    private int moveProject(HttpExchange exchange, int projectId) throws IOException, ProjectNotFoundException {
+        ShardRebalancer moves = rebalancer;
+        if (moves == null) {
+            throw new HttpError(404, "Moving projects needs the sharded backend");
+        }
+        int shard = JsonCodec.requiredInt(JsonCodec.asObject(readBody(exchange), "The move"), "shard");
+        ShardRebalancer.MoveResult result;
+        try {
+            result = moves.moveProject(projectId, shard, copied -> { });
+        } catch (IllegalStateException e) {
+            throw new HttpError(409, e.getMessage());
+        } catch (SQLException e) {
+            e.printStackTrace();
+            throw new HttpError(500, "Move stopped, send it again to finish: " + e.getMessage());
+        }
+        return send(exchange, 200, json -> JsonCodec.writeMoveResult(json, result));
+    }
+
+    private int employees(HttpExchange exchange, String method, String[] path)
+            throws IOException, EmployeeNotFoundException, ProjectNotFoundException {
+        if (path.length == 1) {
+            if (method.equals("GET")) {
+                Map<String, String> query = query(exchange);
+                if (query.containsKey("pageSize")) {
+                    Integer projectId = query.containsKey("project_id") ? id(query.get("project_id")) : null;
+                    Page<Employee> page = repository.findEmployees(projectId, query.get("pageToken"), pageSize(query));
+                    return send(exchange, 200, json -> JsonCodec.writePage(json, page, JsonCodec::writeEmployee));
+                }
+                return stream(exchange, repository.streamEmployees(), JsonCodec::writeEmployee);
+            }
+            requireMethod(method, "POST");
+            Object body = readBody(exchange);
+            if (body instanceof List<?> rows) {
+                List<Employee> employees = new ArrayList<>();
+                for (Map<String, Object> row : JsonCodec.asObjects(rows, "Each employee")) {
+                    employees.add(JsonCodec.readEmployee(row));
+                }
+                BatchResult result = repository.createEmployees(employees);
+                return send(exchange, 200, json -> JsonCodec.writeBatchResult(json, result));
+            }
+            Employee emp = JsonCodec.readEmployee(JsonCodec.asObject(body, "The employee"));
+            if (!repository.createEmployee(emp)) {
+                throw new HttpError(500, "Failed to add employee.");
+            }
+            return send(exchange, 201, json -> JsonCodec.writeEmployee(json, emp));
+        }
+        int employeeId = id(path[1]);
+        if (path.length == 2) {
+            if (method.equals("GET") || method.equals("HEAD")) {
+                return sendEntity(exchange, method, repository.findEmployee(employeeId), "Employee", employeeId, JsonCodec::writeEmployee);
+            }
+            requireMethod(method, "DELETE");
+            if (!repository.deleteEmployee(employeeId)) {
+                throw new HttpError(409, "Failed to delete employee. It may still have tasks.");
+            }
+            return sendEmpty(exchange, 204);
+        } else if (path.length == 3 && path[2].equals("project")) {
+            requireMethod(method, "PUT");
+            Map<String, Object> body = JsonCodec.asObject(readBody(exchange), "The assignment");
+            if (!repository.assignProjectToEmployee(JsonCodec.requiredInt(body, "project_id"), employeeId)) {
+                throw new HttpError(500, "Failed to assign project.");
+            }
+            return sendEmpty(exchange, 204);
+        }
+        throw HttpError.noResource(path);
+    }
+
+    private int tasks(HttpExchange exchange, String method, String[] path)
+            throws IOException, EmployeeNotFoundException, ProjectNotFoundException {
+        if (path.length == 1) {
+            if (method.equals("GET")) {
+                Map<String, String> query = query(exchange);
+                if (query.containsKey("pageSize")) {
+                    TaskFilter filter = new TaskFilter(
+                            query.containsKey("project_id") ? id(query.get("project_id")) : null,
+                            query.containsKey("employee_id") ? id(query.get("employee_id")) : null,
+                            query.get("status"));
+                    Page<Task> page = repository.findTasks(filter, query.get("pageToken"), pageSize(query));
+                    return send(exchange, 200, json -> JsonCodec.writePage(json, page, JsonCodec::writeTask));
+                }
+                return stream(exchange, repository.streamTaskTable(), JsonCodec::writeTask);
+            }
+            requireMethod(method, "POST");
+            Object body = readBody(exchange);
+            if (body instanceof List<?> rows) {
+                List<Task> tasks = new ArrayList<>();
+                for (Map<String, Object> row : JsonCodec.asObjects(rows, "Each task")) {
+                    tasks.add(JsonCodec.readTask(row));
+                }
+                BatchResult result = repository.createTasks(tasks);
+                return send(exchange, 200, json -> JsonCodec.writeBatchResult(json, result));
+            }
+            Task task = JsonCodec.readTask(JsonCodec.asObject(body, "The task"));
+            if (!repository.createTask(task)) {
+                throw new HttpError(500, "Failed to add task.");
+            }
+            return send(exchange, 201, json -> JsonCodec.writeTask(json, task));
+        } else if (path.length == 3 && path[2].equals("employee")) {
+            requireMethod(method, "PUT");
+            int taskId = id(path[1]);
+            Map<String, Object> body = JsonCodec.asObject(readBody(exchange), "The assignment");
+            if (!repository.assignTaskToEmployee(taskId, JsonCodec.requiredInt(body, "project_id"),
+                    JsonCodec.requiredInt(body, "employee_id"))) {
+                throw new HttpError(404, "Task with ID " + taskId + " not found in the project.");
+            }
+            return sendEmpty(exchange, 204);
+        }
+        throw HttpError.noResource(path);
+    }
+
+    // Latency per route in microseconds, busiest first
+    private int sendStats(HttpExchange exchange) throws IOException {
+        List<Map.Entry<String, LatencyHistogram>> routes = new ArrayList<>(latencies.entrySet());
+        routes.sort((a, b) -> Long.compare(b.getValue().getCount(), a.getValue().getCount()));
+        return send(exchange, 200, json -> {
+            json.beginObject();
+            for (Map.Entry<String, LatencyHistogram> route : routes) {
+                LatencyHistogram histogram = route.getValue();
+                json.name(route.getKey()).beginObject();
+                json.name("count").value(histogram.getCount());
+                json.name("meanUs").value(histogram.getMean() / 1000);
+                json.name("p50Us").value(histogram.getPercentile(50) / 1000);
+                json.name("p99Us").value(histogram.getPercentile(99) / 1000);
+                json.name("maxUs").value(histogram.getMax() / 1000);
+                json.endObject();
+            }
+            json.endObject();
+        });
+    }
+
+    private interface Body {
+        void write(JsonWriter json) throws IOException;
+    }
+
+    // Renders the body first so it goes out with a Content-Length, which lets the connection be reused
+    private static int send(HttpExchange exchange, int status, Body body) throws IOException {
+        Utf8Writer out = new Utf8Writer(512);
+        body.write(new JsonWriter(out));
+        exchange.getResponseHeaders().set("Content-Type", JSON);
+        if (exchange.getRequestMethod().equals("HEAD")) {
+            sendHeaders(exchange, status, -1);
+        } else {
+            sendHeaders(exchange, status, out.size());
+            out.writeTo(exchange.getResponseBody());
+        }
+        return status;
+    }
+
+    private static int sendEmpty(HttpExchange exchange, int status) throws IOException {
+        sendHeaders(exchange, status, -1);
+        return status;
+    }
+
+    // Every response hands the client its consistency token, which covers any write the request made
+    private static void sendHeaders(HttpExchange exchange, int status, long length) throws IOException {
+        long readAfter = DBConnUtil.getReadAfter();
+        if (readAfter > 0) {
+            exchange.getResponseHeaders().set(READ_AFTER, Long.toString(readAfter));
+        }
+        exchange.sendResponseHeaders(status, length);
+    }
+
+    private static int sendError(HttpExchange exchange, int status, String message) throws IOException {
+        if (exchange.getResponseCode() != -1) {
+            return status; // a streamed response already started; closing it cuts the body short
+        }
+        return send(exchange, status, json -> json.beginObject().field("error", message).endObject());
+    }
+
+    private static <T> int sendEntity(HttpExchange exchange, String method, Optional<T> entity, String kind, int id,
+                                      JsonCodec.ItemWriter<T> writer) throws IOException {
+        if (entity.isEmpty()) {
+            throw new HttpError(404, kind + " with ID " + id + " not found.");
+        }
+        if (method.equals("HEAD")) {
+            return sendEmpty(exchange, 200);
+        }
+        return send(exchange, 200, json -> writer.write(json, entity.get()));
+    }
+
+    // A JSON array written as the rows arrive, in chunked transfer encoding
+    private static <T> int stream(HttpExchange exchange, Stream<T> source, JsonCodec.ItemWriter<T> writer) throws IOException {
+        try (Stream<T> rows = source) {
+            Iterator<T> iterator = rows.iterator();
+            boolean more = iterator.hasNext(); // a failing query still gets an error status
+            exchange.getResponseHeaders().set("Content-Type", JSON);
+            sendHeaders(exchange, 200, 0);
+            try (Utf8Writer out = new Utf8Writer(exchange.getResponseBody(), STREAM_BUFFER)) {
+                JsonWriter json = new JsonWriter(out);
+                json.beginArray();
+                while (more) {
+                    writer.write(json, iterator.next());
+                    more = iterator.hasNext();
+                }
+                json.endArray();
+            } catch (RuntimeException e) {
+                // the status is already sent, so the unterminated array is what tells the client the rows are incomplete
+                e.printStackTrace();
+                return 500;
+            }
+        }
+        return 200;
+    }
+
+    private static <T> void writeArray(JsonWriter json, List<T> items, JsonCodec.ItemWriter<T> writer) throws IOException {
+        json.beginArray();
+        for (T item : items) {
+            writer.write(json, item);
+        }
+        json.endArray();
+    }
+
+    private static Object readBody(HttpExchange exchange) throws IOException {
+        Headers headers = exchange.getRequestHeaders();
+        String type = headers.getFirst("Content-Type");
+        if (type != null && !type.startsWith("application/json")) {
+            throw new HttpError(415, "Request bodies must be application/json");
+        }
+        try (InputStream in = exchange.getRequestBody()) {
+            byte[] bytes = in.readNBytes(MAX_BODY_BYTES + 1);
+            if (bytes.length > MAX_BODY_BYTES) {
+                throw new HttpError(413, "Request body over " + MAX_BODY_BYTES + " bytes");
+            }
+            return JsonReader.parse(new String(bytes, StandardCharsets.UTF_8));
+        }
+    }
+
+    private static void requireMethod(String method, String allowed) {
+        if (!method.equals(allowed)) {
+            throw new HttpError(405, method + " is not supported here");
+        }
+    }
+
+    private static Map<String, String> query(HttpExchange exchange) {
+        String raw = exchange.getRequestURI().getRawQuery();
+        Map<String, String> params = new HashMap<>();
+        if (raw == null || raw.isEmpty()) {
+            return params;
+        }
+        for (String pair : raw.split("&")) {
+            int eq = pair.indexOf('=');
+            String name = URLDecoder.decode(eq < 0 ? pair : pair.substring(0, eq), StandardCharsets.UTF_8);
+            String value = eq < 0 ? "" : URLDecoder.decode(pair.substring(eq + 1), StandardCharsets.UTF_8);
+            if (!value.isEmpty()) {
+                params.put(name, value);
+            }
+        }
+        return params;
+    }
+
+    private static int pageSize(Map<String, String> query) {
+        int size = id(query.get("pageSize"));
+        if (size < 1 || size > 1000) {
+            throw new IllegalArgumentException("pageSize must be between 1 and 1000");
+        }
+        return size;
+    }
+
+    private static int id(String value) {
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Not a number: " + value);
+        }
+    }
+
+    private static String[] segments(String path) {
+        List<String> segments = new ArrayList<>();
+        for (String segment : path.split("/")) {
+            if (!segment.isEmpty()) {
+                segments.add(URLDecoder.decode(segment, StandardCharsets.UTF_8));
+            }
+        }
+        return segments.toArray(new String[0]);
+    }
+
+    // The path with everything but the fixed words replaced, e.g. "GET /projects/{id}", so latencies are kept per
+    // route, not per entity
+    private static String routeName(String method, String[] segments) {
+        StringBuilder route = new StringBuilder(method).append(' ');
+        if (segments.length == 0) {
+            route.append('/');
+        }
+        for (String segment : segments) {
+            route.append('/');
+            route.append(PATH_WORDS.contains(segment) ? segment : "{id}");
+        }
+        return route.toString();
+    }
+}
@@ -0,0 +1,81 @@
+package test;
+
+import dao.CachingProjectRepository;
+import dao.IProjectRepository;
+import entity.Employee;
+import exception.ProjectNotFoundException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+public class CachingProjectRepositoryTest {
+
+    private IProjectRepository delegate;
+    private CachingProjectRepository repo;
+
+    @BeforeEach
+    public void setUp() {
+        delegate = mock(IProjectRepository.class);
+        repo = new CachingProjectRepository(delegate, 100, 60_000);
+    }
+
+    @Test
+    public void testLookupsAreCachedAsCopies() {
+        when(delegate.findEmployee(1)).thenReturn(Optional.of(new Employee(1, "John", "Developer", "Male", 5000, 2)));
+
+        Employee first = repo.findEmployee(1).orElseThrow();
+        first.setName("Changed");
+        assertEquals("John", repo.findEmployee(1).orElseThrow().getName());
+        assertTrue(repo.employeeExists(1));
+        verify(delegate, times(1)).findEmployee(1);
+        assertEquals(2, repo.getEmployeeCache().getHitCount());
+    }
+
+    @Test
+    public void testCachedAbsenceIsReplacedByCreate() throws ProjectNotFoundException {
+        when(delegate.findEmployee(anyInt())).thenReturn(Optional.empty());
+        when(delegate.createEmployee(any())).thenReturn(true);
+        assertFalse(repo.employeeExists(7));
+        assertFalse(repo.employeeExists(8));
+        verify(delegate, times(1)).findEmployee(7);
+
+        repo.createEmployee(new Employee(8, "Jane", "Tester", "Female", 4000, 2));
+        assertTrue(repo.employeeExists(8)); // the created row is cached without a lookup
+        verify(delegate, times(1)).findEmployee(8);
+        assertFalse(repo.employeeExists(7)); // other cached absences stay
+        verify(delegate, times(1)).findEmployee(7);
+    }
+
+    @Test
+    public void testLoadOverlappingAWriteIsNotCached() throws ProjectNotFoundException {
+        when(delegate.createEmployee(any())).thenReturn(true);
+        // The employee is created while the lookup that missed it is still in flight
+        when(delegate.findEmployee(5)).thenAnswer(invocation -> {
+            repo.createEmployee(new Employee(5, "Late", "Developer", "Male", 3000, 1));
+            return Optional.empty();
+        }).thenReturn(Optional.of(new Employee(5, "Late", "Developer", "Male", 3000, 1)));
+
+        assertFalse(repo.employeeExists(5));
+        assertTrue(repo.employeeExists(5));
+        assertEquals("Late", repo.findEmployee(5).orElseThrow().getName());
+    }
+
+    @Test
+    public void testDeletingAProjectDropsItsEmployees() throws Exception {
+        when(delegate.findEmployee(1)).thenReturn(Optional.of(new Employee(1, "John", "Developer", "Male", 5000, 2)));
+        when(delegate.findEmployee(2)).thenReturn(Optional.of(new Employee(2, "Jane", "Tester", "Female", 4000, 3)));
+        repo.findEmployee(1);
+        repo.findEmployee(2);
+
+        repo.deleteProject(2);
+        repo.findEmployee(1);
+        repo.findEmployee(2);
+        verify(delegate, times(2)).findEmployee(1);
+        verify(delegate, times(1)).findEmployee(2);
+    }
+}
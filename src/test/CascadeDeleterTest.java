@@ -0,0 +1,93 @@
+package test;
+
+import dao.CascadeDeleter;
+import dao.CascadeResult;
+import dao.TaskChangeListener;
+import exception.ProjectNotFoundException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+public class CascadeDeleterTest {
+
+    private Connection conn;
+    private PreparedStatement exists;
+    private PreparedStatement selectTasks;
+    private PreparedStatement changeTasks;
+    private PreparedStatement deleteParent;
+    private TaskChangeListener listener;
+    private CascadeDeleter deleter;
+
+    @BeforeEach
+    public void setUp() throws SQLException {
+        conn = mock(Connection.class);
+        exists = mock(PreparedStatement.class);
+        selectTasks = mock(PreparedStatement.class);
+        changeTasks = mock(PreparedStatement.class);
+        deleteParent = mock(PreparedStatement.class);
+        listener = mock(TaskChangeListener.class);
+        when(conn.prepareStatement(startsWith("SELECT 1"))).thenReturn(exists);
+        when(conn.prepareStatement(startsWith("SELECT task_id"))).thenReturn(selectTasks);
+        when(conn.prepareStatement(contains("WHERE task_id IN"))).thenReturn(changeTasks);
+        when(conn.prepareStatement(startsWith("DELETE FROM Employee"))).thenReturn(deleteParent);
+        deleter = new CascadeDeleter(() -> conn, 2);
+        deleter.addListener(listener);
+    }
+
+    @Test
+    public void testTasksAreUnassignedInChunks() throws Exception {
+        ResultSet found = rows(1);
+        when(exists.executeQuery()).thenReturn(found);
+        // Three tasks with a chunk size of two: a full chunk, then a short one that ends the loop
+        ResultSet first = rows(10, 11);
+        ResultSet second = rows(12);
+        when(selectTasks.executeQuery()).thenReturn(first, second);
+        when(changeTasks.executeUpdate()).thenReturn(2, 1);
+        when(deleteParent.executeUpdate()).thenReturn(1);
+        List<Long> progress = new ArrayList<>();
+
+        CascadeResult result = deleter.deleteEmployee(5, CascadeDeleter.Dependents.DETACH, soFar -> progress.add(soFar.getTasksUnassigned()));
+
+        assertEquals(3, result.getTasksUnassigned());
+        assertEquals(1, result.getEmployeesDeleted());
+        assertEquals(List.of(2L, 3L, 3L), progress);
+        verify(conn).prepareStatement("UPDATE Task SET employee_id = NULL WHERE task_id IN (?,?)");
+        verify(conn).prepareStatement("UPDATE Task SET employee_id = NULL WHERE task_id IN (?)");
+        verify(conn, times(3)).commit(); // each chunk and the final delete commit on their own
+        verify(listener).taskReassigned(12, 7, "Assigned", 5, 0);
+        verify(listener).employeeDeleted(5);
+    }
+
+    @Test
+    public void testMissingProjectIsReported() throws Exception {
+        ResultSet empty = rows();
+        when(exists.executeQuery()).thenReturn(empty);
+
+        assertThrows(ProjectNotFoundException.class,
+                () -> deleter.deleteProject(3, CascadeDeleter.Dependents.DELETE, null));
+        verify(conn, never()).commit();
+        verifyNoInteractions(listener);
+    }
+
+    // Task rows of project 7 assigned to employee 5, with the given task ids
+    private static ResultSet rows(int... taskIds) throws SQLException {
+        ResultSet rs = mock(ResultSet.class);
+        int[] cursor = {-1};
+        when(rs.next()).thenAnswer(call -> ++cursor[0] < taskIds.length);
+        when(rs.getInt(1)).thenAnswer(call -> taskIds[cursor[0]]);
+        when(rs.getInt(2)).thenReturn(7);
+        when(rs.getInt(3)).thenReturn(5);
+        when(rs.getString(4)).thenReturn("Assigned");
+        return rs;
+    }
+}
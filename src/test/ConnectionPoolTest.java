@@ -0,0 +1,193 @@
+package test;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import util.ConnectionPool;
+import util.PoolConfig;
+
+import java.sql.Connection;
+import java.sql.Driver;
+import java.sql.DriverManager;
+import java.sql.DriverPropertyInfo;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.SQLTimeoutException;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.logging.Logger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+public class ConnectionPoolTest {
+
+    private static final String URL = "jdbc:mockpool://test";
+    private static final MockDriver DRIVER = new MockDriver();
+
+    private ConnectionPool pool;
+
+    @BeforeAll
+    public static void registerDriver() throws SQLException {
+        DriverManager.registerDriver(DRIVER);
+    }
+
+    @AfterAll
+    public static void deregisterDriver() throws SQLException {
+        DriverManager.deregisterDriver(DRIVER);
+    }
+
+    @BeforeEach
+    public void setUp() {
+        DRIVER.opened.clear();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        if (pool != null) {
+            pool.close();
+        }
+    }
+
+    @Test
+    public void testReturnedConnectionIsReused() throws SQLException {
+        pool = new ConnectionPool(URL, config(2, 0));
+        Connection first = pool.getConnection();
+        assertEquals(1, pool.getActiveCount());
+        first.close();
+        assertEquals(0, pool.getActiveCount());
+        assertEquals(1, pool.getIdleCount());
+        assertTrue(first.isClosed());
+        assertThrows(SQLException.class, first::createStatement);
+
+        try (Connection second = pool.getConnection()) {
+            assertNotSame(first, second);
+            assertEquals(1, DRIVER.opened.size());
+        }
+        assertEquals(1, pool.getMetrics().getCreatedCount());
+        assertEquals(2, pool.getMetrics().getBorrowCount());
+    }
+
+    @Test
+    public void testBorrowWaitsAtMaxSize() throws SQLException {
+        PoolConfig config = config(1, 0);
+        config.setConnectionTimeoutMs(50);
+        pool = new ConnectionPool(URL, config);
+        Connection held = pool.getConnection();
+        assertThrows(SQLTimeoutException.class, pool::getConnection);
+        assertEquals(1, pool.getMetrics().getTimeoutCount());
+
+        held.close();
+        try (Connection conn = pool.getConnection()) {
+            assertNotNull(conn);
+        }
+        assertEquals(1, DRIVER.opened.size());
+    }
+
+    @Test
+    public void testAutoCommitIsResetOnReturn() throws SQLException {
+        pool = new ConnectionPool(URL, config(2, 0));
+        try (Connection conn = pool.getConnection()) {
+            conn.setAutoCommit(false);
+        }
+        Connection physical = DRIVER.opened.get(0);
+        verify(physical).rollback();
+        verify(physical).setAutoCommit(true);
+
+        try (Connection conn = pool.getConnection()) {
+            conn.createStatement();
+        }
+        verify(physical, times(1)).rollback(); // a clean borrow is returned as is
+    }
+
+    @Test
+    public void testStatementCacheEvictsLeastRecentlyUsed() throws SQLException {
+        pool = new ConnectionPool(URL, config(2, 2));
+        try (Connection conn = pool.getConnection()) {
+            conn.prepareStatement("A").close();
+            conn.prepareStatement("B").close();
+            conn.prepareStatement("A").close(); // B is now the eldest
+            conn.prepareStatement("C").close();
+            conn.prepareStatement("A").close();
+            conn.prepareStatement("B").close();
+        }
+        Connection physical = DRIVER.opened.get(0);
+        verify(physical, times(1)).prepareStatement("A");
+        verify(physical, times(2)).prepareStatement("B");
+        verify(physical, times(1)).prepareStatement("C");
+        assertEquals(2, pool.getMetrics().getStatementCacheHits());
+        assertEquals(2, pool.getMetrics().getStatementCacheEvictions());
+    }
+
+    @Test
+    public void testStatementWithChangedFetchSizeIsNotReused() throws SQLException {
+        pool = new ConnectionPool(URL, config(2, 4));
+        try (Connection conn = pool.getConnection()) {
+            PreparedStatement streaming = conn.prepareStatement("A");
+            streaming.setFetchSize(Integer.MIN_VALUE);
+            streaming.close();
+            conn.prepareStatement("A").close();
+        }
+        Connection physical = DRIVER.opened.get(0);
+        verify(physical, times(2)).prepareStatement("A");
+        assertEquals(0, pool.getMetrics().getStatementCacheHits());
+    }
+
+    private static PoolConfig config(int maxSize, int statementCacheSize) {
+        PoolConfig config = new PoolConfig();
+        config.setMinSize(0);
+        config.setMaxSize(maxSize);
+        config.setStatementCacheSize(statementCacheSize);
+        return config;
+    }
+
+    // Hands out mocked connections, each preparing a fresh mocked statement per call
+    public static class MockDriver implements Driver {
+        final List<Connection> opened = new CopyOnWriteArrayList<>();
+
+        @Override
+        public Connection connect(String url, Properties info) throws SQLException {
+            if (!acceptsURL(url)) {
+                return null;
+            }
+            Connection conn = mock(Connection.class);
+            when(conn.getTransactionIsolation()).thenReturn(Connection.TRANSACTION_REPEATABLE_READ);
+            when(conn.prepareStatement(anyString())).thenAnswer(invocation -> mock(PreparedStatement.class));
+            opened.add(conn);
+            return conn;
+        }
+
+        @Override
+        public boolean acceptsURL(String url) {
+            return url.startsWith("jdbc:mockpool:");
+        }
+
+        @Override
+        public DriverPropertyInfo[] getPropertyInfo(String url, Properties info) {
+            return new DriverPropertyInfo[0];
+        }
+
+        @Override
+        public int getMajorVersion() {
+            return 1;
+        }
+
+        @Override
+        public int getMinorVersion() {
+            return 0;
+        }
+
+        @Override
+        public boolean jdbcCompliant() {
+            return false;
+        }
+
+        @Override
+        public Logger getParentLogger() {
+            return Logger.getGlobal();
+        }
+    }
+}
@@ -0,0 +1,141 @@
+package test;
+
+import dao.BatchResult;
+import dao.InMemoryProjectRepository;
+import dao.TaskColumns;
+import dao.TaskFilter;
+import entity.Employee;
+import entity.Project;
+import io.CsvImporter;
+import io.CsvReader;
+import io.ImportResult;
+import io.ImportTarget;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+public class CsvImporterTest {
+
+    @TempDir
+    Path dir;
+
+    private InMemoryProjectRepository repository;
+
+    @BeforeEach
+    public void setUp() throws Exception {
+        repository = new InMemoryProjectRepository();
+        repository.createProject(new Project(0, "Apollo", "demo", null, "started"));
+        repository.createEmployee(new Employee(0, "Ann", "Developer", "Female", 5000, 1));
+    }
+
+    @Test
+    public void testImportWritesRejectedRows() throws Exception {
+        Path file = dir.resolve("tasks.csv");
+        Files.writeString(file, "task_name,projectId,employee_id,status\r\n"
+                + "\"Design, review\",1,1,Assigned\r\n"
+                + "Bad status,1,1,Lost\r\n"
+                + "\"Quoted \"\"name\"\"\",1,1,completed\r\n"
+                + "No employee,1,42,Started\r\n");
+
+        ImportResult result = new CsvImporter(repository, 2).importFile(ImportTarget.TASKS, file, false);
+
+        assertEquals(4, result.getRowsRead());
+        assertEquals(2, result.getRowsImported());
+        assertEquals(2, result.getRowsRejected());
+        assertEquals(2, TaskColumns.load(repository).count(new TaskFilter()));
+        assertFalse(Files.exists(CsvImporter.checkpointFile(file)));
+
+        List<String> rejected = Files.readAllLines(CsvImporter.rejectedFile(file));
+        assertEquals(3, rejected.size());
+        assertEquals("task_name,projectId,employee_id,status,error", rejected.get(0));
+        assertTrue(rejected.get(1).startsWith("Bad status,1,1,Lost,"));
+    }
+
+    @Test
+    public void testResumeContinuesAfterCheckpoint() throws Exception {
+        Path file = dir.resolve("tasks.csv");
+        Files.writeString(file, "task_name,project_id,employee_id,status\nfirst,1,1,Assigned\nsecond,1,1,Assigned\nthird,1,1,Assigned\n");
+        long offset;
+        try (CsvReader reader = new CsvReader(file)) {
+            reader.next();
+            reader.next();
+            offset = reader.getRecordEndOffset();
+        }
+        Files.writeString(CsvImporter.checkpointFile(file), "offset=" + offset + "\nrecord=2\n");
+
+        ImportResult result = new CsvImporter(repository).importFile(ImportTarget.TASKS, file, true);
+
+        assertEquals(2, result.getResumedAtRecord());
+        assertEquals(2, result.getRowsImported());
+        assertEquals(2, TaskColumns.load(repository).count(new TaskFilter()));
+    }
+
+    @Test
+    public void testBatchFailureStopsWithoutRejectingTheRows() throws Exception {
+        Path file = dir.resolve("tasks.csv");
+        Files.writeString(file, "task_name,project_id,employee_id,status\nfirst,1,1,Assigned\nsecond,1,1,Assigned\nthird,1,1,Assigned\n");
+        InMemoryProjectRepository failingOnce = spy(repository);
+        BatchResult lost = new BatchResult(1);
+        lost.recordFailure(0, "Communications link failure");
+        lost.recordBatchFailure("Communications link failure");
+        doCallRealMethod().doReturn(lost).doCallRealMethod().when(failingOnce).createTasks(anyList());
+
+        IOException e = assertThrows(IOException.class,
+                () -> new CsvImporter(failingOnce, 2).importFile(ImportTarget.TASKS, file, false));
+        assertTrue(e.getMessage().contains("Communications link failure"));
+        assertFalse(Files.exists(CsvImporter.rejectedFile(file)));
+        assertTrue(Files.exists(CsvImporter.checkpointFile(file)));
+
+        ImportResult result = new CsvImporter(failingOnce, 2).importFile(ImportTarget.TASKS, file, true);
+        assertEquals(3, result.getResumedAtRecord()); // the header counts as record 1
+        assertEquals(1, result.getRowsImported());
+        assertEquals(0, result.getRowsRejected());
+        assertEquals(3, TaskColumns.load(repository).count(new TaskFilter()));
+    }
+
+    @Test
+    public void testStrayQuoteIsCutOffAtTheRecordLimit() throws Exception {
+        Path file = dir.resolve("tasks.csv");
+        Files.writeString(file, "name,id\n\"stray,1\nnext,2\nmore,3\r\nlast,4\n");
+
+        try (CsvReader reader = new CsvReader(file, 12)) {
+            reader.next();
+            assertTrue(reader.next());
+            assertTrue(reader.isTruncated());
+            assertTrue(reader.isMalformed());
+            assertEquals("stray,1\nnex", reader.get(0)); // the rest of the line is dropped
+            assertTrue(reader.next());
+            assertFalse(reader.isMalformed());
+            assertArrayEquals(new String[] {"more", "3"}, reader.toArray());
+            assertTrue(reader.next());
+            assertEquals("last", reader.get(0));
+            assertFalse(reader.next());
+        }
+    }
+
+    @Test
+    public void testResumeDoesNotRepeatRejects() throws Exception {
+        Path file = dir.resolve("tasks.csv");
+        Files.writeString(file, "task_name,project_id,employee_id,status\nBad status,1,1,Lost\nfirst,1,1,Assigned\n");
+        InMemoryProjectRepository failingOnce = spy(repository);
+        doThrow(new IllegalStateException("Connection lost")).doCallRealMethod().when(failingOnce).createTasks(anyList());
+
+        assertThrows(IOException.class, () -> new CsvImporter(failingOnce, 2).importFile(ImportTarget.TASKS, file, false));
+        ImportResult result = new CsvImporter(failingOnce, 2).importFile(ImportTarget.TASKS, file, true);
+
+        assertEquals(1, result.getRowsImported());
+        assertEquals(1, result.getRowsRejected());
+        List<String> rejected = Files.readAllLines(CsvImporter.rejectedFile(file));
+        assertEquals(2, rejected.size());
+        assertTrue(rejected.get(1).startsWith("Bad status,1,1,Lost,"));
+    }
+}
@@ -0,0 +1,67 @@
+package test;
+
+import dao.EntityMappers;
+import dao.RowMapper;
+import entity.Project;
+import entity.Task;
+import org.junit.jupiter.api.Test;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+public class EntityMappersTest {
+
+    @Test
+    public void testTaskMapperResolvesColumnsOnce() throws SQLException {
+        ResultSet rs = mock(ResultSet.class);
+        // Columns deliberately out of table order
+        when(rs.findColumn("status")).thenReturn(1);
+        when(rs.findColumn("task_id")).thenReturn(2);
+        when(rs.findColumn("task_name")).thenReturn(3);
+        when(rs.findColumn("project_id")).thenReturn(4);
+        when(rs.findColumn("employee_id")).thenReturn(5);
+        when(rs.getString(1)).thenReturn("Assigned", "Completed");
+        when(rs.getInt(2)).thenReturn(7, 8);
+        when(rs.getString(3)).thenReturn("Design", "Build");
+        when(rs.getInt(4)).thenReturn(1);
+        when(rs.getInt(5)).thenReturn(3);
+
+        RowMapper<Task> mapper = EntityMappers.task(rs);
+        Task first = mapper.map(rs);
+        Task second = mapper.map(rs);
+
+        assertEquals(7, first.getTaskId());
+        assertEquals("Design", first.getTaskName());
+        assertEquals("Assigned", first.getStatus());
+        assertEquals(8, second.getTaskId());
+        assertEquals("Completed", second.getStatus());
+        assertEquals(3, second.getEmployeeId());
+        verify(rs, times(1)).findColumn("task_id");
+        verify(rs, never()).getString("task_name");
+    }
+
+    @Test
+    public void testProjectMapperReadsDateWithoutParsing() throws SQLException {
+        ResultSet rs = mock(ResultSet.class);
+        when(rs.findColumn("id")).thenReturn(1);
+        when(rs.findColumn("projectName")).thenReturn(2);
+        when(rs.findColumn("description")).thenReturn(3);
+        when(rs.findColumn("startDate")).thenReturn(4);
+        when(rs.findColumn("status")).thenReturn(5);
+        when(rs.getInt(1)).thenReturn(4);
+        when(rs.getString(2)).thenReturn("Project Alpha");
+        when(rs.getObject(4, LocalDate.class)).thenReturn(LocalDate.of(2024, 1, 15));
+        when(rs.getString(5)).thenReturn("started");
+
+        Project project = EntityMappers.project(rs).map(rs);
+
+        assertEquals(4, project.getId());
+        assertEquals(LocalDate.of(2024, 1, 15), project.getStartDate());
+        assertEquals("started", project.getStatus());
+        verify(rs, never()).getString(4);
+    }
+}
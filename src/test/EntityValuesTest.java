@@ -0,0 +1,71 @@
+package test;
+
+import entity.Designations;
+import entity.Employee;
+import entity.EmployeeRecord;
+import entity.Gender;
+import entity.Project;
+import entity.ProjectRecord;
+import entity.ProjectStatus;
+import entity.Task;
+import entity.TaskRecord;
+import entity.TaskStatus;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class EntityValuesTest {
+
+    @Test
+    public void testLabelsMatchCaseInsensitively() {
+        assertEquals(TaskStatus.COMPLETED, TaskStatus.fromLabel("completed"));
+        assertEquals(ProjectStatus.DEPLOYED, ProjectStatus.fromLabel("Deployed"));
+        assertEquals(Gender.FEMALE, Gender.fromLabel("FEMALE"));
+        assertNull(TaskStatus.fromLabel(null));
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class, () -> ProjectStatus.fromLabel("paused"));
+        assertEquals("Unknown project status: paused", e.getMessage());
+        assertThrows(IllegalArgumentException.class, () -> Gender.fromLabel(""));
+    }
+
+    @Test
+    public void testCanonicalSharesTheLabelAndKeepsUnknownValues() {
+        String status = new String("assigned");
+        assertSame(TaskStatus.ASSIGNED.getLabel(), TaskStatus.canonical(status));
+        assertSame(TaskStatus.ASSIGNED.getLabel(), new Task(1, "Design", 1, 1, status).getStatus());
+        String unknown = new String("On hold");
+        assertSame(unknown, ProjectStatus.canonical(unknown));
+        assertNull(Gender.canonical(null));
+    }
+
+    @Test
+    public void testDesignationsShareOneInstance() {
+        String first = Designations.canonical(new String("Pool Test Engineer"));
+        assertSame(first, Designations.canonical(new String("Pool Test Engineer")));
+        assertSame(first, new Employee(1, "John", new String("Pool Test Engineer"), "Male", 5000, 1).getDesignation());
+        assertNull(Designations.canonical(null));
+    }
+
+    @Test
+    public void testRecordsConvertAndCompareByValue() {
+        Task task = new Task(3, "Build", 1, 2, "started");
+        TaskRecord record = TaskRecord.of(task);
+        assertEquals(TaskStatus.STARTED, record.status());
+        assertEquals(record, TaskRecord.of(record.toTask()));
+        assertEquals("Started", record.toTask().getStatus());
+        assertEquals(TaskStatus.COMPLETED, record.withStatus(TaskStatus.COMPLETED).status());
+        assertNotEquals(record, record.withEmployeeId(5));
+
+        EmployeeRecord employee = EmployeeRecord.of(new Employee(1, "John", "Developer", "male", 5000, 1));
+        assertEquals(Gender.MALE, employee.gender());
+        assertEquals(2, employee.withProjectId(2).toEmployee().getProjectId());
+
+        Project project = new Project(4, "Alpha", "New", LocalDate.of(2024, 1, 15), "BUILD");
+        ProjectRecord projectRecord = ProjectRecord.of(project);
+        assertEquals(ProjectStatus.BUILD, projectRecord.status());
+        assertEquals("test", projectRecord.withStatus(ProjectStatus.TEST).toProject().getStatus());
+
+        assertThrows(IllegalArgumentException.class, () -> TaskRecord.of(new Task(1, "Design", 1, 1, "Blocked")));
+    }
+}
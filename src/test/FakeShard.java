@@ -0,0 +1,184 @@
+package test;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+// A shard database kept in memory, answering the Task and shard_directory statements that
+// ShardedProjectRepository and ShardRebalancer send. Rows are {task_id, task_name, project_id, employee_id, status}.
+final class FakeShard {
+    private static final String[] TASK_COLUMNS = {"task_id", "task_name", "project_id", "employee_id", "status"};
+
+    final TreeMap<Integer, Object[]> tasks = new TreeMap<>();
+    final Map<Integer, Integer> directory = new HashMap<>();
+    private int nextTaskId;
+
+    FakeShard(int firstTaskId) {
+        nextTaskId = firstTaskId;
+    }
+
+    synchronized void addTask(int taskId, int projectId, int employeeId, String status) {
+        tasks.put(taskId, new Object[] {taskId, "Task " + taskId, projectId, employeeId, status});
+    }
+
+    synchronized List<Integer> taskIds(int projectId) {
+        List<Integer> ids = new ArrayList<>();
+        for (Object[] row : tasks.values()) {
+            if ((Integer) row[2] == projectId) {
+                ids.add((Integer) row[0]);
+            }
+        }
+        return ids;
+    }
+
+    Connection connection() {
+        try {
+            Connection conn = mock(Connection.class);
+            when(conn.prepareStatement(anyString())).thenAnswer(call -> statement(call.getArgument(0)));
+            when(conn.prepareStatement(anyString(), anyInt())).thenAnswer(call -> statement(call.getArgument(0)));
+            when(conn.prepareStatement(anyString(), anyInt(), anyInt())).thenAnswer(call -> statement(call.getArgument(0)));
+            when(conn.getAutoCommit()).thenReturn(true);
+            Statement stmt = mock(Statement.class);
+            when(conn.createStatement()).thenReturn(stmt);
+            when(stmt.executeQuery(startsWith("SELECT project_id, shard FROM shard_directory"))).thenAnswer(call -> {
+                List<Object[]> rows = new ArrayList<>();
+                synchronized (this) {
+                    directory.forEach((project, shard) -> rows.add(new Object[] {project, shard}));
+                }
+                return rows(new String[] {"project_id", "shard"}, rows);
+            });
+            return conn;
+        } catch (SQLException e) {
+            throw new AssertionError(e);
+        }
+    }
+
+    private PreparedStatement statement(String sql) throws SQLException {
+        PreparedStatement pstmt = mock(PreparedStatement.class);
+        Map<Integer, Object> params = new HashMap<>();
+        List<Map<Integer, Object>> batch = new ArrayList<>();
+        int[] generated = new int[1];
+        doAnswer(call -> params.put(call.getArgument(0), call.getArgument(1))).when(pstmt).setObject(anyInt(), any());
+        doAnswer(call -> params.put(call.getArgument(0), call.getArgument(1))).when(pstmt).setInt(anyInt(), anyInt());
+        doAnswer(call -> params.put(call.getArgument(0), call.getArgument(1))).when(pstmt).setString(anyInt(), any());
+        doAnswer(call -> params.put(call.getArgument(0), null)).when(pstmt).setNull(anyInt(), anyInt());
+        doAnswer(call -> batch.add(new HashMap<>(params))).when(pstmt).addBatch();
+        when(pstmt.executeQuery()).thenAnswer(call -> query(sql, params));
+        when(pstmt.executeUpdate()).thenAnswer(call -> {
+            int[] result = update(sql, params);
+            generated[0] = result[1];
+            return result[0];
+        });
+        when(pstmt.executeBatch()).thenAnswer(call -> {
+            int[] counts = new int[batch.size()];
+            for (int i = 0; i < counts.length; i++) {
+                counts[i] = update(sql, batch.get(i))[0];
+            }
+            batch.clear();
+            return counts;
+        });
+        when(pstmt.getGeneratedKeys()).thenAnswer(call -> rows(new String[] {"id"}, List.<Object[]>of(new Object[] {generated[0]})));
+        return pstmt;
+    }
+
+    private synchronized ResultSet query(String sql, Map<Integer, Object> params) throws SQLException {
+        List<Object[]> rows = new ArrayList<>();
+        if (sql.startsWith("SELECT COUNT(*) FROM Project")) {
+            rows.add(new Object[] {1});
+        } else if (sql.equals("SELECT * FROM Task")) {
+            rows.addAll(copies(tasks.values()));
+        } else if (sql.contains("WHERE project_id = ? AND task_id > ? ORDER BY task_id LIMIT ?")) {
+            int projectId = (Integer) params.get(1);
+            for (Object[] row : tasks.tailMap((Integer) params.get(2), false).values()) {
+                if ((Integer) row[2] == projectId && rows.size() < (Integer) params.get(3)) {
+                    rows.add(row.clone());
+                }
+            }
+        } else if (sql.contains("WHERE task_id IN (")) {
+            int projectId = (Integer) params.get(params.size());
+            for (int i = 1; i < params.size(); i++) {
+                Object[] row = tasks.get((Integer) params.get(i));
+                if (row != null && (Integer) row[2] == projectId) {
+                    rows.add(row.clone());
+                }
+            }
+        } else {
+            throw new SQLException("Unexpected query: " + sql);
+        }
+        return rows(TASK_COLUMNS, rows);
+    }
+
+    // The update count, and the generated id of an insert
+    private synchronized int[] update(String sql, Map<Integer, Object> params) throws SQLException {
+        if (sql.startsWith("INSERT INTO Task (task_name")) {
+            int taskId = nextTaskId++;
+            tasks.put(taskId, new Object[] {taskId, params.get(1), params.get(4), params.get(3), params.get(2)});
+            return new int[] {1, taskId};
+        } else if (sql.startsWith("INSERT INTO Task (task_id")) {
+            tasks.put((Integer) params.get(1), new Object[] {params.get(1), params.get(2), params.get(3), params.get(4), params.get(5)});
+            return new int[] {1, 0};
+        } else if (sql.startsWith("UPDATE Task t JOIN Employee")) {
+            Object[] row = tasks.get((Integer) params.get(2));
+            if (row == null || !row[2].equals(params.get(3))) {
+                return new int[] {0, 0};
+            }
+            row[3] = params.get(1);
+            return new int[] {1, 0};
+        } else if (sql.startsWith("DELETE FROM Task WHERE project_id = ? LIMIT ?")) {
+            int deleted = 0;
+            for (Iterator<Object[]> it = tasks.values().iterator(); it.hasNext() && deleted < (Integer) params.get(2); ) {
+                if (it.next()[2].equals(params.get(1))) {
+                    it.remove();
+                    deleted++;
+                }
+            }
+            return new int[] {deleted, 0};
+        } else if (sql.startsWith("DELETE FROM Task WHERE task_id = ? AND project_id = ?")) {
+            Object[] row = tasks.get((Integer) params.get(1));
+            if (row == null || !row[2].equals(params.get(2))) {
+                return new int[] {0, 0};
+            }
+            tasks.remove((Integer) params.get(1));
+            return new int[] {1, 0};
+        } else if (sql.startsWith("INSERT INTO shard_directory")) {
+            directory.put((Integer) params.get(1), (Integer) params.get(2));
+            return new int[] {1, 0};
+        } else if (sql.startsWith("DELETE FROM shard_directory")) {
+            return new int[] {directory.remove((Integer) params.get(1)) == null ? 0 : 1, 0};
+        }
+        throw new SQLException("Unexpected update: " + sql);
+    }
+
+    private static List<Object[]> copies(Iterable<Object[]> rows) {
+        List<Object[]> copies = new ArrayList<>();
+        for (Object[] row : rows) {
+            copies.add(row.clone());
+        }
+        return copies;
+    }
+
+    private static ResultSet rows(String[] columns, List<Object[]> rows) throws SQLException {
+        ResultSet rs = mock(ResultSet.class);
+        int[] cursor = {-1};
+        when(rs.next()).thenAnswer(call -> ++cursor[0] < rows.size());
+        when(rs.findColumn(anyString())).thenAnswer(call -> List.of(columns).indexOf(call.<String>getArgument(0)) + 1);
+        when(rs.getInt(anyInt())).thenAnswer(call -> {
+            Object value = rows.get(cursor[0])[call.<Integer>getArgument(0) - 1];
+            return value == null ? 0 : ((Number) value).intValue();
+        });
+        when(rs.getString(anyInt())).thenAnswer(call -> (String) rows.get(cursor[0])[call.<Integer>getArgument(0) - 1]);
+        when(rs.getObject(anyInt())).thenAnswer(call -> rows.get(cursor[0])[call.<Integer>getArgument(0) - 1]);
+        return rs;
+    }
+}
@@ -0,0 +1,142 @@
+package test;
+
+import dao.InMemoryProjectRepository;
+import dao.Page;
+import dao.TaskFilter;
+import entity.Employee;
+import entity.Project;
+import entity.Task;
+import exception.EmployeeNotFoundException;
+import exception.ProjectNotFoundException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class InMemoryProjectRepositoryTest {
+
+    private InMemoryProjectRepository repo;
+    private Project project;
+    private Employee employee;
+
+    @BeforeEach
+    public void setUp() throws ProjectNotFoundException {
+        repo = new InMemoryProjectRepository();
+        project = new Project(0, "Project Alpha", "New software project", LocalDate.of(2024, 1, 15), "started");
+        repo.createProject(project);
+        employee = new Employee(0, "John", "Developer", "Male", 5000, project.getId());
+        repo.createEmployee(employee);
+    }
+
+    @Test
+    public void testCreateAssignsIds() {
+        assertEquals(1, project.getId(), "First project should get ID 1");
+        assertEquals(1, employee.getId(), "First employee should get ID 1");
+        assertEquals("John", repo.findEmployee(1).orElseThrow().getName());
+    }
+
+    @Test
+    public void testCreateEmployeeWithUnknownProject() {
+        Employee emp = new Employee(0, "Jane", "Tester", "Female", 4000, 99);
+        assertThrows(ProjectNotFoundException.class, () -> repo.createEmployee(emp));
+    }
+
+    @Test
+    public void testCreateTaskWithUnknownEmployee() {
+        Task task = new Task(0, "Develop Feature X", project.getId(), 42, "Assigned");
+        assertThrows(EmployeeNotFoundException.class, () -> repo.createTask(task));
+    }
+
+    @Test
+    public void testGetAllTasksUsesEmployeeAndProject() throws Exception {
+        Project other = new Project(0, "Project Beta", "Another project", LocalDate.of(2024, 2, 1), "build");
+        repo.createProject(other);
+        repo.createTask(new Task(0, "Task 1", project.getId(), employee.getId(), "Assigned"));
+        repo.createTask(new Task(0, "Task 2", project.getId(), employee.getId(), "Started"));
+        repo.createTask(new Task(0, "Task 3", other.getId(), employee.getId(), "Completed"));
+
+        assertEquals(2, repo.getAllTasks(employee.getId(), project.getId()).size());
+        assertEquals(1, repo.getAllTasks(employee.getId(), other.getId()).size());
+        assertEquals(3, repo.getTaskTable().size());
+    }
+
+    @Test
+    public void testAssignTaskToEmployeeMovesIndexes() throws Exception {
+        Employee jane = new Employee(0, "Jane", "Tester", "Female", 4000, project.getId());
+        repo.createEmployee(jane);
+        Task task = new Task(0, "Task 1", project.getId(), employee.getId(), "Assigned");
+        repo.createTask(task);
+
+        assertTrue(repo.assignTaskToEmployee(task.getTaskId(), project.getId(), jane.getId()));
+        assertTrue(repo.getAllTasks(employee.getId(), project.getId()).isEmpty());
+        assertEquals(1, repo.getAllTasks(jane.getId(), project.getId()).size());
+        assertFalse(repo.assignTaskToEmployee(999, project.getId(), jane.getId()), "Unknown task should not be assigned");
+    }
+
+    @Test
+    public void testDeleteRespectsReferences() throws Exception {
+        Task task = new Task(0, "Task 1", project.getId(), employee.getId(), "Assigned");
+        repo.createTask(task);
+
+        assertFalse(repo.deleteEmployee(employee.getId()), "Employee with tasks should not be deleted");
+        assertFalse(repo.deleteProject(project.getId()), "Project with employees should not be deleted");
+        assertThrows(EmployeeNotFoundException.class, () -> repo.deleteEmployee(77));
+        assertThrows(ProjectNotFoundException.class, () -> repo.deleteProject(77));
+    }
+
+    @Test
+    public void testReturnedEntitiesAreCopies() {
+        repo.findEmployee(employee.getId()).orElseThrow().setName("Changed");
+        assertEquals("John", repo.findEmployee(employee.getId()).orElseThrow().getName());
+    }
+
+    @Test
+    public void testFindTasksPagesInIdOrder() throws Exception {
+        List<Task> tasks = new ArrayList<>();
+        for (int i = 0; i < 25; i++) {
+            tasks.add(new Task(0, "Task " + i, project.getId(), employee.getId(), i % 2 == 0 ? "Assigned" : "Completed"));
+        }
+        assertEquals(25, repo.createTasks(tasks).getSuccessCount());
+
+        Page<Task> first = repo.findTasks(TaskFilter.all(), null, 10);
+        assertEquals(10, first.getItems().size());
+        assertTrue(first.hasNext());
+        Page<Task> second = repo.findTasks(TaskFilter.all(), first.getNextPageToken(), 10);
+        assertEquals(11, second.getItems().get(0).getTaskId());
+        Page<Task> third = repo.findTasks(TaskFilter.all(), second.getNextPageToken(), 10);
+        assertEquals(5, third.getItems().size());
+        assertFalse(third.hasNext());
+
+        Page<Task> completed = repo.findTasks(new TaskFilter(project.getId(), null, "completed"), null, 100);
+        assertEquals(12, completed.getItems().size());
+    }
+
+    @Test
+    public void testPageSizeMustBePositive() throws Exception {
+        repo.createTask(new Task(0, "Design", project.getId(), employee.getId(), "Assigned"));
+        assertThrows(IllegalArgumentException.class, () -> repo.findTasks(TaskFilter.all(), null, 0));
+        assertThrows(IllegalArgumentException.class, () -> repo.findEmployees(null, null, -1));
+        assertThrows(IllegalArgumentException.class, () -> repo.findProjects(null, null, 0));
+    }
+
+    @Test
+    public void testIndexedPagesStayInIdOrderAfterReassignment() throws Exception {
+        Employee jane = new Employee(0, "Jane", "Tester", "Female", 4000, project.getId());
+        repo.createEmployee(jane);
+        for (int i = 0; i < 6; i++) {
+            repo.createTask(new Task(0, "Task " + i, project.getId(), i < 4 ? employee.getId() : jane.getId(), "Assigned"));
+        }
+        repo.assignTaskToEmployee(1, project.getId(), jane.getId());
+
+        TaskFilter janes = new TaskFilter(project.getId(), jane.getId(), null);
+        Page<Task> first = repo.findTasks(janes, null, 2);
+        assertEquals(List.of(1, 5), first.getItems().stream().map(Task::getTaskId).toList());
+        Page<Task> second = repo.findTasks(janes, first.getNextPageToken(), 2);
+        assertEquals(List.of(6), second.getItems().stream().map(Task::getTaskId).toList());
+        assertFalse(second.hasNext());
+    }
+}
@@ -0,0 +1,116 @@
+package test;
+
+import dao.InMemoryProjectRepository;
+import io.JsonReader;
+import io.JsonWriter;
+import io.Utf8Writer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import server.ProjectHttpServer;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ProjectHttpServerTest {
+
+    private ProjectHttpServer server;
+    private HttpClient client;
+    private String base;
+
+    @BeforeEach
+    public void setUp() throws Exception {
+        server = new ProjectHttpServer(new InMemoryProjectRepository(), new InetSocketAddress("127.0.0.1", 0), 64, 10_000,
+                false, new PrintStream(new ByteArrayOutputStream()));
+        server.start();
+        client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+        base = "http://127.0.0.1:" + server.getAddress().getPort();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        server.close();
+    }
+
+    @Test
+    public void testCreateAssignAndListOverHttp() throws Exception {
+        HttpResponse<String> project = send("POST", "/projects",
+                "{\"projectName\":\"Apollo\",\"description\":\"Moon\",\"startDate\":\"2024-01-15\",\"status\":\"started\"}");
+        assertEquals(201, project.statusCode());
+        long projectId = (Long) object(project.body()).get("id");
+
+        HttpResponse<String> employees = send("POST", "/employees", "[{\"name\":\"Ada\",\"gender\":\"Female\",\"salary\":5000,\"project_id\":"
+                + projectId + "},{\"name\":\"Bob\",\"project_id\":999}]");
+        Map<String, Object> batch = object(employees.body());
+        assertEquals(1L, batch.get("succeeded"));
+        assertTrue(((Map<?, ?>) batch.get("failures")).containsKey("1"));
+        long employeeId = (Long) ((List<?>) batch.get("ids")).get(0);
+
+        HttpResponse<String> task = send("POST", "/tasks", "{\"task_name\":\"Land \\u00e9\",\"project_id\":" + projectId
+                + ",\"employee_id\":" + employeeId + ",\"status\":\"Assigned\"}");
+        assertEquals(201, task.statusCode());
+        assertEquals("Land é", object(task.body()).get("task_name"));
+
+        HttpResponse<String> listing = send("GET", "/tasks", null);
+        assertEquals(200, listing.statusCode());
+        assertEquals("chunked", listing.headers().firstValue("Transfer-Encoding").orElse(null));
+        List<?> tasks = (List<?>) JsonReader.parse(listing.body());
+        assertEquals(1, tasks.size());
+
+        HttpResponse<String> page = send("GET", "/tasks?pageSize=10&project_id=" + projectId, null);
+        assertEquals(1, ((List<?>) object(page.body()).get("items")).size());
+        assertNull(object(page.body()).get("nextPageToken"));
+
+        assertEquals(404, send("GET", "/projects/12345", null).statusCode());
+        assertEquals(404, send("PUT", "/employees/12345/project", "{\"project_id\":" + projectId + "}").statusCode());
+        assertEquals(400, send("POST", "/tasks", "{\"task_name\":").statusCode());
+        assertEquals(405, send("PUT", "/tasks", "{}").statusCode());
+        assertEquals(409, send("DELETE", "/projects/" + projectId, null).statusCode());
+        assertEquals(404, send("PUT", "/projects/" + projectId + "/shard", "{\"shard\":1}").statusCode(), "moves need the sharded backend");
+
+        Map<String, Object> stats = object(send("GET", "/stats", null).body());
+        assertEquals(1L, ((Map<?, ?>) stats.get("GET /projects/{id}")).get("count"));
+        assertTrue(stats.containsKey("POST /tasks"));
+    }
+
+    @Test
+    public void testJsonWrittenAsUtf8ParsesBack() throws Exception {
+        Utf8Writer out = new Utf8Writer(16);
+        JsonWriter json = new JsonWriter(out);
+        json.beginObject().field("name", "tab\t \"quoted\" ünïcödé 😀").name("n").value(-9_876_543_210L)
+                .name("list").beginArray().value(1.5).value(true).value((String) null).endArray().endObject();
+        String text = new String(out.toByteArray(), StandardCharsets.UTF_8);
+
+        Map<String, Object> parsed = object(text);
+        assertEquals("tab\t \"quoted\" ünïcödé 😀", parsed.get("name"));
+        assertEquals(-9_876_543_210L, parsed.get("n"));
+        assertEquals(Arrays.asList(1.5, true, null), parsed.get("list"));
+        assertThrows(IllegalArgumentException.class, () -> JsonReader.parse("{\"a\":1,}"));
+    }
+
+    private HttpResponse<String> send(String method, String path, String body) throws Exception {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(base + path));
+        if (body == null) {
+            request.method(method, HttpRequest.BodyPublishers.noBody());
+        } else {
+            request.header("Content-Type", "application/json").method(method, HttpRequest.BodyPublishers.ofString(body));
+        }
+        return client.send(request.build(), HttpResponse.BodyHandlers.ofString());
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, Object> object(String json) {
+        return (Map<String, Object>) JsonReader.parse(json);
+    }
+}
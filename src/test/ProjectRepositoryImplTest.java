@@ -1,18 +1,29 @@
 package test;
 
+import dao.BatchResult;
 import dao.ProjectRepositoryImpl;
 import entity.Employee;
 import entity.Project;
 import entity.Task;
 import exception.EmployeeNotFoundException;
 import exception.ProjectNotFoundException;
+import exception.UncheckedSQLException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.sql.BatchUpdateException;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.sql.Statement;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
 
 public class ProjectRepositoryImplTest {
@@ -240,4 +251,60 @@ public class ProjectRepositoryImplTest {
 
         assertEquals(2, tasks.size(), "There should be two tasks in the task table");
     }
+
+    @Test
+    public void testLostConnectionFailsTheBatchAsAWhole() throws SQLException {
+        Connection conn = mock(Connection.class);
+        PreparedStatement pstmt = mock(PreparedStatement.class);
+        when(conn.getAutoCommit()).thenReturn(true);
+        when(conn.prepareStatement(anyString(), eq(Statement.RETURN_GENERATED_KEYS))).thenReturn(pstmt);
+        when(pstmt.executeBatch()).thenThrow(new BatchUpdateException("Data too long", "22001", 1406, new int[0]));
+        when(pstmt.executeUpdate())
+                .thenThrow(new SQLException("Data too long for column 'projectName'", "22001", 1406))
+                .thenThrow(new SQLTransientConnectionException("Communications link failure", "08S01"));
+        ProjectRepositoryImpl failing = new ProjectRepositoryImpl(() -> conn);
+        failing.setErrorHandler(e -> {});
+
+        List<Project> projects = List.of(new Project(0, "A".repeat(300), null, null, "started"),
+                new Project(0, "B", null, null, "started"), new Project(0, "C", null, null, "started"));
+        BatchResult result = failing.createProjects(projects);
+
+        assertEquals(3, result.getFailureCount());
+        assertTrue(result.getFailures().get(0).startsWith("Data too long"));
+        assertEquals("Communications link failure", result.getFailures().get(2));
+        assertEquals("Communications link failure", result.getBatchFailure());
+    }
+
+    @Test
+    public void testStreamFailureAfterSomeRowsIsThrown() throws SQLException {
+        Connection conn = mock(Connection.class);
+        PreparedStatement pstmt = mock(PreparedStatement.class);
+        ResultSet rs = mock(ResultSet.class);
+        when(conn.prepareStatement(anyString(), anyInt(), anyInt())).thenReturn(pstmt);
+        when(pstmt.executeQuery()).thenReturn(rs);
+        when(rs.findColumn(anyString())).thenReturn(1);
+        when(rs.next()).thenReturn(true).thenThrow(new SQLException("Connection reset"));
+        ProjectRepositoryImpl streaming = new ProjectRepositoryImpl(() -> conn);
+
+        List<Task> seen = new ArrayList<>();
+        try (Stream<Task> tasks = streaming.streamTaskTable()) {
+            UncheckedSQLException e = assertThrows(UncheckedSQLException.class, () -> tasks.forEach(seen::add));
+            assertEquals("Connection reset", e.getCause().getMessage());
+        }
+        assertEquals(1, seen.size());
+        verify(conn).close();
+    }
+
+    @Test
+    public void testStreamThatCannotStartIsThrown() throws SQLException {
+        Connection conn = mock(Connection.class);
+        PreparedStatement pstmt = mock(PreparedStatement.class);
+        when(conn.prepareStatement(anyString(), anyInt(), anyInt())).thenReturn(pstmt);
+        when(pstmt.executeQuery()).thenThrow(new SQLException("Table 'Task' doesn't exist"));
+
+        assertThrows(UncheckedSQLException.class, () -> new ProjectRepositoryImpl(() -> conn).streamTaskTable());
+        verify(pstmt).close();
+        verify(conn).close();
+        assertThrows(UncheckedSQLException.class, () -> new ProjectRepositoryImpl(() -> null).streamEmployees());
+    }
 }
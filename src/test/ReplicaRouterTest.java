@@ -0,0 +1,169 @@
+package test;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import util.ConnectionPool;
+import util.ReplicaRouter;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+public class ReplicaRouterTest {
+
+    private ConnectionPool primary;
+    private Connection primaryConn;
+    private ConnectionPool replicaA;
+    private ConnectionPool replicaB;
+    private Connection readA;
+    private Connection readB;
+
+    @BeforeEach
+    public void setUp() throws SQLException {
+        primary = mock(ConnectionPool.class);
+        primaryConn = mock(Connection.class);
+        when(primary.getConnection()).thenReturn(primaryConn);
+        when(primary.getConnection(any())).thenReturn(primaryConn);
+        readA = mock(Connection.class);
+        readB = mock(Connection.class);
+        replicaA = replica(readA, 0);
+        replicaB = replica(readB, 0);
+    }
+
+    @Test
+    public void testReadsAlternateAndSkipLaggingReplicas() throws Exception {
+        ReplicaRouter router = new ReplicaRouter(primary, List.of("a:3306", "b:3306"), List.of(replicaA, replicaB), 5, true);
+        assertSame(primaryConn, router.getReadConnection()); // no lag measured yet
+
+        router.checkLag();
+        Connection first = router.getReadConnection();
+        Connection second = router.getReadConnection();
+        assertNotSame(first, second);
+        assertTrue(List.of(readA, readB).containsAll(List.of(first, second)));
+        assertSame(first, router.getReadConnection());
+
+        ConnectionPool lagging = replica(readB, 30);
+        router = new ReplicaRouter(primary, List.of("a:3306", "b:3306"), List.of(replicaA, lagging), 5, true);
+        router.checkLag();
+        for (int i = 0; i < 4; i++) {
+            assertSame(readA, router.getReadConnection());
+        }
+        assertEquals(4, router.getReplicas().get(0).getReads());
+        assertEquals(0, router.getReplicas().get(1).getReads());
+    }
+
+    @Test
+    public void testStandaloneServerNeedsOptIn() throws Exception {
+        ReplicaRouter router = new ReplicaRouter(primary, List.of("a:3306"), List.of(replicaA), 5, false);
+        router.checkLag();
+        assertFalse(router.getReplicas().get(0).isUp());
+        assertTrue(router.getReplicas().get(0).getProblem().contains("db.replica.allowStandalone"));
+        assertSame(primaryConn, router.getReadConnection());
+    }
+
+    @Test
+    public void testStartPollsLagInTheBackground() throws Exception {
+        ReplicaRouter router = new ReplicaRouter(primary, List.of("a:3306"), List.of(replicaA), 5, true);
+        assertFalse(router.getReplicas().get(0).isUp(), "nothing is polled before start()");
+        router.start(10);
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (!router.getReplicas().get(0).isUp() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(5);
+        }
+        assertTrue(router.getReplicas().get(0).isUp());
+        router.close();
+    }
+
+    @Test
+    public void testThreadReadsItsOwnWritesFromThePrimary() throws Exception {
+        ReplicaRouter router = new ReplicaRouter(primary, List.of("a:3306"), List.of(replicaA), 5, true);
+        router.checkLag();
+        assertSame(readA, router.getReadConnection());
+
+        router.getWriteConnection();
+        ArgumentCaptor<Runnable> onClose = ArgumentCaptor.forClass(Runnable.class);
+        verify(primary).getConnection(onClose.capture());
+        Thread.sleep(2);
+        onClose.getValue().run(); // the write's connection goes back to the pool
+
+        assertSame(primaryConn, router.getReadConnection());
+        Thread otherThread = new Thread(() -> {
+            try {
+                assertSame(readA, router.getReadConnection());
+            } catch (SQLException e) {
+                fail(e);
+            }
+        });
+        otherThread.start();
+        otherThread.join();
+
+        Thread.sleep(2);
+        router.checkLag(); // a standalone server holds everything committed before the check
+        assertSame(readA, router.getReadConnection());
+    }
+
+    @Test
+    public void testConsistencyTokenCarriesWritesToAnotherThread() throws Exception {
+        ReplicaRouter router = new ReplicaRouter(primary, List.of("a:3306"), List.of(replicaA), 5, true);
+        router.checkLag();
+        assertEquals(0, router.getReadAfter());
+        assertSame(primaryConn, router.readFromPrimary(() -> {
+            try {
+                return router.getReadConnection();
+            } catch (SQLException e) {
+                throw new AssertionError(e);
+            }
+        }));
+        assertSame(readA, router.getReadConnection());
+
+        router.getWriteConnection();
+        ArgumentCaptor<Runnable> onClose = ArgumentCaptor.forClass(Runnable.class);
+        verify(primary).getConnection(onClose.capture());
+        Thread.sleep(2);
+        onClose.getValue().run();
+        long token = router.getReadAfter();
+        assertTrue(token > 0);
+
+        Connection[] read = new Connection[1];
+        Thread reader = new Thread(() -> {
+            try {
+                router.readAfter(token);
+                read[0] = router.getReadConnection();
+            } catch (SQLException e) {
+                fail(e);
+            }
+        });
+        reader.start();
+        reader.join();
+        assertSame(primaryConn, read[0], "a replica checked before the write can't serve it");
+    }
+
+    // A replica pool whose SHOW REPLICA STATUS reports the given lag in seconds
+    private static ConnectionPool replica(Connection reads, long lagSeconds) throws SQLException {
+        ConnectionPool pool = mock(ConnectionPool.class);
+        Statement stmt = mock(Statement.class);
+        ResultSet status = mock(ResultSet.class);
+        ResultSetMetaData meta = mock(ResultSetMetaData.class);
+        when(pool.getConnection()).thenReturn(reads);
+        when(reads.createStatement()).thenReturn(stmt);
+        when(stmt.executeQuery("SHOW REPLICA STATUS")).thenReturn(status);
+        if (lagSeconds == 0) {
+            when(status.next()).thenReturn(false); // standalone instance
+        } else {
+            when(status.next()).thenReturn(true);
+            when(status.getMetaData()).thenReturn(meta);
+            when(meta.getColumnCount()).thenReturn(1);
+            when(meta.getColumnLabel(1)).thenReturn("Seconds_Behind_Source");
+            when(status.getLong("Seconds_Behind_Source")).thenReturn(lagSeconds);
+        }
+        return pool;
+    }
+}
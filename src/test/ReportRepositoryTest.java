@@ -0,0 +1,103 @@
+package test;
+
+import dao.InMemoryProjectRepository;
+import dao.ReportRepositoryImpl;
+import dao.StreamReportRepository;
+import entity.Employee;
+import entity.Project;
+import entity.ProjectCost;
+import entity.ProjectTaskSummary;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+public class ReportRepositoryTest {
+
+    @Test
+    public void testGroupedRowsAreMappedByPosition() throws SQLException {
+        Connection conn = mock(Connection.class);
+        PreparedStatement pstmt = mock(PreparedStatement.class);
+        ResultSet rs = mock(ResultSet.class);
+        when(conn.prepareStatement(anyString())).thenReturn(pstmt);
+        when(pstmt.executeQuery()).thenReturn(rs);
+        when(rs.next()).thenReturn(true, true, false);
+        when(rs.getInt(1)).thenReturn(1, 2);
+        when(rs.getString(2)).thenReturn("Alpha", "Beta");
+        when(rs.getInt(3)).thenReturn(2, 0);
+        when(rs.getInt(4)).thenReturn(1, 0);
+        when(rs.getInt(5)).thenReturn(3, 0);
+        when(rs.getInt(6)).thenReturn(7, 0);
+
+        List<ProjectTaskSummary> rows = new ReportRepositoryImpl(() -> conn).getTaskStatusByProject();
+
+        assertEquals(List.of(new ProjectTaskSummary(1, "Alpha", 2, 1, 3, 7), new ProjectTaskSummary(2, "Beta", 0, 0, 0, 0)), rows);
+        ArgumentCaptor<String> query = ArgumentCaptor.forClass(String.class);
+        verify(conn).prepareStatement(query.capture());
+        assertTrue(query.getValue().contains("GROUP BY p.id, p.projectName"));
+        verify(conn).close();
+    }
+
+    @Test
+    public void testCostPeriodBindsBothBounds() throws SQLException {
+        Connection conn = mock(Connection.class);
+        PreparedStatement pstmt = mock(PreparedStatement.class);
+        ResultSet rs = mock(ResultSet.class);
+        when(conn.prepareStatement(anyString())).thenReturn(pstmt);
+        when(pstmt.executeQuery()).thenReturn(rs);
+
+        new ReportRepositoryImpl(() -> conn).getProjectCosts(LocalDate.of(2024, 1, 1), LocalDate.of(2024, 1, 31));
+
+        ArgumentCaptor<String> query = ArgumentCaptor.forClass(String.class);
+        verify(conn).prepareStatement(query.capture());
+        assertTrue(query.getValue().contains("p.startDate >= ? AND p.startDate <= ?"));
+        verify(pstmt).setObject(1, Date.valueOf("2024-01-01"));
+        verify(pstmt).setObject(2, Date.valueOf("2024-01-31"));
+    }
+
+    @Test
+    public void testFailuresGoToTheErrorHandler() throws SQLException {
+        Connection conn = mock(Connection.class);
+        SQLException failure = new SQLException("Table 'Task' doesn't exist");
+        when(conn.prepareStatement(anyString())).thenThrow(failure);
+        List<SQLException> handled = new ArrayList<>();
+        ReportRepositoryImpl reports = new ReportRepositoryImpl(() -> conn);
+        reports.setErrorHandler(handled::add);
+
+        assertTrue(reports.getEmployeeWorkloads(null).isEmpty());
+        assertEquals(List.of(failure), handled);
+    }
+
+    @Test
+    public void testStreamedCostPeriodIsInclusiveLikeTheQuery() throws Exception {
+        InMemoryProjectRepository repository = new InMemoryProjectRepository();
+        for (String date : new String[] {"2023-12-31", "2024-01-01", "2024-01-15", "2024-01-31", "2024-02-01"}) {
+            repository.createProject(new Project(0, "Project " + date, "", LocalDate.parse(date), "started"));
+        }
+        repository.createProject(new Project(0, "Undated", "", null, "started"));
+        repository.createEmployee(new Employee(0, "John", "Developer", "Male", 5000, 2));
+        repository.createEmployee(new Employee(0, "Jane", "Tester", "Female", 4000, 2));
+        StreamReportRepository reports = new StreamReportRepository(repository);
+
+        List<ProjectCost> january = reports.getProjectCosts(LocalDate.of(2024, 1, 1), LocalDate.of(2024, 1, 31));
+        assertEquals(List.of(2, 3, 4), january.stream().map(ProjectCost::projectId).toList());
+        assertEquals(2, january.get(0).headcount());
+        assertEquals(9000, january.get(0).totalSalary());
+
+        // An open end still leaves out projects without a start date, as NULL comparisons do in SQL
+        assertEquals(List.of(4, 5), reports.getProjectCosts(LocalDate.of(2024, 1, 31), null).stream()
+                .map(ProjectCost::projectId).toList());
+        assertEquals(6, reports.getProjectCosts(null, null).size());
+    }
+}
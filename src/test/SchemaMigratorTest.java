@@ -0,0 +1,58 @@
+package test;
+
+import dao.SchemaMigrator;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+public class SchemaMigratorTest {
+
+    @Test
+    public void testScriptsLoadInVersionOrder() throws Exception {
+        List<SchemaMigrator.Migration> migrations = SchemaMigrator.loadScripts();
+
+        assertEquals(List.of(1, 2, 3), migrations.stream().map(SchemaMigrator.Migration::version).toList());
+        assertEquals("baseline", migrations.get(0).description());
+        assertEquals(3, migrations.get(0).statements().size());
+        assertTrue(migrations.get(0).statements().get(0).startsWith("CREATE TABLE IF NOT EXISTS Project"));
+        assertTrue(migrations.get(1).statements().contains("CREATE INDEX idx_task_employee_project_status ON Task (employee_id, project_id, status)"));
+        assertEquals(64, migrations.get(1).checksum().length());
+
+        List<String> split = SchemaMigrator.splitStatements("-- note; not a statement\nINSERT INTO t VALUES ('a;b', \"c\\\";\");\n/* x; */ SELECT 1;");
+        assertEquals(List.of("INSERT INTO t VALUES ('a;b', \"c\\\";\")", "SELECT 1"), split);
+    }
+
+    @Test
+    public void testEditedScriptStopsMigration() throws Exception {
+        Connection conn = mock(Connection.class);
+        PreparedStatement lock = mock(PreparedStatement.class);
+        ResultSet locked = mock(ResultSet.class);
+        Statement stmt = mock(Statement.class);
+        ResultSet history = mock(ResultSet.class);
+        when(conn.prepareStatement(anyString())).thenReturn(lock);
+        when(lock.executeQuery()).thenReturn(locked);
+        when(locked.next()).thenReturn(true);
+        when(locked.getInt(1)).thenReturn(1);
+        when(conn.createStatement()).thenReturn(stmt);
+        when(stmt.executeQuery(anyString())).thenReturn(history);
+        when(history.next()).thenReturn(true, false);
+        when(history.getInt(1)).thenReturn(1);
+        when(history.getString(2)).thenReturn("0".repeat(64));
+
+        SchemaMigrator migrator = new SchemaMigrator(() -> conn, SchemaMigrator.loadScripts());
+
+        IllegalStateException error = assertThrows(IllegalStateException.class, migrator::migrate);
+        assertTrue(error.getMessage().contains("V1__baseline.sql"));
+        verify(stmt, never()).execute(startsWith("CREATE INDEX"));
+        verify(conn).prepareStatement("SELECT RELEASE_LOCK(?)");
+        verify(conn).close();
+    }
+}
@@ -0,0 +1,46 @@
+package test;
+
+import dao.HashShardMap;
+import dao.RangeShardMap;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ShardMapTest {
+
+    @Test
+    public void testRangesIncludeTheirUpperBound() {
+        RangeShardMap map = new RangeShardMap(1000, 5000);
+
+        assertEquals(3, map.getShardCount());
+        assertEquals(0, map.shardFor(1));
+        assertEquals(0, map.shardFor(1000));
+        assertEquals(1, map.shardFor(1001));
+        assertEquals(1, map.shardFor(5000));
+        assertEquals(2, map.shardFor(5001));
+        assertEquals(2, map.shardFor(Integer.MAX_VALUE));
+        assertThrows(IllegalArgumentException.class, () -> new RangeShardMap(5000, 1000));
+    }
+
+    @Test
+    public void testAddingAShardOnlyMovesProjectsOntoIt() {
+        HashShardMap four = new HashShardMap(4, 64);
+        HashShardMap five = new HashShardMap(5, 64);
+        int projects = 100_000;
+        int[] counts = new int[4];
+        int moved = 0;
+        for (int id = 1; id <= projects; id++) {
+            int before = four.shardFor(id);
+            int after = five.shardFor(id);
+            counts[before]++;
+            if (before != after) {
+                assertEquals(4, after, "project " + id + " moved between two old shards");
+                moved++;
+            }
+        }
+        for (int count : counts) {
+            assertTrue(Math.abs(count - projects / 4) < projects / 4 / 5, "unbalanced shards: " + count);
+        }
+        assertTrue(moved > projects / 10 && moved < projects / 3, moved + " projects moved");
+    }
+}
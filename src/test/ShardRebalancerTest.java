@@ -0,0 +1,57 @@
+package test;
+
+import dao.RangeShardMap;
+import dao.ShardDirectory;
+import dao.ShardRebalancer;
+import dao.ShardedProjectRepository;
+import entity.Task;
+import exception.EmployeeNotFoundException;
+import exception.ProjectNotFoundException;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ShardRebalancerTest {
+
+    @Test
+    public void testTasksWrittenDuringTheCopyEndUpOnTheTargetShard() throws Exception {
+        FakeShard source = new FakeShard(1001);
+        FakeShard target = new FakeShard(2002);
+        for (int id = 1; id <= 5; id++) {
+            source.addTask(id, 7, 3, "Assigned");
+        }
+        source.addTask(6, 8, 3, "Assigned");
+        ShardDirectory directory = ShardDirectory.load(new RangeShardMap(100), source::connection);
+
+        try (ShardedProjectRepository repository = new ShardedProjectRepository(List.of(source::connection, target::connection), directory)) {
+            Task created = new Task(0, "Late", 7, 3, "Started");
+            List<Long> progress = new ArrayList<>();
+            ShardRebalancer.MoveResult result = new ShardRebalancer(repository, 2).moveProject(7, 1, copied -> {
+                progress.add(copied);
+                if (progress.size() == 1) { // the first chunk is on the target, the rest still to come
+                    try {
+                        assertTrue(repository.createTask(created));
+                        assertTrue(repository.assignTaskToEmployee(1, 7, 4));
+                    } catch (EmployeeNotFoundException | ProjectNotFoundException e) {
+                        throw new AssertionError(e);
+                    }
+                }
+            });
+
+            assertEquals(1, directory.shardFor(7));
+            assertEquals(Map.of(7, 1), source.directory);
+            assertEquals(List.of(1, 2, 3, 4, 5, created.getTaskId()), target.taskIds(7));
+            assertEquals(4, target.tasks.get(1)[3], "a task changed after it was copied is copied again");
+            assertEquals("Started", target.tasks.get(created.getTaskId())[4]);
+            assertEquals(List.of(), source.taskIds(7));
+            assertEquals(List.of(6), source.taskIds(8));
+            assertEquals(6, result.tasksCopied());
+            assertEquals(2, result.tasksRecopied());
+            assertEquals(6, result.tasksRemoved());
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package test;
+
+import dao.RangeShardMap;
+import dao.ShardDirectory;
+import dao.ShardedProjectRepository;
+import entity.Project;
+import entity.Task;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Types;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+public class ShardedProjectRepositoryTest {
+
+    @Test
+    public void testProjectWithoutStartDateIsCopiedToEveryShard() throws SQLException {
+        Connection catalog = mock(Connection.class);
+        PreparedStatement insert = mock(PreparedStatement.class);
+        ResultSet keys = mock(ResultSet.class);
+        Statement directoryQuery = mock(Statement.class);
+        when(catalog.createStatement()).thenReturn(directoryQuery);
+        when(directoryQuery.executeQuery(anyString())).thenReturn(mock(ResultSet.class)); // no moved projects
+        when(catalog.prepareStatement(anyString(), eq(Statement.RETURN_GENERATED_KEYS))).thenReturn(insert);
+        when(insert.executeUpdate()).thenReturn(1);
+        when(insert.getGeneratedKeys()).thenReturn(keys);
+        when(keys.next()).thenReturn(true);
+        when(keys.getInt(1)).thenReturn(7);
+
+        Connection other = mock(Connection.class);
+        PreparedStatement copy = mock(PreparedStatement.class);
+        when(other.prepareStatement(anyString())).thenReturn(copy);
+
+        ShardDirectory directory = ShardDirectory.load(new RangeShardMap(100), () -> catalog);
+        try (ShardedProjectRepository repository = new ShardedProjectRepository(List.of(() -> catalog, () -> other), directory)) {
+            Project project = new Project(0, "Undated", "No start date yet", null, "started");
+
+            assertTrue(repository.createProject(project));
+            assertEquals(7, project.getId());
+            verify(insert).setNull(3, Types.DATE);
+            verify(copy).setInt(1, 7);
+            verify(copy).setNull(4, Types.DATE);
+            verify(copy).executeBatch();
+            verify(other, never()).prepareStatement(startsWith("DELETE"));
+        }
+    }
+    @Test
+    public void testMergedReadsSkipCopiesLeftOnTheOldShard() throws Exception {
+        FakeShard first = new FakeShard(1001);
+        FakeShard second = new FakeShard(2002);
+        first.addTask(1, 7, 3, "Assigned");
+        first.addTask(2, 150, 3, "Assigned"); // copy left behind by a move to the second shard
+        second.addTask(2, 150, 3, "Started");
+        second.addTask(4, 150, 3, "Completed");
+        first.directory.put(150, 1);
+        first.addTask(3, 9, 3, "Assigned");
+        second.addTask(5, 120, 3, "Assigned");
+        ShardDirectory directory = ShardDirectory.load(new RangeShardMap(100), first::connection);
+
+        try (ShardedProjectRepository repository = new ShardedProjectRepository(List.of(first::connection, second::connection), directory)) {
+            List<Integer> streamed;
+            try (Stream<Task> tasks = repository.streamTaskTable()) {
+                streamed = tasks.map(Task::getTaskId).sorted().collect(Collectors.toList());
+            }
+            List<Task> listed = repository.getTaskTable();
+
+            assertEquals(List.of(1, 2, 3, 4, 5), streamed);
+            assertEquals(List.of(1, 2, 3, 4, 5), listed.stream().map(Task::getTaskId).collect(Collectors.toList()));
+            assertEquals("Started", listed.get(1).getStatus());
+        }
+    }
+}
+
@@ -0,0 +1,104 @@
+package test;
+
+import dao.InMemoryProjectRepository;
+import dao.TaskFilter;
+import entity.Employee;
+import entity.Project;
+import entity.Task;
+import io.SnapshotReader;
+import io.SnapshotWriter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SnapshotTest {
+
+    @TempDir
+    Path dir;
+
+    private InMemoryProjectRepository source;
+
+    @BeforeEach
+    public void setUp() throws Exception {
+        source = new InMemoryProjectRepository();
+        source.createProject(new Project(0, "Apollo", "Moon, \"landing\"", LocalDate.of(1961, 5, 25), "development"));
+        source.createProject(new Project(0, "Gemini", null, null, "started"));
+        source.createEmployee(new Employee(0, "Ann", "Developer", "Female", 5250.5, 2));
+        source.createEmployee(new Employee(0, "Björn", "Developer", null, 0, 1));
+        for (int i = 0; i < 5; i++) {
+            source.createTask(new Task(0, "Task " + i, 1 + i % 2, 1 + i % 2, i % 2 == 0 ? "Assigned" : "Completed"));
+        }
+    }
+
+    @Test
+    public void testRoundTripKeepsIdsAndValues() throws Exception {
+        Path file = dir.resolve("data.snap");
+        SnapshotWriter.write(source, file);
+
+        InMemoryProjectRepository loaded = SnapshotReader.load(file);
+
+        assertEquals(2, loaded.getProjectCount());
+        assertEquals(2, loaded.getEmployeeCount());
+        assertEquals(5, loaded.getTaskCount());
+        Project apollo = loaded.findProject(1).orElseThrow();
+        assertEquals("Moon, \"landing\"", apollo.getDescription());
+        assertEquals(LocalDate.of(1961, 5, 25), apollo.getStartDate());
+        assertNull(loaded.findProject(2).orElseThrow().getStartDate());
+        Employee bjorn = loaded.findEmployee(2).orElseThrow();
+        assertEquals("Björn", bjorn.getName());
+        assertNull(bjorn.getGender());
+        assertEquals(5250.5, loaded.findEmployee(1).orElseThrow().getSalary());
+        List<Task> tasks = loaded.findTasks(new TaskFilter(), null, 10).getItems();
+        assertEquals("Task 4", tasks.get(4).getTaskName());
+        assertEquals(5, tasks.get(4).getTaskId());
+
+        Task created = new Task(0, "After restore", 1, 1, "Started");
+        loaded.createTask(created);
+        assertEquals(6, created.getTaskId());
+    }
+
+    @Test
+    public void testCorruptionIsDetected() throws Exception {
+        Path file = dir.resolve("data.snap");
+        SnapshotWriter.write(source, file);
+        byte[] bytes = Files.readAllBytes(file);
+
+        byte[] flipped = bytes.clone();
+        flipped[bytes.length - 20] ^= 1;
+        Files.write(file, flipped);
+        assertThrows(IOException.class, () -> SnapshotReader.load(file));
+
+        byte[] newerVersion = bytes.clone();
+        newerVersion[5] = 9;
+        Files.write(file, newerVersion);
+        IOException error = assertThrows(IOException.class, () -> SnapshotReader.load(file));
+        assertTrue(error.getMessage().contains("version"));
+    }
+
+    @Test
+    public void testClashingRestoreChangesNothing() {
+        List<Project> clashing = List.of(new Project(3, "Mercury", null, null, "started"), new Project(1, "Apollo 2", null, null, "build"));
+        assertThrows(IllegalStateException.class, () -> source.restoreProjects(clashing));
+        assertFalse(source.projectExists(3));
+        assertEquals("Apollo", source.findProject(1).orElseThrow().getProjectName());
+        assertEquals(2, source.getAllProjects().size());
+
+        List<Task> repeated = List.of(new Task(9, "Twice", 1, 1, "Assigned"), new Task(9, "Twice", 1, 1, "Assigned"));
+        assertThrows(IllegalStateException.class, () -> source.restoreTasks(repeated));
+        assertEquals(5, source.getTaskTable().size());
+
+        // A task whose employee isn't in the copy: the tables weren't read at one point in time
+        List<Task> orphaned = List.of(new Task(10, "Kept", 1, 1, "Assigned"), new Task(11, "Orphan", 1, 7, "Assigned"));
+        IllegalStateException e = assertThrows(IllegalStateException.class, () -> source.restoreTasks(orphaned));
+        assertTrue(e.getMessage().contains("employee 7"));
+        assertEquals(5, source.getTaskTable().size());
+    }
+}
@@ -0,0 +1,121 @@
+package test;
+
+import dao.GroupCounts;
+import dao.TaskColumns;
+import dao.TaskFilter;
+import entity.Task;
+import entity.TaskStatus;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TaskColumnsTest {
+
+    private static final String[] STATUSES = {"Assigned", "Started", "Completed", null};
+
+    private static List<Task> randomTasks(int count) {
+        Random random = new Random(42);
+        List<Task> tasks = new ArrayList<>(count);
+        for (int i = 1; i <= count; i++) {
+            tasks.add(new Task(i, "Task " + random.nextInt(100), 1 + random.nextInt(20), 1 + random.nextInt(300),
+                    STATUSES[random.nextInt(STATUSES.length)]));
+        }
+        return tasks;
+    }
+
+    @Test
+    public void testRowsRoundTrip() {
+        List<Task> tasks = randomTasks(1000);
+        TaskColumns columns = TaskColumns.of(tasks);
+
+        assertEquals(1000, columns.size());
+        assertTrue(columns.getDistinctNameCount() <= 100, "Names should be dictionary encoded");
+        Task original = tasks.get(123);
+        Task copy = columns.toTask(123);
+        assertEquals(original.getTaskId(), copy.getTaskId());
+        assertEquals(original.getTaskName(), copy.getTaskName());
+        assertEquals(original.getEmployeeId(), copy.getEmployeeId());
+        assertEquals(original.getStatus(), copy.getStatus());
+    }
+
+    @Test
+    public void testAggregatesMatchNaiveCounts() {
+        // Large enough to take the fork-join path
+        List<Task> tasks = randomTasks(300_000);
+        TaskColumns columns = TaskColumns.of(tasks);
+
+        TaskFilter completed = new TaskFilter(null, null, "completed");
+        GroupCounts byProject = columns.countByProject(TaskFilter.all());
+        GroupCounts completedByEmployee = columns.countByEmployee(completed);
+        long[] byStatus = columns.countByStatus();
+
+        int[] projectTotals = new int[21];
+        int[] projectStarted = new int[21];
+        int[] employeeCompleted = new int[301];
+        long[] statusTotals = new long[3];
+        for (Task task : tasks) {
+            projectTotals[task.getProjectId()]++;
+            if ("Started".equals(task.getStatus())) {
+                projectStarted[task.getProjectId()]++;
+            }
+            if (completed.matches(task)) {
+                employeeCompleted[task.getEmployeeId()]++;
+            }
+            if (task.getStatus() != null) {
+                statusTotals[TaskStatus.fromLabel(task.getStatus()).ordinal()]++;
+            }
+        }
+
+        for (int project = 1; project <= 20; project++) {
+            assertEquals(projectTotals[project], byProject.count(project));
+            assertEquals(projectStarted[project], byProject.count(project, TaskStatus.STARTED));
+        }
+        for (int employee = 1; employee <= 300; employee++) {
+            assertEquals(employeeCompleted[employee], completedByEmployee.count(employee));
+        }
+        assertArrayEquals(statusTotals, byStatus);
+        assertEquals(300_000, byProject.total());
+        assertEquals(20, byProject.keys().length);
+        assertEquals(projectTotals[7], columns.count(new TaskFilter(7, null, null)));
+        assertEquals(0, columns.count(new TaskFilter(null, null, "In Progress")), "Unknown statuses match nothing");
+    }
+
+    @Test
+    public void testSelectReturnsMatchingRows() {
+        TaskColumns columns = TaskColumns.of(randomTasks(5000));
+        TaskFilter filter = new TaskFilter(3, null, "Assigned");
+
+        int[] rows = columns.select(filter);
+
+        assertEquals(columns.count(filter), rows.length);
+        for (int row : rows) {
+            assertTrue(filter.matches(columns.toTask(row)));
+        }
+    }
+    @Test
+    public void testSparseIdsAreGroupedByDistinctId() {
+        // Ids far apart, and past the range a dense array indexed by id could hold
+        List<Task> tasks = new ArrayList<>();
+        for (int i = 1; i <= 300_000; i++) {
+            int project = Integer.MAX_VALUE - (i % 3) * 1_000_000_000;
+            tasks.add(new Task(i, "Task", project, 2_000_000_000, STATUSES[i % 2]));
+        }
+        TaskColumns columns = TaskColumns.of(tasks);
+
+        GroupCounts byProject = columns.countByProject(TaskFilter.all());
+
+        assertArrayEquals(new int[] {Integer.MAX_VALUE - 2_000_000_000, Integer.MAX_VALUE - 1_000_000_000,
+                Integer.MAX_VALUE}, byProject.keys());
+        assertEquals(100_000, byProject.count(Integer.MAX_VALUE));
+        assertEquals(0, byProject.count(5));
+        assertEquals(300_000, columns.countByEmployee(TaskFilter.all()).count(2_000_000_000));
+        assertEquals(Integer.MAX_VALUE, columns.toTask(2).getProjectId());
+        assertEquals(0, columns.count(new TaskFilter(5, null, null)), "Unknown projects match nothing");
+        assertEquals(50_000, columns.count(new TaskFilter(Integer.MAX_VALUE, null, "Started")));
+    }
+}
+
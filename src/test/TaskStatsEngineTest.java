@@ -0,0 +1,72 @@
+package test;
+
+import dao.IReportRepository;
+import dao.TaskStatsEngine;
+import entity.EmployeeWorkload;
+import entity.ProjectCost;
+import entity.ProjectTaskSummary;
+import entity.TaskStatus;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TaskStatsEngineTest {
+
+    private final List<ProjectTaskSummary> projectRows = new ArrayList<>();
+    private final List<EmployeeWorkload> employeeRows = new ArrayList<>();
+    private TaskStatsEngine engine;
+
+    @BeforeEach
+    public void setUp() {
+        IReportRepository source = new IReportRepository() {
+            @Override
+            public List<ProjectTaskSummary> getTaskStatusByProject() { return projectRows; }
+
+            @Override
+            public List<ProjectCost> getProjectCosts(LocalDate from, LocalDate to) { return List.of(); }
+
+            @Override
+            public List<EmployeeWorkload> getEmployeeWorkloads(Integer projectId) { return employeeRows; }
+        };
+        engine = new TaskStatsEngine(source);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        engine.close();
+    }
+
+    @Test
+    public void testEventsUpdateCounters() {
+        engine.taskCreated(1, 10, 100, "Assigned");
+        engine.taskCreated(2, 10, 100, "Completed");
+        engine.taskCreated(3, 10, 101, "assigned");
+        engine.taskReassigned(1, 10, "Assigned", 100, 101);
+
+        assertEquals(3, engine.getProjectTaskCount(10));
+        assertEquals(2, engine.getProjectTaskCount(10, TaskStatus.ASSIGNED));
+        assertEquals(1, engine.getEmployeeTaskCount(100));
+        assertEquals(2, engine.getEmployeeTaskCount(101, TaskStatus.ASSIGNED));
+        assertEquals(0, engine.getProjectTaskCount(99), "Unknown projects have no tasks");
+    }
+
+    @Test
+    public void testReconcileReplacesDriftedCounters() {
+        engine.taskCreated(1, 10, 100, "Started");
+        projectRows.add(new ProjectTaskSummary(10, "Alpha", 1, 1, 0, 3));
+        employeeRows.add(new EmployeeWorkload(100, "John", 10, 1, 1, 0, 3));
+
+        int corrections = engine.reconcile();
+
+        assertTrue(corrections > 0, "Counters that differed from the database should be reported");
+        assertEquals(3, engine.getProjectTaskCount(10));
+        assertEquals(1, engine.getProjectTaskCount(10, null), "Tasks without a status get their own count");
+        assertEquals(0, engine.reconcile(), "A second pass should find nothing to correct");
+    }
+}
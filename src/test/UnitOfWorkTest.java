@@ -0,0 +1,116 @@
+package test;
+
+import dao.ProjectRepositoryImpl;
+import dao.TaskChangeListener;
+import dao.UnitOfWork;
+import entity.Project;
+import entity.Task;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Savepoint;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+public class UnitOfWorkTest {
+
+    private Connection conn;
+    private PreparedStatement pstmt;
+    private ResultSet keys;
+    private TaskChangeListener listener;
+    private ProjectRepositoryImpl repo;
+
+    @BeforeEach
+    public void setUp() throws SQLException {
+        conn = mock(Connection.class);
+        pstmt = mock(PreparedStatement.class);
+        keys = mock(ResultSet.class);
+        listener = mock(TaskChangeListener.class);
+        when(conn.getAutoCommit()).thenReturn(false);
+        when(conn.prepareStatement(anyString(), eq(Statement.RETURN_GENERATED_KEYS))).thenReturn(pstmt);
+        when(conn.setSavepoint()).thenReturn(mock(Savepoint.class));
+        when(pstmt.getGeneratedKeys()).thenReturn(keys);
+        repo = new ProjectRepositoryImpl(() -> conn);
+        repo.addListener(listener);
+    }
+
+    @Test
+    public void testOperationsShareOneTransaction() throws Exception {
+        when(pstmt.executeBatch()).thenReturn(new int[]{1, 1});
+        when(pstmt.executeUpdate()).thenReturn(1);
+        when(keys.next()).thenReturn(true);
+        when(keys.getInt(1)).thenReturn(10, 11, 7);
+
+        try (UnitOfWork work = repo.beginUnitOfWork(Connection.TRANSACTION_READ_COMMITTED)) {
+            List<Project> projects = List.of(new Project(0, "A", null, null, "started"), new Project(0, "B", null, null, "started"));
+            assertEquals(2, work.repository().createProjects(projects).getSuccessCount());
+            assertTrue(work.repository().createTask(new Task(0, "Design", 10, 1, "Assigned")));
+
+            verify(conn, never()).commit();
+            verify(conn, never()).close();
+            verify(conn).releaseSavepoint(any()); // the batch ran inside a savepoint instead of committing
+            verifyNoInteractions(listener);
+
+            work.commit();
+        }
+
+        verify(conn).setTransactionIsolation(Connection.TRANSACTION_READ_COMMITTED);
+        verify(conn).commit();
+        verify(listener).taskCreated(7, 10, 1, "Assigned");
+        verify(conn).close();
+    }
+
+    @Test
+    public void testConsistentReadStreamsEveryTableOnOneSnapshot() throws Exception {
+        Statement start = mock(Statement.class);
+        PreparedStatement select = mock(PreparedStatement.class);
+        when(conn.createStatement()).thenReturn(start);
+        when(conn.prepareStatement(anyString(), anyInt(), anyInt())).thenReturn(select);
+        when(select.executeQuery()).thenReturn(mock(ResultSet.class));
+
+        try (UnitOfWork read = repo.beginConsistentRead()) {
+            read.repository().streamProjects().close();
+            read.repository().streamEmployees().close();
+            read.repository().streamTaskTable().close();
+            verify(conn, never()).close();
+        }
+
+        InOrder order = inOrder(conn, start);
+        order.verify(conn).setTransactionIsolation(Connection.TRANSACTION_REPEATABLE_READ);
+        order.verify(start).execute("START TRANSACTION WITH CONSISTENT SNAPSHOT, READ ONLY");
+        order.verify(conn, times(3)).prepareStatement(anyString(), anyInt(), anyInt());
+        order.verify(conn).rollback();
+        order.verify(conn).close();
+    }
+
+    @Test
+    public void testFailedOperationBlocksCommit() throws Exception {
+        SQLException deadlock = new SQLException("Deadlock found");
+        when(pstmt.executeUpdate()).thenThrow(deadlock);
+        List<SQLException> handled = new ArrayList<>();
+        repo.setErrorHandler(handled::add);
+
+        try (UnitOfWork work = repo.beginUnitOfWork()) {
+            assertFalse(work.repository().createTask(new Task(0, "Design", 1, 1, "Assigned")));
+            assertEquals(List.of(deadlock), handled);
+            assertSame(deadlock, assertThrows(SQLException.class, work::commit).getCause());
+
+            work.rollback();
+            work.commit();
+        }
+
+        verify(conn, times(2)).rollback(); // explicit rollback, then close()
+        verify(conn).commit();
+        verifyNoInteractions(listener);
+    }
+}
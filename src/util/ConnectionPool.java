@@ -0,0 +1,563 @@
+package util;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.SQLTimeoutException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Bounded JDBC connection pool. Callers get a proxy whose close() hands the physical
+// connection back to the pool instead of tearing down the MySQL session. Prepared statements
+// are cached per physical connection, so repeated SQL is parsed by the server only once.
+public class ConnectionPool implements AutoCloseable {
+    // Time each thread has spent waiting for connections, so callers can split acquire time from query time
+    private static final ThreadLocal<long[]> THREAD_ACQUIRE_NANOS = ThreadLocal.withInitial(() -> new long[1]);
+
+    private final String url;
+    private final PoolConfig config;
+    private final Semaphore permits;
+    private final Deque<PooledConnection> idle = new ConcurrentLinkedDeque<>();
+    private final Set<PooledConnection> active = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger totalConnections = new AtomicInteger();
+    private final PoolMetrics metrics = new PoolMetrics(active::size, idle::size);
+    private final ScheduledExecutorService housekeeper;
+    private volatile boolean closed;
+
+    public ConnectionPool(String url, PoolConfig config) {
+        this.url = url;
+        this.config = config;
+        this.permits = new Semaphore(config.getMaxSize(), true);
+        this.housekeeper = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "db-pool-housekeeper");
+            thread.setDaemon(true);
+            return thread;
+        });
+        fillToMinimum();
+        housekeeper.scheduleWithFixedDelay(this::housekeep, config.getHousekeepingPeriodMs(),
+                config.getHousekeepingPeriodMs(), TimeUnit.MILLISECONDS);
+    }
+
+    public Connection getConnection() throws SQLException {
+        return getConnection(null);
+    }
+
+    // onClose runs on the thread that closes the returned connection, once it is back in the pool
+    public Connection getConnection(Runnable onClose) throws SQLException {
+        if (closed) {
+            throw new SQLException("Connection pool is closed");
+        }
+        long start = System.nanoTime();
+        if (!permits.tryAcquire()) {
+            metrics.recordWait();
+            try {
+                if (!permits.tryAcquire(config.getConnectionTimeoutMs(), TimeUnit.MILLISECONDS)) {
+                    metrics.recordTimeout();
+                    throw new SQLTimeoutException("Timed out after " + config.getConnectionTimeoutMs()
+                            + "ms waiting for a pooled connection (" + metrics + ")");
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new SQLException("Interrupted while waiting for a pooled connection", e);
+            }
+        }
+
+        try {
+            PooledConnection pooled = takeIdleOrCreate();
+            pooled.borrowedAtNanos = System.nanoTime();
+            pooled.borrowSite = config.getLeakDetectionThresholdMs() > 0 ? new Exception("Connection borrowed here") : null;
+            pooled.leakReported = false;
+            active.add(pooled);
+            long borrowNanos = System.nanoTime() - start;
+            metrics.recordBorrow(borrowNanos);
+            THREAD_ACQUIRE_NANOS.get()[0] += borrowNanos;
+            return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(),
+                    new Class<?>[]{Connection.class}, new Handle(pooled, onClose));
+        } catch (SQLException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    // Returns the calling thread's accumulated connection acquire time across all pools and resets it
+    public static long takeThreadAcquireNanos() {
+        long[] slot = THREAD_ACQUIRE_NANOS.get();
+        long nanos = slot[0];
+        slot[0] = 0;
+        return nanos;
+    }
+
+    public PoolMetrics getMetrics() {
+        return metrics;
+    }
+
+    public int getActiveCount() {
+        return active.size();
+    }
+
+    public int getIdleCount() {
+        return idle.size();
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        housekeeper.shutdownNow();
+        PooledConnection pooled;
+        while ((pooled = idle.pollFirst()) != null) {
+            destroy(pooled);
+        }
+    }
+
+    private PooledConnection takeIdleOrCreate() throws SQLException {
+        PooledConnection pooled;
+        while ((pooled = idle.pollFirst()) != null) {
+            if (isUsable(pooled)) {
+                return pooled;
+            }
+            destroy(pooled);
+        }
+        return create();
+    }
+
+    private boolean isUsable(PooledConnection pooled) {
+        long idleNanos = System.nanoTime() - pooled.lastReturnedNanos;
+        if (idleNanos < TimeUnit.MILLISECONDS.toNanos(config.getValidationIdleMs())) {
+            return true; // recently used, skip the round trip
+        }
+        try {
+            if (pooled.physical.isValid(config.getValidationTimeoutSeconds())) {
+                return true;
+            }
+        } catch (SQLException ignored) {
+            // treated as a failed validation below
+        }
+        metrics.recordValidationFailure();
+        return false;
+    }
+
+    private PooledConnection create() throws SQLException {
+        Connection physical = DriverManager.getConnection(url);
+        totalConnections.incrementAndGet();
+        metrics.recordCreated();
+        return new PooledConnection(physical, physical.getTransactionIsolation(), new StatementCache(config.getStatementCacheSize()));
+    }
+
+    private void release(PooledConnection pooled) {
+        active.remove(pooled);
+        try {
+            if (closed || pooled.physical.isClosed()) {
+                destroy(pooled);
+                return;
+            }
+            if (pooled.dirty) {
+                pooled.reset();
+            }
+            pooled.lastReturnedNanos = System.nanoTime();
+            idle.offerFirst(pooled); // LIFO keeps the warmest connections in use
+        } catch (SQLException e) {
+            destroy(pooled);
+        } finally {
+            permits.release();
+        }
+    }
+
+    private void destroy(PooledConnection pooled) {
+        totalConnections.decrementAndGet();
+        metrics.recordClosed();
+        try {
+            pooled.physical.close();
+        } catch (SQLException ignored) {
+            // the connection is being discarded anyway
+        }
+    }
+
+    private void housekeep() {
+        try {
+            evictIdle();
+            fillToMinimum();
+            detectLeaks();
+        } catch (RuntimeException e) {
+            e.printStackTrace();
+        }
+    }
+
+    private void evictIdle() {
+        long idleTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(config.getIdleTimeoutMs());
+        long now = System.nanoTime();
+        Iterator<PooledConnection> it = idle.descendingIterator(); // coldest first
+        while (it.hasNext() && totalConnections.get() > config.getMinSize()) {
+            PooledConnection pooled = it.next();
+            if (now - pooled.lastReturnedNanos > idleTimeoutNanos && idle.remove(pooled)) {
+                destroy(pooled);
+            }
+        }
+    }
+
+    private void fillToMinimum() {
+        int target = Math.min(config.getMinSize(), config.getMaxSize());
+        while (!closed && totalConnections.get() < target) {
+            try {
+                PooledConnection pooled = create();
+                pooled.lastReturnedNanos = System.nanoTime();
+                idle.offerLast(pooled);
+            } catch (SQLException e) {
+                e.printStackTrace();
+                return;
+            }
+        }
+    }
+
+    private void detectLeaks() {
+        long threshold = config.getLeakDetectionThresholdMs();
+        if (threshold <= 0) {
+            return;
+        }
+        long now = System.nanoTime();
+        for (PooledConnection pooled : active) {
+            long heldMs = TimeUnit.NANOSECONDS.toMillis(now - pooled.borrowedAtNanos);
+            if (!pooled.leakReported && heldMs > threshold) {
+                pooled.leakReported = true;
+                metrics.recordLeak();
+                System.err.println("Possible connection leak: connection held for " + heldMs + "ms");
+                if (pooled.borrowSite != null) {
+                    pooled.borrowSite.printStackTrace();
+                }
+            }
+        }
+    }
+
+    private static final class PooledConnection {
+        final Connection physical;
+        final int defaultIsolation;
+        final StatementCache statements;
+        volatile long lastReturnedNanos;
+        volatile long borrowedAtNanos;
+        volatile Exception borrowSite;
+        volatile boolean leakReported;
+        boolean dirty;
+
+        PooledConnection(Connection physical, int defaultIsolation, StatementCache statements) {
+            this.physical = physical;
+            this.defaultIsolation = defaultIsolation;
+            this.statements = statements;
+        }
+
+        void reset() throws SQLException {
+            if (!physical.getAutoCommit()) {
+                physical.rollback();
+                physical.setAutoCommit(true);
+            }
+            if (physical.isReadOnly()) {
+                physical.setReadOnly(false);
+            }
+            if (physical.getTransactionIsolation() != defaultIsolation) {
+                physical.setTransactionIsolation(defaultIsolation);
+            }
+            physical.clearWarnings();
+            dirty = false;
+        }
+    }
+
+    // One handle per borrow, so a connection closed by one caller can't be reused through a stale reference
+    private final class Handle implements InvocationHandler {
+        private final PooledConnection pooled;
+        private final Runnable onClose;
+        private final List<Statement> openStatements = new ArrayList<>();
+        private boolean closed;
+
+        Handle(PooledConnection pooled, Runnable onClose) {
+            this.pooled = pooled;
+            this.onClose = onClose;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "close":
+                    if (!closed) {
+                        closed = true;
+                        closeStatements();
+                        release(pooled);
+                        if (onClose != null) {
+                            onClose.run();
+                        }
+                    }
+                    return null;
+                case "isClosed":
+                    if (closed) {
+                        return true;
+                    }
+                    break;
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return "Pooled[" + pooled.physical + "]";
+                case "prepareStatement":
+                    if (!closed && pooled.statements.isEnabled()) {
+                        StatementKey key = StatementKey.of(method, args);
+                        if (key != null) {
+                            return track(pooled.statements.prepare(key, this, (Connection) proxy));
+                        }
+                    }
+                    break;
+                case "setAutoCommit":
+                case "setReadOnly":
+                case "setTransactionIsolation":
+                case "setCatalog":
+                case "setSchema":
+                    pooled.dirty = true;
+                    break;
+                default:
+                    break;
+            }
+            if (closed) {
+                throw new SQLException("Connection has already been returned to the pool");
+            }
+            Object result = invokeOn(pooled.physical, method, args);
+            return result instanceof Statement ? track((Statement) result) : result;
+        }
+
+        private Statement track(Statement statement) throws SQLException {
+            if (openStatements.size() >= 64) {
+                openStatements.removeIf(ConnectionPool::isClosedQuietly);
+            }
+            openStatements.add(statement);
+            return statement;
+        }
+
+        // Statements the borrower forgot to close are closed with the connection, so they can't leak into the next borrow
+        private void closeStatements() {
+            for (Statement statement : new ArrayList<>(openStatements)) {
+                closeQuietly(statement);
+            }
+            openStatements.clear();
+        }
+    }
+
+    private record StatementKey(String sql, int kind, int first, int second) {
+        // Only the common prepareStatement overloads are cached; the column-list variants are prepared as usual
+        static StatementKey of(Method method, Object[] args) {
+            Class<?>[] types = method.getParameterTypes();
+            if (types.length == 1) {
+                return new StatementKey((String) args[0], 1, 0, 0);
+            }
+            if (types.length == 2 && types[1] == int.class) {
+                return new StatementKey((String) args[0], 2, (Integer) args[1], 0);
+            }
+            if (types.length == 3) {
+                return new StatementKey((String) args[0], 3, (Integer) args[1], (Integer) args[2]);
+            }
+            return null;
+        }
+
+        PreparedStatement prepare(Connection physical) throws SQLException {
+            switch (kind) {
+                case 1:
+                    return physical.prepareStatement(sql);
+                case 2:
+                    return physical.prepareStatement(sql, first);
+                default:
+                    return physical.prepareStatement(sql, first, second);
+            }
+        }
+    }
+
+    private static final class CachedStatement {
+        final StatementKey key;
+        final PreparedStatement physical;
+        final boolean cached;
+        boolean inUse;
+        boolean evicted;
+
+        CachedStatement(StatementKey key, PreparedStatement physical, boolean cached) {
+            this.key = key;
+            this.physical = physical;
+            this.cached = cached;
+        }
+    }
+
+    // LRU of prepared statements for one physical connection. Only the thread holding the connection touches it,
+    // so it needs no locking. A statement is lent to one caller at a time; preparing the same SQL again while it
+    // is lent out gets a private statement that is closed for real afterwards.
+    private final class StatementCache {
+        private final int maxSize;
+        private final Map<StatementKey, CachedStatement> entries;
+
+        StatementCache(int maxSize) {
+            this.maxSize = maxSize;
+            this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<StatementKey, CachedStatement> eldest) {
+                    if (size() <= StatementCache.this.maxSize) {
+                        return false;
+                    }
+                    metrics.recordStatementEviction();
+                    CachedStatement entry = eldest.getValue();
+                    entry.evicted = true;
+                    if (!entry.inUse) {
+                        closeQuietly(entry.physical);
+                    }
+                    return true;
+                }
+            };
+        }
+
+        boolean isEnabled() {
+            return maxSize > 0;
+        }
+
+        PreparedStatement prepare(StatementKey key, Handle owner, Connection connection) throws SQLException {
+            CachedStatement entry = entries.get(key);
+            if (entry != null && !entry.inUse) {
+                metrics.recordStatementHit();
+            } else {
+                metrics.recordStatementMiss();
+                boolean cache = entry == null;
+                entry = new CachedStatement(key, key.prepare(owner.pooled.physical), cache);
+                if (cache) {
+                    entries.put(key, entry);
+                }
+            }
+            entry.inUse = true;
+            return (PreparedStatement) Proxy.newProxyInstance(PreparedStatement.class.getClassLoader(),
+                    new Class<?>[]{PreparedStatement.class}, new StatementHandle(this, entry, connection));
+        }
+
+        // Called on logical close; reusable statements go back to the cache with their parameters cleared
+        void release(CachedStatement entry, boolean reusable) {
+            entry.inUse = false;
+            if (entry.cached && !entry.evicted) {
+                try {
+                    if (reusable && !entry.physical.isClosed()) {
+                        entry.physical.clearParameters();
+                        entry.physical.clearBatch();
+                        entry.physical.clearWarnings();
+                        return;
+                    }
+                } catch (SQLException ignored) {
+                    // discard the statement below
+                }
+                entries.remove(entry.key);
+            }
+            closeQuietly(entry.physical);
+        }
+    }
+
+    private static final class StatementHandle implements InvocationHandler {
+        private final StatementCache cache;
+        private final CachedStatement entry;
+        private final Connection connection;
+        private final List<ResultSet> results = new ArrayList<>(1);
+        private boolean reusable = true;
+        private boolean closed;
+
+        StatementHandle(StatementCache cache, CachedStatement entry, Connection connection) {
+            this.cache = cache;
+            this.entry = entry;
+            this.connection = connection;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "close":
+                    if (!closed) {
+                        closed = true;
+                        for (ResultSet rs : results) {
+                            closeQuietly(rs);
+                        }
+                        results.clear();
+                        cache.release(entry, reusable);
+                    }
+                    return null;
+                case "isClosed":
+                    if (closed) {
+                        return true;
+                    }
+                    break;
+                case "getConnection":
+                    if (!closed) {
+                        return connection; // never expose the physical connection
+                    }
+                    break;
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return "Cached[" + entry.physical + "]";
+                case "setFetchSize":
+                case "setFetchDirection":
+                case "setMaxRows":
+                case "setLargeMaxRows":
+                case "setMaxFieldSize":
+                case "setQueryTimeout":
+                case "setEscapeProcessing":
+                case "setCursorName":
+                case "setPoolable":
+                case "closeOnCompletion":
+                    reusable = false; // statement options outlive the borrow, so don't hand this one out again
+                    break;
+                default:
+                    break;
+            }
+            if (closed) {
+                throw new SQLException("Statement has already been closed");
+            }
+            Object result = invokeOn(entry.physical, method, args);
+            if (result instanceof ResultSet) {
+                if (results.size() >= 16) {
+                    results.removeIf(ConnectionPool::isClosedQuietly);
+                }
+                results.add((ResultSet) result);
+            }
+            return result;
+        }
+    }
+
+    private static Object invokeOn(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    private static boolean isClosedQuietly(AutoCloseable resource) {
+        try {
+            return resource instanceof Statement ? ((Statement) resource).isClosed() : ((ResultSet) resource).isClosed();
+        } catch (SQLException e) {
+            return true;
+        }
+    }
+
+    private static void closeQuietly(AutoCloseable resource) {
+        try {
+            resource.close();
+        } catch (Exception ignored) {
+            // nothing useful to do with a failed close
+        }
+    }
+}
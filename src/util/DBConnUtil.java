@@ -1,21 +1,185 @@
 package util;
 
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
 import java.sql.Connection;
-import java.sql.DriverManager;
 import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import java.util.function.Supplier;
 
 public class DBConnUtil {
+    private static final String PROPERTY_FILE = "db.properties"; // Use your property file name
+    private static volatile ConnectionPool pool;
+    private static volatile ReplicaRouter router; // only when db.replicas lists read replicas
+    private static volatile List<ConnectionPool> shardPools; // only once the sharded backend asks for them
+
+    // A connection to the primary, for writes and for reads that must see the latest data
     public static Connection getConnection() {
-        String connectionString = DBPropertyUtil.getConnectionString("db.properties"); // Use your property file name
+        try {
+            ConnectionPool primary = getPool();
+            ReplicaRouter replicas = router;
+            return replicas == null ? primary.getConnection() : replicas.getWriteConnection();
+        } catch (SQLException | ClassNotFoundException e) {
+            e.printStackTrace();
+            return null;
+        }
+    }
 
+    // A connection for read-only queries: a read replica when one is configured, up to date enough and has
+    // caught up with this thread's consistency token, otherwise the primary (see ReplicaRouter)
+    public static Connection getReadConnection() {
         try {
-            // Explicitly register the MySQL driver
-            Class.forName("com.mysql.cj.jdbc.Driver");
-            assert connectionString != null;
-            return DriverManager.getConnection(connectionString);
+            ConnectionPool primary = getPool();
+            ReplicaRouter replicas = router;
+            return replicas == null ? primary.getConnection() : replicas.getReadConnection();
         } catch (SQLException | ClassNotFoundException e) {
             e.printStackTrace();
             return null;
         }
     }
+
+    // This thread's consistency token, for read-your-writes on another thread or in a later request: pass it to
+    // readAfter() there. 0 when no replicas are configured or nothing was written.
+    public static long getReadAfter() {
+        ReplicaRouter replicas = router;
+        return replicas == null ? 0 : replicas.getReadAfter();
+    }
+
+    public static void readAfter(long writeMillis) {
+        ReplicaRouter replicas = router;
+        if (replicas != null) {
+            replicas.readAfter(writeMillis);
+        }
+    }
+
+    // Runs read against the primary only, for reads whose result outlives the request, such as cache loads
+    public static <T> T readFromPrimary(Supplier<T> read) {
+        ReplicaRouter replicas = router;
+        return replicas == null ? read.get() : replicas.readFromPrimary(read);
+    }
+
+    // A connection to one of the shard databases in shard.hosts, numbered from 0
+    public static Connection getShardConnection(int shard) {
+        try {
+            return getShardPools().get(shard).getConnection();
+        } catch (SQLException | ClassNotFoundException e) {
+            e.printStackTrace();
+            return null;
+        }
+    }
+
+    // One pool per shard, sized like the primary's. Every shard's sessions hand out auto-increment ids from their
+    // own residue class: offset shard + 1, step shard.idStride, so rows created on different shards never share
+    // an id and can later move between shards keeping it.
+    public static List<ConnectionPool> getShardPools() throws ClassNotFoundException {
+        List<ConnectionPool> current = shardPools;
+        if (current == null) {
+            synchronized (DBConnUtil.class) {
+                current = shardPools;
+                if (current == null) {
+                    Class.forName("com.mysql.cj.jdbc.Driver");
+                    Properties properties = DBPropertyUtil.getProperties(PROPERTY_FILE);
+                    PoolConfig config = PoolConfig.fromProperties(properties);
+                    List<String> hosts = DBPropertyUtil.getShards(PROPERTY_FILE);
+                    int stride = DBPropertyUtil.getInt(properties, "shard.idStride", 16);
+                    if (hosts.size() > stride) {
+                        throw new IllegalStateException("shard.idStride " + stride + " leaves no ids for " + hosts.size() + " shards");
+                    }
+                    current = new ArrayList<>();
+                    for (int i = 0; i < hosts.size(); i++) {
+                        String url = DBPropertyUtil.getConnectionString(PROPERTY_FILE, hosts.get(i))
+                                + "&sessionVariables=auto_increment_increment=" + stride + ",auto_increment_offset=" + (i + 1);
+                        ConnectionPool shardPool = new ConnectionPool(url, config);
+                        registerMBean(shardPool.getMetrics(), "util:type=ConnectionPool,name=shard" + i);
+                        current.add(shardPool);
+                    }
+                    shardPools = current;
+                }
+            }
+        }
+        return current;
+    }
+
+    public static ConnectionPool getPool() throws ClassNotFoundException {
+        ConnectionPool current = pool;
+        if (current == null) {
+            synchronized (DBConnUtil.class) {
+                current = pool;
+                if (current == null) {
+                    String connectionString = DBPropertyUtil.getConnectionString(PROPERTY_FILE);
+                    // Explicitly register the MySQL driver
+                    Class.forName("com.mysql.cj.jdbc.Driver");
+                    assert connectionString != null;
+                    Properties properties = DBPropertyUtil.getProperties(PROPERTY_FILE);
+                    PoolConfig config = PoolConfig.fromProperties(properties);
+                    current = new ConnectionPool(connectionString, config);
+                    registerMBean(current.getMetrics(), "util:type=ConnectionPool");
+                    router = createRouter(current, properties, config);
+                    pool = current;
+                }
+            }
+        }
+        return current;
+    }
+
+    // One pool per replica, sized like the primary's
+    private static ReplicaRouter createRouter(ConnectionPool primary, Properties properties, PoolConfig config) {
+        List<String> replicas = DBPropertyUtil.getReplicas(PROPERTY_FILE);
+        if (replicas.isEmpty()) {
+            return null;
+        }
+        List<ConnectionPool> pools = new ArrayList<>();
+        for (String replica : replicas) {
+            ConnectionPool replicaPool = new ConnectionPool(DBPropertyUtil.getConnectionString(PROPERTY_FILE, replica), config);
+            registerMBean(replicaPool.getMetrics(), "util:type=ConnectionPool,name=" + ObjectName.quote(replica));
+            pools.add(replicaPool);
+        }
+        ReplicaRouter replicaRouter = new ReplicaRouter(primary, replicas, pools,
+                DBPropertyUtil.getLong(properties, "db.replica.maxLagSeconds", 5),
+                DBPropertyUtil.getBoolean(properties, "db.replica.allowStandalone", false));
+        replicaRouter.start(DBPropertyUtil.getLong(properties, "db.replica.lagCheckIntervalMs", 1000));
+        return replicaRouter;
+    }
+
+    private static void registerMBean(PoolMetrics metrics, String objectName) {
+        try {
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            ObjectName name = new ObjectName(objectName);
+            if (server.isRegistered(name)) {
+                server.unregisterMBean(name);
+            }
+            server.registerMBean(metrics, name);
+        } catch (JMException e) {
+            e.printStackTrace();
+        }
+    }
+
+    public static PoolMetrics getPoolMetrics() {
+        ConnectionPool current = pool;
+        return current == null ? null : current.getMetrics();
+    }
+
+    // Replica routing state, or null when no read replicas are configured
+    public static ReplicaRouter getReplicaRouter() {
+        return router;
+    }
+
+    public static synchronized void shutdown() {
+        if (shardPools != null) {
+            shardPools.forEach(ConnectionPool::close);
+            shardPools = null;
+        }
+        if (router != null) {
+            router.close();
+            router = null;
+        }
+        if (pool != null) {
+            pool.close();
+            pool = null;
+        }
+    }
 }
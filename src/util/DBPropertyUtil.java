@@ -2,13 +2,23 @@ package util;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
 import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
 
 public class DBPropertyUtil {
-    public static String getConnectionString(String propertyFileName) {
-        Properties properties = new Properties();
-        String connectionString = null;
+    // Property files are parsed once per name and reused for the lifetime of the JVM
+    private static final Map<String, Properties> CACHE = new ConcurrentHashMap<>();
+
+    public static Properties getProperties(String propertyFileName) {
+        Properties cached = CACHE.get(propertyFileName);
+        if (cached != null) {
+            return cached;
+        }
 
+        Properties properties = new Properties();
         try (InputStream input = DBPropertyUtil.class.getClassLoader().getResourceAsStream(propertyFileName)) {
             if (input == null) {
                 System.out.println("Sorry, unable to find " + propertyFileName);
@@ -17,21 +27,89 @@ public class DBPropertyUtil {
 
             // Load properties file
             properties.load(input);
+        } catch (IOException ex) {
+            ex.printStackTrace();
+            return null;
+        }
 
-            // Retrieve connection details
-            String host = properties.getProperty("db.host");
-            String port = properties.getProperty("db.port");
-            String dbName = properties.getProperty("db.name");
-            String username = properties.getProperty("db.username");
-            String password = properties.getProperty("db.password");
+        Properties previous = CACHE.putIfAbsent(propertyFileName, properties);
+        return previous != null ? previous : properties;
+    }
 
-            // Create connection string
-            connectionString = String.format("jdbc:mysql://%s:%s/%s?user=%s&password=%s", host, port, dbName, username, password);
+    public static int getInt(Properties properties, String key, int defaultValue) {
+        String value = properties == null ? null : properties.getProperty(key);
+        return value == null || value.isBlank() ? defaultValue : Integer.parseInt(value.trim());
+    }
 
-        } catch (IOException ex) {
-            ex.printStackTrace();
+    public static long getLong(Properties properties, String key, long defaultValue) {
+        String value = properties == null ? null : properties.getProperty(key);
+        return value == null || value.isBlank() ? defaultValue : Long.parseLong(value.trim());
+    }
+
+    public static boolean getBoolean(Properties properties, String key, boolean defaultValue) {
+        String value = properties == null ? null : properties.getProperty(key);
+        return value == null || value.isBlank() ? defaultValue : Boolean.parseBoolean(value.trim());
+    }
+
+    public static String getConnectionString(String propertyFileName) {
+        Properties properties = getProperties(propertyFileName);
+        if (properties == null) {
+            return null;
+        }
+
+        return getConnectionString(properties, properties.getProperty("db.host"), properties.getProperty("db.port"));
+    }
+
+    // Read replicas listed in db.replicas as host:port pairs separated by commas
+    public static List<String> getReplicas(String propertyFileName) {
+        return getHosts(propertyFileName, "db.replicas");
+    }
+
+    // Shard databases listed in shard.hosts the same way, the first holding the shared Project and Employee ids
+    public static List<String> getShards(String propertyFileName) {
+        return getHosts(propertyFileName, "shard.hosts");
+    }
+
+    private static List<String> getHosts(String propertyFileName, String key) {
+        Properties properties = getProperties(propertyFileName);
+        String value = properties == null ? null : properties.getProperty(key);
+        List<String> hosts = new ArrayList<>();
+        if (value != null) {
+            for (String host : value.split(",")) {
+                if (!host.isBlank()) {
+                    hosts.add(host.trim());
+                }
+            }
+        }
+        return hosts;
+    }
+
+    // A replica or shard shares the primary's database name, credentials and driver options
+    public static String getConnectionString(String propertyFileName, String hostAndPort) {
+        Properties properties = getProperties(propertyFileName);
+        if (properties == null) {
+            return null;
         }
+        int colon = hostAndPort.lastIndexOf(':');
+        return colon < 0
+                ? getConnectionString(properties, hostAndPort, "3306")
+                : getConnectionString(properties, hostAndPort.substring(0, colon), hostAndPort.substring(colon + 1));
+    }
 
-        return connectionString;
+    private static String getConnectionString(Properties properties, String host, String port) {
+        // Retrieve connection details
+        String dbName = properties.getProperty("db.name");
+        String username = properties.getProperty("db.username");
+        String password = properties.getProperty("db.password");
+
+        // Create connection string; rewriteBatchedStatements turns JDBC batches into multi-row statements and
+        // useServerPrepStmts prepares on the server, so statements cached by ConnectionPool skip the parse on reuse
+        String url = String.format("jdbc:mysql://%s:%s/%s?user=%s&password=%s&rewriteBatchedStatements=true&useServerPrepStmts=true",
+                host, port, dbName, username, password);
+        // LOAD DATA LOCAL INFILE is off in the driver unless asked for, since it lets the server request client files
+        if (getBoolean(properties, "db.allowLoadLocalInfile", false)) {
+            url += "&allowLoadLocalInfile=true";
+        }
+        return url;
     }
 }
@@ -0,0 +1,114 @@
+package util;
+
+import java.util.Arrays;
+
+// Growable list of primitive ints, used where a List<Integer> would box every element
+public class IntArrayList {
+    private int[] data;
+    private int size;
+
+    public IntArrayList() {
+        this(8);
+    }
+
+    public IntArrayList(int initialCapacity) {
+        data = new int[Math.max(1, initialCapacity)];
+    }
+
+    public void add(int value) {
+        if (size == data.length) {
+            data = Arrays.copyOf(data, data.length + (data.length >> 1) + 1);
+        }
+        data[size++] = value;
+    }
+
+    public void insert(int index, int value) {
+        if (index > size) {
+            throw new IndexOutOfBoundsException("Index " + index + " out of bounds for length " + size);
+        }
+        if (size == data.length) {
+            data = Arrays.copyOf(data, data.length + (data.length >> 1) + 1);
+        }
+        System.arraycopy(data, index, data, index + 1, size - index);
+        data[index] = value;
+        size++;
+    }
+
+    public int get(int index) {
+        if (index >= size) {
+            throw new IndexOutOfBoundsException("Index " + index + " out of bounds for length " + size);
+        }
+        return data[index];
+    }
+
+    public void set(int index, int value) {
+        if (index >= size) {
+            throw new IndexOutOfBoundsException("Index " + index + " out of bounds for length " + size);
+        }
+        data[index] = value;
+    }
+
+    // Inserts value into an ascending list, keeping it ascending; appending a new largest value is the cheap case
+    public void addSorted(int value) {
+        if (size == 0 || data[size - 1] < value) {
+            add(value);
+        } else {
+            insert(upperBound(value), value);
+        }
+    }
+
+    // removeValue for an ascending list, found by binary search
+    public boolean removeSorted(int value) {
+        int i = upperBound(value) - 1;
+        if (i < 0 || data[i] != value) {
+            return false;
+        }
+        System.arraycopy(data, i + 1, data, i, size - i - 1);
+        size--;
+        return true;
+    }
+
+    // Removes the first occurrence of value; returns false if it wasn't present
+    public boolean removeValue(int value) {
+        for (int i = 0; i < size; i++) {
+            if (data[i] == value) {
+                System.arraycopy(data, i + 1, data, i, size - i - 1);
+                size--;
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // Keeps only the first newSize elements
+    public void truncate(int newSize) {
+        size = Math.min(size, Math.max(0, newSize));
+    }
+
+    public void sort() {
+        Arrays.sort(data, 0, size);
+    }
+
+    // Index of the first element greater than value; the list must be sorted
+    public int upperBound(int value) {
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (data[mid] <= value) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    public int size() { return size; }
+    public boolean isEmpty() { return size == 0; }
+    public void clear() { size = 0; }
+
+    public int[] toArray() {
+        return Arrays.copyOf(data, size);
+    }
+}
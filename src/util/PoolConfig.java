@@ -0,0 +1,50 @@
+package util;
+
+import java.util.Properties;
+
+public class PoolConfig {
+    private int minSize = 2;
+    private int maxSize = 10;
+    private long connectionTimeoutMs = 30_000;
+    private long idleTimeoutMs = 600_000;
+    private long validationIdleMs = 500; // connections idle for less than this are trusted without a ping
+    private int validationTimeoutSeconds = 5;
+    private long leakDetectionThresholdMs = 0; // 0 disables leak detection
+    private long housekeepingPeriodMs = 30_000;
+    private int statementCacheSize = 250; // prepared statements kept open per connection, 0 disables the cache
+
+    public PoolConfig() {}
+
+    public static PoolConfig fromProperties(Properties properties) {
+        PoolConfig config = new PoolConfig();
+        config.setMinSize(DBPropertyUtil.getInt(properties, "db.pool.minSize", config.minSize));
+        config.setMaxSize(DBPropertyUtil.getInt(properties, "db.pool.maxSize", config.maxSize));
+        config.setConnectionTimeoutMs(DBPropertyUtil.getLong(properties, "db.pool.connectionTimeoutMs", config.connectionTimeoutMs));
+        config.setIdleTimeoutMs(DBPropertyUtil.getLong(properties, "db.pool.idleTimeoutMs", config.idleTimeoutMs));
+        config.setValidationIdleMs(DBPropertyUtil.getLong(properties, "db.pool.validationIdleMs", config.validationIdleMs));
+        config.setValidationTimeoutSeconds(DBPropertyUtil.getInt(properties, "db.pool.validationTimeoutSeconds", config.validationTimeoutSeconds));
+        config.setLeakDetectionThresholdMs(DBPropertyUtil.getLong(properties, "db.pool.leakDetectionThresholdMs", config.leakDetectionThresholdMs));
+        config.setHousekeepingPeriodMs(DBPropertyUtil.getLong(properties, "db.pool.housekeepingPeriodMs", config.housekeepingPeriodMs));
+        config.setStatementCacheSize(DBPropertyUtil.getInt(properties, "db.pool.statementCacheSize", config.statementCacheSize));
+        return config;
+    }
+
+    public int getMinSize() { return minSize; }
+    public void setMinSize(int minSize) { this.minSize = Math.max(0, minSize); }
+    public int getMaxSize() { return maxSize; }
+    public void setMaxSize(int maxSize) { this.maxSize = Math.max(1, maxSize); }
+    public long getConnectionTimeoutMs() { return connectionTimeoutMs; }
+    public void setConnectionTimeoutMs(long connectionTimeoutMs) { this.connectionTimeoutMs = connectionTimeoutMs; }
+    public long getIdleTimeoutMs() { return idleTimeoutMs; }
+    public void setIdleTimeoutMs(long idleTimeoutMs) { this.idleTimeoutMs = idleTimeoutMs; }
+    public long getValidationIdleMs() { return validationIdleMs; }
+    public void setValidationIdleMs(long validationIdleMs) { this.validationIdleMs = validationIdleMs; }
+    public int getValidationTimeoutSeconds() { return validationTimeoutSeconds; }
+    public void setValidationTimeoutSeconds(int validationTimeoutSeconds) { this.validationTimeoutSeconds = validationTimeoutSeconds; }
+    public long getLeakDetectionThresholdMs() { return leakDetectionThresholdMs; }
+    public void setLeakDetectionThresholdMs(long leakDetectionThresholdMs) { this.leakDetectionThresholdMs = leakDetectionThresholdMs; }
+    public long getHousekeepingPeriodMs() { return housekeepingPeriodMs; }
+    public void setHousekeepingPeriodMs(long housekeepingPeriodMs) { this.housekeepingPeriodMs = housekeepingPeriodMs; }
+    public int getStatementCacheSize() { return statementCacheSize; }
+    public void setStatementCacheSize(int statementCacheSize) { this.statementCacheSize = Math.max(0, statementCacheSize); }
+}
@@ -0,0 +1,78 @@
+package util;
+
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.IntSupplier;
+
+public class PoolMetrics implements PoolMetricsMXBean {
+    private final LatencyHistogram borrowLatency = new LatencyHistogram();
+    private final LongAdder waitCount = new LongAdder();
+    private final LongAdder timeoutCount = new LongAdder();
+    private final LongAdder createdCount = new LongAdder();
+    private final LongAdder closedCount = new LongAdder();
+    private final LongAdder validationFailures = new LongAdder();
+    private final LongAdder leakCount = new LongAdder();
+    private final LongAdder statementHits = new LongAdder();
+    private final LongAdder statementMisses = new LongAdder();
+    private final LongAdder statementEvictions = new LongAdder();
+    private final IntSupplier activeConnections;
+    private final IntSupplier idleConnections;
+
+    PoolMetrics(IntSupplier activeConnections, IntSupplier idleConnections) {
+        this.activeConnections = activeConnections;
+        this.idleConnections = idleConnections;
+    }
+
+    void recordBorrow(long nanos) {
+        borrowLatency.record(nanos);
+    }
+
+    void recordWait() { waitCount.increment(); }
+    void recordTimeout() { timeoutCount.increment(); }
+    void recordCreated() { createdCount.increment(); }
+    void recordClosed() { closedCount.increment(); }
+    void recordValidationFailure() { validationFailures.increment(); }
+    void recordLeak() { leakCount.increment(); }
+    void recordStatementHit() { statementHits.increment(); }
+    void recordStatementMiss() { statementMisses.increment(); }
+    void recordStatementEviction() { statementEvictions.increment(); }
+
+    public LatencyHistogram getBorrowLatency() { return borrowLatency; }
+    public long getBorrowCount() { return borrowLatency.getCount(); }
+    public long getWaitCount() { return waitCount.sum(); }
+    public long getTimeoutCount() { return timeoutCount.sum(); }
+    public long getCreatedCount() { return createdCount.sum(); }
+    public long getClosedCount() { return closedCount.sum(); }
+    public long getValidationFailures() { return validationFailures.sum(); }
+    public long getLeakCount() { return leakCount.sum(); }
+    public long getStatementCacheHits() { return statementHits.sum(); }
+    public long getStatementCacheMisses() { return statementMisses.sum(); }
+    public long getStatementCacheEvictions() { return statementEvictions.sum(); }
+    public int getActiveConnections() { return activeConnections.getAsInt(); }
+    public int getIdleConnections() { return idleConnections.getAsInt(); }
+
+    public double getAverageBorrowMicros() {
+        return borrowLatency.getMean() / 1_000.0;
+    }
+
+    public double getP99BorrowMicros() {
+        return borrowLatency.getPercentile(99) / 1_000.0;
+    }
+
+    public double getMaxBorrowMicros() {
+        return borrowLatency.getMax() / 1_000.0;
+    }
+
+    public double getStatementCacheHitRate() {
+        long hits = getStatementCacheHits();
+        long total = hits + getStatementCacheMisses();
+        return total == 0 ? 0.0 : (double) hits / total;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("active=%d idle=%d borrows=%d avgBorrow=%.1fus p99Borrow=%.1fus maxBorrow=%.1fus waits=%d timeouts=%d created=%d closed=%d validationFailures=%d leaks=%d stmtHitRate=%.2f stmtEvictions=%d",
+                getActiveConnections(), getIdleConnections(), getBorrowCount(), getAverageBorrowMicros(), getP99BorrowMicros(), getMaxBorrowMicros(),
+                getWaitCount(), getTimeoutCount(), getCreatedCount(), getClosedCount(), getValidationFailures(), getLeakCount(),
+                getStatementCacheHitRate(), getStatementCacheEvictions());
+    }
+}
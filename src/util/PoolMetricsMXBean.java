@@ -0,0 +1,20 @@
+package util;
+
+public interface PoolMetricsMXBean {
+    long getBorrowCount();
+    long getWaitCount();
+    long getTimeoutCount();
+    long getCreatedCount();
+    long getClosedCount();
+    long getValidationFailures();
+    long getLeakCount();
+    int getActiveConnections();
+    int getIdleConnections();
+    double getAverageBorrowMicros();
+    double getP99BorrowMicros();
+    double getMaxBorrowMicros();
+    long getStatementCacheHits();
+    long getStatementCacheMisses();
+    long getStatementCacheEvictions();
+    double getStatementCacheHitRate();
+}
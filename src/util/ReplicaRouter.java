@@ -0,0 +1,234 @@
+package util;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+// Sends writes to the primary and spreads reads round-robin over read replicas. A replica only serves a read if
+// it is up, replicating, no more than maxLagSeconds behind, and has already applied everything up to the calling
+// thread's consistency token, so a thread that has just written reads its own writes from the primary until a
+// replica catches up. The token is the time of the thread's last write; getReadAfter() hands it out and
+// readAfter() carries it to another thread or a later request, since threads are rarely reused for both.
+// Lag is polled from SHOW REPLICA STATUS. Seconds_Behind_Source has whole-second resolution, so a replica is
+// taken to hold every commit made more than lag + 1 seconds before the poll. A read no replica qualifies for
+// goes to the primary. A server that returns no replica status is not replicating; it is taken to be a
+// misconfigured replica and kept down, unless allowStandalone says standalone servers are expected.
+public class ReplicaRouter implements AutoCloseable {
+    private static final int MYSQL_PARSE_ERROR = 1064;
+
+    private final ConnectionPool primary;
+    private final List<Replica> replicas = new ArrayList<>();
+    private final long maxLagMillis;
+    private final AtomicInteger next = new AtomicInteger();
+    private final LongAdder primaryReads = new LongAdder();
+    // The thread's consistency token: reads wait for a replica that holds every commit up to then, in epoch
+    // milliseconds. Raised when the thread returns a primary connection borrowed for writing, or by readAfter().
+    // The second slot counts nested readFromPrimary() calls.
+    private final ThreadLocal<long[]> readAfterMillis = ThreadLocal.withInitial(() -> new long[2]);
+    private ScheduledExecutorService lagChecker; // guarded by this
+
+    public ReplicaRouter(ConnectionPool primary, List<String> replicaNames, List<ConnectionPool> replicaPools,
+                         long maxLagSeconds, boolean allowStandalone) {
+        this.primary = primary;
+        this.maxLagMillis = TimeUnit.SECONDS.toMillis(maxLagSeconds);
+        for (int i = 0; i < replicaPools.size(); i++) {
+            replicas.add(new Replica(replicaNames.get(i), replicaPools.get(i), allowStandalone));
+        }
+    }
+
+    // Polls the replicas every checkIntervalMs on a daemon thread until close(). Until this is called, lag is only
+    // measured when checkLag() is, and no replica serves reads before its first check.
+    public synchronized void start(long checkIntervalMs) {
+        if (lagChecker != null || checkIntervalMs <= 0) {
+            return;
+        }
+        lagChecker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "db-replica-lag-checker");
+            thread.setDaemon(true);
+            return thread;
+        });
+        lagChecker.scheduleWithFixedDelay(this::checkLag, 0, checkIntervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    public Connection getWriteConnection() throws SQLException {
+        return primary.getConnection(this::recordWrite);
+    }
+
+    public Connection getReadConnection() throws SQLException {
+        long[] token = readAfterMillis.get();
+        long lastWrite = token[1] > 0 ? Long.MAX_VALUE : token[0];
+        int count = replicas.size();
+        int start = Math.floorMod(next.getAndIncrement(), Math.max(count, 1));
+        for (int i = 0; i < count; i++) {
+            Replica replica = replicas.get((start + i) % count);
+            if (replica.canServe(lastWrite, maxLagMillis)) {
+                try {
+                    Connection conn = replica.pool.getConnection();
+                    replica.reads.increment();
+                    return conn;
+                } catch (SQLException e) {
+                    replica.markDown("connection failed: " + e.getMessage());
+                }
+            }
+        }
+        primaryReads.increment();
+        return primary.getConnection();
+    }
+
+    // Polls every replica once; called on the lag checker thread, or directly when no interval was given
+    public void checkLag() {
+        for (Replica replica : replicas) {
+            replica.check();
+        }
+    }
+
+    public List<Replica> getReplicas() {
+        return replicas;
+    }
+
+    public long getPrimaryReads() {
+        return primaryReads.sum();
+    }
+
+    // The calling thread's consistency token, 0 until it has written or been handed one
+    public long getReadAfter() {
+        return readAfterMillis.get()[0];
+    }
+
+    // Reads on the calling thread only go to replicas that have applied every commit up to writeMillis, a token
+    // from getReadAfter() on the thread that wrote. A token older than the thread's own is ignored.
+    public void readAfter(long writeMillis) {
+        long[] token = readAfterMillis.get();
+        token[0] = Math.max(token[0], writeMillis);
+    }
+
+    // Runs read with every read connection it takes coming from the primary
+    public <T> T readFromPrimary(Supplier<T> read) {
+        long[] token = readAfterMillis.get();
+        token[1]++;
+        try {
+            return read.get();
+        } finally {
+            token[1]--;
+        }
+    }
+
+    private void recordWrite() {
+        readAfter(System.currentTimeMillis());
+    }
+
+    @Override
+    public synchronized void close() {
+        if (lagChecker != null) {
+            lagChecker.shutdownNow();
+        }
+        for (Replica replica : replicas) {
+            replica.pool.close();
+        }
+    }
+
+    public static final class Replica {
+        private final String name;
+        private final ConnectionPool pool;
+        private final boolean allowStandalone;
+        private final LongAdder reads = new LongAdder();
+        private volatile boolean up; // down until the first successful check
+        private volatile long lagMillis = -1;
+        private volatile long caughtUpToMillis;
+        private volatile String problem = "not checked yet";
+        private boolean legacyStatusCommand;
+
+        Replica(String name, ConnectionPool pool, boolean allowStandalone) {
+            this.name = name;
+            this.pool = pool;
+            this.allowStandalone = allowStandalone;
+        }
+
+        boolean canServe(long lastWriteMillis, long maxLagMillis) {
+            return up && lagMillis <= maxLagMillis && caughtUpToMillis > lastWriteMillis;
+        }
+
+        void check() {
+            long started = System.currentTimeMillis();
+            try (Connection conn = pool.getConnection();
+                 Statement stmt = conn.createStatement();
+                 ResultSet rs = replicaStatus(stmt)) {
+                if (!rs.next()) {
+                    if (!allowStandalone) {
+                        // Reading from a server that doesn't replicate would silently serve data the primary never had
+                        markDown("not replicating (no replica status); set db.replica.allowStandalone=true to use it anyway");
+                        return;
+                    }
+                    // A standalone server, e.g. a second local instance used for testing: nothing to lag behind
+                    lagMillis = 0;
+                    caughtUpToMillis = started;
+                    problem = null;
+                    up = true;
+                    return;
+                }
+                long seconds = rs.getLong(lagColumn(rs.getMetaData()));
+                if (rs.wasNull()) {
+                    markDown("replication is not running");
+                    return;
+                }
+                lagMillis = TimeUnit.SECONDS.toMillis(seconds);
+                caughtUpToMillis = started - TimeUnit.SECONDS.toMillis(seconds + 1);
+                problem = null;
+                up = true;
+            } catch (SQLException e) {
+                markDown("lag check failed: " + e.getMessage());
+            }
+        }
+
+        // MySQL before 8.0.22 only knows the old name of the command and of its lag column
+        private ResultSet replicaStatus(Statement stmt) throws SQLException {
+            if (!legacyStatusCommand) {
+                try {
+                    return stmt.executeQuery("SHOW REPLICA STATUS");
+                } catch (SQLException e) {
+                    if (e.getErrorCode() != MYSQL_PARSE_ERROR) {
+                        throw e;
+                    }
+                    legacyStatusCommand = true;
+                }
+            }
+            return stmt.executeQuery("SHOW SLAVE STATUS");
+        }
+
+        private static String lagColumn(ResultSetMetaData meta) throws SQLException {
+            for (int i = 1; i <= meta.getColumnCount(); i++) {
+                if (meta.getColumnLabel(i).equals("Seconds_Behind_Source")) {
+                    return "Seconds_Behind_Source";
+                }
+            }
+            return "Seconds_Behind_Master";
+        }
+
+        void markDown(String reason) {
+            up = false;
+            problem = reason;
+        }
+
+        public String getName() { return name; }
+        public ConnectionPool getPool() { return pool; }
+        public boolean isUp() { return up; }
+        public long getLagMillis() { return lagMillis; }
+        public long getReads() { return reads.sum(); }
+        public String getProblem() { return problem; }
+
+        @Override
+        public String toString() {
+            return name + (up ? " up, lag " + lagMillis + "ms" : " down (" + problem + ")") + ", " + reads.sum() + " reads";
+        }
+    }
+}